@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Compares cold-start time of the build modes: time from process launch until
+# /actuator/health/readiness reports UP, median of RUNS runs per mode.
+#
+#   mvn -DskipTests package                          -> jvm
+#   mvn -DskipTests -Paot,cds package                -> aot, cds, aot+cds (target/extracted)
+#   mvn -DskipTests -Pnative native:compile          -> native (needs GraalVM)
+#
+# The database from application.yml must be reachable. The scheduled import is disabled
+# so that only startup is measured.
+#
+# Usage: scripts/startup-benchmark.sh [modes...]   (default: all modes whose artifacts exist)
+set -euo pipefail
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-18080}
+TARGET=${TARGET:-target}
+JAR="$TARGET/maybank-assessment-0.0.1-SNAPSHOT.jar"
+EXTRACTED="$TARGET/extracted"
+NATIVE="$TARGET/maybank-assessment"
+APP_ARGS="--server.port=$PORT --app.import.schedule.enabled=false"
+
+command_for() {
+  case "$1" in
+    jvm)     echo "java -jar $JAR $APP_ARGS" ;;
+    aot)     echo "java -Dspring.aot.enabled=true -jar $JAR $APP_ARGS" ;;
+    cds)     echo "java -XX:SharedArchiveFile=$EXTRACTED/application.jsa -jar $EXTRACTED/$(basename "$JAR") $APP_ARGS" ;;
+    aot-cds) echo "java -XX:SharedArchiveFile=$EXTRACTED/application.jsa -Dspring.aot.enabled=true -jar $EXTRACTED/$(basename "$JAR") $APP_ARGS" ;;
+    native)  echo "$NATIVE $APP_ARGS" ;;
+  esac
+}
+
+available() {
+  case "$1" in
+    jvm|aot)     [[ -f "$JAR" ]] ;;
+    cds|aot-cds) [[ -f "$EXTRACTED/application.jsa" ]] ;;
+    native)      [[ -x "$NATIVE" ]] ;;
+  esac
+}
+
+now_ms() { date +%s%3N; }
+
+# Prints milliseconds until readiness is UP, or "fail" after 120s.
+measure() {
+  local cmd=$1 start pid elapsed=fail
+  start=$(now_ms)
+  $cmd > "$TARGET/startup-benchmark.log" 2>&1 &
+  pid=$!
+  for _ in $(seq 1 1200); do
+    if curl -fs "http://localhost:$PORT/actuator/health/readiness" > /dev/null 2>&1; then
+      elapsed=$(( $(now_ms) - start ))
+      break
+    fi
+    kill -0 "$pid" 2> /dev/null || break
+    sleep 0.1
+  done
+  kill "$pid" 2> /dev/null || true
+  wait "$pid" 2> /dev/null || true
+  echo "$elapsed"
+}
+
+modes=("$@")
+[[ ${#modes[@]} -eq 0 ]] && modes=(jvm aot cds aot-cds native)
+
+printf '%-8s %10s   %s\n' mode median_ms runs_ms
+for mode in "${modes[@]}"; do
+  if ! available "$mode"; then
+    printf '%-8s %10s\n' "$mode" "skipped"
+    continue
+  fi
+  results=()
+  for _ in $(seq 1 "$RUNS"); do
+    results+=("$(measure "$(command_for "$mode")")")
+  done
+  median=$(printf '%s\n' "${results[@]}" | grep -v fail | sort -n | awk '{a[NR]=$1} END {print (NR ? a[int((NR+1)/2)] : "fail")}')
+  printf '%-8s %10s   %s\n' "$mode" "$median" "${results[*]}"
+done
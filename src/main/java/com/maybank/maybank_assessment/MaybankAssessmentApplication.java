@@ -1,9 +1,15 @@
 package com.maybank.maybank_assessment;
 
+import com.maybank.maybank_assessment.config.aot.AppRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
-@SpringBootApplication
+// R2DBC is wired explicitly by ReactiveDataConfig when app.reactive.enabled=true
+@SpringBootApplication(exclude = { R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class })
+@ImportRuntimeHints(AppRuntimeHints.class)
 public class MaybankAssessmentApplication {
 
 	public static void main(String[] args) {
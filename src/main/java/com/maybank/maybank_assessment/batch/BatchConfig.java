@@ -1,17 +1,40 @@
 package com.maybank.maybank_assessment.batch;
 
+import com.maybank.maybank_assessment.batch.bulk.BulkLoadItemWriter;
+import com.maybank.maybank_assessment.batch.bulk.StagingLoader;
+import com.maybank.maybank_assessment.batch.chunk.AdaptiveChunkSizePolicy;
+import com.maybank.maybank_assessment.batch.listener.ImportBackpressureListener;
+import com.maybank.maybank_assessment.batch.listener.ImportChunkWriteEventListener;
+import com.maybank.maybank_assessment.batch.outbox.TransactionOutboxItemWriter;
+import com.maybank.maybank_assessment.batch.shard.ShardRoutingItemWriter;
+import com.maybank.maybank_assessment.batch.listener.ImportFingerprintListener;
+import com.maybank.maybank_assessment.batch.listener.TransactionCacheWriteListener;
 import com.maybank.maybank_assessment.batch.listener.TransactionSkipListener;
+import com.maybank.maybank_assessment.batch.validation.TransactionRejectWriter;
+import com.maybank.maybank_assessment.batch.validation.TransactionValidator;
+import com.maybank.maybank_assessment.config.sharding.ShardRouter;
 import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.money.Money;
+import com.maybank.maybank_assessment.repository.ShardedTransactionRepository;
 import com.maybank.maybank_assessment.repository.TransactionRepository;
+import com.maybank.maybank_assessment.service.archive.TransactionArchive;
+import com.maybank.maybank_assessment.service.metrics.jfr.ImportParseEvent;
+import com.maybank.maybank_assessment.service.metrics.jfr.ImportProcessEvent;
+import com.maybank.maybank_assessment.service.outbox.TransactionOutbox;
 import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.batch.core.job.flow.JobExecutionDecider;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.JpaItemWriter;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.FlatFileParseException;
@@ -21,10 +44,14 @@ import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.batch.item.file.mapping.FieldSetMapper;
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
 import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -38,10 +65,17 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Configuration
-@EnableBatchProcessing
+// Job repository store: see BatchMetadataConfig
+@EnableBatchProcessing(dataSourceRef = "batchDataSource", transactionManagerRef = "batchTransactionManager")
 @RequiredArgsConstructor
 public class BatchConfig {
 
+    // Optional per-run job parameters; without them the app.import.* settings apply
+    public static final String CONCURRENCY_PARAM = "import.concurrency";
+    public static final String WRITER_PARAM = "import.writer";
+    public static final String WRITER_JPA = "jpa";
+    public static final String WRITER_BULK = "bulk";
+
     // JPA factory for managing database entities and transactions.
     private final EntityManagerFactory emf;
 
@@ -49,18 +83,28 @@ public class BatchConfig {
     private final TransactionRepository transactionRepository;
 
     // Reads records line-by-line from a flat file (e.g., CSV, TXT).
+    // Skips the header plus any prefix already imported by a previous run (see ImportFingerprintListener).
+    // Its position is only saved for a single-threaded step: with several threads the saved count can run
+    // ahead of what committed, so a restart rereads from the start and the processor drops committed rows.
+    // The same holds with a separate metadata store, which commits apart from the chunk.
     @Bean
-    public FlatFileItemReader<Transaction> transactionItemReader() {
+    @StepScope
+    public FlatFileItemReader<Transaction> transactionItemReader(
+            @Value("#{jobParameters['input.file'] ?: 'src/main/resources/dataSource.txt'}") String inputFile,
+            @Value("#{jobExecutionContext['import.skipLines'] ?: 1}") Long skipLines,
+            @Value("#{jobParameters['import.concurrency'] ?: ${app.import.concurrency:4}}") Long concurrency,
+            @Value("${app.batch.metadata.url:}") String metadataUrl) {
         return new FlatFileItemReaderBuilder<Transaction>()
                 .name("transactionItemReader")
-                .resource(new FileSystemResource("src/main/resources/dataSource.txt"))
-                .linesToSkip(1) // skip header line if present
+                .resource(new FileSystemResource(inputFile))
+                .linesToSkip(Math.toIntExact(skipLines))
+                .saveState(concurrency == 1 && metadataUrl.isEmpty())
                 .lineMapper(transactionLineMapper())
                 .build();
     }
 
-    // Maps each line of the file to a Transaction object.
-    private LineMapper<Transaction> transactionLineMapper() {
+    // Maps each line of the file to a Transaction object (shared with the partitioned reader).
+    static LineMapper<Transaction> transactionLineMapper() {
         // DefaultLineMapper provides a convenient way to map lines to objects
         DefaultLineMapper<Transaction> lineMapper = new DefaultLineMapper<>();
         // Splits a line into fields using a delimiter (e.g., |).
@@ -77,68 +121,158 @@ public class BatchConfig {
 
         @Override
         public Transaction mapFieldSet(FieldSet fs) throws BindException {
-            Transaction txn = new Transaction();
-            txn.setAccountNumber(fs.readLong("ACCOUNT_NUMBER"));
-            txn.setTrxnAmount(fs.readBigDecimal("TRX_AMOUNT"));
-            txn.setDescription(fs.readString("DESCRIPTION"));
-            // Parse date and time fields into a single LocalDateTime
-            LocalDate date = LocalDate.parse(fs.readString("TRX_DATE"));        // e.g. "2019-09-12"
-            LocalTime time = LocalTime.parse(fs.readString("TRX_TIME"));        // e.g. "11:11:11"
-            txn.setTrxnTimestamp(LocalDateTime.of(date, time));
-            txn.setCustomerId(fs.readLong("CUSTOMER_ID"));
-            return txn;
+            // Free unless a flight recording enables maybank.ImportParse
+            ImportParseEvent event = new ImportParseEvent();
+            event.begin();
+            Transaction txn = null;
+            try {
+                Transaction mapped = new Transaction();
+                mapped.setAccountNumber(fs.readLong("ACCOUNT_NUMBER"));
+                // Parse straight into minor units; no BigDecimal on the import hot path
+                mapped.setTrxnAmount(Money.parse(fs.readRawString("TRX_AMOUNT")));
+                mapped.setDescription(fs.readString("DESCRIPTION"));
+                // Parse date and time fields into a single LocalDateTime
+                LocalDate date = LocalDate.parse(fs.readString("TRX_DATE"));        // e.g. "2019-09-12"
+                LocalTime time = LocalTime.parse(fs.readString("TRX_TIME"));        // e.g. "11:11:11"
+                mapped.setTrxnTimestamp(LocalDateTime.of(date, time));
+                mapped.setCustomerId(fs.readLong("CUSTOMER_ID"));
+                txn = mapped;
+                return txn;
+            } finally {
+                event.record(txn);
+            }
         }
     }
 
-    // Processes and validates each Transaction (deduplication, validation).
+    // Classifies each Transaction as accepted, duplicate or rejected without throwing:
+    // 1. validation (no DB): rejects go to the reject side output and are filtered out, so a dirty row
+    //    never rolls back and rescans its chunk
+    // 2. in-memory deduplication within this run, then the DB existence check
+    // When the file only appends to a previously imported one, new lines cannot be in the DB yet,
+    // so the per-row existence query is skipped. So it is with bulk load for shard 0 rows: the
+    // writer's set-based insert already leaves out rows in transactions or the archive. Partitions keep the check,
+    // but their in-memory set only sees their own range, and the DB only sees other partitions' committed chunks:
+    // a duplicate pair split across two partitions whose chunks are in flight together is imported twice.
+    // Partitioned imports therefore do not guarantee deduplication across partitions (see PartitionedImportConfig).
     @Bean
-    public ItemProcessor<Transaction, Transaction> transactionProcessor() {
+    @StepScope
+    public ItemProcessor<Transaction, Transaction> transactionProcessor(
+            @Value("#{jobExecutionContext['import.appendOnly'] == true and stepExecutionContext['partition.startLine'] == null}") boolean appendOnly,
+            TransactionValidator validator,
+            TransactionRejectWriter rejects,
+            TransactionArchive archive,
+            ShardRouter shardRouter,
+            ShardedTransactionRepository shardedRepository,
+            TransactionOutbox outbox,
+            @Value("#{jobParameters['import.writer'] != null ? jobParameters['import.writer'] == 'bulk' : ${app.import.bulk-load.enabled:false}}") boolean bulkLoad) {
         // Use a Set to track unique keys within this batch run
-        Set<String> seen = Collections.synchronizedSet(new HashSet<>());
+        Set<DedupKey> seen = Collections.synchronizedSet(new HashSet<>());
         return item -> {
-            String uniqueKey = item.getAccountNumber() + "|" +
-                    item.getTrxnAmount() + "|" +
-                    item.getDescription() + "|" +
-                    item.getTrxnTimestamp() + "|" +
-                    item.getCustomerId();
+            // Each outcome is also a maybank.ImportProcess flight recorder event
+            ImportProcessEvent event = new ImportProcessEvent();
+            event.begin();
+            String rejectReason = validator.rejectReason(item);
+            if (rejectReason != null) {
+                rejects.reject(item, rejectReason);
+                event.record(item, ImportProcessEvent.REJECTED, rejectReason, -1);
+                return null; // rejected
+            }
+            DedupKey uniqueKey = DedupKey.of(item);
             // In-memory deduplication for this batch run
             if (!seen.add(uniqueKey)) {
+                event.record(item, ImportProcessEvent.DUPLICATE_IN_FILE, null, -1);
                 return null; // skip duplicate in file
             }
-            // DB existence check
-            boolean exists = transactionRepository.existsByAccountNumberAndTrxnAmountAndDescriptionAndTrxnTimestampAndCustomerId(
-                    item.getAccountNumber(), item.getTrxnAmount(), item.getDescription(), item.getTrxnTimestamp(), item.getCustomerId()
-            );
+            // DB existence check on the customer's shard; archived rows count too, so old lines are not
+            // re-imported into the hot table (only shard 0 archives)
+            int shard = shardRouter.shardOf(item.getCustomerId());
+            boolean exists = false;
+            if (!appendOnly && shard == 0) {
+                exists = !bulkLoad && (transactionRepository.existsByAccountNumberAndTrxnAmountAndDescriptionAndTrxnTimestampAndCustomerId(
+                        item.getAccountNumber(), item.getTrxnAmount(), item.getDescription(), item.getTrxnTimestamp(), item.getCustomerId()
+                ) || archive.contains(item));
+            } else if (!appendOnly) {
+                Long existingId = shardedRepository.findId(shard, item).orElse(null);
+                // Shard rows commit before their chunk. A row whose chunk then rolled back has no outbox entry;
+                // it goes on with its id so the writer records only that entry (see ShardRoutingItemWriter)
+                if (existingId != null && outbox.unrecorded(existingId)) {
+                    item.setId(existingId);
+                    item.setProcessed(true);
+                    event.record(item, ImportProcessEvent.ACCEPTED, null, shard);
+                    return item;
+                }
+                exists = existingId != null;
+            }
             if (exists) {
+                event.record(item, ImportProcessEvent.ALREADY_IMPORTED, null, shard);
                 return null; // skip if already in DB
             }
             item.setProcessed(true);
-            if (item.getTrxnAmount().signum() < 0) {
-                throw new IllegalArgumentException("Transaction amount must be positive: " + item.getTrxnAmount());
-            }
+            event.record(item, ImportProcessEvent.ACCEPTED, null, shard);
             return item;
         };
     }
 
+    // Dedup key compared by value; the amount stays in minor units so no string or BigDecimal is built per row.
+    record DedupKey(long accountNumber, long trxnAmount, String description, LocalDateTime trxnTimestamp, long customerId) {
+        static DedupKey of(Transaction txn) {
+            return new DedupKey(txn.getAccountNumber(), txn.getTrxnAmount(), txn.getDescription(),
+                    txn.getTrxnTimestamp(), txn.getCustomerId());
+        }
+    }
+
     // Writes valid Transaction objects to the database using JPA.
-    // This uses the EntityManagerFactory to persist entities.
+    // This uses the EntityManagerFactory to persist entities, and records each row in the change feed outbox.
+    // With bulk load enabled, the BulkLoadItemWriter takes JPA's place; the import.writer job parameter
+    // (jpa | bulk) picks one per run, bulk only where bulk load is configured.
+    // With sharding, rows of customers on other shards bypass JPA and go to their shard.
     @Bean
-    public JpaItemWriter<Transaction> transactionItemWriter(){
-        JpaItemWriter<Transaction> writer = new JpaItemWriter<>();
-        writer.setEntityManagerFactory(emf);
-        // Optionally set a custom transaction manager if needed
-        // writer.setTransactionManager(transactionManager);
-        return writer;
+    @StepScope
+    public ItemWriter<Transaction> transactionItemWriter(@Value("#{jobParameters['import.writer']}") String writerMode,
+                                                         TransactionOutbox outbox,
+                                                         ShardRouter shardRouter,
+                                                         ShardedTransactionRepository shardedRepository,
+                                                         ObjectProvider<StagingLoader> stagingLoader,
+                                                         NamedParameterJdbcTemplate jdbcTemplate) throws Exception {
+        StagingLoader bulkLoader = stagingLoader.getIfAvailable();
+        if (WRITER_BULK.equals(writerMode) && bulkLoader == null) {
+            throw new IllegalStateException("Bulk load is not configured (app.import.bulk-load.enabled=false)");
+        }
+        ItemWriter<Transaction> writer;
+        if (bulkLoader != null && !WRITER_JPA.equals(writerMode)) {
+            writer = new BulkLoadItemWriter(bulkLoader, jdbcTemplate, outbox);
+        } else {
+            JpaItemWriter<Transaction> jpaWriter = new TransactionOutboxItemWriter(outbox);
+            jpaWriter.setEntityManagerFactory(emf);
+            jpaWriter.afterPropertiesSet();
+            writer = jpaWriter;
+        }
+        return shardRouter.isSharded()
+                ? new ShardRoutingItemWriter(writer, shardRouter, shardedRepository, outbox)
+                : writer;
     }
 
     // JobRepository is used to manage job execution metadata.
+    // The fingerprint listener runs first; an unchanged file ends the job without starting the step.
+    // With partitioning enabled on a manager node, the manager step takes the place of importStep.
     @Bean
-    public Job importTransactionJob(JobRepository jobRepository, Step importStep){
+    public Job importTransactionJob(JobRepository jobRepository,
+                                    @Qualifier("importStep") Step localStep,
+                                    @Qualifier("importManagerStep") ObjectProvider<Step> managerStep,
+                                    ImportFingerprintListener fingerprintListener){
+        Step importStep = managerStep.getIfAvailable(() -> localStep);
+        JobExecutionDecider upToDate = (jobExecution, stepExecution) ->
+                Boolean.TRUE.equals(jobExecution.getExecutionContext().get(ImportFingerprintListener.UP_TO_DATE_KEY))
+                        ? new FlowExecutionStatus("UP_TO_DATE")
+                        : FlowExecutionStatus.COMPLETED;
         return new JobBuilder("importTransactionsJob", jobRepository)
-                .flow(importStep).end().build();
+                .listener(fingerprintListener)
+                .start(upToDate).on("UP_TO_DATE").end()
+                .from(upToDate).on("*").to(importStep)
+                .end().build();
     }
 
-    // TaskExecutor allows parallel processing of chunks in the step and enables multi-threaded step execution.
+    // Runs launched jobs (the job launcher picks up the "taskExecutor" bean), so launches return immediately.
     @Bean
     public TaskExecutor taskExecutor() {
         SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("batch-thread-");
@@ -146,25 +280,49 @@ public class BatchConfig {
         return executor;
     }
 
+    // Chunk threads of one import step execution: import.concurrency of them, else app.import.concurrency.
+    @Bean
+    @StepScope
+    public TaskExecutor importTaskExecutor(
+            @Value("#{jobParameters['import.concurrency'] ?: ${app.import.concurrency:4}}") Long concurrency) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("import-thread-");
+        executor.setConcurrencyLimit(Math.toIntExact(concurrency));
+        return executor;
+    }
+
+    // The throttle limit is only a ceiling; the step-scoped executor above sets each run's thread count.
     @Bean
+    @SuppressWarnings("removal")
     public Step importStep(JobRepository jobRepository,
                            PlatformTransactionManager txnManager,
-                           FlatFileItemReader<Transaction> reader,
+                           @Qualifier("transactionItemReader") FlatFileItemReader<Transaction> reader,
                            ItemProcessor<Transaction, Transaction> processor,
-                           JpaItemWriter<Transaction> writer,
+                           ItemWriter<Transaction> writer,
                            TransactionSkipListener skipListener,
-                           TaskExecutor taskExecutor) {
+                           TransactionCacheWriteListener cacheWriteListener,
+                           ImportBackpressureListener backpressureListener,
+                           AdaptiveChunkSizePolicy chunkSizePolicy,
+                           TransactionRejectWriter rejectWriter,
+                           ImportChunkWriteEventListener writeEventListener,
+                           @Qualifier("importTaskExecutor") TaskExecutor importTaskExecutor,
+                           @Value("${app.import.max-concurrency:16}") int maxConcurrency) {
         return new StepBuilder("importStep", jobRepository)
-                .<Transaction, Transaction>chunk(50, txnManager) // chunk size 50
+                .<Transaction, Transaction>chunk(chunkSizePolicy, txnManager) // self-tuning commit interval
                 .reader(reader)
                 .processor(processor)
                 .writer(writer)
                 .faultTolerant()
                 .skipLimit(Integer.MAX_VALUE) // allow skipping any number of bad records
                 .skip(FlatFileParseException.class)    // skip format errors (e.g. missing fields)
-                .skip(IllegalArgumentException.class)  // skip our validation exceptions
+                .skip(IllegalArgumentException.class)  // safety net; validation rejects no longer throw
                 .listener(skipListener)                // attach skip listener for logging
-                .taskExecutor(taskExecutor) // Enable multi-threading
+                .listener(cacheWriteListener)          // evict near-cache entries for rewritten rows
+                .listener(backpressureListener)        // yield to the API when its latency is over SLO
+                .listener((ChunkListener) chunkSizePolicy) // feed commit latency back into the chunk size
+                .listener(rejectWriter)                // flush rejected rows once their chunk commits
+                .listener(writeEventListener)          // time writer calls as flight recorder events
+                .taskExecutor(importTaskExecutor) // Enable multi-threading
+                .throttleLimit(maxConcurrency)
                 .build();
     }
 }
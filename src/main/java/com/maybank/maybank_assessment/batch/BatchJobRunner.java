@@ -1,38 +1,133 @@
 package com.maybank.maybank_assessment.batch;
 
+import com.maybank.maybank_assessment.batch.listener.ImportFingerprintListener;
+import com.maybank.maybank_assessment.batch.lock.ImportLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.context.annotation.Bean;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Launches the import from a background scheduler instead of at startup, so the web tier (and the
+ * readiness probe) comes up without waiting for the file.
+ *
+ * The trigger is app.import.schedule.cron when set, otherwise a fixed delay between runs
+ * (app.import.schedule.fixed-delay after app.import.schedule.initial-delay). Each run takes a
+ * DB-backed lock per input file, so when several nodes share the database only one of them imports it;
+ * the others skip that trigger. Worker-only partition nodes never launch the job.
+ *
+ * The trigger waits for the execution to end (renewing the lease as it goes), so it keeps a scheduler thread
+ * for the whole import; spring.task.scheduling.pool.size leaves threads for the archive and prune crons. If a
+ * renewal fails the lease has passed to another node, so the execution is stopped at its next chunk.
+ */
 @Slf4j
 @Configuration
+@EnableScheduling
+@ConditionalOnExpression("${app.import.schedule.enabled:true} and '${app.import.partition.role:both}' != 'worker'")
 @RequiredArgsConstructor
-public class BatchJobRunner {
+public class BatchJobRunner implements SchedulingConfigurer {
 
     private final JobLauncher jobLauncher;
     private final Job importTransactionJob;
+    private final JobExplorer jobExplorer;
+    private final JobOperator jobOperator;
+    private final ImportLockService importLock;
+
+    @Value("${app.import.file:" + ImportFingerprintListener.DEFAULT_INPUT_FILE + "}")
+    private String inputFile = ImportFingerprintListener.DEFAULT_INPUT_FILE;
+
+    @Value("${app.import.schedule.cron:}")
+    private String cron = "";
+
+    @Value("${app.import.schedule.fixed-delay:15m}")
+    private Duration fixedDelay = Duration.ofMinutes(15);
+
+    @Value("${app.import.schedule.initial-delay:0s}")
+    private Duration initialDelay = Duration.ZERO;
+
+    // Lease length; renewed while the job runs, so it only matters when the holder dies
+    @Value("${app.import.schedule.lock-at-most-for:10m}")
+    private Duration lockAtMostFor = Duration.ofMinutes(10);
+
+    @Value("${app.import.schedule.poll-interval:5s}")
+    private Duration pollInterval = Duration.ofSeconds(5);
 
-    @Bean
-    public CommandLineRunner runBatchJob() {
-        return args -> {
-            try {
-                // Create unique job parameters with a timestamp to ensure the job can be run multiple times
-                JobParameters jobParameters = new JobParametersBuilder()
-                        .addLong("time", System.currentTimeMillis())
-                        .toJobParameters();
-
-                log.info("Starting batch job: importTransactionsJob");
-                jobLauncher.run(importTransactionJob, jobParameters);
-                log.info("Batch job completed");
-            } catch (Exception e) {
-                log.error("Error running batch job", e);
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (StringUtils.hasText(cron)) {
+            registrar.addCronTask(this::launchImport, cron);
+        } else {
+            registrar.addFixedDelayTask(new FixedDelayTask(this::launchImport, fixedDelay, initialDelay));
+        }
+    }
+
+    public void launchImport() {
+        // Canonical, so the /imports API naming the same file takes the same lock
+        String file = ImportFingerprintListener.canonicalInputFile(inputFile);
+        String lockName = ImportLockService.importLockName(file);
+        Optional<ImportLockService.Lease> lease = importLock.tryLock(lockName, lockAtMostFor);
+        if (lease.isEmpty()) {
+            log.info("Import of {} is running elsewhere; skipping this trigger", file);
+            return;
+        }
+        try {
+            // Create unique job parameters with a timestamp to ensure the job can be run multiple times;
+            // the input file lets reruns find and skip what earlier runs already imported
+            JobParameters jobParameters = new JobParametersBuilder()
+                    .addLong("time", System.currentTimeMillis())
+                    .addString(ImportFingerprintListener.INPUT_FILE_PARAM, file)
+                    .toJobParameters();
+
+            log.info("Starting batch job: importTransactionsJob");
+            JobExecution execution = jobLauncher.run(importTransactionJob, jobParameters);
+            log.info("Batch job completed with status {}", awaitCompletion(execution, lease.get()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Error running batch job", e);
+        } finally {
+            importLock.unlock(lease.get());
+        }
+    }
+
+    // The launcher is asynchronous, so keep the lock (and renew its lease) until the execution ends.
+    private BatchStatus awaitCompletion(JobExecution execution, ImportLockService.Lease lease) throws InterruptedException {
+        JobExecution current = execution;
+        while (current.getStatus().isRunning()) {
+            Thread.sleep(pollInterval.toMillis());
+            if (!importLock.renew(lease, lockAtMostFor)) {
+                log.warn("Lost the lock on {}; stopping import execution {}", lease.name(), execution.getId());
+                stop(execution.getId());
+                return current.getStatus();
             }
-        };
+            JobExecution refreshed = jobExplorer.getJobExecution(execution.getId());
+            current = (refreshed != null) ? refreshed : current;
+        }
+        return current.getStatus();
+    }
+
+    private void stop(long executionId) {
+        try {
+            jobOperator.stop(executionId);
+        } catch (Exception e) {
+            log.warn("Could not stop import execution {}", executionId, e);
+        }
     }
 }
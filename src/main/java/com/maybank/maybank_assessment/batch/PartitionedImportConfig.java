@@ -0,0 +1,166 @@
+package com.maybank.maybank_assessment.batch;
+
+import com.maybank.maybank_assessment.batch.fingerprint.FileFingerprint;
+import com.maybank.maybank_assessment.batch.chunk.AdaptiveChunkSizePolicy;
+import com.maybank.maybank_assessment.batch.listener.ImportBackpressureListener;
+import com.maybank.maybank_assessment.batch.listener.ImportChunkWriteEventListener;
+import com.maybank.maybank_assessment.batch.listener.TransactionCacheWriteListener;
+import com.maybank.maybank_assessment.batch.listener.TransactionSkipListener;
+import com.maybank.maybank_assessment.batch.partition.LineRangePartitioner;
+import com.maybank.maybank_assessment.batch.validation.TransactionRejectWriter;
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.integration.config.annotation.EnableBatchIntegration;
+import org.springframework.batch.integration.partition.RemotePartitioningManagerStepBuilderFactory;
+import org.springframework.batch.integration.partition.RemotePartitioningWorkerStepBuilderFactory;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.channel.ExecutorChannel;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Manager/worker import via Spring Batch remote partitioning, enabled with app.import.partition.enabled=true.
+ *
+ * The manager (importManagerStep) splits the file into line ranges and sends one request per range on
+ * the {@code partitionRequests} channel; workers (importWorkerStep) run their range and answer on
+ * {@code partitionReplies} with their StepExecution. Both sides share the job repository.
+ *
+ * app.import.partition.role selects which side this node runs (both | manager | worker), and
+ * app.import.partition.transport selects the channels: "local" wires in-JVM channels so the whole flow
+ * runs on one machine; any other value expects partitionRequests/partitionReplies beans bridged to a
+ * broker (e.g. Spring Integration AMQP/JMS/Kafka adapters).
+ *
+ * Duplicate lines are only reliably caught within one partition. Across partitions the existence check sees
+ * what other partitions have committed, not their in-flight chunks, and the transactions table has no unique
+ * key on the row's fields, so two identical lines in different ranges can both be imported. Use the
+ * single-step import for files that may repeat lines far apart.
+ */
+@Configuration
+@EnableBatchIntegration
+@ConditionalOnProperty(prefix = "app.import.partition", name = "enabled", havingValue = "true")
+public class PartitionedImportConfig {
+
+    // Splits the not-yet-imported lines into ranges (see ImportFingerprintListener for the skip).
+    @Bean
+    @StepScope
+    public LineRangePartitioner importPartitioner(
+            @Value("#{jobParameters['input.file'] ?: 'src/main/resources/dataSource.txt'}") String inputFile,
+            @Value("#{jobExecutionContext['import.skipLines'] ?: 1}") Long skipLines,
+            @Value("#{jobExecutionContext['import.fingerprint']}") FileFingerprint fingerprint) {
+        long totalLines = (fingerprint != null) ? fingerprint.lineCount() : countLines(Path.of(inputFile));
+        return new LineRangePartitioner(totalLines, skipLines);
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${app.import.partition.role:both}' != 'worker'")
+    public Step importManagerStep(RemotePartitioningManagerStepBuilderFactory managerStepBuilderFactory,
+                                  LineRangePartitioner importPartitioner,
+                                  MessageChannel partitionRequests,
+                                  MessageChannel partitionReplies,
+                                  @Value("${app.import.partition.grid-size:4}") int gridSize) {
+        return managerStepBuilderFactory.get("importManagerStep")
+                .partitioner("importWorkerStep", importPartitioner)
+                .gridSize(gridSize)
+                .outputChannel(partitionRequests)
+                .inputChannel(partitionReplies)
+                .build();
+    }
+
+    // Reads one line range of the file; the range comes from the partition's step execution context.
+    @Bean
+    @StepScope
+    public FlatFileItemReader<Transaction> partitionItemReader(
+            @Value("#{jobParameters['input.file'] ?: 'src/main/resources/dataSource.txt'}") String inputFile,
+            @Value("#{stepExecutionContext['partition.startLine']}") Long startLine,
+            @Value("#{stepExecutionContext['partition.itemCount']}") Integer itemCount) {
+        return new FlatFileItemReaderBuilder<Transaction>()
+                .name("partitionItemReader")
+                .resource(new FileSystemResource(inputFile))
+                .linesToSkip(Math.toIntExact(startLine))
+                .maxItemCount(itemCount)
+                .lineMapper(BatchConfig.transactionLineMapper())
+                .build();
+    }
+
+    // Same processing and fault tolerance as importStep, for one partition.
+    @Bean
+    @ConditionalOnExpression("'${app.import.partition.role:both}' != 'manager'")
+    public Step importWorkerStep(RemotePartitioningWorkerStepBuilderFactory workerStepBuilderFactory,
+                                 PlatformTransactionManager txnManager,
+                                 @Qualifier("partitionItemReader") FlatFileItemReader<Transaction> partitionItemReader,
+                                 ItemProcessor<Transaction, Transaction> processor,
+                                 ItemWriter<Transaction> writer,
+                                 TransactionSkipListener skipListener,
+                                 TransactionCacheWriteListener cacheWriteListener,
+                                 ImportBackpressureListener backpressureListener,
+                                 AdaptiveChunkSizePolicy chunkSizePolicy,
+                                 TransactionRejectWriter rejectWriter,
+                                 ImportChunkWriteEventListener writeEventListener,
+                                 MessageChannel partitionRequests,
+                                 MessageChannel partitionReplies) {
+        return workerStepBuilderFactory.get("importWorkerStep")
+                .inputChannel(partitionRequests)
+                .outputChannel(partitionReplies)
+                .<Transaction, Transaction>chunk(chunkSizePolicy, txnManager) // self-tuning commit interval
+                .reader(partitionItemReader)
+                .processor(processor)
+                .writer(writer)
+                .faultTolerant()
+                .skipLimit(Integer.MAX_VALUE)
+                .skip(FlatFileParseException.class)
+                .skip(IllegalArgumentException.class)
+                .listener(skipListener)
+                .listener(cacheWriteListener)
+                .listener(backpressureListener)
+                .listener((ChunkListener) chunkSizePolicy)
+                .listener(rejectWriter)
+                .listener(writeEventListener)
+                .build();
+    }
+
+    private static long countLines(Path file) {
+        try (var lines = Files.lines(file)) {
+            return lines.count();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + file, e);
+        }
+    }
+
+    // In-JVM stand-in transport: requests fan out to worker threads, replies go straight back to the manager.
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.import.partition", name = "transport", havingValue = "local", matchIfMissing = true)
+    static class LocalPartitionTransportConfig {
+
+        @Bean
+        public MessageChannel partitionRequests(@Value("${app.import.partition.grid-size:4}") int gridSize) {
+            SimpleAsyncTaskExecutor workers = new SimpleAsyncTaskExecutor("partition-worker-");
+            workers.setConcurrencyLimit(gridSize);
+            return new ExecutorChannel(workers);
+        }
+
+        @Bean
+        public MessageChannel partitionReplies() {
+            return new DirectChannel();
+        }
+    }
+}
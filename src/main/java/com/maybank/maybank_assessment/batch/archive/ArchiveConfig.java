@@ -0,0 +1,136 @@
+package com.maybank.maybank_assessment.batch.archive;
+
+import com.maybank.maybank_assessment.batch.lock.ImportLockService;
+import com.maybank.maybank_assessment.service.archive.TransactionArchive;
+import com.maybank.maybank_assessment.service.cache.TransactionNearCache;
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * archiveTransactionsJob: optionally compresses the archive table (MySQL/InnoDB only), then moves rows older
+ * than the archive.cutoff job parameter out of the hot table in batches of app.archive.batch-size.
+ * Launched by {@link ArchiveJobRunner}, which passes its lease on the archive lock as archive.lease.
+ */
+@Slf4j
+@Configuration
+public class ArchiveConfig {
+
+    public static final String CUTOFF_PARAM = "archive.cutoff";
+    public static final String LEASE_PARAM = "archive.lease";
+
+    @Bean
+    public Job archiveTransactionsJob(JobRepository jobRepository,
+                                      @Qualifier("archiveCompressionStep") Step compressionStep,
+                                      @Qualifier("archiveTransactionsStep") Step archiveStep,
+                                      TransactionArchive archive) {
+        return new JobBuilder("archiveTransactionsJob", jobRepository)
+                .start(compressionStep)
+                .next(archiveStep)
+                .listener(new JobExecutionListener() {
+                    @Override
+                    public void afterJob(JobExecution jobExecution) {
+                        // The horizon moved; stop routing around the archive on this node right away
+                        archive.refresh();
+                    }
+                })
+                .build();
+    }
+
+    @Bean
+    public Step archiveCompressionStep(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+                                       @Qualifier("archiveCompressionTasklet") Tasklet archiveCompressionTasklet) {
+        return new StepBuilder("archiveCompressionStep", jobRepository)
+                .tasklet(archiveCompressionTasklet, transactionManager)
+                .build();
+    }
+
+    // Archived rows are write-once and rarely read, so trade CPU for space where the engine supports it.
+    // InnoDB needs ROW_FORMAT=COMPRESSED per table; other databases are left alone (e.g. PostgreSQL TOASTs on its own).
+    @Bean
+    public Tasklet archiveCompressionTasklet(NamedParameterJdbcTemplate jdbcTemplate,
+                                             @Value("${app.archive.compress-table:true}") boolean compressTable) {
+        return (contribution, chunkContext) -> {
+            if (!compressTable || !isMySql(jdbcTemplate)) {
+                return RepeatStatus.FINISHED;
+            }
+            List<String> rowFormat = jdbcTemplate.queryForList(
+                    "SELECT row_format FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = :table",
+                    Map.of("table", TransactionSqlFilters.ARCHIVE_TABLE), String.class);
+            if (!rowFormat.isEmpty() && !"Compressed".equalsIgnoreCase(rowFormat.get(0))) {
+                log.info("Compressing {} (was {})", TransactionSqlFilters.ARCHIVE_TABLE, rowFormat.get(0));
+                jdbcTemplate.getJdbcTemplate().execute(
+                        "ALTER TABLE " + TransactionSqlFilters.ARCHIVE_TABLE + " ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8");
+            }
+            return RepeatStatus.FINISHED;
+        };
+    }
+
+    @Bean
+    public Step archiveTransactionsStep(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+                                        ArchiveTransactionsTasklet archiveTransactionsTasklet,
+                                        @Qualifier("archiveLeaseListener") ChunkListener archiveLeaseListener) {
+        return new StepBuilder("archiveTransactionsStep", jobRepository)
+                .tasklet(archiveTransactionsTasklet, transactionManager)
+                .listener(archiveLeaseListener)
+                .build();
+    }
+
+    // Renews the runner's lease before each batch; failing the batch once another node holds the lock.
+    // A run without a lease (launched by hand) is not guarded.
+    @Bean
+    @StepScope
+    public ChunkListener archiveLeaseListener(
+            ImportLockService importLock,
+            @Value("#{jobParameters['" + LEASE_PARAM + "']}") String token,
+            @Value("${app.archive.lock-at-most-for:1h}") Duration lockAtMostFor) {
+        ImportLockService.Lease lease = new ImportLockService.Lease(ArchiveJobRunner.LOCK_NAME, token);
+        return new ChunkListener() {
+            @Override
+            public void beforeChunk(ChunkContext context) {
+                if (token != null && !importLock.renew(lease, lockAtMostFor)) {
+                    throw new IllegalStateException("Lost the archive lock to another node");
+                }
+            }
+        };
+    }
+
+    @Bean
+    @StepScope
+    public ArchiveTransactionsTasklet archiveTransactionsTasklet(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionNearCache nearCache,
+            @Value("#{jobParameters['" + CUTOFF_PARAM + "']}") LocalDateTime cutoff,
+            @Value("${app.archive.batch-size:1000}") int batchSize) {
+        return new ArchiveTransactionsTasklet(jdbcTemplate, nearCache, cutoff, batchSize);
+    }
+
+    private static boolean isMySql(NamedParameterJdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.getJdbcTemplate().execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "MySQL".equalsIgnoreCase(product);
+    }
+}
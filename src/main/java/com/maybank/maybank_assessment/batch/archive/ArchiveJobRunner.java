@@ -0,0 +1,89 @@
+package com.maybank.maybank_assessment.batch.archive;
+
+import com.maybank.maybank_assessment.batch.lock.ImportLockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Runs archiveTransactionsJob on app.archive.cron, moving rows older than app.archive.older-than.
+ *
+ * Only one node archives at a time (same DB lock as the import). The job runs on the scheduler thread
+ * rather than the shared async launcher, so the lock is held for the duration of the call. The lease goes to
+ * the job as a parameter and archiveTransactionsStep renews it before each batch (see ArchiveConfig), so a
+ * long first archival keeps it; if it was lost to another node the run fails instead of moving rows twice.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "app.archive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ArchiveJobRunner implements SchedulingConfigurer {
+
+    static final String LOCK_NAME = "archive";
+
+    private final JobRepository jobRepository;
+    private final Job archiveTransactionsJob;
+    private final ImportLockService importLock;
+
+    @Value("${app.archive.cron:0 30 2 * * *}")
+    private String cron = "0 30 2 * * *";
+
+    @Value("${app.archive.older-than:365d}")
+    private Duration olderThan = Duration.ofDays(365);
+
+    // Lease length; renewed before each batch, so it only matters when the holder dies
+    @Value("${app.archive.lock-at-most-for:1h}")
+    private Duration lockAtMostFor = Duration.ofHours(1);
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addCronTask(this::launchArchive, cron);
+    }
+
+    public void launchArchive() {
+        Optional<ImportLockService.Lease> lease = importLock.tryLock(LOCK_NAME, lockAtMostFor);
+        if (lease.isEmpty()) {
+            log.info("Archival is running on another node; skipping this trigger");
+            return;
+        }
+        try {
+            JobParameters jobParameters = new JobParametersBuilder()
+                    .addLocalDateTime(ArchiveConfig.CUTOFF_PARAM, LocalDateTime.now().minus(olderThan))
+                    .addString(ArchiveConfig.LEASE_PARAM, lease.get().token(), false)
+                    .toJobParameters();
+            JobExecution execution = jobLauncher().run(archiveTransactionsJob, jobParameters);
+            log.info("Archival finished with status {}, {} rows archived", execution.getStatus(),
+                    execution.getStepExecutions().stream().mapToLong(step -> step.getWriteCount()).sum());
+        } catch (Exception e) {
+            log.error("Error running archival job", e);
+        } finally {
+            importLock.unlock(lease.get());
+        }
+    }
+
+    JobLauncher jobLauncher() throws Exception {
+        TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+        launcher.setJobRepository(jobRepository);
+        launcher.setTaskExecutor(new SyncTaskExecutor());
+        launcher.afterPropertiesSet();
+        return launcher;
+    }
+}
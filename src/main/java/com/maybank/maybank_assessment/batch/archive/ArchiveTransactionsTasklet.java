@@ -0,0 +1,68 @@
+package com.maybank.maybank_assessment.batch.archive;
+
+import com.maybank.maybank_assessment.service.cache.TransactionNearCache;
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves transactions older than the cutoff from the hot table into transactions_archive, one batch of ids
+ * per invocation. The step runs each invocation in its own transaction, so a batch is either copied and
+ * deleted together or not at all, and a failed run simply resumes from whatever is still hot.
+ */
+@Slf4j
+public class ArchiveTransactionsTasklet implements Tasklet {
+
+    static final String ARCHIVED_COLUMNS = TransactionSqlFilters.COLUMNS + ", is_processed";
+
+    static final String SELECT_IDS = "SELECT id FROM " + TransactionSqlFilters.TABLE
+            + " WHERE trxn_timestamp < :cutoff ORDER BY id LIMIT :batchSize";
+    static final String COPY = "INSERT INTO " + TransactionSqlFilters.ARCHIVE_TABLE + " (" + ARCHIVED_COLUMNS + ")"
+            + " SELECT " + ARCHIVED_COLUMNS + " FROM " + TransactionSqlFilters.TABLE + " WHERE id IN (:ids)";
+    static final String DELETE = "DELETE FROM " + TransactionSqlFilters.TABLE + " WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionNearCache nearCache;
+    private final LocalDateTime cutoff;
+    private final int batchSize;
+
+    public ArchiveTransactionsTasklet(NamedParameterJdbcTemplate jdbcTemplate, TransactionNearCache nearCache,
+                                      LocalDateTime cutoff, int batchSize) {
+        if (cutoff == null) {
+            throw new IllegalArgumentException("archive.cutoff job parameter is required");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.nearCache = nearCache;
+        this.cutoff = cutoff;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_IDS, Map.of("cutoff", cutoff, "batchSize", batchSize), Long.class);
+        if (ids.isEmpty()) {
+            return RepeatStatus.FINISHED;
+        }
+        Map<String, Object> params = Map.of("ids", ids);
+        int copied = jdbcTemplate.update(COPY, params);
+        int deleted = jdbcTemplate.update(DELETE, params);
+        if (copied != deleted) {
+            // Rolls the batch back; rows changed underneath us, the next run picks them up again
+            throw new IllegalStateException("Archived " + copied + " rows but deleted " + deleted);
+        }
+        contribution.incrementReadCount();
+        contribution.incrementWriteCount(deleted);
+        // Archived rows are no longer addressable by id
+        ids.forEach(id -> nearCache.evict(id, null));
+        log.debug("Archived {} transactions older than {}", deleted, cutoff);
+        return ids.size() < batchSize ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+}
@@ -0,0 +1,36 @@
+package com.maybank.maybank_assessment.batch.bulk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+// With app.import.bulk-load.enabled=true the import writes through a BulkLoadItemWriter (see BatchConfig) using
+// the loader picked for the primary database: COPY on PostgreSQL, LOAD DATA on MySQL, a JDBC batch elsewhere.
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.import.bulk-load.enabled", havingValue = "true")
+public class BulkLoadConfig {
+
+    @Bean
+    public StagingLoader stagingLoader(NamedParameterJdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.getJdbcTemplate().execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        StagingLoader loader = loaderFor(product);
+        loader.createStatements().forEach(jdbcTemplate.getJdbcTemplate()::execute);
+        log.info("Import bulk-loads {} rows through {} ({})", product, StagingLoader.TABLE, loader.getClass().getSimpleName());
+        return loader;
+    }
+
+    static StagingLoader loaderFor(String databaseProduct) {
+        if ("PostgreSQL".equalsIgnoreCase(databaseProduct)) {
+            return new PostgresCopyLoader();
+        }
+        if ("MySQL".equalsIgnoreCase(databaseProduct)) {
+            return new MySqlLoadDataLoader();
+        }
+        return new JdbcBatchStagingLoader();
+    }
+}
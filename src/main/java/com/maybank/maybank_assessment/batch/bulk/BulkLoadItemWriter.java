@@ -0,0 +1,85 @@
+package com.maybank.maybank_assessment.batch.bulk;
+
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.model.id.TransactionIds;
+import com.maybank.maybank_assessment.service.outbox.TransactionOutbox;
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Import writer that bulk-loads each chunk into transactions_staging (see {@link StagingLoader}), then moves it
+ * into transactions with one INSERT ... SELECT that leaves out rows already in transactions or the archive.
+ * That set-based check replaces the processor's per-row existence query.
+ *
+ * Everything runs in the chunk transaction, so a rolled-back chunk leaves neither staged nor imported rows.
+ * Imported rows get IMPORTED outbox entries as with the JPA writer.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BulkLoadItemWriter implements ItemWriter<Transaction> {
+
+    private static final String SAME_ROW = " WHERE t.account_number = s.account_number AND t.trxn_amount = s.trxn_amount"
+            + " AND t.description = s.description AND t.trxn_timestamp = s.trxn_timestamp AND t.customer_id = s.customer_id)";
+
+    static final String INSERT_NEW = "INSERT INTO " + TransactionSqlFilters.TABLE
+            + " (id, account_number, trxn_amount, description, trxn_timestamp, customer_id, version, is_processed)"
+            + " SELECT s.id, s.account_number, s.trxn_amount, s.description, s.trxn_timestamp, s.customer_id, 0, TRUE"
+            + " FROM " + StagingLoader.TABLE + " s WHERE s.batch_id = :batchId"
+            + " AND NOT EXISTS (SELECT 1 FROM " + TransactionSqlFilters.TABLE + " t" + SAME_ROW
+            + " AND NOT EXISTS (SELECT 1 FROM " + TransactionSqlFilters.ARCHIVE_TABLE + " t" + SAME_ROW;
+
+    static final String IMPORTED_IDS = "SELECT s.id FROM " + StagingLoader.TABLE + " s JOIN "
+            + TransactionSqlFilters.TABLE + " t ON t.id = s.id WHERE s.batch_id = :batchId";
+
+    static final String CLEAR = "DELETE FROM " + StagingLoader.TABLE + " WHERE batch_id = :batchId";
+
+    private final StagingLoader loader;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionOutbox outbox;
+
+    @Override
+    public void write(Chunk<? extends Transaction> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        TransactionIds ids = TransactionIds.current();
+        List<StagingLoader.Row> rows = new ArrayList<>(chunk.size());
+        for (Transaction item : chunk) {
+            rows.add(new StagingLoader.Row(ids.next(0), item));
+        }
+        // Ids are unique, so the first one also tells this chunk's staged rows apart from concurrent chunks'
+        long batchId = rows.get(0).id();
+        Map<String, Object> params = Map.of("batchId", batchId);
+
+        loader.load(jdbcTemplate.getJdbcTemplate(), batchId, rows);
+        int imported = jdbcTemplate.update(INSERT_NEW, params);
+        Set<Long> importedIds = (imported == rows.size())
+                ? null // all of them; no need to ask
+                : new HashSet<>(jdbcTemplate.queryForList(IMPORTED_IDS, params, Long.class));
+        jdbcTemplate.update(CLEAR, params);
+
+        for (StagingLoader.Row row : rows) {
+            if (importedIds == null || importedIds.contains(row.id())) {
+                TransactionDto written = TransactionDto.fromEntity(row.txn());
+                written.setId(row.id());
+                written.setVersion(0);
+                outbox.record(TransactionChange.Type.IMPORTED, written);
+            }
+        }
+        if (imported < rows.size()) {
+            log.debug("Bulk load skipped {} of {} rows already imported", rows.size() - imported, rows.size());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.maybank.maybank_assessment.batch.bulk;
+
+import com.maybank.maybank_assessment.model.money.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+// Fallback for databases without a bulk-load protocol (e.g. H2): one JDBC batch into the staging table.
+class JdbcBatchStagingLoader implements StagingLoader {
+
+    static final String INSERT = "INSERT INTO " + TABLE + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Override
+    public List<String> createStatements() {
+        return List.of(
+                "CREATE TABLE IF NOT EXISTS " + TABLE + " (" + StagingLoader.columnDefinitions("TIMESTAMP(6)") + ")",
+                "CREATE INDEX IF NOT EXISTS idx_" + TABLE + "_batch ON " + TABLE + " (batch_id)");
+    }
+
+    @Override
+    public void load(JdbcTemplate jdbcTemplate, long batchId, List<Row> rows) {
+        jdbcTemplate.batchUpdate(INSERT, rows.stream()
+                .map(row -> new Object[] { batchId, row.id(), row.txn().getAccountNumber(),
+                        Money.toBigDecimal(row.txn().getTrxnAmount()), row.txn().getDescription(),
+                        row.txn().getTrxnTimestamp(), row.txn().getCustomerId() })
+                .toList());
+    }
+}
@@ -0,0 +1,43 @@
+package com.maybank.maybank_assessment.batch.bulk;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * LOAD DATA LOCAL INFILE fed from memory: the driver streams the chunk instead of reading a file. Needs
+ * allowLoadLocalInfile=true on the JDBC URL and local_infile=ON on the server.
+ */
+class MySqlLoadDataLoader implements StagingLoader {
+
+    static final String LOAD_DATA = "LOAD DATA LOCAL INFILE '" + TABLE + ".tsv' INTO TABLE " + TABLE
+            + " CHARACTER SET utf8mb4 (" + COLUMNS + ")";
+
+    @Override
+    public List<String> createStatements() {
+        return List.of("CREATE TABLE IF NOT EXISTS " + TABLE + " (" + StagingLoader.columnDefinitions("DATETIME(6)")
+                + ", INDEX idx_" + TABLE + "_batch (batch_id))");
+    }
+
+    @Override
+    public void load(JdbcTemplate jdbcTemplate, long batchId, List<Row> rows) {
+        byte[] data = StagingRows.encode(batchId, rows).getBytes(StandardCharsets.UTF_8);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.unwrap(JdbcStatement.class).setLocalInfileInputStream(new ByteArrayInputStream(data));
+                statement.execute(LOAD_DATA);
+                // LOCAL turns conversion errors into warnings, so make a short load fail the chunk here
+                if (statement.getUpdateCount() != rows.size()) {
+                    throw new SQLException("LOAD DATA staged " + statement.getUpdateCount() + " of " + rows.size() + " rows");
+                }
+            }
+            return null;
+        });
+    }
+}
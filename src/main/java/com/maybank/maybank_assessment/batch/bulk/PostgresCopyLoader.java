@@ -0,0 +1,36 @@
+package com.maybank.maybank_assessment.batch.bulk;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.List;
+
+// COPY ... FROM STDIN: the whole chunk goes to the server as one stream, with no per-row statement.
+class PostgresCopyLoader implements StagingLoader {
+
+    static final String COPY = "COPY " + TABLE + " (" + COLUMNS + ") FROM STDIN";
+
+    @Override
+    public List<String> createStatements() {
+        // Unlogged: staged rows live for one chunk transaction, so they need no WAL (or replication)
+        return List.of(
+                "CREATE UNLOGGED TABLE IF NOT EXISTS " + TABLE + " (" + StagingLoader.columnDefinitions("TIMESTAMP(6)") + ")",
+                "CREATE INDEX IF NOT EXISTS idx_" + TABLE + "_batch ON " + TABLE + " (batch_id)");
+    }
+
+    @Override
+    public void load(JdbcTemplate jdbcTemplate, long batchId, List<Row> rows) {
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY, new StringReader(StagingRows.encode(batchId, rows)));
+            } catch (IOException e) {
+                throw new SQLException("COPY into " + TABLE + " failed", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.maybank.maybank_assessment.batch.bulk;
+
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Database-specific half of the bulk load: creating transactions_staging and getting one chunk's rows into it
+ * as fast as the database allows. The set-based dedup into transactions is shared (see {@link BulkLoadItemWriter}).
+ */
+public interface StagingLoader {
+
+    String TABLE = "transactions_staging";
+
+    // Field order of every staged row
+    String COLUMNS = "batch_id, id, account_number, trxn_amount, description, trxn_timestamp, customer_id";
+
+    /** A validated row and the id it will have in transactions. */
+    record Row(long id, Transaction txn) {
+    }
+
+    /** DDL creating the staging table (and its batch_id index) if missing. */
+    List<String> createStatements();
+
+    /** Loads the rows, tagged with batchId, on the current transaction's connection. */
+    void load(JdbcTemplate jdbcTemplate, long batchId, List<Row> rows);
+
+    static String columnDefinitions(String timestampType) {
+        return "batch_id BIGINT NOT NULL, id BIGINT NOT NULL, account_number BIGINT, trxn_amount DECIMAL(19,2), "
+                + "description VARCHAR(255), trxn_timestamp " + timestampType + ", customer_id BIGINT";
+    }
+}
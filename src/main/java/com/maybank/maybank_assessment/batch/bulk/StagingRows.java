@@ -0,0 +1,55 @@
+package com.maybank.maybank_assessment.batch.bulk;
+
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.money.Money;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Encodes staged rows as tab-separated text in the format both PostgreSQL COPY (text format) and MySQL
+ * LOAD DATA (default FIELDS/LINES options) read: one line per row, {@code \N} for null, and backslash,
+ * tab, newline and carriage return escaped with a backslash.
+ */
+final class StagingRows {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+
+    private StagingRows() {
+    }
+
+    static String encode(long batchId, List<StagingLoader.Row> rows) {
+        StringBuilder out = new StringBuilder(rows.size() * 96);
+        for (StagingLoader.Row row : rows) {
+            Transaction txn = row.txn();
+            out.append(batchId).append('\t')
+                    .append(row.id()).append('\t')
+                    .append(field(txn.getAccountNumber())).append('\t')
+                    .append(Money.toBigDecimal(txn.getTrxnAmount()).toPlainString()).append('\t')
+                    .append(escape(txn.getDescription())).append('\t')
+                    .append(txn.getTrxnTimestamp() == null ? "\\N" : TIMESTAMP.format(txn.getTrxnTimestamp())).append('\t')
+                    .append(field(txn.getCustomerId())).append('\n');
+        }
+        return out.toString();
+    }
+
+    static String escape(String value) {
+        if (value == null) return "\\N";
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '\t' -> out.append("\\t");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                default -> out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private static String field(Long value) {
+        return value == null ? "\\N" : value.toString();
+    }
+}
@@ -0,0 +1,149 @@
+package com.maybank.maybank_assessment.batch.chunk;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Commit interval for the import steps that tunes itself toward app.import.chunk.target-latency per chunk.
+ *
+ * Each full committed chunk reports how long it took from its first read to its commit. From that per-item cost
+ * the next size moves halfway toward the size that would hit the target, by at most a factor of two per
+ * chunk; a failed chunk halves it. The size stays within [min-size, max-size] and under the memory budget
+ * (memory-budget / row-bytes items per chunk). Slow commits, wide rows and DB contention from API traffic
+ * all show up as latency, so they shrink chunks without anything else being tuned by hand.
+ *
+ * The current size is published as the import.chunk.size gauge. One instance is shared by every import
+ * thread; each chunk keeps the size it started with. A job launched with the {@link #CHUNK_SIZE_PARAM}
+ * parameter uses that size (capped at max-size) for all its chunks instead, and does not move the tuned size.
+ */
+@Slf4j
+@Component
+public class AdaptiveChunkSizePolicy implements CompletionPolicy, ChunkListener {
+
+    public static final String CHUNK_SIZE_PARAM = "import.chunk-size";
+
+    private final long targetNanos;
+    private final int minSize;
+    private final int maxSize;
+    private final ThreadLocal<SizedContext> current = new ThreadLocal<>();
+    private volatile int size;
+
+    public AdaptiveChunkSizePolicy(@Value("${app.import.chunk.initial-size:100}") int initialSize,
+                                   @Value("${app.import.chunk.min-size:10}") int minSize,
+                                   @Value("${app.import.chunk.max-size:5000}") int maxSize,
+                                   @Value("${app.import.chunk.target-latency:500ms}") Duration targetLatency,
+                                   @Value("${app.import.chunk.memory-budget:16MB}") DataSize memoryBudget,
+                                   @Value("${app.import.chunk.row-bytes:512}") int rowBytes,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        this.targetNanos = targetLatency.toNanos();
+        this.minSize = minSize;
+        this.maxSize = (int) Math.max(minSize, Math.min(maxSize, memoryBudget.toBytes() / rowBytes));
+        this.size = clamp(initialSize);
+        meterRegistry.ifAvailable(registry -> Gauge.builder("import.chunk.size", this, AdaptiveChunkSizePolicy::size)
+                .description("Items per import chunk currently aimed for")
+                .register(registry));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public RepeatContext start(RepeatContext parent) {
+        Long fixed = fixedSize();
+        SizedContext context = (fixed != null)
+                ? new SizedContext(parent, (int) Math.max(1, Math.min(maxSize, fixed)), System.nanoTime(), true)
+                : new SizedContext(parent, size, System.nanoTime(), false);
+        current.set(context);
+        return context;
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context, RepeatStatus result) {
+        return result == null || !result.isContinuable() || isComplete(context);
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context) {
+        return context.getStartedCount() >= ((SizedContext) context).target;
+    }
+
+    @Override
+    public void update(RepeatContext context) {
+        ((SizedContext) context).increment();
+    }
+
+    @Override
+    public void afterChunk(ChunkContext chunkContext) {
+        SizedContext context = current.get();
+        current.remove();
+        // A chunk cut short by the end of the input says little about the per-item cost
+        if (context != null && !context.fixed && context.getStartedCount() >= context.target) {
+            adjust(context.getStartedCount(), System.nanoTime() - context.startNanos);
+        }
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext chunkContext) {
+        SizedContext context = current.get();
+        current.remove();
+        if (context != null && context.fixed) {
+            return;
+        }
+        synchronized (this) {
+            size = clamp(size / 2);
+        }
+    }
+
+    synchronized void adjust(int items, long elapsedNanos) {
+        double ideal = targetNanos / ((double) Math.max(elapsedNanos, 1) / items);
+        double next = Math.min(size * 2.0, Math.max(size / 2.0, (size + ideal) / 2));
+        int previous = size;
+        size = clamp((int) Math.round(next));
+        if (size != previous) {
+            log.debug("Import chunk of {} took {} ms; next chunks aim for {} items", items, elapsedNanos / 1_000_000, size);
+        }
+    }
+
+    // Chunks run on step threads, where the step (and so its job parameters) is registered
+    private static Long fixedSize() {
+        StepContext step = StepSynchronizationManager.getContext();
+        return (step != null) ? step.getStepExecution().getJobParameters().getLong(CHUNK_SIZE_PARAM) : null;
+    }
+
+    private int clamp(int candidate) {
+        return Math.max(minSize, Math.min(maxSize, candidate));
+    }
+
+    private static final class SizedContext extends RepeatContextSupport {
+        private final int target;
+        private final long startNanos;
+        private final boolean fixed;
+
+        private SizedContext(RepeatContext parent, int target, long startNanos, boolean fixed) {
+            super(parent);
+            this.target = target;
+            this.startNanos = startNanos;
+            this.fixed = fixed;
+        }
+    }
+}
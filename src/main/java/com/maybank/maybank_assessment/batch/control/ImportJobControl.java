@@ -0,0 +1,423 @@
+package com.maybank.maybank_assessment.batch.control;
+
+import com.maybank.maybank_assessment.batch.BatchConfig;
+import com.maybank.maybank_assessment.batch.bulk.StagingLoader;
+import com.maybank.maybank_assessment.batch.chunk.AdaptiveChunkSizePolicy;
+import com.maybank.maybank_assessment.batch.fingerprint.FileFingerprint;
+import com.maybank.maybank_assessment.batch.listener.ImportFingerprintListener;
+import com.maybank.maybank_assessment.batch.lock.ImportLockService;
+import com.maybank.maybank_assessment.batch.validation.TransactionRejectWriter;
+import com.maybank.maybank_assessment.exception.BadRequestException;
+import com.maybank.maybank_assessment.exception.ImportConflictException;
+import com.maybank.maybank_assessment.model.dto.ImportJobRequest;
+import com.maybank.maybank_assessment.model.dto.ImportJobStatusDto;
+import com.maybank.maybank_assessment.model.dto.ImportLaunchDto;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionException;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobExecutionNotRunningException;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.core.launch.NoSuchJobExecutionException;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Launches, stops, restarts and reports on importTransactionsJob executions for the /imports API.
+ *
+ * A launch names a file, or a directory whose files are imported one after another in name order, under
+ * app.import.api.base-dir. The API is off unless app.import.api.enabled is set, and the base directory should
+ * be an inbox holding nothing but import files. Paths are resolved to their real path, so a symlink cannot
+ * lead out of the base directory, and each file is imported under the same per-file lock (and input.file) that
+ * BatchJobRunner uses. Every launch takes its own lease, so a second launch of a file that is being imported,
+ * from the API or the schedule, on this node or another, gets 409. An "import-control" thread renews the lease
+ * until the execution ends, then starts the next queued file. If a renewal fails the lease has passed to
+ * another launch, so the execution is stopped and no longer supervised.
+ *
+ * Stopping takes effect at the next chunk boundary. A restart re-runs the stopped or failed execution's job
+ * instance: chunks that committed are not imported again (see BatchConfig#transactionItemReader and
+ * ImportFingerprintListener).
+ *
+ * Rows per second comes from the last two samples the supervising thread took, so it tracks the current rate;
+ * executions this node does not supervise report their average rate instead.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${app.import.api.enabled:false} and '${app.import.partition.role:both}' != 'worker'")
+public class ImportJobControl implements DisposableBean {
+
+    // Counts of a partitioned import are in its worker steps; the manager only adds them up at the end
+    private static final String MANAGER_STEP = "importManagerStep";
+
+    private record Sample(long nanos, long lines) {
+    }
+
+    // An execution this node launched, with the lease on its file
+    private record Launched(JobExecution execution, ImportLockService.Lease lease) {
+    }
+
+    private final JobLauncher jobLauncher;
+    private final Job importTransactionJob;
+    private final JobExplorer jobExplorer;
+    private final JobOperator jobOperator;
+    private final ImportLockService importLock;
+    private final ObjectProvider<StagingLoader> stagingLoader;
+    private final AdaptiveChunkSizePolicy chunkSizePolicy;
+    private final Path baseDir;
+    private final int maxConcurrency;
+    private final Duration lockAtMostFor;
+    private final Duration pollInterval;
+    private final ExecutorService supervisors = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "import-control");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Last two samples per supervised execution
+    private final Map<Long, List<Sample>> samples = new ConcurrentHashMap<>();
+
+    public ImportJobControl(JobLauncher jobLauncher,
+                            Job importTransactionJob,
+                            JobExplorer jobExplorer,
+                            JobOperator jobOperator,
+                            ImportLockService importLock,
+                            ObjectProvider<StagingLoader> stagingLoader,
+                            AdaptiveChunkSizePolicy chunkSizePolicy,
+                            @Value("${app.import.api.base-dir:imports/inbox}") Path baseDir,
+                            @Value("${app.import.max-concurrency:16}") int maxConcurrency,
+                            @Value("${app.import.schedule.lock-at-most-for:10m}") Duration lockAtMostFor,
+                            @Value("${app.import.schedule.poll-interval:5s}") Duration pollInterval) {
+        this.jobLauncher = jobLauncher;
+        this.importTransactionJob = importTransactionJob;
+        this.jobExplorer = jobExplorer;
+        this.jobOperator = jobOperator;
+        this.importLock = importLock;
+        this.stagingLoader = stagingLoader;
+        this.chunkSizePolicy = chunkSizePolicy;
+        this.baseDir = baseDir;
+        this.maxConcurrency = maxConcurrency;
+        this.lockAtMostFor = lockAtMostFor;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Starts the import of the request's file (or the first file of its directory) and queues the rest.
+     *
+     * @throws BadRequestException      for a path outside the base directory or options out of range
+     * @throws EntityNotFoundException  when the path does not exist
+     * @throws ImportConflictException  when the (first) file is already being imported
+     */
+    public ImportLaunchDto launch(ImportJobRequest request) {
+        validate(request);
+        List<Path> files = resolve(request.getPath());
+        Launched started = start(parameters(files.get(0), request));
+        List<Path> queued = files.subList(1, files.size());
+        supervisors.execute(() -> {
+            supervise(started);
+            for (Path next : queued) {
+                try {
+                    supervise(start(parameters(next, request)));
+                } catch (ImportConflictException e) {
+                    log.warn("Skipping queued import: {}", e.getMessage());
+                }
+            }
+        });
+        return ImportLaunchDto.builder()
+                .started(status(started.execution()))
+                .queued(queued.stream().map(Path::toString).toList())
+                .build();
+    }
+
+    /** Executions of the most recent {@code limit} imports, newest first. */
+    public List<ImportJobStatusDto> recent(int limit) {
+        return jobExplorer.getJobInstances(importTransactionJob.getName(), 0, limit).stream()
+                .flatMap(instance -> jobExplorer.getJobExecutions(instance).stream())
+                .sorted(Comparator.comparing(JobExecution::getId).reversed())
+                .map(this::status)
+                .toList();
+    }
+
+    public ImportJobStatusDto get(long executionId) {
+        return status(find(executionId));
+    }
+
+    public ImportJobStatusDto stop(long executionId) {
+        find(executionId);
+        try {
+            jobOperator.stop(executionId);
+        } catch (JobExecutionNotRunningException e) {
+            throw new ImportConflictException("Import execution " + executionId + " is not running");
+        } catch (NoSuchJobExecutionException e) {
+            throw new EntityNotFoundException("Import execution not found with id " + executionId);
+        }
+        log.info("Stopping import execution {}", executionId);
+        return get(executionId);
+    }
+
+    /** Runs a stopped or failed execution's job instance again, as a new execution. */
+    public ImportJobStatusDto restart(long executionId) {
+        JobExecution previous = find(executionId);
+        if (previous.getStatus() != BatchStatus.STOPPED && previous.getStatus() != BatchStatus.FAILED) {
+            throw new ImportConflictException("Only a stopped or failed import can be restarted; execution "
+                    + executionId + " is " + previous.getStatus());
+        }
+        JobExecution latest = jobExplorer.getLastJobExecution(previous.getJobInstance());
+        if (latest != null && !latest.getId().equals(previous.getId())) {
+            throw new ImportConflictException("Execution " + executionId + " was already restarted as " + latest.getId());
+        }
+        Launched restarted = start(previous.getJobParameters());
+        supervisors.execute(() -> supervise(restarted));
+        return status(restarted.execution());
+    }
+
+    @Override
+    public void destroy() {
+        supervisors.shutdownNow();
+    }
+
+    private void validate(ImportJobRequest request) {
+        if (request.getConcurrency() != null && request.getConcurrency() > maxConcurrency) {
+            throw new BadRequestException("Concurrency must be at most " + maxConcurrency);
+        }
+        if (request.getChunkSize() != null && request.getChunkSize() > chunkSizePolicy.maxSize()) {
+            throw new BadRequestException("Chunk size must be at most " + chunkSizePolicy.maxSize());
+        }
+        if (BatchConfig.WRITER_BULK.equals(request.getWriter()) && stagingLoader.getIfAvailable() == null) {
+            throw new BadRequestException("Bulk load is not enabled (app.import.bulk-load.enabled)");
+        }
+    }
+
+    // Files named by the request path, relative to the base directory, as real paths
+    List<Path> resolve(String path) {
+        if (!Files.isDirectory(baseDir)) {
+            throw new EntityNotFoundException("Import directory " + baseDir + " does not exist");
+        }
+        Path base = realPath(baseDir);
+        Path requested = base.resolve(path).normalize();
+        if (!requested.startsWith(base)) {
+            throw new BadRequestException("Import path must be inside " + baseDir);
+        }
+        if (!Files.exists(requested)) {
+            throw new EntityNotFoundException("No import file or directory " + path);
+        }
+        requested = realPath(requested);
+        if (!requested.startsWith(base)) {
+            throw new BadRequestException("Import path must be inside " + baseDir);
+        }
+        if (Files.isRegularFile(requested)) {
+            return List.of(requested);
+        }
+        if (!Files.isDirectory(requested)) {
+            throw new EntityNotFoundException("No import file or directory " + path);
+        }
+        try (Stream<Path> entries = Files.list(requested)) {
+            List<Path> files = entries
+                    .filter(file -> !file.getFileName().toString().startsWith("."))
+                    .filter(file -> !file.getFileName().toString().endsWith(TransactionRejectWriter.REJECTS_SUFFIX))
+                    .map(ImportJobControl::realPath)
+                    .filter(file -> file.startsWith(base) && Files.isRegularFile(file))
+                    .sorted()
+                    .toList();
+            if (files.isEmpty()) {
+                throw new BadRequestException("No files to import in " + path);
+            }
+            return files;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to list " + requested, e);
+        }
+    }
+
+    private static Path realPath(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to resolve " + path, e);
+        }
+    }
+
+    private static JobParameters parameters(Path file, ImportJobRequest request) {
+        JobParametersBuilder params = new JobParametersBuilder()
+                .addLong("time", System.currentTimeMillis())
+                .addString(ImportFingerprintListener.INPUT_FILE_PARAM, file.toString());
+        if (request.getConcurrency() != null) {
+            params.addLong(BatchConfig.CONCURRENCY_PARAM, request.getConcurrency().longValue());
+        }
+        if (request.getChunkSize() != null) {
+            params.addLong(AdaptiveChunkSizePolicy.CHUNK_SIZE_PARAM, request.getChunkSize().longValue());
+        }
+        if (request.getWriter() != null) {
+            params.addString(BatchConfig.WRITER_PARAM, request.getWriter());
+        }
+        return params.toJobParameters();
+    }
+
+    // Takes the file's lock and launches; the caller hands the execution to supervise(), which releases it
+    private Launched start(JobParameters parameters) {
+        String inputFile = parameters.getString(ImportFingerprintListener.INPUT_FILE_PARAM);
+        ImportLockService.Lease lease = importLock.tryLock(lockName(inputFile), lockAtMostFor)
+                .orElseThrow(() -> new ImportConflictException("Import of " + inputFile + " is already running"));
+        try {
+            JobExecution execution = jobLauncher.run(importTransactionJob, parameters);
+            log.info("Started import execution {} of {}", execution.getId(), inputFile);
+            return new Launched(execution, lease);
+        } catch (JobExecutionException e) {
+            importLock.unlock(lease);
+            throw new ImportConflictException(e.getMessage());
+        } catch (RuntimeException e) {
+            importLock.unlock(lease);
+            throw e;
+        }
+    }
+
+    // Same wait as BatchJobRunner: renew the lease each poll until the execution ends, sampling its progress
+    private void supervise(Launched launched) {
+        JobExecution execution = launched.execution();
+        try {
+            JobExecution current = execution;
+            while (current.getStatus().isRunning()) {
+                Thread.sleep(pollInterval.toMillis());
+                if (!importLock.renew(launched.lease(), lockAtMostFor)) {
+                    log.warn("Lost the lock on {}; stopping import execution {}", launched.lease().name(), execution.getId());
+                    stopQuietly(execution.getId());
+                    return;
+                }
+                JobExecution refreshed = jobExplorer.getJobExecution(execution.getId());
+                current = (refreshed != null) ? refreshed : current;
+                sample(current);
+            }
+            log.info("Import execution {} ended with status {}", execution.getId(), current.getStatus());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Lost track of import execution {}", execution.getId(), e);
+        } finally {
+            samples.remove(execution.getId());
+            importLock.unlock(launched.lease());
+        }
+    }
+
+    private void stopQuietly(long executionId) {
+        try {
+            jobOperator.stop(executionId);
+        } catch (JobExecutionNotRunningException | NoSuchJobExecutionException e) {
+            log.debug("Import execution {} already ended", executionId);
+        } catch (RuntimeException e) {
+            log.warn("Could not stop import execution {}", executionId, e);
+        }
+    }
+
+    private void sample(JobExecution execution) {
+        Sample now = new Sample(System.nanoTime(), linesRead(workerSteps(execution)));
+        samples.merge(execution.getId(), List.of(now), (previous, latest) -> List.of(previous.get(previous.size() - 1), now));
+    }
+
+    private JobExecution find(long executionId) {
+        JobExecution execution = jobExplorer.getJobExecution(executionId);
+        if (execution == null || !importTransactionJob.getName().equals(execution.getJobInstance().getJobName())) {
+            throw new EntityNotFoundException("Import execution not found with id " + executionId);
+        }
+        return execution;
+    }
+
+    ImportJobStatusDto status(JobExecution execution) {
+        List<StepExecution> steps = workerSteps(execution);
+        long linesRead = linesRead(steps);
+        long written = steps.stream().mapToLong(StepExecution::getWriteCount).sum();
+        long filtered = steps.stream().mapToLong(StepExecution::getFilterCount).sum();
+        long rejected = steps.stream()
+                .mapToLong(step -> step.getExecutionContext().getLong(TransactionRejectWriter.REJECTED_KEY, 0L)).sum();
+
+        ExecutionContext context = execution.getExecutionContext();
+        Long linesToRead = null;
+        if (Boolean.TRUE.equals(context.get(ImportFingerprintListener.UP_TO_DATE_KEY))) {
+            linesToRead = 0L;
+        } else if (context.get(ImportFingerprintListener.FINGERPRINT_KEY) instanceof FileFingerprint fingerprint) {
+            linesToRead = Math.max(0, fingerprint.lineCount() - context.getLong(ImportFingerprintListener.SKIP_LINES_KEY, 1L));
+        }
+
+        boolean running = execution.getStatus().isRunning();
+        double rate = rate(execution, linesRead, running);
+        Long eta = (running && linesToRead != null && rate > 0)
+                ? (long) Math.ceil(Math.max(0, linesToRead - linesRead) / rate)
+                : null;
+
+        JobParameters params = execution.getJobParameters();
+        return ImportJobStatusDto.builder()
+                .executionId(execution.getId())
+                .instanceId(execution.getJobInstance() != null ? execution.getJobInstance().getInstanceId() : null)
+                .file(params.getString(ImportFingerprintListener.INPUT_FILE_PARAM, ImportFingerprintListener.DEFAULT_INPUT_FILE))
+                .status(execution.getStatus().name())
+                .exitCode(execution.getExitStatus().getExitCode())
+                .concurrency(params.getLong(BatchConfig.CONCURRENCY_PARAM))
+                .chunkSize(params.getLong(AdaptiveChunkSizePolicy.CHUNK_SIZE_PARAM))
+                .writer(params.getString(BatchConfig.WRITER_PARAM))
+                .startTime(execution.getStartTime())
+                .endTime(execution.getEndTime())
+                .linesToRead(linesToRead)
+                .linesRead(linesRead)
+                .written(written)
+                .duplicates(Math.max(0, filtered - rejected))
+                .rejected(rejected)
+                .skipped(steps.stream().mapToLong(StepExecution::getSkipCount).sum())
+                .commits(steps.stream().mapToLong(StepExecution::getCommitCount).sum())
+                .rollbacks(steps.stream().mapToLong(StepExecution::getRollbackCount).sum())
+                .progressPercent(linesToRead == null ? null
+                        : linesToRead == 0 ? 100.0 : Math.min(100.0, linesRead * 100.0 / linesToRead))
+                .rowsPerSecond(rate)
+                .etaSeconds(eta)
+                .build();
+    }
+
+    private double rate(JobExecution execution, long linesRead, boolean running) {
+        List<Sample> recent = running ? samples.get(execution.getId()) : null;
+        if (recent != null && recent.size() == 2 && recent.get(1).nanos() > recent.get(0).nanos()) {
+            return (recent.get(1).lines() - recent.get(0).lines()) * 1e9 / (recent.get(1).nanos() - recent.get(0).nanos());
+        }
+        if (execution.getStartTime() == null) {
+            return 0;
+        }
+        LocalDateTime end = (execution.getEndTime() != null) ? execution.getEndTime() : LocalDateTime.now();
+        long millis = Duration.between(execution.getStartTime(), end).toMillis();
+        return (millis > 0) ? linesRead * 1000.0 / millis : 0;
+    }
+
+    private static List<StepExecution> workerSteps(JobExecution execution) {
+        return execution.getStepExecutions().stream()
+                .filter(step -> !MANAGER_STEP.equals(step.getStepName()))
+                .toList();
+    }
+
+    // Lines consumed, including those skipped as unparseable
+    private static long linesRead(List<StepExecution> steps) {
+        return steps.stream().mapToLong(step -> step.getReadCount() + step.getReadSkipCount()).sum();
+    }
+
+    // input.file values come from resolve() or from an earlier execution, so they are already canonical
+    private static String lockName(String inputFile) {
+        return ImportLockService.importLockName(inputFile);
+    }
+}
@@ -0,0 +1,18 @@
+package com.maybank.maybank_assessment.batch.fingerprint;
+
+import java.io.Serializable;
+
+/**
+ * Content fingerprint of an import file, stored in the job execution context.
+ *
+ * {@code chain[i]} is a chained hash over every line up to the end of block {@code i}
+ * (blocks are {@code blockSize} lines; the last one may be shorter), so two files share
+ * their first N lines exactly when they agree on the chain value at line N.
+ */
+public record FileFingerprint(String digest, long lineCount, int blockSize, long[] chain) implements Serializable {
+
+    /** Number of lines covered by chain entry {@code index}. */
+    public long linesCoveredBy(int index) {
+        return Math.min((long) (index + 1) * blockSize, lineCount);
+    }
+}
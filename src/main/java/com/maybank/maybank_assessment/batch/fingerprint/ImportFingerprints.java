@@ -0,0 +1,109 @@
+package com.maybank.maybank_assessment.batch.fingerprint;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Computes {@link FileFingerprint}s and compares a file against the fingerprint of an earlier import.
+ *
+ * Usage (typical):
+ *   Scan scan = ImportFingerprints.scan(path, 1000, previousFingerprint);
+ *   long alreadyImported = scan.committedLines();   // lines of the file identical to the previous import
+ *
+ * Notes:
+ *  - The file is read once; the previous fingerprint is checked on the fly at its own block boundaries,
+ *    so a changed block size between runs still matches correctly.
+ *  - Lines are hashed as read by {@link BufferedReader#readLine()}, the same way the flat file reader counts them.
+ */
+public final class ImportFingerprints {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private ImportFingerprints() { }
+
+    /** Result of scanning a file: its new fingerprint and how many leading lines match the previous one. */
+    public record Scan(FileFingerprint fingerprint, long committedLines) {
+
+        /** True when the previous import covered every line of this file. */
+        public boolean upToDate() {
+            return committedLines == fingerprint.lineCount();
+        }
+    }
+
+    public static Scan scan(Path file, int blockSize, FileFingerprint previous) {
+        if (blockSize <= 0) throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        MessageDigest digest = newDigest();
+        long[] chain = new long[16];
+        int blocks = 0;
+        long lines = 0;
+
+        int prevIndex = 0;
+        boolean matching = previous != null && previous.chain().length > 0;
+        long committed = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+                lines++;
+
+                long snapshot = 0;
+                boolean snapped = false;
+                if (lines % blockSize == 0) {
+                    snapshot = snapshot(digest);
+                    snapped = true;
+                    if (blocks == chain.length) chain = Arrays.copyOf(chain, blocks * 2);
+                    chain[blocks++] = snapshot;
+                }
+                if (matching && lines == previous.linesCoveredBy(prevIndex)) {
+                    if (!snapped) snapshot = snapshot(digest);
+                    if (snapshot == previous.chain()[prevIndex]) {
+                        committed = lines;
+                        prevIndex++;
+                        matching = prevIndex < previous.chain().length;
+                    } else {
+                        matching = false;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to fingerprint " + file, e);
+        }
+
+        if (lines % blockSize != 0) {
+            if (blocks == chain.length) chain = Arrays.copyOf(chain, blocks + 1);
+            chain[blocks++] = snapshot(digest);
+        }
+        String fileDigest = HexFormat.of().formatHex(digest.digest());
+        FileFingerprint fingerprint = new FileFingerprint(fileDigest, lines, blockSize, Arrays.copyOf(chain, blocks));
+        return new Scan(fingerprint, committed);
+    }
+
+    // Hash of everything read so far, without disturbing the running digest.
+    private static long snapshot(MessageDigest digest) {
+        try {
+            byte[] hash = ((MessageDigest) digest.clone()).digest();
+            return ByteBuffer.wrap(hash).getLong();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(ALGORITHM + " digest is not cloneable", e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        }
+    }
+}
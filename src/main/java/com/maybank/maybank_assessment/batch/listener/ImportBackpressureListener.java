@@ -0,0 +1,38 @@
+package com.maybank.maybank_assessment.batch.listener;
+
+import com.maybank.maybank_assessment.config.web.limit.AdaptiveConcurrencyLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Lets the API win over the import: while API latency is above its SLO, each import thread pauses
+// before starting its next chunk, freeing pool connections and DB capacity for requests.
+@Slf4j
+@Component
+public class ImportBackpressureListener implements ChunkListener {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final long pauseMillis;
+
+    public ImportBackpressureListener(AdaptiveConcurrencyLimiter limiter,
+                                      @Value("${app.api.limit.import-pause:200ms}") Duration pause) {
+        this.limiter = limiter;
+        this.pauseMillis = pause.toMillis();
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        if (pauseMillis > 0 && limiter.sloAtRisk()) {
+            log.debug("API latency over SLO; pausing import for {} ms", pauseMillis);
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
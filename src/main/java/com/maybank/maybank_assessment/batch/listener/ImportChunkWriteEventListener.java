@@ -0,0 +1,49 @@
+package com.maybank.maybank_assessment.batch.listener;
+
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.service.metrics.jfr.ImportChunkWriteEvent;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.stereotype.Component;
+
+// Times each call of the import writer as a maybank.ImportChunkWrite flight recorder event. A chunk is written
+// on the thread that read and processed it, so the open event is kept per thread between before and after.
+@Component
+public class ImportChunkWriteEventListener implements ItemWriteListener<Transaction> {
+
+    private final ThreadLocal<ImportChunkWriteEvent> current = new ThreadLocal<>();
+
+    @Override
+    public void beforeWrite(Chunk<? extends Transaction> items) {
+        ImportChunkWriteEvent event = new ImportChunkWriteEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            current.set(event);
+        }
+    }
+
+    @Override
+    public void afterWrite(Chunk<? extends Transaction> items) {
+        end(items, false);
+    }
+
+    @Override
+    public void onWriteError(Exception exception, Chunk<? extends Transaction> items) {
+        end(items, true);
+    }
+
+    private void end(Chunk<? extends Transaction> items, boolean failed) {
+        ImportChunkWriteEvent event = current.get();
+        if (event == null) {
+            return;
+        }
+        current.remove();
+        StepContext context = StepSynchronizationManager.getContext();
+        StepExecution step = context != null ? context.getStepExecution() : null;
+        event.record(step != null ? step.getJobParameters().getString(ImportFingerprintListener.INPUT_FILE_PARAM) : null,
+                step != null && step.getId() != null ? step.getId() : -1, items.size(), failed);
+    }
+}
@@ -0,0 +1,111 @@
+package com.maybank.maybank_assessment.batch.listener;
+
+import com.maybank.maybank_assessment.batch.fingerprint.FileFingerprint;
+import com.maybank.maybank_assessment.batch.fingerprint.ImportFingerprints;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Fingerprints the input file before the import starts and compares it with the last completed import
+ * of the same file, so reruns only read lines that were not committed before.
+ *
+ * Writes into the job execution context:
+ *  - {@link #FINGERPRINT_KEY}: fingerprint of this run's file (read back by the next run)
+ *  - {@link #SKIP_LINES_KEY}: lines the reader must skip (header or already-imported prefix)
+ *  - {@link #APPEND_ONLY_KEY}: true when the whole previous file is a prefix of this one, so new lines
+ *    cannot already be in the DB and per-row existence checks can be skipped. Never on a restart: the
+ *    stopped or failed execution may have committed some of the new lines already
+ *  - {@link #UP_TO_DATE_KEY}: true when there is nothing new to import
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImportFingerprintListener implements JobExecutionListener {
+
+    public static final String INPUT_FILE_PARAM = "input.file";
+    public static final String DEFAULT_INPUT_FILE = "src/main/resources/dataSource.txt";
+
+    public static final String FINGERPRINT_KEY = "import.fingerprint";
+    public static final String SKIP_LINES_KEY = "import.skipLines";
+    public static final String APPEND_ONLY_KEY = "import.appendOnly";
+    public static final String UP_TO_DATE_KEY = "import.upToDate";
+
+    /**
+     * The {@link #INPUT_FILE_PARAM} value for {@code file}: its real path when it exists, so every way of naming
+     * one file (relative, through a symlink, from the API or the schedule) gives the same parameter and lock.
+     */
+    public static String canonicalInputFile(String file) {
+        try {
+            return Path.of(file).toRealPath().toString();
+        } catch (IOException | InvalidPathException e) {
+            return file; // the job reports the missing file
+        }
+    }
+
+    // Header line of the pipe-delimited file
+    private static final long HEADER_LINES = 1;
+
+    private final JobExplorer jobExplorer;
+    private final JobRepository jobRepository;
+
+    @Value("${app.import.fingerprint.block-size:1000}")
+    private int blockSize = 1000;
+
+    // How many recent job instances to search for a completed import of the same file
+    @Value("${app.import.fingerprint.lookback:20}")
+    private int lookback = 20;
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        String inputFile = inputFile(jobExecution);
+        // A restarted execution inherits its predecessor's context
+        boolean restart = jobExecution.getExecutionContext().containsKey(FINGERPRINT_KEY);
+        FileFingerprint previous = findPreviousFingerprint(jobExecution, inputFile).orElse(null);
+        ImportFingerprints.Scan scan = ImportFingerprints.scan(Path.of(inputFile), blockSize, previous);
+
+        boolean appendOnly = !restart && previous != null && scan.committedLines() == previous.lineCount();
+        ExecutionContext ctx = jobExecution.getExecutionContext();
+        ctx.put(FINGERPRINT_KEY, scan.fingerprint());
+        ctx.putLong(SKIP_LINES_KEY, Math.max(HEADER_LINES, scan.committedLines()));
+        ctx.put(APPEND_ONLY_KEY, appendOnly);
+        ctx.put(UP_TO_DATE_KEY, previous != null && scan.upToDate());
+        // Saved now rather than after the first step, so progress is visible while the import runs
+        jobRepository.updateExecutionContext(jobExecution);
+
+        log.info("Input {} has {} lines; {} already imported (appendOnly={})",
+                inputFile, scan.fingerprint().lineCount(), scan.committedLines(), appendOnly);
+    }
+
+    // Most recent COMPLETED execution of this job that imported the same file path.
+    Optional<FileFingerprint> findPreviousFingerprint(JobExecution current, String inputFile) {
+        String jobName = current.getJobInstance().getJobName();
+        return jobExplorer.getJobInstances(jobName, 0, lookback).stream()
+                .filter(instance -> !Objects.equals(instance.getInstanceId(), current.getJobInstance().getInstanceId()))
+                .flatMap(instance -> jobExplorer.getJobExecutions(instance).stream())
+                .filter(execution -> execution.getStatus() == BatchStatus.COMPLETED)
+                .filter(execution -> inputFile.equals(inputFile(execution)))
+                .filter(execution -> execution.getExecutionContext().containsKey(FINGERPRINT_KEY))
+                .max(Comparator.comparing(JobExecution::getId))
+                .map(execution -> (FileFingerprint) execution.getExecutionContext().get(FINGERPRINT_KEY));
+    }
+
+    private static String inputFile(JobExecution execution) {
+        String file = execution.getJobParameters().getString(INPUT_FILE_PARAM);
+        return (file == null) ? DEFAULT_INPUT_FILE : file;
+    }
+}
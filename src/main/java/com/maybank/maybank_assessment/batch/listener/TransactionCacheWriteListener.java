@@ -0,0 +1,26 @@
+package com.maybank.maybank_assessment.batch.listener;
+
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.service.cache.TransactionNearCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.stereotype.Component;
+
+// Keeps the near-cache honest about rows the import writer touched: any written item that carries an id
+// (i.e. an existing row) is evicted once the chunk commits. Brand-new rows cannot be cached yet.
+@Component
+@RequiredArgsConstructor
+public class TransactionCacheWriteListener implements ItemWriteListener<Transaction> {
+
+    private final TransactionNearCache nearCache;
+
+    @Override
+    public void afterWrite(Chunk<? extends Transaction> items) {
+        for (Transaction item : items) {
+            if (item.getId() != null) {
+                nearCache.evict(item.getId(), item.getVersion());
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.maybank.maybank_assessment.batch.lock;
+
+import com.maybank.maybank_assessment.repository.ImportLockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cluster-wide lock kept in the import_lock table, so only one node runs a given import at a time.
+ *
+ * A lock is a lease: it lapses on its own after {@code atMostFor}, so a node that dies mid-import blocks
+ * the others for at most that long. Every acquisition gets its own token, so two callers on the same node
+ * exclude each other too, and only the holder can renew or release its lease. A failed {@link #renew} means
+ * the lease lapsed and someone else took the lock; the holder must stop what it is guarding.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImportLockService {
+
+    // "pid@host", unique per running JVM; tokens start with it so a lock row shows which node holds it
+    static final String OWNER = ManagementFactory.getRuntimeMXBean().getName();
+
+    /** One acquisition of a lock. */
+    public record Lease(String name, String token) {
+    }
+
+    private final ImportLockRepository importLockRepository;
+
+    /** Returns the new lease, or empty when the lock is held (by another node or by another caller on this one). */
+    public Optional<Lease> tryLock(String name, Duration atMostFor) {
+        Lease lease = new Lease(name, OWNER + "/" + UUID.randomUUID());
+        Instant now = Instant.now();
+        Instant until = now.plus(atMostFor);
+        if (importLockRepository.tryAcquire(name, lease.token(), now, until) == 1) {
+            return Optional.of(lease);
+        }
+        if (importLockRepository.existsById(name)) {
+            return Optional.empty(); // held
+        }
+        // First use of this lock name: whoever inserts the row first holds it
+        try {
+            importLockRepository.insert(name, lease.token(), until);
+            return Optional.of(lease);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Lost the race to create lock {}", name);
+            return Optional.empty();
+        }
+    }
+
+    /** Extends the lease to {@code atMostFor} from now; false when the lock has passed to someone else. */
+    public boolean renew(Lease lease, Duration atMostFor) {
+        return importLockRepository.renew(lease.name(), lease.token(), Instant.now().plus(atMostFor)) == 1;
+    }
+
+    public void unlock(Lease lease) {
+        importLockRepository.release(lease.name(), lease.token(), Instant.now());
+    }
+
+    /** Lock guarding the import of one file; pass the canonical input.file value (see ImportFingerprintListener). */
+    public static String importLockName(String inputFile) {
+        return "import:" + inputFile;
+    }
+}
@@ -0,0 +1,114 @@
+package com.maybank.maybank_assessment.batch.metadata;
+
+import com.maybank.maybank_assessment.batch.lock.ImportLockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Deletes old Spring Batch metadata on app.batch.prune.cron. Every scheduled import is a new job instance
+ * (its time parameter is unique), so without this the BATCH_* tables grow for as long as imports run.
+ *
+ * A job instance goes once the last activity of all its executions (end time, or last update for one that
+ * never ended) is older than app.batch.prune.retain. The newest app.batch.prune.keep-last instances of each
+ * job always stay: the import looks back through them for the last completed run of its file
+ * (app.import.fingerprint.lookback) and /imports lists them. One node prunes at a time (same DB lock as the import).
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "app.batch.prune", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JobMetadataPruner implements SchedulingConfigurer {
+
+    static final String LOCK_NAME = "batch-prune";
+
+    private static final int PAGE_SIZE = 100;
+
+    private final JobExplorer jobExplorer;
+    private final JobRepository jobRepository;
+    private final ImportLockService importLock;
+
+    @Value("${app.batch.prune.cron:0 15 3 * * *}")
+    private String cron = "0 15 3 * * *";
+
+    @Value("${app.batch.prune.retain:30d}")
+    private Duration retain = Duration.ofDays(30);
+
+    @Value("${app.batch.prune.keep-last:20}")
+    private int keepLast = 20;
+
+    @Value("${app.batch.prune.lock-at-most-for:30m}")
+    private Duration lockAtMostFor = Duration.ofMinutes(30);
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addCronTask(this::prune, cron);
+    }
+
+    /** Returns the number of job instances deleted. */
+    public int prune() {
+        Optional<ImportLockService.Lease> lease = importLock.tryLock(LOCK_NAME, lockAtMostFor);
+        if (lease.isEmpty()) {
+            log.info("Batch metadata is being pruned on another node; skipping this trigger");
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(retain);
+            int deleted = 0;
+            for (String jobName : jobExplorer.getJobNames()) {
+                deleted += prune(jobName, cutoff);
+            }
+            log.info("Pruned {} batch job instances with no activity since {}", deleted, cutoff);
+            return deleted;
+        } catch (RuntimeException e) {
+            log.error("Error pruning batch metadata", e);
+            return 0;
+        } finally {
+            importLock.unlock(lease.get());
+        }
+    }
+
+    // Instances come newest first. Deleting one shifts the rest forward, so the offset only moves past kept ones.
+    int prune(String jobName, LocalDateTime cutoff) {
+        int deleted = 0;
+        int start = keepLast;
+        List<JobInstance> page;
+        do {
+            page = jobExplorer.getJobInstances(jobName, start, PAGE_SIZE);
+            for (JobInstance instance : page) {
+                if (expired(instance, cutoff)) {
+                    jobRepository.deleteJobInstance(instance);
+                    deleted++;
+                } else {
+                    start++;
+                }
+            }
+        } while (page.size() == PAGE_SIZE);
+        return deleted;
+    }
+
+    private boolean expired(JobInstance instance, LocalDateTime cutoff) {
+        List<JobExecution> executions = jobExplorer.getJobExecutions(instance);
+        return executions.stream().allMatch(execution -> {
+            LocalDateTime lastActivity = execution.getEndTime() != null ? execution.getEndTime()
+                    : execution.getLastUpdated() != null ? execution.getLastUpdated()
+                    : execution.getCreateTime();
+            return lastActivity != null && lastActivity.isBefore(cutoff);
+        });
+    }
+}
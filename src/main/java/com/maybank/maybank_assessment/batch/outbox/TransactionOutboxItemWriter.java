@@ -0,0 +1,39 @@
+package com.maybank.maybank_assessment.batch.outbox;
+
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.service.outbox.TransactionOutbox;
+import jakarta.persistence.EntityManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.database.JpaItemWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JpaItemWriter that also records an IMPORTED outbox entry per written row, in the chunk's transaction.
+ *
+ * The whole chunk is merged and flushed first, so Hibernate sends its inserts as JDBC batches; the outbox
+ * entries then follow as one more batch ({@link TransactionOutbox#recordAll}). Interleaving an outbox insert
+ * after each merge would flush the pending batch every row, and the outbox's identity key would be read back
+ * each time. The entries are built from the managed copies returned by merge, which carry the id and version.
+ */
+public class TransactionOutboxItemWriter extends JpaItemWriter<Transaction> {
+
+    private final TransactionOutbox outbox;
+
+    public TransactionOutboxItemWriter(TransactionOutbox outbox) {
+        this.outbox = outbox;
+    }
+
+    @Override
+    protected void doWrite(EntityManager entityManager, Chunk<? extends Transaction> items) {
+        List<Transaction> managed = new ArrayList<>(items.size());
+        for (Transaction item : items) {
+            managed.add(entityManager.contains(item) ? item : entityManager.merge(item));
+        }
+        entityManager.flush();
+        outbox.recordAll(TransactionChange.Type.IMPORTED, managed.stream().map(TransactionDto::fromEntity).toList());
+    }
+}
@@ -0,0 +1,51 @@
+package com.maybank.maybank_assessment.batch.partition;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits the data lines of an import file into contiguous line ranges, one per worker partition.
+ *
+ * Each partition's context holds {@link #START_LINE_KEY} (lines the worker's reader skips, header and
+ * already-imported prefix included) and {@link #ITEM_COUNT_KEY} (lines it reads). Ranges only carry
+ * offsets, so workers on other nodes open the same file from shared storage.
+ */
+public class LineRangePartitioner implements Partitioner {
+
+    public static final String START_LINE_KEY = "partition.startLine";
+    public static final String ITEM_COUNT_KEY = "partition.itemCount";
+
+    private final long totalLines;
+    private final long skipLines;
+
+    public LineRangePartitioner(long totalLines, long skipLines) {
+        this.totalLines = totalLines;
+        this.skipLines = skipLines;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        long dataLines = Math.max(0, totalLines - skipLines);
+        long perPartition = Math.max(1, (dataLines + gridSize - 1) / gridSize);
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        int index = 0;
+        for (long start = skipLines; start < totalLines; start += perPartition) {
+            partitions.put("partition" + index++, range(start, Math.min(perPartition, totalLines - start)));
+        }
+        // Nothing to read still needs one (empty) partition so the manager step completes normally
+        if (partitions.isEmpty()) {
+            partitions.put("partition0", range(skipLines, 0));
+        }
+        return partitions;
+    }
+
+    private static ExecutionContext range(long startLine, long itemCount) {
+        ExecutionContext ctx = new ExecutionContext();
+        ctx.putLong(START_LINE_KEY, startLine);
+        ctx.putInt(ITEM_COUNT_KEY, Math.toIntExact(itemCount));
+        return ctx;
+    }
+}
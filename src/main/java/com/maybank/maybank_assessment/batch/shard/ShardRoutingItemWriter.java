@@ -0,0 +1,73 @@
+package com.maybank.maybank_assessment.batch.shard;
+
+import com.maybank.maybank_assessment.config.sharding.ShardRouter;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.repository.ShardedTransactionRepository;
+import com.maybank.maybank_assessment.service.outbox.TransactionOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Splits each chunk by customer shard. Shard 0 rows go to the regular (JPA + outbox) writer in the chunk
+ * transaction. Rows for other shards are batch-inserted in a local transaction on their shard, and their
+ * outbox entries are written in the chunk transaction.
+ *
+ * The other shards commit before the chunk does, so a chunk that then rolls back leaves their rows behind
+ * without outbox entries. On the retry the processor finds such a row on its shard, sees that it has no entry
+ * (TransactionOutbox#unrecorded) and passes it on with its id set; this writer then records the missing entry
+ * and does not insert the row again.
+ */
+@RequiredArgsConstructor
+public class ShardRoutingItemWriter implements ItemWriter<Transaction> {
+
+    private final ItemWriter<Transaction> primaryWriter;
+    private final ShardRouter shardRouter;
+    private final ShardedTransactionRepository shardedRepository;
+    private final TransactionOutbox outbox;
+
+    @Override
+    public void write(Chunk<? extends Transaction> chunk) throws Exception {
+        Map<Integer, List<Transaction>> byShard = new TreeMap<>();
+        for (Transaction item : chunk) {
+            byShard.computeIfAbsent(shardRouter.shardOf(item.getCustomerId()), shard -> new ArrayList<>()).add(item);
+        }
+        List<Transaction> local = byShard.remove(0);
+        if (local != null) {
+            primaryWriter.write(new Chunk<>(local));
+        }
+        List<TransactionDto> written = new ArrayList<>();
+        for (Map.Entry<Integer, List<Transaction>> entry : byShard.entrySet()) {
+            int shard = entry.getKey();
+            List<Transaction> inserts = new ArrayList<>();
+            for (Transaction item : entry.getValue()) {
+                if (item.getId() != null) {
+                    written.add(snapshot(item, item.getId())); // already on its shard; only the entry is missing
+                } else {
+                    inserts.add(item);
+                }
+            }
+            if (!inserts.isEmpty()) {
+                List<Long> ids = shardRouter.inTransaction(shard, () -> shardedRepository.insertAll(shard, inserts));
+                for (int i = 0; i < inserts.size(); i++) {
+                    written.add(snapshot(inserts.get(i), ids.get(i)));
+                }
+            }
+        }
+        outbox.recordAll(TransactionChange.Type.IMPORTED, written);
+    }
+
+    private static TransactionDto snapshot(Transaction item, long id) {
+        TransactionDto written = TransactionDto.fromEntity(item);
+        written.setId(id);
+        written.setVersion(0);
+        return written;
+    }
+}
@@ -0,0 +1,104 @@
+package com.maybank.maybank_assessment.batch.validation;
+
+import com.maybank.maybank_assessment.batch.listener.ImportFingerprintListener;
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.money.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Side output for rows the validator rejected: appends them to {@code <rejects dir>/<input file name>.rejects}
+ * in the input's pipe-delimited layout plus a trailing reason column, so a corrected file can be re-imported.
+ *
+ * Rejects are buffered per chunk (per thread, as chunks run on several threads) and only written once the
+ * chunk commits; a rolled-back chunk is processed again, so its buffer is simply dropped. The running total
+ * is kept in the step execution context under {@link #REJECTED_KEY} and saved with the step's next update.
+ */
+@Slf4j
+@Component
+public class TransactionRejectWriter implements ChunkListener {
+
+    public static final String REJECTS_SUFFIX = ".rejects";
+    public static final String REJECTED_KEY = "import.rejected";
+
+    private final Path rejectsDir;
+    private final ThreadLocal<List<String>> pending = ThreadLocal.withInitial(ArrayList::new);
+
+    public TransactionRejectWriter(@Value("${app.import.rejects.dir:rejects}") Path rejectsDir) {
+        this.rejectsDir = rejectsDir;
+    }
+
+    public void reject(Transaction txn, String reason) {
+        pending.get().add(format(txn, reason));
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        pending.get().clear();
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        List<String> lines = pending.get();
+        if (lines.isEmpty()) {
+            return;
+        }
+        List<String> toWrite = List.copyOf(lines);
+        lines.clear();
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        synchronized (stepExecution) {
+            ExecutionContext counts = stepExecution.getExecutionContext();
+            counts.putLong(REJECTED_KEY, counts.getLong(REJECTED_KEY, 0L) + toWrite.size());
+        }
+        // The step calls afterChunk once the chunk transaction has committed (afterChunkError after a rollback)
+        append(rejectsFile(context), toWrite);
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        pending.get().clear();
+    }
+
+    public Path rejectsFile(String inputFile) {
+        return rejectsDir.resolve(Path.of(inputFile).getFileName() + REJECTS_SUFFIX);
+    }
+
+    private Path rejectsFile(ChunkContext context) {
+        Object inputFile = context.getStepContext().getJobParameters().get(ImportFingerprintListener.INPUT_FILE_PARAM);
+        return rejectsFile(inputFile != null ? inputFile.toString() : ImportFingerprintListener.DEFAULT_INPUT_FILE);
+    }
+
+    private synchronized void append(Path target, List<String> lines) {
+        try {
+            Files.createDirectories(target.getParent());
+            Files.write(target, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            log.warn("Rejected {} transaction(s); see {}", lines.size(), target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write rejects to " + target, e);
+        }
+    }
+
+    private static String format(Transaction txn, String reason) {
+        return String.join("|",
+                String.valueOf(txn.getAccountNumber()),
+                Money.toBigDecimal(txn.getTrxnAmount()).toPlainString(),
+                String.valueOf(txn.getDescription()),
+                txn.getTrxnTimestamp() != null ? txn.getTrxnTimestamp().toLocalDate().toString() : "",
+                txn.getTrxnTimestamp() != null ? txn.getTrxnTimestamp().toLocalTime().toString() : "",
+                String.valueOf(txn.getCustomerId()),
+                reason);
+    }
+}
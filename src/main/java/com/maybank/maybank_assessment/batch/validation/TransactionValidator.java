@@ -0,0 +1,23 @@
+package com.maybank.maybank_assessment.batch.validation;
+
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import org.springframework.stereotype.Component;
+
+// Row-level checks that need no DB and never throw, so a dirty row is simply routed to the rejects
+// instead of rolling back its chunk. Returns the reject reason, or null for a valid row.
+@Component
+public class TransactionValidator {
+
+    public static final String MISSING_FIELD = "MISSING_FIELD";
+    public static final String NEGATIVE_AMOUNT = "NEGATIVE_AMOUNT";
+
+    public String rejectReason(Transaction txn) {
+        if (txn.getAccountNumber() == null || txn.getCustomerId() == null || txn.getTrxnTimestamp() == null) {
+            return MISSING_FIELD;
+        }
+        if (txn.getTrxnAmount() < 0) {
+            return NEGATIVE_AMOUNT;
+        }
+        return null;
+    }
+}
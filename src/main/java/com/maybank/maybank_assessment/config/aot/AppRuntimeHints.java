@@ -0,0 +1,57 @@
+package com.maybank.maybank_assessment.config.aot;
+
+import com.maybank.maybank_assessment.batch.fingerprint.FileFingerprint;
+import com.maybank.maybank_assessment.exception.ApiError;
+import com.maybank.maybank_assessment.model.dto.ImportJobRequest;
+import com.maybank.maybank_assessment.model.dto.ImportJobStatusDto;
+import com.maybank.maybank_assessment.model.dto.ImportLaunchDto;
+import com.maybank.maybank_assessment.model.dto.TransactionChangeDto;
+import com.maybank.maybank_assessment.model.dto.TransactionChangePage;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.dto.TransactionStatisticsDto;
+import com.maybank.maybank_assessment.model.dto.UpdateTransactionRequest;
+import com.maybank.maybank_assessment.model.entity.ArchivedTransaction;
+import com.maybank.maybank_assessment.model.entity.ImportLock;
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.model.entity.TransactionSketch;
+import com.maybank.maybank_assessment.model.id.TransactionIdGenerator;
+import com.maybank.maybank_assessment.model.money.MoneyAttributeConverter;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.data.domain.PageImpl;
+
+/**
+ * Reflection and serialization hints for what the AOT engine cannot infer on its own, used by the
+ * native image (and harmless on the JVM).
+ *
+ * - JSON/CBOR/Smile bodies: the Lombok-generated DTOs and ApiError, plus the PageImpl mixin that
+ *   BinaryEncodingConfig only references at runtime.
+ * - JPA: entities, the amount converter and the id generator, so Hibernate can instantiate them reflectively.
+ * - Batch: the file fingerprint is Java-serialized into the job execution context.
+ */
+public class AppRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String COMPACT_PAGE_MIXIN =
+            "com.maybank.maybank_assessment.config.web.BinaryEncodingConfig$CompactPageMixin";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                TransactionDto.class, UpdateTransactionRequest.class, ApiError.class, PageImpl.class,
+                TransactionChangeDto.class, TransactionChangePage.class, TransactionStatisticsDto.class,
+                ImportJobRequest.class, ImportJobStatusDto.class, ImportLaunchDto.class);
+        hints.reflection().registerType(TypeReference.of(COMPACT_PAGE_MIXIN), MemberCategory.values());
+
+        for (Class<?> type : new Class<?>[] { Transaction.class, ArchivedTransaction.class, TransactionChange.class,
+                TransactionSketch.class, ImportLock.class, MoneyAttributeConverter.class, TransactionIdGenerator.class }) {
+            hints.reflection().registerType(type, MemberCategory.values());
+        }
+
+        hints.serialization().registerType(FileFingerprint.class);
+        hints.serialization().registerType(long[].class);
+    }
+}
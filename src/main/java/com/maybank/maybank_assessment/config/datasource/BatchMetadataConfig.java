@@ -0,0 +1,82 @@
+package com.maybank.maybank_assessment.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.batch.BatchDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.batch.BatchProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Where the Spring Batch job repository keeps its BATCH_* tables: batchDataSource/batchTransactionManager,
+ * referenced from @EnableBatchProcessing. Both are non-default candidates, so injection by type and Boot's
+ * DataSource/JPA auto-configuration still see only the application's own beans.
+ *
+ * By default they are the application's DataSource and transaction manager. With app.batch.metadata.url set
+ * they are a small separate pool, so the per-chunk step updates of frequent imports neither compete with the
+ * import's writes nor slow down as the metadata grows. Metadata then commits apart from each chunk, which is
+ * why BatchConfig stops saving the reader position in that mode.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(BatchMetadataProperties.class)
+public class BatchMetadataConfig {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnExpression("'${app.batch.metadata.url:}' == ''")
+    static class SharedStore {
+
+        // Same objects under a second name; the application context closes them
+        @Bean(defaultCandidate = false, destroyMethod = "")
+        public DataSource batchDataSource(DataSource dataSource) {
+            return dataSource;
+        }
+
+        @Bean(defaultCandidate = false, destroyMethod = "")
+        public PlatformTransactionManager batchTransactionManager(PlatformTransactionManager transactionManager) {
+            return transactionManager;
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnExpression("'${app.batch.metadata.url:}' != ''")
+    static class SeparateStore {
+
+        @Bean(defaultCandidate = false)
+        public DataSource batchDataSource(BatchMetadataProperties metadata, DataSourceProperties primaryProperties) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(metadata.getUrl())
+                    .username(metadata.getUsername())
+                    .password(metadata.getPassword())
+                    .driverClassName(metadata.getDriverClassName() != null
+                            ? metadata.getDriverClassName()
+                            : primaryProperties.determineDriverClassName())
+                    .build();
+            dataSource.setPoolName("batch-metadata");
+            dataSource.setMaximumPoolSize(metadata.getMaximumPoolSize());
+            if (metadata.isInitializeSchema()) {
+                BatchProperties.Jdbc jdbc = new BatchProperties.Jdbc();
+                jdbc.setInitializeSchema(DatabaseInitializationMode.ALWAYS);
+                new BatchDataSourceScriptDatabaseInitializer(dataSource, jdbc).initializeDatabase();
+            }
+            log.info("Batch job repository uses a separate database at {}", metadata.getUrl());
+            return dataSource;
+        }
+
+        @Bean(defaultCandidate = false)
+        public PlatformTransactionManager batchTransactionManager(@Qualifier("batchDataSource") DataSource batchDataSource) {
+            return new JdbcTransactionManager(batchDataSource);
+        }
+    }
+}
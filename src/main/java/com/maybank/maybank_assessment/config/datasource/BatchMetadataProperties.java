@@ -0,0 +1,27 @@
+package com.maybank.maybank_assessment.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.StringUtils;
+
+@Data
+@ConfigurationProperties(prefix = "app.batch.metadata")
+public class BatchMetadataProperties {
+
+    // Database for the Spring Batch job repository; empty keeps the BATCH_* tables in spring.datasource
+    private String url;
+    private String username;
+    private String password;
+    // Defaults to spring.datasource.driver-class-name
+    private String driverClassName;
+
+    // Launches, pollers and the running steps' per-chunk updates share this pool
+    private int maximumPoolSize = 4;
+
+    // Create the BATCH_* tables in the separate store at startup (errors from existing tables are ignored)
+    private boolean initializeSchema = true;
+
+    public boolean isSeparate() {
+        return StringUtils.hasText(url);
+    }
+}
@@ -0,0 +1,45 @@
+package com.maybank.maybank_assessment.config.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pins read-only work to the primary for a short window after a write, so a client that just
+ * updated a transaction does not read a stale copy from a lagging replica.
+ *
+ * The window is node-wide: any write on this node pins reads on this node. It is a no-op unless
+ * replica routing is enabled. The window is app.datasource.routing.read-your-writes (default 2s; 0 disables).
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final AtomicLong pinnedUntil = new AtomicLong(System.nanoTime());
+    private final AtomicLong lastWrite = new AtomicLong(System.nanoTime());
+
+    public ReadYourWritesTracker(@Value("${app.datasource.routing.read-your-writes:2s}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /** Records a committed (or about to commit) write. */
+    public void recordWrite() {
+        long now = System.nanoTime();
+        lastWrite.accumulateAndGet(now, (current, next) -> next - current > 0 ? next : current);
+        if (windowNanos <= 0) return;
+        long until = now + windowNanos;
+        pinnedUntil.accumulateAndGet(until, (current, next) -> next - current > 0 ? next : current);
+    }
+
+    /** True if this node recorded a write after the given {@link System#nanoTime()}. */
+    public boolean writtenSince(long nanoTime) {
+        return lastWrite.get() - nanoTime > 0;
+    }
+
+    /** True while reads should still go to the primary. */
+    public boolean pinnedToPrimary() {
+        return windowNanos > 0 && pinnedUntil.get() - System.nanoTime() > 0;
+    }
+}
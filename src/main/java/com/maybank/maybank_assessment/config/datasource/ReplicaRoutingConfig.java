@@ -0,0 +1,57 @@
+package com.maybank.maybank_assessment.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// Replaces Boot's single DataSource with primary + replicas when app.datasource.routing.enabled=true.
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+    // The pool Boot would have built, spring.datasource.hikari.* included; only the routing data source uses it
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties primaryProperties) {
+        return primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                                             DataSourceProperties primaryProperties,
+                                                             ReplicaRoutingProperties routing,
+                                                             ReadYourWritesTracker readYourWrites) {
+        List<DataSource> replicas = routing.getReplicas().stream()
+                .map(replica -> (DataSource) DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(replica.getUrl())
+                        .username(replica.getUsername())
+                        .password(replica.getPassword())
+                        .driverClassName(replica.getDriverClassName() != null
+                                ? replica.getDriverClassName()
+                                : primaryProperties.determineDriverClassName())
+                        .build())
+                .toList();
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWrites,
+                routing.getMaxLag(), routing.getHealthCheckInterval(), routing.getLagQuery());
+    }
+
+    // Lazy proxy so the routing decision happens after the transaction's read-only flag is bound.
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
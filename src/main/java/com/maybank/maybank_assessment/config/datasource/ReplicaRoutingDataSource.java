@@ -0,0 +1,159 @@
+package com.maybank.maybank_assessment.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends connections for read-only transactions to a healthy replica and everything else to the primary.
+ *
+ * Notes:
+ *  - Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ *    read-only flag is only bound after the transaction manager begins, so the physical connection has
+ *    to be fetched lazily for the decision to see it.
+ *  - Replicas are picked round-robin. A replica is skipped when it is unreachable or lags more than
+ *    {@code maxLag}; health is re-checked at most once per {@code healthCheckInterval}.
+ *  - If a replica fails to hand out a connection it is marked down and the primary is used instead.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Duration maxLag;
+    private final long healthCheckIntervalNanos;
+    private final String lagQuery;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong nextHealthCheck = new AtomicLong(System.nanoTime());
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker readYourWrites,
+                                    Duration maxLag, Duration healthCheckInterval, String lagQuery) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.readYourWrites = readYourWrites;
+        this.maxLag = maxLag;
+        this.healthCheckIntervalNanos = healthCheckInterval.toNanos();
+        this.lagQuery = (lagQuery == null || lagQuery.isBlank()) ? null : lagQuery;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.healthy = false;
+                log.warn("Replica unavailable, falling back to primary: {}", e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    // Healthy replica for the current read-only transaction, or null to use the primary.
+    Replica selectReplica() {
+        if (replicas.isEmpty()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || readYourWrites.pinnedToPrimary()) {
+            return null;
+        }
+        refreshHealthIfDue();
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((start + i) % size);
+            if (candidate.healthy) return candidate;
+        }
+        return null;
+    }
+
+    // Only the thread that wins the CAS runs the checks; the others keep using the last known state.
+    private void refreshHealthIfDue() {
+        long due = nextHealthCheck.get();
+        long now = System.nanoTime();
+        if (now - due < 0 || !nextHealthCheck.compareAndSet(due, now + healthCheckIntervalNanos)) {
+            return;
+        }
+        for (Replica replica : replicas) {
+            replica.healthy = checkHealth(replica.dataSource);
+        }
+    }
+
+    boolean checkHealth(DataSource replica) {
+        try (Connection con = replica.getConnection()) {
+            if (!con.isValid(VALIDATION_TIMEOUT_SECONDS)) return false;
+            if (lagQuery == null) return true;
+            long lagSeconds = queryLagSeconds(con);
+            if (lagSeconds > maxLag.toSeconds()) {
+                log.warn("Replica lagging {}s (max {}s); routing reads to primary", lagSeconds, maxLag.toSeconds());
+                return false;
+            }
+            return true;
+        } catch (SQLException e) {
+            log.warn("Replica health check failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private long queryLagSeconds(Connection con) throws SQLException {
+        try (Statement st = con.createStatement(); ResultSet rs = st.executeQuery(lagQuery)) {
+            if (!rs.next()) return Long.MAX_VALUE; // e.g. replication not configured
+            Object value = hasColumn(rs, "Seconds_Behind_Source") ? rs.getObject("Seconds_Behind_Source") : rs.getObject(1);
+            return (value == null) ? Long.MAX_VALUE : (long) Math.ceil(Double.parseDouble(value.toString()));
+        }
+    }
+
+    private static boolean hasColumn(ResultSet rs, String column) throws SQLException {
+        var meta = rs.getMetaData();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            if (column.equalsIgnoreCase(meta.getColumnLabel(i))) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeQuietly(primary);
+        replicas.forEach(replica -> closeQuietly(replica.dataSource));
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close datasource: {}", e.getMessage());
+            }
+        }
+    }
+
+    static final class Replica {
+        final DataSource dataSource;
+        volatile boolean healthy = true;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.maybank.maybank_assessment.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    // Route @Transactional(readOnly = true) work to replicas; off by default
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Replicas further behind the primary than this are skipped until they catch up
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // How often replica liveness and lag are re-checked (lazily, on the routing path)
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    // Optional query returning the replica lag in seconds. MySQL "SHOW REPLICA STATUS" is also understood.
+    // e.g. Postgres: SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+    private String lagQuery;
+
+    // app.datasource.routing.read-your-writes is read by ReadYourWritesTracker, which also runs without routing
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        // Defaults to spring.datasource.driver-class-name
+        private String driverClassName;
+    }
+}
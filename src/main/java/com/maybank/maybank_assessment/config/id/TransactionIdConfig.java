@@ -0,0 +1,23 @@
+package com.maybank.maybank_assessment.config.id;
+
+import com.maybank.maybank_assessment.model.id.TransactionIds;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies app.ids.node to the transaction id generator. Nodes that write to the same database must use
+ * different values (0-63); when unset, a random node is kept, which is only safe for a single instance.
+ */
+@Slf4j
+@Configuration
+public class TransactionIdConfig {
+
+    public TransactionIdConfig(@Value("${app.ids.node:-1}") int node) {
+        if (node >= 0) {
+            TransactionIds.useNode(node);
+        } else {
+            log.warn("app.ids.node is not set; generating transaction ids as random node {}", TransactionIds.current().node());
+        }
+    }
+}
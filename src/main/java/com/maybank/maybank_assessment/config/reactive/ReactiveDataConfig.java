@@ -0,0 +1,41 @@
+package com.maybank.maybank_assessment.config.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+// Non-blocking R2DBC access used only by the reactive read endpoints; JPA/JDBC stay as they are.
+// Boot's R2DBC auto-configuration is excluded in MaybankAssessmentApplication so it cannot
+// replace the JPA transaction manager or require an R2DBC URL when this is off.
+// The pool is deliberately not a ConnectionFactory bean: Boot's DataSource auto-configuration
+// backs off when one exists, which would take JPA and Batch down with it.
+@Configuration
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReactiveDataProperties.class)
+public class ReactiveDataConfig implements DisposableBean {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ReactiveDataProperties properties) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (properties.getUsername() != null) options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        if (properties.getPassword() != null) options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .maxSize(properties.getPoolMaxSize())
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) connectionPool.dispose();
+    }
+}
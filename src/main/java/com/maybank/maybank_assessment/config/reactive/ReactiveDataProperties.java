@@ -0,0 +1,19 @@
+package com.maybank.maybank_assessment.config.reactive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.reactive")
+public class ReactiveDataProperties {
+
+    // Expose the non-blocking /reactive/transactions endpoints; off by default
+    private boolean enabled = false;
+
+    // e.g. r2dbc:mysql://localhost:3307/maybankdb or r2dbc:postgresql://localhost:5432/maybankdb
+    private String url;
+    private String username;
+    private String password;
+
+    private int poolMaxSize = 10;
+}
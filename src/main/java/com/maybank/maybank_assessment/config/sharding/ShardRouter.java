@@ -0,0 +1,64 @@
+package com.maybank.maybank_assessment.config.sharding;
+
+import com.maybank.maybank_assessment.model.id.TransactionIds;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Maps customers and transaction ids to shards. Shard 0 is the application's primary DataSource (JPA, batch
+ * metadata, outbox, archive); shards 1..n only hold transactions. Without sharding there is exactly one shard
+ * and every lookup answers 0. A transaction id carries its shard (see {@link TransactionIds}).
+ */
+public class ShardRouter {
+
+    private final List<NamedParameterJdbcTemplate> jdbcTemplates;
+    private final List<TransactionTemplate> transactionTemplates;
+
+    public ShardRouter(List<DataSource> shards) {
+        if (shards.isEmpty() || shards.size() > TransactionIds.MAX_SHARDS) {
+            throw new IllegalArgumentException("Between 1 and " + TransactionIds.MAX_SHARDS + " shards are supported");
+        }
+        this.jdbcTemplates = shards.stream().map(NamedParameterJdbcTemplate::new).toList();
+        this.transactionTemplates = shards.stream()
+                .map(shard -> new TransactionTemplate(new DataSourceTransactionManager(shard)))
+                .toList();
+    }
+
+    public int shardCount() {
+        return jdbcTemplates.size();
+    }
+
+    public boolean isSharded() {
+        return shardCount() > 1;
+    }
+
+    public int shardOf(long customerId) {
+        return Math.floorMod(Long.hashCode(customerId), shardCount());
+    }
+
+    /**
+     * Shard holding the given transaction id. Legacy IDENTITY ids, and ids naming a shard that is not configured,
+     * belong to shard 0.
+     */
+    public int shardOfId(long id) {
+        int shard = TransactionIds.shardOf(id);
+        return shard < shardCount() ? shard : 0;
+    }
+
+    public NamedParameterJdbcTemplate jdbc(int shard) {
+        return jdbcTemplates.get(shard);
+    }
+
+    /** Runs work in a local transaction on a shard other than 0; shard 0 work belongs in the caller's JPA transaction. */
+    public <T> T inTransaction(int shard, Supplier<T> work) {
+        if (shard == 0) {
+            throw new IllegalArgumentException("Shard 0 writes go through JPA");
+        }
+        return transactionTemplates.get(shard).execute(status -> work.get());
+    }
+}
@@ -0,0 +1,79 @@
+package com.maybank.maybank_assessment.config.sharding;
+
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Always provides a ShardRouter; with app.sharding.enabled=false it has the primary DataSource as its only shard.
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    private static final String INDEX = "idx_" + TransactionSqlFilters.TABLE + "_customer_id";
+
+    @Bean
+    public ShardRouter shardRouter(DataSource dataSource, DataSourceProperties primaryProperties, ShardingProperties sharding) {
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(dataSource);
+        if (sharding.isEnabled()) {
+            for (ShardingProperties.Shard shard : sharding.getShards()) {
+                shards.add(DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(shard.getUrl())
+                        .username(shard.getUsername())
+                        .password(shard.getPassword())
+                        .driverClassName(shard.getDriverClassName() != null
+                                ? shard.getDriverClassName()
+                                : primaryProperties.determineDriverClassName())
+                        .build());
+            }
+            log.info("Transactions sharded by customerId over {} databases", shards.size());
+        }
+        ShardRouter router = new ShardRouter(shards);
+        if (sharding.isInitializeSchema()) {
+            for (int shard = 1; shard < shards.size(); shard++) {
+                createTable(new JdbcTemplate(shards.get(shard)));
+            }
+        }
+        return router;
+    }
+
+    // Creates the transactions table (if missing) with the DDL of the shard's own database
+    static void createTable(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        createTableStatements(product).forEach(jdbcTemplate::execute);
+    }
+
+    // Column types follow what Hibernate generates for Transaction on each database
+    static List<String> createTableStatements(String databaseProduct) {
+        boolean mySql = "MySQL".equalsIgnoreCase(databaseProduct);
+        String table = "CREATE TABLE IF NOT EXISTS " + TransactionSqlFilters.TABLE + " ("
+                + "id BIGINT NOT NULL PRIMARY KEY, "
+                + "account_number BIGINT, "
+                + "trxn_amount DECIMAL(19,2), "
+                + "description VARCHAR(255), "
+                + "trxn_timestamp " + (mySql ? "DATETIME(6)" : "TIMESTAMP(6)") + ", "
+                + "customer_id BIGINT, "
+                + "version INT, "
+                + "is_processed BOOLEAN NOT NULL DEFAULT FALSE";
+        if (mySql) {
+            // MySQL has no CREATE INDEX IF NOT EXISTS
+            return List.of(table + ", INDEX " + INDEX + " (customer_id))");
+        }
+        return List.of(table + ")",
+                "CREATE INDEX IF NOT EXISTS " + INDEX + " ON " + TransactionSqlFilters.TABLE + " (customer_id)");
+    }
+}
@@ -0,0 +1,30 @@
+package com.maybank.maybank_assessment.config.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    // Spread transactions over spring.datasource (shard 0) plus the shards below, by customerId; off by default
+    private boolean enabled = false;
+
+    // Shards 1..n (at most 15); each holds its own transactions table
+    private List<Shard> shards = new ArrayList<>();
+
+    // Create the transactions table on shards that do not have it yet (MySQL DDL)
+    private boolean initializeSchema = true;
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        // Defaults to spring.datasource.driver-class-name
+        private String driverClassName;
+    }
+}
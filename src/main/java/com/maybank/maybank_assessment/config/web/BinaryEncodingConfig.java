@@ -0,0 +1,64 @@
+package com.maybank.maybank_assessment.config.web;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Compact binary encodings (CBOR, Smile) for the transaction endpoints, selected by the Accept header.
+ *
+ * Notes:
+ *  - Both converters are appended after the JSON converter, so clients that do not explicitly ask
+ *    for a binary type (including wildcard Accept headers) keep getting JSON.
+ *  - Binary encodings write timestamps as numeric arrays instead of ISO strings and drop the redundant
+ *    {@code pageable}/{@code sort} blocks from pages; JSON output is unchanged.
+ *  - Coalesced listings ({@code SharedBody}) go through SharedBodyHttpMessageConverter, placed first, which
+ *    encodes each one once per negotiated type with these converters and reuses the bytes.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BinaryEncodingConfig implements WebMvcConfigurer {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    // Boot's builder carries the spring.jackson.* settings; a plain one is used outside a Boot context
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(c -> c instanceof MappingJackson2CborHttpMessageConverter
+                || c instanceof MappingJackson2SmileHttpMessageConverter
+                || c instanceof SharedBodyHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(binaryMapper(new CBORFactory())));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(binaryMapper(new SmileFactory())));
+        converters.add(0, new SharedBodyHttpMessageConverter(converters));
+    }
+
+    ObjectMapper binaryMapper(JsonFactory factory) {
+        return objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::new)
+                .factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .mixIn(PageImpl.class, CompactPageMixin.class)
+                .build();
+    }
+
+    // Keeps content, number, size, totalElements and totalPages; everything else is derivable.
+    @JsonIgnoreProperties({ "pageable", "sort", "first", "last", "empty", "numberOfElements" })
+    abstract static class CompactPageMixin { }
+}
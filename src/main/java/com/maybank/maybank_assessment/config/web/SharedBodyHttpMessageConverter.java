@@ -0,0 +1,117 @@
+package com.maybank.maybank_assessment.config.web;
+
+import com.maybank.maybank_assessment.service.coalesce.SharedBody;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes a {@link SharedBody} by encoding its value once per media type with the converter that would have
+ * written the value itself (JSON, CBOR, Smile), then copying those bytes to every response sharing it.
+ *
+ * Content negotiation is unchanged: the supported types are those of the converters able to write a SharedBody
+ * as its value (the Jackson ones), in their order. This converter goes first so they never write it themselves.
+ */
+class SharedBodyHttpMessageConverter implements HttpMessageConverter<SharedBody<?>> {
+
+    // The MVC converter list this one is part of; read on each call so converters added later are seen
+    private final List<HttpMessageConverter<?>> converters;
+
+    SharedBodyHttpMessageConverter(List<HttpMessageConverter<?>> converters) {
+        this.converters = converters;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return SharedBody.class.isAssignableFrom(clazz) && delegateFor(SharedBody.class, mediaType) != null;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        Set<MediaType> types = new LinkedHashSet<>();
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter != this && converter.canWrite(SharedBody.class, null)) {
+                types.addAll(converter.getSupportedMediaTypes(SharedBody.class));
+            }
+        }
+        return List.copyOf(types);
+    }
+
+    @Override
+    public SharedBody<?> read(Class<? extends SharedBody<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("SharedBody is write-only", inputMessage);
+    }
+
+    @Override
+    public void write(SharedBody<?> body, MediaType contentType, HttpOutputMessage outputMessage) throws IOException {
+        SharedBody.Encoded encoded;
+        try {
+            encoded = body.encoded(contentType != null ? contentType : MediaType.ALL, type -> encode(body.value(), type));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        HttpHeaders headers = outputMessage.getHeaders();
+        if (encoded.contentType() != null) {
+            headers.setContentType(encoded.contentType());
+        }
+        headers.setContentLength(encoded.bytes().length);
+        outputMessage.getBody().write(encoded.bytes());
+    }
+
+    @SuppressWarnings("unchecked")
+    private SharedBody.Encoded encode(Object value, MediaType contentType) {
+        HttpMessageConverter<Object> delegate = (HttpMessageConverter<Object>) delegateFor(value.getClass(), contentType);
+        if (delegate == null) {
+            throw new HttpMessageNotWritableException("No converter for " + value.getClass().getName() + " as " + contentType);
+        }
+        BufferedMessage buffer = new BufferedMessage();
+        try {
+            delegate.write(value, contentType, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new SharedBody.Encoded(buffer.headers.getContentType(), buffer.body.toByteArray());
+    }
+
+    private HttpMessageConverter<?> delegateFor(Class<?> clazz, MediaType mediaType) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter != this && converter.canWrite(clazz, mediaType)) {
+                return converter;
+            }
+        }
+        return null;
+    }
+
+    private static final class BufferedMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.maybank.maybank_assessment.config.web.limit;
+
+import com.maybank.maybank_assessment.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits requests while fewer than {@link GradientLimit#getLimit()} are in flight; the rest wait in a
+ * bounded queue for up to the queue timeout. Completed requests feed their latency back into the limit.
+ *
+ * The smoothed latency is also what tells the import to back off (see {@link #sloAtRisk()}). A release that
+ * raises the limit wakes every queued request, since more than one slot may have opened.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final GradientLimit limit;
+    private final int queueSize;
+    private final long queueTimeoutNanos;
+    private final long latencySloNanos;
+    private final long latencyWindowNanos;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Object slotFreed = new Object();
+
+    private Counter queueFull;
+    private Counter queueTimedOut;
+
+    public AdaptiveConcurrencyLimiter(GradientLimit limit, int queueSize, Duration queueTimeout,
+                                      Duration latencySlo, Duration latencyWindow) {
+        this.limit = limit;
+        this.queueSize = queueSize;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.latencySloNanos = latencySlo.toNanos();
+        this.latencyWindowNanos = latencyWindow.toNanos();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("api.concurrency.limit", limit, GradientLimit::getLimit).register(registry);
+        Gauge.builder("api.concurrency.inflight", inflight, AtomicInteger::get).register(registry);
+        queueFull = Counter.builder("api.concurrency.rejected").tag("reason", "queue-full").register(registry);
+        queueTimedOut = Counter.builder("api.concurrency.rejected").tag("reason", "queue-timeout").register(registry);
+    }
+
+    /**
+     * Takes a slot, waiting in the queue if needed.
+     *
+     * @return the start time to hand back to {@link #release}
+     * @throws ConcurrencyLimitExceededException when the queue is full or the wait times out
+     */
+    public long acquire() {
+        if (tryTake()) {
+            return System.nanoTime();
+        }
+        if (waiting.incrementAndGet() > queueSize) {
+            waiting.decrementAndGet();
+            increment(queueFull);
+            throw new ConcurrencyLimitExceededException(false);
+        }
+        try {
+            long deadline = System.nanoTime() + queueTimeoutNanos;
+            synchronized (slotFreed) {
+                while (!tryTake()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        increment(queueTimedOut);
+                        throw new ConcurrencyLimitExceededException(true);
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(slotFreed, remaining);
+                }
+            }
+            return System.nanoTime();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyLimitExceededException(true);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Frees the slot. Only successful requests are sampled; failures say little about DB latency.
+     */
+    public void release(long startNanos, boolean success) {
+        int inflightBefore = inflight.getAndDecrement();
+        int limitBefore = limit.getLimit();
+        if (success) {
+            limit.onSample(System.nanoTime() - startNanos, inflightBefore);
+        }
+        if (waiting.get() > 0) {
+            synchronized (slotFreed) {
+                if (limit.getLimit() > limitBefore) {
+                    slotFreed.notifyAll();
+                } else {
+                    slotFreed.notify();
+                }
+            }
+        }
+    }
+
+    // True when recent API latency exceeds the SLO; the import uses it to slow down.
+    // Without a completed request in the latency window there is nothing recent to go by, so it is not at risk.
+    public boolean sloAtRisk() {
+        return limit.shortRttNanos(latencyWindowNanos) > latencySloNanos;
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private boolean tryTake() {
+        int current;
+        do {
+            current = inflight.get();
+            if (current >= limit.getLimit()) {
+                return false;
+            }
+        } while (!inflight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
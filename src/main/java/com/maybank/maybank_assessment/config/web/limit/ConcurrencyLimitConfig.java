@@ -0,0 +1,41 @@
+package com.maybank.maybank_assessment.config.web.limit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Adaptive concurrency limit on the TransactionController endpoints (app.api.limit.*).
+// The limiter bean always exists so the import can read API latency; the interceptor only when enabled.
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@RequiredArgsConstructor
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectProvider<AdaptiveConcurrencyLimiter> limiter;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(ObjectProvider<MeterRegistry> meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new GradientLimit(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit()),
+                properties.getQueueSize(), properties.getQueueTimeout(), properties.getLatencySlo(),
+                properties.getLatencyWindow());
+        meterRegistry.ifAvailable(limiter::bindTo);
+        return limiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.isEnabled()) {
+            registry.addInterceptor(new ConcurrencyLimitInterceptor(limiter.getObject()))
+                    .addPathPatterns("/transactions", "/transactions/**")
+                    // Change feed requests park by design; counting them would only skew the latency gradient
+                    .excludePathPatterns("/transactions/changes", "/transactions/changes/**");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.maybank.maybank_assessment.config.web.limit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.api.limit")
+public class ConcurrencyLimitProperties {
+
+    // Adaptive concurrency limit on /transactions; on by default
+    private boolean enabled = true;
+
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+
+    // Requests over the limit wait here for a free slot; beyond it they get 429, after the timeout 503
+    private int queueSize = 20;
+    private Duration queueTimeout = Duration.ofMillis(100);
+
+    // Smoothed API latency above this puts the SLO at risk and makes the import pause between chunks
+    private Duration latencySlo = Duration.ofMillis(250);
+    // Latency is only judged while requests complete; after this long without one the SLO is not at risk
+    private Duration latencyWindow = Duration.ofSeconds(5);
+    private Duration importPause = Duration.ofMillis(200);
+}
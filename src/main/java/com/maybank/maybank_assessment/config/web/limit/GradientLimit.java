@@ -0,0 +1,74 @@
+package com.maybank.maybank_assessment.config.web.limit;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Gradient-style concurrency limit: compares a short-term latency average with a long-term baseline.
+ *
+ * While recent requests are as fast as the baseline the limit grows (by roughly sqrt(limit) per sample);
+ * when they slow down, e.g. because an import competes for the DB, the limit shrinks in proportion,
+ * down to half per sample at most. The baseline slowly follows sustained drops in latency.
+ *
+ * The averages only move when requests complete, so the time of the last sample is kept as well: with no
+ * traffic, the short-term latency left behind by the last burst says nothing about the database now.
+ */
+public class GradientLimit {
+
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);   // ~10-sample EWMA
+    private static final double LONG_ALPHA = 2.0 / (600 + 1);   // ~600-sample EWMA
+    private static final double TOLERANCE = 1.5;                // latency growth tolerated before backing off
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final LongSupplier nanoTime;
+
+    private double limit;
+    private double shortRtt;
+    private double longRtt;
+    private long lastSampleNanos;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, System::nanoTime);
+    }
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, LongSupplier nanoTime) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.nanoTime = nanoTime;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /** Short-term latency average, or 0 when no request has completed within {@code maxAgeNanos}. */
+    public synchronized long shortRttNanos(long maxAgeNanos) {
+        if (shortRtt == 0 || nanoTime.getAsLong() - lastSampleNanos > maxAgeNanos) {
+            return 0;
+        }
+        return (long) shortRtt;
+    }
+
+    public synchronized void onSample(long rttNanos, int inflight) {
+        lastSampleNanos = nanoTime.getAsLong();
+        if (shortRtt == 0) {
+            shortRtt = longRtt = rttNanos;
+            return;
+        }
+        shortRtt += SHORT_ALPHA * (rttNanos - shortRtt);
+        longRtt += LONG_ALPHA * (rttNanos - longRtt);
+        // Let the baseline follow a lasting improvement instead of waiting ~600 samples
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // Under-used limit: latency says nothing about whether more concurrency would hurt
+        if (inflight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+}
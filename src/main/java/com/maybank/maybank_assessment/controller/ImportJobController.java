@@ -0,0 +1,64 @@
+package com.maybank.maybank_assessment.controller;
+
+import com.maybank.maybank_assessment.batch.control.ImportJobControl;
+import com.maybank.maybank_assessment.model.dto.ImportJobRequest;
+import com.maybank.maybank_assessment.model.dto.ImportJobStatusDto;
+import com.maybank.maybank_assessment.model.dto.ImportLaunchDto;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.util.List;
+
+// Runs and watches imports without a restart. Launch, stop and restart return 202: the job runs in the
+// background, and GET /imports/{executionId} reports its progress.
+@RestController
+@RequestMapping("/imports")
+@ConditionalOnExpression("${app.import.api.enabled:false} and '${app.import.partition.role:both}' != 'worker'")
+@RequiredArgsConstructor
+public class ImportJobController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final ImportJobControl importJobControl;
+
+    @PostMapping
+    public ResponseEntity<ImportLaunchDto> launch(@Valid @RequestBody ImportJobRequest request) {
+        ImportLaunchDto launched = importJobControl.launch(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/imports/" + launched.getStarted().getExecutionId()))
+                .body(launched);
+    }
+
+    @GetMapping
+    public List<ImportJobStatusDto> recent(@RequestParam(defaultValue = "20") int limit) {
+        return importJobControl.recent(Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @GetMapping("/{executionId}")
+    public ImportJobStatusDto status(@PathVariable long executionId) {
+        return importJobControl.get(executionId);
+    }
+
+    @PostMapping("/{executionId}/stop")
+    public ResponseEntity<ImportJobStatusDto> stop(@PathVariable long executionId) {
+        return ResponseEntity.accepted().body(importJobControl.stop(executionId));
+    }
+
+    @PostMapping("/{executionId}/restart")
+    public ResponseEntity<ImportJobStatusDto> restart(@PathVariable long executionId) {
+        ImportJobStatusDto restarted = importJobControl.restart(executionId);
+        return ResponseEntity.accepted()
+                .location(URI.create("/imports/" + restarted.getExecutionId()))
+                .body(restarted);
+    }
+}
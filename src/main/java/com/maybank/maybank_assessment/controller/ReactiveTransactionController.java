@@ -0,0 +1,65 @@
+package com.maybank.maybank_assessment.controller;
+
+import com.maybank.maybank_assessment.config.web.BinaryEncodingConfig;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.service.ReactiveTransactionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+// Reactive variants of the listing endpoints. The servlet thread is released while R2DBC runs the query,
+// and the export streams rows as NDJSON at the pace the client reads them.
+//
+// Spring MVC streams NDJSON without an async timeout, and answers the listing and CBOR/Smile exports under
+// spring.mvc.async.request-timeout (the container's default, often 30s, when unset). Both are bounded by
+// app.reactive.export-timeout: application.yml sets the MVC timeout from it, and the export fails once it passes.
+@RestController
+@RequestMapping("/reactive/transactions")
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveTransactionController {
+
+    private final ReactiveTransactionService reactiveTransactionService;
+    private final Duration exportTimeout;
+
+    public ReactiveTransactionController(ReactiveTransactionService reactiveTransactionService,
+                                         @Value("${app.reactive.export-timeout:10m}") Duration exportTimeout) {
+        this.reactiveTransactionService = reactiveTransactionService;
+        this.exportTimeout = exportTimeout;
+    }
+
+    @GetMapping
+    public Mono<Page<TransactionDto>> listTransactions(
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long accountNumber,
+            @RequestParam(required = false) String description,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return reactiveTransactionService.getTransactions(customerId, accountNumber, description, pageable);
+    }
+
+    // NDJSON streams row by row; CBOR/Smile clients get one compact array once the query completes
+    @GetMapping(value = "/export", produces = { MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryEncodingConfig.APPLICATION_SMILE_VALUE })
+    public Flux<TransactionDto> exportTransactions(
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long accountNumber,
+            @RequestParam(required = false) String description,
+            @SortDefault(sort = "id") Sort sort) {
+        return reactiveTransactionService.exportTransactions(customerId, accountNumber, description, sort)
+                .takeUntilOther(Mono.delay(exportTimeout).then(Mono.error(() ->
+                        new TimeoutException("Export did not finish within " + exportTimeout))));
+    }
+}
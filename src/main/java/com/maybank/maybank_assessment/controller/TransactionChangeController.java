@@ -0,0 +1,44 @@
+package com.maybank.maybank_assessment.controller;
+
+import com.maybank.maybank_assessment.model.dto.TransactionChangePage;
+import com.maybank.maybank_assessment.service.outbox.TransactionChangeFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+// Change feed for imported and updated transactions, so consumers stop re-reading GET /transactions.
+// Start with after=0 (everything retained) and pass back the last token seen.
+@RestController
+@RequestMapping("/transactions/changes")
+@RequiredArgsConstructor
+public class TransactionChangeController {
+
+    private static final long MAX_WAIT_SECONDS = 60;
+
+    private final TransactionChangeFeed changeFeed;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<TransactionChangePage> pollChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "30") long waitSeconds) {
+        long boundedWait = Math.max(0, Math.min(waitSeconds, MAX_WAIT_SECONDS));
+        return changeFeed.poll(after, Math.max(1, limit), Duration.ofSeconds(boundedWait));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        // A reconnecting EventSource sends Last-Event-ID, which takes precedence over the original after=
+        return changeFeed.stream(lastEventId != null ? lastEventId : after);
+    }
+}
@@ -3,15 +3,20 @@ package com.maybank.maybank_assessment.controller;
 import com.maybank.maybank_assessment.model.dto.TransactionDto;
 import com.maybank.maybank_assessment.model.dto.UpdateTransactionRequest;
 import com.maybank.maybank_assessment.service.TransactionService;
+import com.maybank.maybank_assessment.service.coalesce.RequestCoalescer;
+import com.maybank.maybank_assessment.service.coalesce.SharedBody;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/transactions")
 @RequiredArgsConstructor
@@ -20,14 +25,33 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private RequestCoalescer coalescer;
+
+    // Identity of a listing request: same filters and same page (including sort) give the same page; the
+    // negotiated media type is not part of it, since SharedBody keeps one encoding per type
+    private record ListQuery(Long customerId, Long accountNumber, String description,
+                             LocalDateTime from, LocalDateTime to, Pageable pageable) {
+    }
+
     @GetMapping
-    public Page<TransactionDto> listTransactions(
+    public SharedBody<Page<TransactionDto>> listTransactions(
             @RequestParam(required = false) Long customerId,
             @RequestParam(required = false) Long accountNumber,
             @RequestParam(required = false) String description,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
             @PageableDefault(size = 20)Pageable pageable
             ){
-        return transactionService.getTransactions(customerId, accountNumber, description, pageable);
+        // Identical listings arriving while one is running share its query instead of each taking a connection,
+        // and its encoded body instead of each serializing the page
+        return coalescer.execute(new ListQuery(customerId, accountNumber, description, from, to, pageable),
+                () -> new SharedBody<>(transactionService.getTransactions(customerId, accountNumber, description, from, to, pageable)));
+    }
+
+    @GetMapping("/{id}")
+    public TransactionDto getTransaction(@PathVariable Long id) {
+        return transactionService.getTransaction(id);
     }
 
     @PutMapping("/{id}")
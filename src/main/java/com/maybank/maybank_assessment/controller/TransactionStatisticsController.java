@@ -0,0 +1,66 @@
+package com.maybank.maybank_assessment.controller;
+
+import com.maybank.maybank_assessment.exception.BadRequestException;
+import com.maybank.maybank_assessment.model.dto.TransactionStatisticsDto;
+import com.maybank.maybank_assessment.service.stats.TransactionStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+// Distinct counts and amount percentiles from the import-maintained sketches, instead of SQL over the table.
+// q takes the quantiles to report, e.g. q=0.5,0.95,0.999.
+@RestController
+@RequestMapping("/transactions/statistics")
+@ConditionalOnProperty(prefix = "app.statistics", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TransactionStatisticsController {
+
+    private static final String DEFAULT_QUANTILES = "0.5,0.9,0.99";
+
+    private final TransactionStatistics statistics;
+
+    @GetMapping("/accounts/{accountNumber}")
+    public TransactionStatisticsDto accountStatistics(@PathVariable long accountNumber,
+                                                      @RequestParam(defaultValue = DEFAULT_QUANTILES) String q) {
+        return statistics.forAccount(accountNumber, quantiles(q));
+    }
+
+    @GetMapping("/customers/{customerId}")
+    public TransactionStatisticsDto customerStatistics(@PathVariable long customerId,
+                                                       @RequestParam(defaultValue = DEFAULT_QUANTILES) String q) {
+        return statistics.forCustomer(customerId, quantiles(q));
+    }
+
+    // One day, or the merge of a range of days (to defaults to from)
+    @GetMapping("/days")
+    public TransactionStatisticsDto dayStatistics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = DEFAULT_QUANTILES) String q) {
+        return statistics.forDays(from, to != null ? to : from, quantiles(q));
+    }
+
+    // Parsed here rather than bound as double[], so a malformed or out-of-range quantile is a 400, not a 500
+    private static double[] quantiles(String q) {
+        String[] values = q.split(",");
+        double[] quantiles = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            try {
+                quantiles[i] = Double.parseDouble(values[i].trim());
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Not a quantile: " + values[i]);
+            }
+            if (!(quantiles[i] >= 0 && quantiles[i] <= 1)) {
+                throw new BadRequestException("Quantile must be within [0, 1]: " + values[i]);
+            }
+        }
+        return quantiles;
+    }
+}
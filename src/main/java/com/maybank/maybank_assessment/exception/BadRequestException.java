@@ -0,0 +1,10 @@
+package com.maybank.maybank_assessment.exception;
+
+// A request whose parameters bind but make no sense: an inverted or too long date range, a quantile outside
+// [0, 1], an unknown sort property, import options out of range (400). Other IllegalArgumentExceptions are bugs.
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.maybank.maybank_assessment.exception;
+
+import lombok.Getter;
+
+// A change feed token older than the retained outbox: the changes right after it were pruned, so resuming
+// from it would silently skip them (410). The consumer re-reads GET /transactions and resumes from latestToken.
+@Getter
+public class ChangeFeedExpiredException extends RuntimeException {
+
+    private final long latestToken;
+
+    public ChangeFeedExpiredException(long after, long latestToken) {
+        super("Changes after token " + after + " are no longer retained; re-read GET /transactions and resume from after="
+                + latestToken);
+        this.latestToken = latestToken;
+    }
+}
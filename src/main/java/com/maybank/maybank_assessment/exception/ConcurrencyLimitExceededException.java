@@ -0,0 +1,16 @@
+package com.maybank.maybank_assessment.exception;
+
+import lombok.Getter;
+
+// Request shed by the adaptive concurrency limiter: straight away when the queue is full (429),
+// or after waiting the full queue timeout without a free slot (503).
+@Getter
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final boolean queued;
+
+    public ConcurrencyLimitExceededException(boolean queued) {
+        super(queued ? "Server busy, no capacity freed up in time; retry later" : "Too many concurrent requests; retry later");
+        this.queued = queued;
+    }
+}
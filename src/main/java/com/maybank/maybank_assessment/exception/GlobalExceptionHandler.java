@@ -2,7 +2,9 @@ package com.maybank.maybank_assessment.exception;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,6 +24,13 @@ public class GlobalExceptionHandler {
         return new ApiError(400, "Bad Request", errors.toString());
     }
 
+    // 400 - Request parameters that bind but make no sense (e.g. an inverted date range)
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiError handleBadRequest(BadRequestException ex) {
+        return new ApiError(400, "Bad Request", ex.getMessage());
+    }
+
     // 404 - Resource not found
     @ExceptionHandler(EntityNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
@@ -29,13 +38,30 @@ public class GlobalExceptionHandler {
         return new ApiError(404, "Not Found", ex.getMessage());
     }
 
-    // 409 - Optimistic locking conflict or data integrity violation
-    @ExceptionHandler({ ObjectOptimisticLockingFailureException.class, DataIntegrityViolationException.class })
+    // 409 - Optimistic locking conflict, data integrity violation, or an import operation the job state rules out
+    @ExceptionHandler({ ObjectOptimisticLockingFailureException.class, DataIntegrityViolationException.class,
+            ImportConflictException.class })
     @ResponseStatus(HttpStatus.CONFLICT)
     public ApiError handleConflict(Exception ex) {
         return new ApiError(409, "Conflict", "Conflict occurred: " + ex.getMessage());
     }
 
+    // 410 - Change feed token behind the retained outbox
+    @ExceptionHandler(ChangeFeedExpiredException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    public ApiError handleChangeFeedExpired(ChangeFeedExpiredException ex) {
+        return new ApiError(410, "Gone", ex.getMessage());
+    }
+
+    // 429/503 - Shed by the adaptive concurrency limiter; Retry-After tells clients when to come back
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ApiError> handleConcurrencyLimit(ConcurrencyLimitExceededException ex) {
+        HttpStatus status = ex.isQueued() ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiError(status.value(), status.getReasonPhrase(), ex.getMessage()));
+    }
+
     // 500 - Internal server errors (fallback)
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
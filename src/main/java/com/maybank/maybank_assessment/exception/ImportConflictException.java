@@ -0,0 +1,10 @@
+package com.maybank.maybank_assessment.exception;
+
+// An import request that clashes with the job's current state: the file is already being imported, or the
+// execution is not in a state that allows the operation (409).
+public class ImportConflictException extends RuntimeException {
+
+    public ImportConflictException(String message) {
+        super(message);
+    }
+}
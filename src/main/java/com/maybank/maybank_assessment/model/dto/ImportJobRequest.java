@@ -0,0 +1,25 @@
+package com.maybank.maybank_assessment.model.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Import launch request; options left out fall back to the app.import.* settings.
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportJobRequest {
+    @NotBlank(message="Path is required")
+    private String path;
+    @Min(value = 1, message="Concurrency must be at least 1")
+    private Integer concurrency;
+    @Min(value = 1, message="Chunk size must be at least 1")
+    private Integer chunkSize;
+    @Pattern(regexp = "jpa|bulk", message="Writer must be jpa or bulk")
+    private String writer;
+}
@@ -0,0 +1,41 @@
+package com.maybank.maybank_assessment.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One import job execution. Counts are as of its last committed chunk; progress, rate and ETA are derived from them.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({ "executionId", "instanceId", "file", "status", "exitCode", "concurrency", "chunkSize", "writer",
+        "startTime", "endTime", "linesToRead", "linesRead", "written", "duplicates", "rejected", "skipped",
+        "commits", "rollbacks", "progressPercent", "rowsPerSecond", "etaSeconds" })
+public class ImportJobStatusDto {
+    private Long executionId;
+    private Long instanceId;
+    private String file;
+    private String status;
+    private String exitCode;
+    private Long concurrency;
+    private Long chunkSize;
+    private String writer;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long linesToRead;
+    private long linesRead;
+    private long written;
+    private long duplicates;
+    private long rejected;
+    private long skipped;
+    private long commits;
+    private long rollbacks;
+    private Double progressPercent;
+    private double rowsPerSecond;
+    private Long etaSeconds;
+}
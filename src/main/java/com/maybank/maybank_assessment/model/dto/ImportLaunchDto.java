@@ -0,0 +1,18 @@
+package com.maybank.maybank_assessment.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Result of launching an import: the execution started now, and files of a directory that run after it, in order.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportLaunchDto {
+    private ImportJobStatusDto started;
+    private List<String> queued;
+}
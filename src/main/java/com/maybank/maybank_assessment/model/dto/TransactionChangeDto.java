@@ -0,0 +1,22 @@
+package com.maybank.maybank_assessment.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// One change feed entry; token is what a consumer passes back (as after= or Last-Event-ID) to resume.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({ "token", "type", "occurredAt", "transaction" })
+public class TransactionChangeDto {
+    private long token;
+    private String type;
+    private Instant occurredAt;
+    private TransactionDto transaction;
+}
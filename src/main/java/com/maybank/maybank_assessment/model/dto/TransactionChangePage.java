@@ -0,0 +1,14 @@
+package com.maybank.maybank_assessment.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+// Long-poll response: the changes after the requested token, and the token to ask with next time.
+@JsonPropertyOrder({ "changes", "nextToken" })
+public record TransactionChangePage(List<TransactionChangeDto> changes, long nextToken) {
+
+    public static TransactionChangePage of(List<TransactionChangeDto> changes, long after) {
+        return new TransactionChangePage(changes, changes.isEmpty() ? after : changes.get(changes.size() - 1).getToken());
+    }
+}
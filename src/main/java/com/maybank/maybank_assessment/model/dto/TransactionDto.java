@@ -1,6 +1,8 @@
 package com.maybank.maybank_assessment.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,10 +11,12 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+// Field order is part of the wire schema for the binary encodings (CBOR/Smile); append new fields at the end.
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonPropertyOrder({ "id", "accountNumber", "trxnAmount", "description", "trxnTimestamp", "customerId", "version" })
 public class TransactionDto {
     private Long id;
     private Long accountNumber;
@@ -26,7 +30,7 @@ public class TransactionDto {
         return TransactionDto.builder()
                 .id(txn.getId())
                 .accountNumber(txn.getAccountNumber())
-                .trxnAmount(txn.getTrxnAmount())
+                .trxnAmount(Money.toBigDecimal(txn.getTrxnAmount()))
                 .description(txn.getDescription())
                 .trxnTimestamp(txn.getTrxnTimestamp())
                 .customerId(txn.getCustomerId())
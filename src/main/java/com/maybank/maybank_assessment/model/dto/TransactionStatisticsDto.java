@@ -0,0 +1,33 @@
+package com.maybank.maybank_assessment.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// Sketch-based statistics for an account, customer or day range. count, minAmount and maxAmount are exact;
+// distinct counts are within about distinctRelativeError (one standard error), and each amount quantile
+// within quantileRelativeError of the amount at that rank.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({ "scope", "key", "count", "distinctCustomers", "distinctAccounts", "minAmount", "maxAmount",
+        "amountQuantiles", "distinctRelativeError", "quantileRelativeError" })
+public class TransactionStatisticsDto {
+    private String scope;
+    private String key;
+    private long count;
+    private long distinctCustomers;
+    private long distinctAccounts;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    // Keyed p50, p90, p99.9, ...
+    private Map<String, BigDecimal> amountQuantiles;
+    private double distinctRelativeError;
+    private double quantileRelativeError;
+}
@@ -0,0 +1,43 @@
+package com.maybank.maybank_assessment.model.entity;
+
+import com.maybank.maybank_assessment.model.money.MoneyAttributeConverter;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Archive tier: same columns as transactions (so the two can be UNIONed), rows keep their original id.
+// Written only by the archival job, hence no @Version or generated id.
+@Entity
+@Table(name = "transactions_archive", indexes = {
+        @Index(name = "idx_archive_trxn_timestamp", columnList = "trxn_timestamp"),
+        @Index(name = "idx_archive_customer_id", columnList = "customer_id"),
+        @Index(name = "idx_archive_account_number", columnList = "account_number")
+})
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedTransaction {
+    @Id
+    private Long id;
+
+    private Long accountNumber;
+
+    @Convert(converter = MoneyAttributeConverter.class)
+    @Column(precision = 19, scale = 2)
+    private long trxnAmount;
+
+    private String description;
+
+    private LocalDateTime trxnTimestamp;
+
+    private Long customerId;
+
+    private Integer version;
+
+    private boolean isProcessed;
+}
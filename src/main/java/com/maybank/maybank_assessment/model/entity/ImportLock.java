@@ -0,0 +1,25 @@
+package com.maybank.maybank_assessment.model.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// One row per named lock; the acquisition whose token is in lockedBy holds it while lockedUntil is in the future.
+@Entity
+@Table(name = "import_lock")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportLock {
+    @Id
+    private String name;
+
+    private String lockedBy;
+
+    private Instant lockedUntil;
+}
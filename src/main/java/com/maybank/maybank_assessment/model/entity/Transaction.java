@@ -1,12 +1,13 @@
 package com.maybank.maybank_assessment.model.entity;
 
+import com.maybank.maybank_assessment.model.id.TransactionId;
+import com.maybank.maybank_assessment.model.money.MoneyAttributeConverter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -16,11 +17,17 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 public class Transaction {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Assigned before the INSERT (time-ordered, see TransactionIds) so the import can batch inserts
+    @Id @TransactionId
     private Long id;
 
     private Long accountNumber;
-    private BigDecimal trxnAmount;
+
+    // Amount in minor units (see Money); converted to DECIMAL(19,2) only when read from or written to the DB
+    @Convert(converter = MoneyAttributeConverter.class)
+    @Column(precision = 19, scale = 2)
+    private long trxnAmount;
+
     private String description;
 
     // Store date and time as a single timestamp for better precision
@@ -0,0 +1,42 @@
+package com.maybank.maybank_assessment.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Outbox row written in the same transaction as the change it describes. The id doubles as the
+// change feed's resume token, so it must only ever grow. Indexed by transaction for the import's
+// check that a row on another shard got its entry (TransactionOutbox#unrecorded).
+@Entity
+@Table(name = "transaction_outbox", indexes = {
+        @Index(name = "idx_outbox_transaction_id", columnList = "transaction_id")
+})
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionChange {
+
+    public enum Type { IMPORTED, UPDATED }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long transactionId;
+
+    private Integer version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Type changeType;
+
+    // TransactionDto as JSON, as of the change
+    @Column(length = 2000)
+    private String payload;
+
+    private Instant occurredAt;
+}
@@ -0,0 +1,40 @@
+package com.maybank.maybank_assessment.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Serialized TransactionSummary of some imported transactions of one account, customer or day. Writers only
+// append rows; readers merge all rows of a key, and fold them into one once there are enough of them.
+@Entity
+@Table(name = "transaction_sketches", indexes = {
+        @Index(name = "idx_sketch_scope_key", columnList = "scope, sketch_key")
+})
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionSketch {
+
+    public enum Scope { ACCOUNT, CUSTOMER, DAY }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Scope scope;
+
+    // Account number, customer id or ISO date
+    @Column(length = 32)
+    private String sketchKey;
+
+    @Column(length = 1_000_000)
+    private byte[] payload;
+
+    private Instant createdAt;
+}
@@ -0,0 +1,15 @@
+package com.maybank.maybank_assessment.model.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks an id assigned from TransactionIds when the entity is persisted (always as shard 0, the JPA database).
+@IdGeneratorType(TransactionIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface TransactionId {
+}
@@ -0,0 +1,112 @@
+package com.maybank.maybank_assessment.model.id;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-sortable 64-bit transaction ids, generated in the application so an insert never waits for the
+ * database to hand out its key (which is what makes JDBC batching of inserts possible).
+ *
+ * Layout, most significant bit first:
+ *   1 bit   always 0, so ids stay positive
+ *   41 bits milliseconds since 2024-01-01T00:00Z (good until 2093)
+ *   4 bits  shard holding the row (see ShardRouter)
+ *   6 bits  node that generated it (app.ids.node)
+ *   12 bits counter within the millisecond
+ *
+ * Ids from one node increase strictly; across nodes they are ordered by creation time to the millisecond,
+ * so they keep the primary key append-friendly and can serve as a cheap "created after" cursor
+ * (see {@link #firstIdAt(Instant)}).
+ *
+ * Rows imported before these ids existed keep their IDENTITY keys. Those are far below
+ * {@link #FIRST_GENERATED_ID}, carry no shard bits and always live on shard 0.
+ */
+public final class TransactionIds {
+
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+    public static final int MAX_SHARDS = 16;
+    public static final int MAX_NODES = 64;
+
+    private static final int COUNTER_BITS = 12;
+    private static final int NODE_SHIFT = COUNTER_BITS;
+    private static final int SHARD_SHIFT = NODE_SHIFT + 6;
+    private static final int TIME_SHIFT = SHARD_SHIFT + 4;
+    private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+
+    /**
+     * No generated id is smaller: the generator came long after the first day past the epoch, and an
+     * IDENTITY sequence would need about 3.6e14 rows to get this far.
+     */
+    public static final long FIRST_GENERATED_ID = firstIdAt(EPOCH.plus(Duration.ofDays(1)));
+
+    // Until app.ids.node is applied at startup; random so two unconfigured nodes are unlikely to collide
+    private static volatile TransactionIds current =
+            new TransactionIds(ThreadLocalRandom.current().nextInt(MAX_NODES), Clock.systemUTC());
+
+    private final int node;
+    private final Clock clock;
+    private long lastMillis = -1;
+    private int counter;
+
+    TransactionIds(int node, Clock clock) {
+        if (node < 0 || node >= MAX_NODES) {
+            throw new IllegalArgumentException("Node must be between 0 and " + (MAX_NODES - 1) + ": " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    /** The process-wide generator, used by the JPA id generator and the shard writers. */
+    public static TransactionIds current() {
+        return current;
+    }
+
+    public static void useNode(int node) {
+        current = new TransactionIds(node, Clock.systemUTC());
+    }
+
+    public int node() {
+        return node;
+    }
+
+    /** Next id for a row stored on the given shard. */
+    public synchronized long next(int shard) {
+        if (shard < 0 || shard >= MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard must be between 0 and " + (MAX_SHARDS - 1) + ": " + shard);
+        }
+        // Never go back in time: if the clock steps back, keep counting in the last millisecond seen
+        long millis = Math.max(clock.millis() - EPOCH.toEpochMilli(), lastMillis);
+        if (millis > lastMillis) {
+            counter = 0;
+        } else if (++counter > MAX_COUNTER) {
+            // Millisecond used up: borrow the next one instead of waiting for it
+            millis++;
+            counter = 0;
+        }
+        lastMillis = millis;
+        return millis << TIME_SHIFT | (long) shard << SHARD_SHIFT | (long) node << NODE_SHIFT | counter;
+    }
+
+    /** Shard named by a generated id; 0 for a legacy IDENTITY id. */
+    public static int shardOf(long id) {
+        if (id < FIRST_GENERATED_ID) {
+            return 0;
+        }
+        return (int) (id >>> SHARD_SHIFT) & (MAX_SHARDS - 1);
+    }
+
+    public static int nodeOf(long id) {
+        return (int) (id >>> NODE_SHIFT) & (MAX_NODES - 1);
+    }
+
+    public static Instant createdAt(long id) {
+        return EPOCH.plusMillis(id >>> TIME_SHIFT);
+    }
+
+    /** Smallest id that can be generated at or after the given instant, on any shard or node. */
+    public static long firstIdAt(Instant instant) {
+        return Math.max(0, instant.toEpochMilli() - EPOCH.toEpochMilli()) << TIME_SHIFT;
+    }
+}
@@ -0,0 +1,112 @@
+package com.maybank.maybank_assessment.model.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money helpers working on amounts held as a {@code long} number of minor units (cents).
+ *
+ * Usage (typical):
+ *   long amount = Money.parse("123.45");          // 12345
+ *   long total  = Money.add(amount, other);       // overflow-checked
+ *   BigDecimal api = Money.toBigDecimal(total);   // only at the JPA / JSON boundary
+ *
+ * Notes:
+ *  - All amounts carry an implicit scale of {@link #SCALE} decimal places.
+ *  - Parsing and arithmetic never allocate a {@link BigDecimal}; conversions to and from
+ *    {@link BigDecimal} reject values that would lose precision or overflow a {@code long}.
+ */
+public final class Money {
+
+    /** Number of decimal places represented by one minor unit. */
+    public static final int SCALE = 2;
+
+    private static final long MINOR_PER_MAJOR = 100L;
+
+    private Money() { }
+
+    /**
+     * Parses a plain decimal string such as {@code "123"}, {@code "-10.5"} or {@code "1123.00"} into minor units.
+     * Fraction digits beyond {@link #SCALE} are accepted only when they are zeros.
+     *
+     * @throws NumberFormatException if the text is not a plain decimal, needs more than {@link #SCALE}
+     *                               decimal places, or does not fit in a {@code long}
+     */
+    public static long parse(CharSequence text) {
+        if (text == null) throw new NumberFormatException("Amount is required");
+        int start = 0;
+        int end = text.length();
+        // Trim surrounding whitespace without allocating a new string
+        while (start < end && Character.isWhitespace(text.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) end--;
+        if (start == end) throw new NumberFormatException("Amount is required");
+
+        boolean negative = false;
+        char first = text.charAt(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+        }
+
+        long major = 0;
+        long fraction = 0;
+        int fractionDigits = 0;
+        int digits = 0;
+        boolean inFraction = false;
+        try {
+            for (int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                if (c == '.' && !inFraction) {
+                    inFraction = true;
+                    continue;
+                }
+                if (c < '0' || c > '9') {
+                    throw new NumberFormatException("Invalid amount: \"" + text + "\"");
+                }
+                int d = c - '0';
+                digits++;
+                if (!inFraction) {
+                    major = Math.addExact(Math.multiplyExact(major, 10L), d);
+                } else if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + d;
+                    fractionDigits++;
+                } else if (d != 0) {
+                    throw new NumberFormatException("Amount has more than " + SCALE + " decimal places: \"" + text + "\"");
+                }
+            }
+            if (digits == 0) throw new NumberFormatException("Invalid amount: \"" + text + "\"");
+            for (int i = fractionDigits; i < SCALE; i++) {
+                fraction *= 10;
+            }
+            long minor = Math.addExact(Math.multiplyExact(major, MINOR_PER_MAJOR), fraction);
+            return negative ? -minor : minor;
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: \"" + text + "\"");
+        }
+    }
+
+    /** Overflow-checked addition of two minor-unit amounts. */
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /** Converts minor units to a {@link BigDecimal} with scale {@link #SCALE}. Boundary use only. */
+    public static BigDecimal toBigDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * Converts a {@link BigDecimal} to minor units. Boundary use only.
+     *
+     * @throws IllegalArgumentException if the value needs more than {@link #SCALE} decimal places
+     *                                  or does not fit in a {@code long}
+     */
+    public static long fromBigDecimal(BigDecimal value) {
+        if (value == null) throw new IllegalArgumentException("Amount is required");
+        try {
+            return value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount cannot be represented in minor units: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.maybank.maybank_assessment.model.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+// Stores minor-unit amounts in the existing DECIMAL column so the schema and SQL stay unchanged.
+@Converter
+public class MoneyAttributeConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long minor) {
+        return (minor == null) ? null : Money.toBigDecimal(minor);
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal value) {
+        return (value == null) ? null : Money.fromBigDecimal(value);
+    }
+}
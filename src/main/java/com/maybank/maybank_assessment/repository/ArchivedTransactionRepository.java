@@ -0,0 +1,24 @@
+package com.maybank.maybank_assessment.repository;
+
+import com.maybank.maybank_assessment.model.entity.ArchivedTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+
+    // Newest archived timestamp: queries starting after it never need the archive
+    @Query("select max(a.trxnTimestamp) from ArchivedTransaction a")
+    LocalDateTime findMaxTrxnTimestamp();
+
+    boolean existsByAccountNumberAndTrxnAmountAndDescriptionAndTrxnTimestampAndCustomerId(
+            Long accountNumber,
+            long trxnAmount,
+            String description,
+            LocalDateTime trxnTimestamp,
+            Long customerId
+    );
+}
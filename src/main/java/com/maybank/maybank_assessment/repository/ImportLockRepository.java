@@ -0,0 +1,41 @@
+package com.maybank.maybank_assessment.repository;
+
+import com.maybank.maybank_assessment.model.entity.ImportLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface ImportLockRepository extends JpaRepository<ImportLock, String> {
+
+    // Takes the lock if its lease expired; returns rows updated. The owner is a per-acquisition token.
+    @Transactional
+    @Modifying
+    @Query("update ImportLock l set l.lockedBy = :owner, l.lockedUntil = :until " +
+            "where l.name = :name and l.lockedUntil <= :now")
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") Instant now, @Param("until") Instant until);
+
+    // Plain insert (not save/merge) so a concurrent insert of the same name fails instead of overwriting.
+    @Transactional
+    @Modifying
+    @Query(value = "insert into import_lock (name, locked_by, locked_until) values (:name, :owner, :until)",
+            nativeQuery = true)
+    int insert(@Param("name") String name, @Param("owner") String owner, @Param("until") Instant until);
+
+    // Extends the lease while nobody else took the lock over
+    @Transactional
+    @Modifying
+    @Query("update ImportLock l set l.lockedUntil = :until where l.name = :name and l.lockedBy = :owner")
+    int renew(@Param("name") String name, @Param("owner") String owner, @Param("until") Instant until);
+
+    @Transactional
+    @Modifying
+    @Query("update ImportLock l set l.lockedUntil = :now where l.name = :name and l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
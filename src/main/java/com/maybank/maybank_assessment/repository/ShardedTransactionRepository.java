@@ -0,0 +1,114 @@
+package com.maybank.maybank_assessment.repository;
+
+import com.maybank.maybank_assessment.config.sharding.ShardRouter;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.id.TransactionIds;
+import com.maybank.maybank_assessment.model.money.Money;
+import com.maybank.maybank_assessment.service.metrics.SqlCapture;
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+// JDBC access to the transactions table of one shard, picked by index from the ShardRouter.
+@Repository
+@RequiredArgsConstructor
+public class ShardedTransactionRepository {
+
+    static final String INSERT = "INSERT INTO " + TransactionSqlFilters.TABLE
+            + " (id, account_number, trxn_amount, description, trxn_timestamp, customer_id, version, is_processed)"
+            + " VALUES (:id, :accountNumber, :trxnAmount, :description, :trxnTimestamp, :customerId, 0, :processed)";
+
+    private final ShardRouter shardRouter;
+
+    public Page<TransactionDto> findPage(int shard, TransactionSqlFilters filters, Pageable pageable) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(TransactionSqlFilters.COLUMNS)
+                .append(" FROM ").append(TransactionSqlFilters.TABLE).append(filters.whereClause())
+                .append(TransactionSqlFilters.orderBy(pageable.getSort()));
+        Map<String, Object> params = new HashMap<>(filters.bindings());
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT :limit OFFSET :offset");
+            params.put("limit", pageable.getPageSize());
+            params.put("offset", pageable.getOffset());
+        }
+        SqlCapture.record(sql.toString());
+        List<TransactionDto> content = shardRouter.jdbc(shard)
+                .query(sql.toString(), params, TransactionArchiveUnionRepository.ROW_MAPPER);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(shard, filters));
+    }
+
+    public long count(int shard, TransactionSqlFilters filters) {
+        String sql = "SELECT COUNT(*) FROM " + TransactionSqlFilters.TABLE + filters.whereClause();
+        SqlCapture.record(sql);
+        Long total = shardRouter.jdbc(shard).queryForObject(sql, filters.bindings(), Long.class);
+        return total != null ? total : 0L;
+    }
+
+    public Optional<TransactionDto> findById(int shard, long id) {
+        return shardRouter.jdbc(shard).query(
+                        "SELECT " + TransactionSqlFilters.COLUMNS + " FROM " + TransactionSqlFilters.TABLE + " WHERE id = :id",
+                        Map.of("id", id), TransactionArchiveUnionRepository.ROW_MAPPER)
+                .stream().findFirst();
+    }
+
+    /** Streams every row with {@code trxn_timestamp >= from} to {@code action}, without materializing the result. */
+    public void forEachSince(int shard, LocalDateTime from, Consumer<TransactionDto> action) {
+        shardRouter.jdbc(shard).query(
+                "SELECT " + TransactionSqlFilters.COLUMNS + " FROM " + TransactionSqlFilters.TABLE + " WHERE trxn_timestamp >= :from",
+                Map.of("from", from),
+                (RowCallbackHandler) rs -> action.accept(TransactionArchiveUnionRepository.ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    // Same optimistic check as TransactionRepository.updateDescriptionIfVersion; returns rows updated
+    public int updateDescriptionIfVersion(int shard, long id, int version, String description) {
+        return shardRouter.jdbc(shard).update(
+                "UPDATE " + TransactionSqlFilters.TABLE + " SET description = :description, version = version + 1"
+                        + " WHERE id = :id AND version = :version",
+                Map.of("id", id, "version", version, "description", description));
+    }
+
+    /** Id of a row on the shard with the same fields as {@code txn}, if there is one. */
+    public Optional<Long> findId(int shard, Transaction txn) {
+        List<Long> found = shardRouter.jdbc(shard).queryForList(
+                "SELECT id FROM " + TransactionSqlFilters.TABLE + " WHERE account_number = :accountNumber"
+                        + " AND trxn_amount = :trxnAmount AND description = :description"
+                        + " AND trxn_timestamp = :trxnTimestamp AND customer_id = :customerId LIMIT 1",
+                params(txn), Long.class);
+        return found.stream().findFirst();
+    }
+
+    /** Batch insert under new ids for this shard; returns the ids in item order. */
+    public List<Long> insertAll(int shard, List<? extends Transaction> items) {
+        TransactionIds ids = TransactionIds.current();
+        List<Long> assigned = items.stream().map(item -> ids.next(shard)).toList();
+        SqlParameterSource[] batch = IntStream.range(0, items.size())
+                .mapToObj(i -> params(items.get(i)).addValue("id", assigned.get(i)))
+                .toArray(SqlParameterSource[]::new);
+        shardRouter.jdbc(shard).batchUpdate(INSERT, batch);
+        return assigned;
+    }
+
+    private static MapSqlParameterSource params(Transaction txn) {
+        return new MapSqlParameterSource()
+                .addValue("accountNumber", txn.getAccountNumber())
+                .addValue("trxnAmount", Money.toBigDecimal(txn.getTrxnAmount()))
+                .addValue("description", txn.getDescription())
+                .addValue("trxnTimestamp", txn.getTrxnTimestamp())
+                .addValue("customerId", txn.getCustomerId())
+                .addValue("processed", txn.isProcessed());
+    }
+}
@@ -0,0 +1,60 @@
+package com.maybank.maybank_assessment.repository;
+
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.service.metrics.SqlCapture;
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Pages over the hot table and the archive as one: UNION ALL of both (same filters), sorted and paged by the DB.
+@Repository
+@RequiredArgsConstructor
+public class TransactionArchiveUnionRepository {
+
+    static final RowMapper<TransactionDto> ROW_MAPPER = (rs, rowNum) -> TransactionDto.builder()
+            .id(rs.getLong("id"))
+            .accountNumber(rs.getLong("account_number"))
+            .trxnAmount(rs.getBigDecimal("trxn_amount"))
+            .description(rs.getString("description"))
+            .trxnTimestamp(rs.getObject("trxn_timestamp", LocalDateTime.class))
+            .customerId(rs.getLong("customer_id"))
+            .version((Integer) rs.getObject("version", Integer.class))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Page<TransactionDto> findPage(TransactionSqlFilters filters, Pageable pageable) {
+        String union = "SELECT " + TransactionSqlFilters.COLUMNS + " FROM " + TransactionSqlFilters.TABLE + filters.whereClause()
+                + " UNION ALL SELECT " + TransactionSqlFilters.COLUMNS + " FROM " + TransactionSqlFilters.ARCHIVE_TABLE + filters.whereClause();
+        StringBuilder sql = new StringBuilder("SELECT ").append(TransactionSqlFilters.COLUMNS)
+                .append(" FROM (").append(union).append(") t")
+                .append(TransactionSqlFilters.orderBy(pageable.getSort()));
+        Map<String, Object> params = new HashMap<>(filters.bindings());
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT :limit OFFSET :offset");
+            params.put("limit", pageable.getPageSize());
+            params.put("offset", pageable.getOffset());
+        }
+        SqlCapture.record(sql.toString());
+        List<TransactionDto> content = jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filters));
+    }
+
+    private long count(TransactionSqlFilters filters) {
+        String sql = "SELECT (SELECT COUNT(*) FROM " + TransactionSqlFilters.TABLE + filters.whereClause() + ")"
+                + " + (SELECT COUNT(*) FROM " + TransactionSqlFilters.ARCHIVE_TABLE + filters.whereClause() + ")";
+        SqlCapture.record(sql);
+        Long total = jdbcTemplate.queryForObject(sql, filters.bindings(), Long.class);
+        return total != null ? total : 0L;
+    }
+}
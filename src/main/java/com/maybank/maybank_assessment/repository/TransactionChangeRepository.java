@@ -0,0 +1,33 @@
+package com.maybank.maybank_assessment.repository;
+
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransactionChangeRepository extends JpaRepository<TransactionChange, Long> {
+
+    List<TransactionChange> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    Optional<TransactionChange> findTopByOrderByIdDesc();
+
+    Optional<TransactionChange> findTopByOrderByIdAsc();
+
+    Optional<TransactionChange> findTopByOccurredAtBeforeOrderByIdDesc(Instant before);
+
+    boolean existsByTransactionId(long transactionId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TransactionChange c where c.occurredAt < :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
@@ -0,0 +1,70 @@
+package com.maybank.maybank_assessment.repository;
+
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Reads transactions over R2DBC; rows are mapped straight to DTOs since nothing here is written back.
+@Repository
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class TransactionReactiveRepository {
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    public Flux<TransactionDto> findPage(TransactionSqlFilters filters, Sort sort, long offset, int limit) {
+        String sql = "SELECT " + TransactionSqlFilters.COLUMNS + " FROM " + TransactionSqlFilters.TABLE
+                + filters.whereClause() + TransactionSqlFilters.orderBy(sort)
+                + " LIMIT :limit OFFSET :offset";
+        return bind(filters, reactiveDatabaseClient.sql(sql))
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(TransactionReactiveRepository::toDto)
+                .all();
+    }
+
+    // Unbounded result streamed as the subscriber requests it (driver-level backpressure).
+    public Flux<TransactionDto> streamAll(TransactionSqlFilters filters, Sort sort) {
+        String sql = "SELECT " + TransactionSqlFilters.COLUMNS + " FROM " + TransactionSqlFilters.TABLE
+                + filters.whereClause() + TransactionSqlFilters.orderBy(sort);
+        return bind(filters, reactiveDatabaseClient.sql(sql))
+                .map(TransactionReactiveRepository::toDto)
+                .all();
+    }
+
+    public Mono<Long> count(TransactionSqlFilters filters) {
+        String sql = "SELECT COUNT(*) AS total FROM " + TransactionSqlFilters.TABLE + filters.whereClause();
+        return bind(filters, reactiveDatabaseClient.sql(sql))
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(TransactionSqlFilters filters, DatabaseClient.GenericExecuteSpec spec) {
+        for (var binding : filters.bindings().entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+
+    private static TransactionDto toDto(Readable row) {
+        return TransactionDto.builder()
+                .id(row.get("id", Long.class))
+                .accountNumber(row.get("account_number", Long.class))
+                .trxnAmount(row.get("trxn_amount", BigDecimal.class))
+                .description(row.get("description", String.class))
+                .trxnTimestamp(row.get("trxn_timestamp", LocalDateTime.class))
+                .customerId(row.get("customer_id", Long.class))
+                .version(row.get("version", Integer.class))
+                .build();
+    }
+}
@@ -3,18 +3,28 @@ package com.maybank.maybank_assessment.repository;
 import com.maybank.maybank_assessment.model.entity.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
     boolean existsByAccountNumberAndTrxnAmountAndDescriptionAndTrxnTimestampAndCustomerId(
             Long accountNumber,
-            BigDecimal trxnAmount,
+            long trxnAmount,
             String description,
             LocalDateTime trxnTimestamp,
             Long customerId
     );
+
+    // Version-guarded update for when the current version is already known (near-cache hit): no SELECT first.
+    // Returns 0 when the row is gone or has moved past that version.
+    @Modifying
+    @Query("update Transaction t set t.description = :description, t.version = t.version + 1 " +
+            "where t.id = :id and t.version = :version")
+    int updateDescriptionIfVersion(@Param("id") Long id, @Param("version") Integer version,
+                                   @Param("description") String description);
 }
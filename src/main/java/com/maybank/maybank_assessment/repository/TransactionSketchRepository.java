@@ -0,0 +1,21 @@
+package com.maybank.maybank_assessment.repository;
+
+import com.maybank.maybank_assessment.model.entity.TransactionSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TransactionSketchRepository extends JpaRepository<TransactionSketch, Long> {
+
+    List<TransactionSketch> findByScopeAndSketchKeyIn(TransactionSketch.Scope scope, Collection<String> sketchKeys);
+
+    @Modifying
+    @Query("delete from TransactionSketch s where s.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
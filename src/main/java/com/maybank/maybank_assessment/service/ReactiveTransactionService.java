@@ -0,0 +1,42 @@
+package com.maybank.maybank_assessment.service;
+
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.repository.TransactionReactiveRepository;
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Non-blocking variant of TransactionService's read path, with the same filter semantics.
+@Service
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveTransactionService {
+    private final TransactionReactiveRepository transactionReactiveRepository;
+
+    public Mono<Page<TransactionDto>> getTransactions(Long customerId, Long accountNumber, String description, Pageable pageable) {
+        var filters = TransactionSqlFilters.of(customerId, accountNumber, description);
+        if (pageable.isUnpaged()) {
+            return transactionReactiveRepository.streamAll(filters, pageable.getSort())
+                    .collectList()
+                    .map(content -> new PageImpl<>(content, pageable, content.size()));
+        }
+        Mono<List<TransactionDto>> content = transactionReactiveRepository
+                .findPage(filters, pageable.getSort(), pageable.getOffset(), pageable.getPageSize())
+                .collectList();
+        return Mono.zip(content, transactionReactiveRepository.count(filters))
+                .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+
+    public Flux<TransactionDto> exportTransactions(Long customerId, Long accountNumber, String description, Sort sort) {
+        return transactionReactiveRepository.streamAll(TransactionSqlFilters.of(customerId, accountNumber, description), sort);
+    }
+}
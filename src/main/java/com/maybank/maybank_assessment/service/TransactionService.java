@@ -1,41 +1,164 @@
 package com.maybank.maybank_assessment.service;
 
+import com.maybank.maybank_assessment.config.datasource.ReadYourWritesTracker;
+import com.maybank.maybank_assessment.config.sharding.ShardRouter;
 import com.maybank.maybank_assessment.model.dto.TransactionDto;
 import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.repository.ShardedTransactionRepository;
+import com.maybank.maybank_assessment.repository.TransactionArchiveUnionRepository;
 import com.maybank.maybank_assessment.repository.TransactionRepository;
+import com.maybank.maybank_assessment.service.archive.TransactionArchive;
+import com.maybank.maybank_assessment.service.cache.TransactionNearCache;
+import com.maybank.maybank_assessment.service.hot.HotTransactionWindow;
+import com.maybank.maybank_assessment.service.metrics.QueryShape;
+import com.maybank.maybank_assessment.service.metrics.QueryShapeMetrics;
+import com.maybank.maybank_assessment.service.metrics.jfr.TransactionUpdateEvent;
+import com.maybank.maybank_assessment.service.outbox.TransactionOutbox;
+import com.maybank.maybank_assessment.service.shard.TransactionScatterGather;
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static com.maybank.maybank_assessment.service.spec.TransactionSpecifications.timestampBetween;
 import static com.maybank.maybank_assessment.service.spec.TransactionSpecifications.withFilters;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
     private final TransactionRepository transactionRepository;
+    private final ReadYourWritesTracker readYourWrites;
+    private final TransactionNearCache nearCache;
+    private final TransactionArchive archive;
+    private final TransactionArchiveUnionRepository archiveUnionRepository;
+    private final TransactionOutbox outbox;
+    private final ShardRouter shardRouter;
+    private final ShardedTransactionRepository shardedRepository;
+    private final TransactionScatterGather scatterGather;
+    private final QueryShapeMetrics queryMetrics;
+    private final HotTransactionWindow hotWindow;
 
     @Transactional(readOnly = true)
-    public Page<TransactionDto> getTransactions(Long customerId, Long accountNumber, String description, Pageable pageable) {
+    public Page<TransactionDto> getTransactions(Long customerId, Long accountNumber, String description,
+                                                LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        QueryShape shape = QueryShape.of(customerId, accountNumber, description, from, to);
+        // Ranges starting inside the in-memory window never reach a database, whatever the sharding
+        Optional<Page<TransactionDto>> hot = queryMetrics.recordIfAnswered(shape, "hot-window", pageable,
+                () -> hotWindow.findPage(customerId, accountNumber, description, from, to, pageable));
+        if (hot.isPresent()) {
+            return hot.get();
+        }
+        boolean includeArchive = archive.needed(from);
+        if (shardRouter.isSharded()) {
+            TransactionSqlFilters filters = TransactionSqlFilters.of(customerId, accountNumber, description, from, to);
+            // Unscoped listings span every shard; a single customer lives on exactly one
+            if (customerId == null) {
+                return queryMetrics.record(shape, "scatter", pageable,
+                        () -> scatterGather.findPage(filters, includeArchive, pageable));
+            }
+            int shard = shardRouter.shardOf(customerId);
+            if (shard != 0) {
+                return queryMetrics.record(shape, "shard", pageable,
+                        () -> shardedRepository.findPage(shard, filters, pageable));
+            }
+        }
+        // Only pay for the hot+archive union when the requested range reaches back into the archive
+        if (includeArchive) {
+            return queryMetrics.record(shape, "archive-union", pageable, () -> archiveUnionRepository.findPage(
+                    TransactionSqlFilters.of(customerId, accountNumber, description, from, to), pageable));
+        }
         // Build JPA Specification dynamically based on filters:
-        var spec = withFilters(customerId, accountNumber, description);
-        Page<Transaction> page = transactionRepository.findAll(spec, pageable);
+        var spec = withFilters(customerId, accountNumber, description).and(timestampBetween(from, to));
         // Map entities to DTOs
-        return page.map(TransactionDto::fromEntity);
+        return queryMetrics.record(shape, "jpa", pageable,
+                () -> transactionRepository.findAll(spec, pageable).map(TransactionDto::fromEntity));
+    }
+
+    // Served from the near-cache when possible; deliberately not @Transactional so a hit never takes a connection.
+    public TransactionDto getTransaction(Long id) {
+        return nearCache.get(id).orElseGet(() -> {
+            int shard = shardRouter.shardOfId(id);
+            TransactionDto loaded = (shard == 0
+                    ? transactionRepository.findById(id).map(TransactionDto::fromEntity)
+                    : shardedRepository.findById(shard, id))
+                    .orElseThrow(() -> new EntityNotFoundException("Transaction not found with id " + id));
+            nearCache.put(loaded);
+            return loaded;
+        });
     }
 
+    // Recorded as a TransactionUpdateEvent whether it succeeds or not
     @Transactional
     public TransactionDto updateTransaction(Long id, String newDescription) {
-        Transaction txn = transactionRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Transaction not found with id " + id));
-        txn.setDescription(newDescription);
-        // Save will trigger optimistic lock check via @Version
-        Transaction updated = transactionRepository.save(txn);
-        return TransactionDto.fromEntity(updated);
+        int shard = shardRouter.shardOfId(id);
+        TransactionUpdateEvent event = new TransactionUpdateEvent();
+        event.begin();
+        String outcome = TransactionUpdateEvent.ERROR;
+        try {
+            TransactionDto updated = update(shard, id, newDescription);
+            outcome = TransactionUpdateEvent.UPDATED;
+            return updated;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            outcome = TransactionUpdateEvent.CONFLICT;
+            throw e;
+        } catch (EntityNotFoundException e) {
+            outcome = TransactionUpdateEvent.NOT_FOUND;
+            throw e;
+        } finally {
+            event.record(id, shard, outcome);
+        }
+    }
+
+    private TransactionDto update(int shard, Long id, String newDescription) {
+        TransactionDto updated = (shard != 0) ? updateOnShard(shard, id, newDescription) : nearCache.get(id)
+                .filter(cached -> cached.getVersion() != null
+                        && transactionRepository.updateDescriptionIfVersion(id, cached.getVersion(), newDescription) == 1)
+                .map(cached -> {
+                    cached.setDescription(newDescription);
+                    cached.setVersion(cached.getVersion() + 1);
+                    return cached;
+                })
+                .orElseGet(() -> {
+                    // Cache miss or stale entry: load the current row
+                    Transaction txn = transactionRepository.findById(id)
+                            .orElseThrow(() -> new EntityNotFoundException("Transaction not found with id " + id));
+                    txn.setDescription(newDescription);
+                    // Save will trigger optimistic lock check via @Version
+                    return TransactionDto.fromEntity(transactionRepository.saveAndFlush(txn));
+                });
+        // Same transaction as the update, so the change feed never shows an update that rolled back
+        outbox.record(TransactionChange.Type.UPDATED, updated);
+        nearCache.written(updated);
+        // Keep this node's reads on the primary briefly so the caller sees its own update
+        readYourWrites.recordWrite();
+        return updated;
+    }
+
+    // Rows on shards other than 0 are outside JPA: same version-guarded UPDATE, over JDBC on their shard.
+    // That update commits on its own; the outbox entry still commits with the surrounding transaction.
+    private TransactionDto updateOnShard(int shard, Long id, String newDescription) {
+        TransactionDto updated = nearCache.get(id)
+                .filter(cached -> cached.getVersion() != null
+                        && shardedRepository.updateDescriptionIfVersion(shard, id, cached.getVersion(), newDescription) == 1)
+                .orElseGet(() -> {
+                    TransactionDto current = shardedRepository.findById(shard, id)
+                            .orElseThrow(() -> new EntityNotFoundException("Transaction not found with id " + id));
+                    if (shardedRepository.updateDescriptionIfVersion(shard, id, current.getVersion(), newDescription) != 1) {
+                        throw new ObjectOptimisticLockingFailureException(Transaction.class, id);
+                    }
+                    return current;
+                });
+        updated.setDescription(newDescription);
+        updated.setVersion(updated.getVersion() + 1);
+        return updated;
     }
 }
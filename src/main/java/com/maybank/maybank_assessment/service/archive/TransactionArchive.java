@@ -0,0 +1,67 @@
+package com.maybank.maybank_assessment.service.archive;
+
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.repository.ArchivedTransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Knows how far back the archive tier reaches, so callers only touch it when they have to.
+ *
+ * The horizon is the newest archived trxn_timestamp; a query whose range starts after it can be answered
+ * from the hot table alone. It is re-read at most every app.archive.horizon-refresh (other nodes may have
+ * archived meanwhile) and immediately after this node's archival job via {@link #refresh()}.
+ */
+@Component
+public class TransactionArchive {
+
+    private final ArchivedTransactionRepository archivedRepository;
+    private final long refreshNanos;
+
+    private volatile LocalDateTime horizon;
+    private volatile long loadedAt;
+    private volatile boolean loaded;
+
+    public TransactionArchive(ArchivedTransactionRepository archivedRepository,
+                              @Value("${app.archive.horizon-refresh:30s}") Duration refreshInterval) {
+        this.archivedRepository = archivedRepository;
+        this.refreshNanos = refreshInterval.toNanos();
+    }
+
+    /** True when rows at or after {@code from} (null = unbounded) may live in the archive. */
+    public boolean needed(LocalDateTime from) {
+        LocalDateTime current = horizon();
+        return current != null && (from == null || !from.isAfter(current));
+    }
+
+    /** Whether an identical transaction was already archived; keeps re-imports from resurrecting it. */
+    public boolean contains(Transaction txn) {
+        if (txn.getTrxnTimestamp() == null || !needed(txn.getTrxnTimestamp())) {
+            return false;
+        }
+        return archivedRepository.existsByAccountNumberAndTrxnAmountAndDescriptionAndTrxnTimestampAndCustomerId(
+                txn.getAccountNumber(),
+                txn.getTrxnAmount(),
+                txn.getDescription(),
+                txn.getTrxnTimestamp(),
+                txn.getCustomerId()
+        );
+    }
+
+    public void refresh() {
+        loaded = false;
+    }
+
+    private LocalDateTime horizon() {
+        long now = System.nanoTime();
+        if (!loaded || now - loadedAt > refreshNanos) {
+            horizon = archivedRepository.findMaxTrxnTimestamp();
+            loadedAt = now;
+            loaded = true;
+        }
+        return horizon;
+    }
+}
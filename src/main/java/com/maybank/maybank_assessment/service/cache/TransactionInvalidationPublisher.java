@@ -0,0 +1,13 @@
+package com.maybank.maybank_assessment.service.cache;
+
+/**
+ * Hook for multi-node deployments: told about every local change to a cached transaction, so it can tell
+ * the other nodes (broker topic, Redis pub/sub, DB notify, ...). Receivers call
+ * {@link TransactionNearCache#onRemoteChange(long, Integer)}.
+ *
+ * Without a bean of this type, changes stay local and other nodes rely on the cache TTL.
+ */
+public interface TransactionInvalidationPublisher {
+
+    void publish(long id, Integer version);
+}
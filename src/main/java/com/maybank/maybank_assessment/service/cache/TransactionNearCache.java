@@ -0,0 +1,104 @@
+package com.maybank.maybank_assessment.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded in-process cache of transactions by id, holding detached snapshots (never managed entities).
+ *
+ * Entries are ordered by @Version: a snapshot only replaces a cached one with an equal or newer version,
+ * so a slow reader cannot put back a row that a concurrent update already moved past. Local writes
+ * are applied after commit and reported to the {@link TransactionInvalidationPublisher}, if one exists.
+ * Entries expire after app.cache.transactions.ttl as a safety net for changes made elsewhere.
+ */
+@Component
+public class TransactionNearCache {
+
+    private final Cache<Long, TransactionDto> cache;
+    private final ObjectProvider<TransactionInvalidationPublisher> invalidationPublisher;
+
+    public TransactionNearCache(@Value("${app.cache.transactions.max-size:10000}") long maxSize,
+                                @Value("${app.cache.transactions.ttl:5m}") Duration ttl,
+                                ObjectProvider<TransactionInvalidationPublisher> invalidationPublisher,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.invalidationPublisher = invalidationPublisher;
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "transactions"));
+    }
+
+    public Optional<TransactionDto> get(long id) {
+        return Optional.ofNullable(cache.getIfPresent(id)).map(TransactionNearCache::copy);
+    }
+
+    // Caches a snapshot just read from the DB.
+    public void put(TransactionDto snapshot) {
+        if (snapshot.getId() != null) {
+            cache.asMap().merge(snapshot.getId(), copy(snapshot),
+                    (cached, fresh) -> isNewer(cached, fresh) ? fresh : cached);
+        }
+    }
+
+    // Records a local write: the new snapshot replaces the entry once the surrounding transaction commits.
+    public void written(TransactionDto snapshot) {
+        afterCommit(() -> {
+            put(snapshot);
+            invalidationPublisher.ifAvailable(publisher -> publisher.publish(snapshot.getId(), snapshot.getVersion()));
+        });
+    }
+
+    // Records a local write whose new state is not known here (e.g. the import writer): drops the entry.
+    public void evict(long id, Integer version) {
+        afterCommit(() -> {
+            cache.invalidate(id);
+            invalidationPublisher.ifAvailable(publisher -> publisher.publish(id, version));
+        });
+    }
+
+    // Another node changed the row: drop our entry unless it is already at that version or newer.
+    public void onRemoteChange(long id, Integer version) {
+        cache.asMap().computeIfPresent(id, (key, cached) ->
+                version != null && cached.getVersion() != null && cached.getVersion() >= version ? cached : null);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static boolean isNewer(TransactionDto cached, TransactionDto fresh) {
+        return cached.getVersion() == null || (fresh.getVersion() != null && fresh.getVersion() >= cached.getVersion());
+    }
+
+    // Callers get their own copy, so mutating a returned DTO never changes the cache.
+    private static TransactionDto copy(TransactionDto dto) {
+        return new TransactionDto(dto.getId(), dto.getAccountNumber(), dto.getTrxnAmount(), dto.getDescription(),
+                dto.getTrxnTimestamp(), dto.getCustomerId(), dto.getVersion());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.maybank.maybank_assessment.service.coalesce;
+
+import com.maybank.maybank_assessment.config.datasource.ReadYourWritesTracker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical concurrent reads on this node: the first caller for a key runs the
+ * call, and callers arriving with the same key while it runs wait for and share its result (or exception)
+ * instead of running it again.
+ *
+ * A caller never joins a call that started before this node's latest write (see {@link ReadYourWritesTracker}),
+ * so coalescing cannot hand a client a result older than its own update; it starts a fresh call that later
+ * arrivals join instead. Shared results are handed to every waiting caller as the same instance, so they
+ * must be treated as read-only. Callers that return the result as a response body wrap it in a
+ * {@link SharedBody}, so it is also serialized once per media type rather than once per caller.
+ *
+ * - transactions.query.coalesced (counter): tag role=leader (ran the call) or follower (shared a result)
+ * - transactions.query.in-flight (gauge): distinct calls currently running
+ */
+@Component
+public class RequestCoalescer {
+
+    private static final String COALESCED_DESCRIPTION =
+            "Listing requests that ran their query (leader) or shared one already in flight (follower)";
+
+    private record Flight(CompletableFuture<Object> result, long startedAt) {
+    }
+
+    private final ConcurrentMap<Object, Flight> inFlight = new ConcurrentHashMap<>();
+    private final ReadYourWritesTracker readYourWrites;
+    private final boolean enabled;
+    private final AtomicLong leaders = new AtomicLong();
+    private final AtomicLong followers = new AtomicLong();
+
+    public RequestCoalescer(ReadYourWritesTracker readYourWrites,
+                            @Value("${app.api.coalescing.enabled:true}") boolean enabled,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.readYourWrites = readYourWrites;
+        this.enabled = enabled;
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("transactions.query.coalesced", leaders, AtomicLong::get)
+                    .description(COALESCED_DESCRIPTION)
+                    .tag("role", "leader")
+                    .register(registry);
+            FunctionCounter.builder("transactions.query.coalesced", followers, AtomicLong::get)
+                    .description(COALESCED_DESCRIPTION)
+                    .tag("role", "follower")
+                    .register(registry);
+            Gauge.builder("transactions.query.in-flight", inFlight, ConcurrentMap::size)
+                    .description("Distinct listing queries currently running")
+                    .register(registry);
+        });
+    }
+
+    /** Runs {@code call}, or waits for the identical call (equal {@code key}) already running and returns its result. */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        Flight mine = new Flight(new CompletableFuture<>(), System.nanoTime());
+        Flight current = inFlight.putIfAbsent(key, mine);
+        while (current != null) {
+            if (!readYourWrites.writtenSince(current.startedAt())) {
+                followers.incrementAndGet();
+                return (T) await(current);
+            }
+            // Started before a local write: run a fresh call, and let later arrivals join that one
+            if (inFlight.replace(key, current, mine)) {
+                break;
+            }
+            current = inFlight.putIfAbsent(key, mine);
+        }
+        leaders.incrementAndGet();
+        try {
+            T result = call.get();
+            mine.result().complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    long leaders() {
+        return leaders.get();
+    }
+
+    long followers() {
+        return followers.get();
+    }
+
+    // Followers see the leader's own exception, so the error handler maps it as it would for the leader
+    private static Object await(Flight flight) {
+        try {
+            return flight.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
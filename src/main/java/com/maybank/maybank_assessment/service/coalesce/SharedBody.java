@@ -0,0 +1,39 @@
+package com.maybank.maybank_assessment.service.coalesce;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import org.springframework.http.MediaType;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * A response body shared by coalesced requests, together with its encodings: the first request written as a
+ * given media type encodes the value, and the others negotiated to that type write the same bytes.
+ *
+ * Encoding happens in SharedBodyHttpMessageConverter; without it Jackson writes the value itself.
+ */
+public final class SharedBody<T> {
+
+    /** One encoding of the value, with the Content-Type its converter chose. */
+    public record Encoded(MediaType contentType, byte[] bytes) {
+    }
+
+    private final T value;
+    private final ConcurrentMap<MediaType, Encoded> encodings = new ConcurrentHashMap<>();
+
+    public SharedBody(T value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public T value() {
+        return value;
+    }
+
+    /** Returns the encoding for {@code mediaType}, running {@code encoder} only if no request has encoded it yet. */
+    public Encoded encoded(MediaType mediaType, Function<MediaType, Encoded> encoder) {
+        // Requests for a type being encoded wait for it rather than encoding it again
+        return encodings.computeIfAbsent(mediaType, encoder);
+    }
+}
@@ -0,0 +1,300 @@
+package com.maybank.maybank_assessment.service.hot;
+
+import com.maybank.maybank_assessment.config.sharding.ShardRouter;
+import com.maybank.maybank_assessment.model.dto.TransactionChangeDto;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.repository.ShardedTransactionRepository;
+import com.maybank.maybank_assessment.service.outbox.TransactionOutbox;
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps the last app.hot-window.window of transactions in memory, in {@link TransactionColumns}, and answers
+ * listings whose time range starts inside it without touching the database.
+ *
+ * Once the application is ready, a "hot-window" thread loads every shard's rows from the window start and then
+ * follows the outbox: local commits are applied right after they commit, and commits on other nodes on the
+ * next app.changes.poll-interval. The outbox is followed from the last token recorded app.hot-window.replay
+ * before the load, not from the latest one: a transaction (on any node) holding a lower token may still be
+ * open during the load and commit after it, and reading from the latest token would skip it for good. From
+ * there the outbox's own gap handling waits for tokens not committed yet. Applying a change is idempotent
+ * (inserts skip known ids, updates only move versions forward), so rows seen both by the load and the outbox
+ * come out the same. The same thread drops rows that age out of the window every
+ * app.hot-window.refresh-interval.
+ *
+ * When the window holds more than app.hot-window.capacity rows it is dropped and every query goes back to
+ * the database. Later refreshes count the rows in the window first and only reload once they fit, so an
+ * oversized window costs a COUNT per shard per refresh rather than a full load. Disabled (the default),
+ * nothing is loaded and {@link #findPage} always declines.
+ *
+ * - transactions.hot-window.rows (gauge): rows held, 0 while not serving
+ */
+@Slf4j
+@Component
+public class HotTransactionWindow implements DisposableBean {
+
+    private final ShardRouter shardRouter;
+    private final ShardedTransactionRepository shardedRepository;
+    private final TransactionOutbox outbox;
+    private final boolean enabled;
+    private final Duration window;
+    private final int capacity;
+    private final Duration refreshInterval;
+    private final Duration replay;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final ScheduledExecutorService executor;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock; null while not loaded
+    private TransactionColumns columns;
+    private LocalDateTime coverageStart;
+    // Outbox position; only touched on the hot-window thread
+    private long cursor;
+    // Whether the window was dropped for not fitting; set by committing threads too
+    private volatile boolean overCapacity;
+
+    public HotTransactionWindow(ShardRouter shardRouter,
+                                ShardedTransactionRepository shardedRepository,
+                                TransactionOutbox outbox,
+                                @Value("${app.hot-window.enabled:false}") boolean enabled,
+                                @Value("${app.hot-window.window:7d}") Duration window,
+                                @Value("${app.hot-window.capacity:1000000}") int capacity,
+                                @Value("${app.hot-window.refresh-interval:1m}") Duration refreshInterval,
+                                @Value("${app.hot-window.replay:1m}") Duration replay,
+                                @Value("${app.changes.poll-interval:1s}") Duration pollInterval,
+                                @Value("${app.changes.batch-size:100}") int batchSize,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this.shardRouter = shardRouter;
+        this.shardedRepository = shardedRepository;
+        this.outbox = outbox;
+        this.enabled = enabled;
+        this.window = window;
+        this.capacity = capacity;
+        this.refreshInterval = refreshInterval;
+        this.replay = replay;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.executor = enabled ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-window");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        meterRegistry.ifAvailable(registry -> Gauge.builder("transactions.hot-window.rows", this, HotTransactionWindow::size)
+                .description("Recent transactions held in memory for listings")
+                .register(registry));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor.execute(this::reload);
+        executor.scheduleWithFixedDelay(this::tail, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::refresh, refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Same filters, order and page as TransactionService#getTransactions, or empty when the window does not
+     * cover the listing (not loaded, {@code from} before its start, or a sort it cannot do). Coverage is checked
+     * under the same lock as the query, so a window dropped meanwhile declines instead of failing.
+     */
+    public Optional<Page<TransactionDto>> findPage(Long customerId, Long accountNumber, String description,
+                                                   LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        if (from == null || !pageable.getSort().stream().allMatch(order -> TransactionColumns.SORTABLE.contains(order.getProperty()))) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (columns == null || from.isBefore(coverageStart)) {
+                return Optional.empty();
+            }
+            int[] rows = columns.select(customerId, accountNumber, description, from, to);
+            columns.sort(rows, pageable.getSort());
+            int start = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), rows.length) : 0;
+            int end = pageable.isPaged() ? Math.min(start + pageable.getPageSize(), rows.length) : rows.length;
+            List<TransactionDto> content = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                content.add(columns.row(rows[i]));
+            }
+            return Optional.of(new PageImpl<>(content, pageable, rows.length));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onChangeCommitted(TransactionOutbox.ChangeRecorded event) {
+        if (enabled) {
+            apply(event.type(), event.snapshot());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return columns != null ? columns.size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Loads into fresh columns and swaps them in; changes committed meanwhile are replayed from the cursor
+    void reload() {
+        try {
+            long token = outbox.tokenBefore(Instant.now().minus(replay));
+            LocalDateTime start = LocalDateTime.now().minus(window);
+            TransactionColumns loaded = new TransactionColumns(1024);
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                shardedRepository.forEachSince(shard, start, txn -> {
+                    if (loaded.size() >= capacity) {
+                        throw new CapacityExceededException();
+                    }
+                    loaded.insert(txn);
+                });
+            }
+            swap(loaded, start);
+            cursor = token;
+            overCapacity = false;
+            log.info("Hot window loaded {} transactions since {}", loaded.size(), start);
+        } catch (CapacityExceededException e) {
+            swap(null, null);
+            overCapacity = true;
+            log.warn("Hot window would exceed {} transactions; listings use the database until it fits", capacity);
+        } catch (RuntimeException e) {
+            swap(null, null);
+            log.warn("Hot window load failed; listings use the database", e);
+        }
+    }
+
+    void tail() {
+        if (!loaded()) {
+            return;
+        }
+        try {
+            List<TransactionChangeDto> changes;
+            do {
+                changes = outbox.readAfter(cursor, batchSize);
+                for (TransactionChangeDto change : changes) {
+                    apply(TransactionChange.Type.valueOf(change.getType()), change.getTransaction());
+                    cursor = change.getToken();
+                }
+            } while (changes.size() == batchSize);
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the periodic task
+            log.warn("Hot window outbox tail failed", e);
+        }
+    }
+
+    // Ages rows out of the window, or retries a load that did not fit once a COUNT says it would
+    void refresh() {
+        if (!loaded()) {
+            if (!overCapacity || fits(LocalDateTime.now().minus(window))) {
+                reload();
+            }
+            return;
+        }
+        LocalDateTime start = LocalDateTime.now().minus(window);
+        lock.writeLock().lock();
+        try {
+            if (columns != null) {
+                columns = columns.retainFrom(start);
+                coverageStart = start;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(TransactionChange.Type type, TransactionDto txn) {
+        lock.writeLock().lock();
+        try {
+            if (columns == null) {
+                return;
+            }
+            if (type == TransactionChange.Type.UPDATED) {
+                columns.update(txn.getId(), txn.getVersion(), txn.getDescription());
+            } else if (!txn.getTrxnTimestamp().isBefore(coverageStart) && columns.insert(txn) && columns.size() > capacity) {
+                columns = null;
+                coverageStart = null;
+                overCapacity = true;
+                log.warn("Hot window exceeded {} transactions; listings use the database until it fits", capacity);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean fits(LocalDateTime start) {
+        try {
+            TransactionSqlFilters since = TransactionSqlFilters.of(null, null, null, start, null);
+            long rows = 0;
+            for (int shard = 0; shard < shardRouter.shardCount() && rows <= capacity; shard++) {
+                rows += shardedRepository.count(shard, since);
+            }
+            return rows <= capacity;
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the periodic task
+            log.warn("Hot window size check failed", e);
+            return false;
+        }
+    }
+
+    private boolean loaded() {
+        lock.readLock().lock();
+        try {
+            return columns != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void swap(TransactionColumns loaded, LocalDateTime start) {
+        lock.writeLock().lock();
+        try {
+            columns = loaded;
+            coverageStart = start;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class CapacityExceededException extends RuntimeException {
+        CapacityExceededException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.maybank.maybank_assessment.service.hot;
+
+import com.maybank.maybank_assessment.exception.BadRequestException;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.money.Money;
+import com.maybank.maybank_assessment.service.spec.TransactionSpecifications;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Transactions held column by column in primitive arrays, with hash indexes from id, customer and account
+ * to row positions.
+ *
+ * Usage (typical):
+ *   TransactionColumns columns = new TransactionColumns(1024);
+ *   columns.insert(dto);                                  // false if the id is already there
+ *   int[] rows = columns.select(222L, null, null, from, to);
+ *   columns.sort(rows, pageable.getSort());
+ *   TransactionDto first = columns.row(rows[0]);
+ *
+ * Notes:
+ *  - Timestamps are stored as epoch microseconds (UTC-agnostic, like the column) and amounts in minor units,
+ *    so filtering and sorting never box or allocate per row.
+ *  - Rows are appended; {@link #retainFrom} rebuilds the arrays without the rows older than a cutoff.
+ *  - Not thread-safe; {@link HotTransactionWindow} guards it with a read/write lock.
+ */
+public final class TransactionColumns {
+
+    /** Properties {@link #sort} can order by; the same set TransactionSqlFilters accepts. */
+    public static final Set<String> SORTABLE = Set.of(
+            "id", "accountNumber", "trxnAmount", "description", "trxnTimestamp", "customerId", "version");
+
+    private long[] ids;
+    private long[] accounts;
+    private long[] customers;
+    private long[] timestamps;
+    private long[] amounts;
+    private int[] versions;
+    private String[] descriptions;
+    private int size;
+
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    private final Map<Long, RowList> rowsByCustomer = new HashMap<>();
+    private final Map<Long, RowList> rowsByAccount = new HashMap<>();
+
+    public TransactionColumns(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        ids = new long[capacity];
+        accounts = new long[capacity];
+        customers = new long[capacity];
+        timestamps = new long[capacity];
+        amounts = new long[capacity];
+        versions = new int[capacity];
+        descriptions = new String[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Appends the transaction unless its id is already held. */
+    public boolean insert(TransactionDto txn) {
+        if (rowById.containsKey(txn.getId())) {
+            return false;
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        int row = size++;
+        ids[row] = txn.getId();
+        accounts[row] = txn.getAccountNumber();
+        customers[row] = txn.getCustomerId();
+        timestamps[row] = micros(txn.getTrxnTimestamp());
+        amounts[row] = Money.fromBigDecimal(txn.getTrxnAmount());
+        versions[row] = txn.getVersion() != null ? txn.getVersion() : 0;
+        descriptions[row] = txn.getDescription();
+        rowById.put(txn.getId(), row);
+        rowsByCustomer.computeIfAbsent(txn.getCustomerId(), k -> new RowList()).add(row);
+        rowsByAccount.computeIfAbsent(txn.getAccountNumber(), k -> new RowList()).add(row);
+        return true;
+    }
+
+    /** Applies a description update if the row is held and the version is newer than the held one. */
+    public boolean update(long id, int version, String description) {
+        Integer row = rowById.get(id);
+        if (row == null || version <= versions[row]) {
+            return false;
+        }
+        versions[row] = version;
+        descriptions[row] = description;
+        return true;
+    }
+
+    /**
+     * Rows matching the filters, in insertion order. Uses the customer or account index when one of them
+     * is given; null/blank filters are ignored, the description is a case-insensitive "contains" and the
+     * timestamp range is inclusive, as in TransactionSpecifications.
+     */
+    public int[] select(Long customerId, Long accountNumber, String description, LocalDateTime from, LocalDateTime to) {
+        String needle = TransactionSpecifications.normalize(description);
+        long fromMicros = from != null ? micros(from) : Long.MIN_VALUE;
+        long toMicros = to != null ? micros(to) : Long.MAX_VALUE;
+        IntPredicate matches = row -> timestamps[row] >= fromMicros && timestamps[row] <= toMicros
+                && (customerId == null || customers[row] == customerId)
+                && (accountNumber == null || accounts[row] == accountNumber)
+                && (needle == null || (descriptions[row] != null && descriptions[row].toLowerCase().contains(needle)));
+
+        RowList candidates = null;
+        if (customerId != null) {
+            candidates = rowsByCustomer.getOrDefault(customerId, RowList.EMPTY);
+        }
+        if (accountNumber != null) {
+            RowList byAccount = rowsByAccount.getOrDefault(accountNumber, RowList.EMPTY);
+            candidates = (candidates == null || byAccount.size < candidates.size) ? byAccount : candidates;
+        }
+        int[] result = new int[candidates != null ? candidates.size : size];
+        int n = 0;
+        if (candidates != null) {
+            for (int i = 0; i < candidates.size; i++) {
+                if (matches.test(candidates.rows[i])) result[n++] = candidates.rows[i];
+            }
+        } else {
+            for (int row = 0; row < size; row++) {
+                if (matches.test(row)) result[n++] = row;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Orders rows as TransactionSqlFilters.orderBy would: by the sort, then by id. Descriptions compare
+     * case-insensitively.
+     *
+     * @throws BadRequestException for properties outside {@link #SORTABLE}
+     */
+    public void sort(int[] rows, Sort sort) {
+        RowComparator comparator = null;
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            RowComparator next = comparator(order.getProperty());
+            hasId |= order.getProperty().equals("id");
+            if (order.isDescending()) {
+                RowComparator ascending = next;
+                next = (a, b) -> ascending.compare(b, a);
+            }
+            comparator = (comparator == null) ? next : comparator.then(next);
+        }
+        if (!hasId) {
+            comparator = (comparator == null) ? comparator("id") : comparator.then(comparator("id"));
+        }
+        RowComparator order = comparator;
+        // Boxed once per matching row; the comparisons themselves read primitives
+        Integer[] boxed = Arrays.stream(rows).boxed().toArray(Integer[]::new);
+        Arrays.sort(boxed, order::compare);
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = boxed[i];
+        }
+    }
+
+    public TransactionDto row(int row) {
+        return TransactionDto.builder()
+                .id(ids[row])
+                .accountNumber(accounts[row])
+                .trxnAmount(Money.toBigDecimal(amounts[row]))
+                .description(descriptions[row])
+                .trxnTimestamp(LocalDateTime.ofEpochSecond(Math.floorDiv(timestamps[row], 1_000_000L),
+                        (int) Math.floorMod(timestamps[row], 1_000_000L) * 1000, ZoneOffset.UTC))
+                .customerId(customers[row])
+                .version(versions[row])
+                .build();
+    }
+
+    /** A copy holding only the rows at or after {@code cutoff}, with indexes rebuilt. */
+    public TransactionColumns retainFrom(LocalDateTime cutoff) {
+        long cutoffMicros = micros(cutoff);
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (timestamps[row] >= cutoffMicros) kept++;
+        }
+        TransactionColumns retained = new TransactionColumns(kept);
+        for (int row = 0; row < size; row++) {
+            if (timestamps[row] >= cutoffMicros) {
+                retained.insert(row(row));
+            }
+        }
+        return retained;
+    }
+
+    static long micros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1000;
+    }
+
+    private RowComparator comparator(String property) {
+        return switch (property) {
+            case "id" -> (a, b) -> Long.compare(ids[a], ids[b]);
+            case "accountNumber" -> (a, b) -> Long.compare(accounts[a], accounts[b]);
+            case "trxnAmount" -> (a, b) -> Long.compare(amounts[a], amounts[b]);
+            case "description" -> (a, b) -> compareDescriptions(descriptions[a], descriptions[b]);
+            case "trxnTimestamp" -> (a, b) -> Long.compare(timestamps[a], timestamps[b]);
+            case "customerId" -> (a, b) -> Long.compare(customers[a], customers[b]);
+            case "version" -> (a, b) -> Integer.compare(versions[a], versions[b]);
+            default -> throw new BadRequestException("Unsupported sort property: " + property);
+        };
+    }
+
+    // Nulls first, like the scatter-gather comparator
+    private static int compareDescriptions(String a, String b) {
+        if (a == null || b == null) {
+            return (a == null) ? (b == null ? 0 : -1) : 1;
+        }
+        return String.CASE_INSENSITIVE_ORDER.compare(a, b);
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        accounts = Arrays.copyOf(accounts, capacity);
+        customers = Arrays.copyOf(customers, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+    }
+
+    @FunctionalInterface
+    private interface RowComparator {
+        int compare(int a, int b);
+
+        default RowComparator then(RowComparator next) {
+            return (a, b) -> {
+                int result = compare(a, b);
+                return result != 0 ? result : next.compare(a, b);
+            };
+        }
+    }
+
+    // Growable int array of row positions for one index key
+    private static final class RowList {
+        static final RowList EMPTY = new RowList();
+
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.maybank.maybank_assessment.service.metrics;
+
+import com.maybank.maybank_assessment.service.spec.TransactionSpecifications;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Which {@link TransactionSpecifications} predicates a listing query has active, e.g.
+ * {@code customerId+description}, or {@code none} for an unfiltered listing.
+ *
+ * {@link #name()} is a metric tag, so it only names predicates (16 possible values). {@link #parameters()}
+ * describes the bound parameters for slow-query capture by type, never by value.
+ */
+public record QueryShape(String name, Map<String, String> parameters) {
+
+    public static QueryShape of(Long customerId, Long accountNumber, String description,
+                                LocalDateTime from, LocalDateTime to) {
+        StringJoiner name = new StringJoiner("+").setEmptyValue("none");
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (customerId != null) {
+            name.add("customerId");
+            parameters.put("customerId", "Long");
+        }
+        if (accountNumber != null) {
+            name.add("accountNumber");
+            parameters.put("accountNumber", "Long");
+        }
+        String needle = TransactionSpecifications.normalize(description);
+        if (needle != null) {
+            name.add("description");
+            parameters.put("description", "String contains (" + needle.length() + " chars)");
+        }
+        if (from != null || to != null) {
+            name.add("timestamp");
+            if (from != null) parameters.put("from", "LocalDateTime");
+            if (to != null) parameters.put("to", "LocalDateTime");
+        }
+        return new QueryShape(name.toString(), Collections.unmodifiableMap(parameters));
+    }
+}
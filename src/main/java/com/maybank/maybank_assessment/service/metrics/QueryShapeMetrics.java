@@ -0,0 +1,131 @@
+package com.maybank.maybank_assessment.service.metrics;
+
+import com.maybank.maybank_assessment.service.metrics.jfr.TransactionQueryEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency and result-size metrics for transaction listings, per {@link QueryShape} and access path.
+ *
+ * - transactions.query (timer, percentile histogram): tags shape, path (jpa, archive-union, shard, scatter, hot-window), outcome
+ * - transactions.query.rows / transactions.query.matches: rows returned per page / rows matching the filters
+ * - transactions.query.slow (counter): queries slower than app.query-metrics.slow-threshold
+ *
+ * Slow queries are also logged and kept (the most recent app.query-metrics.slow-log-size of them) with their
+ * SQL, parameter shape and paging, for the slowqueries actuator endpoint. Every listing is also a
+ * {@link TransactionQueryEvent} when a flight recording has it enabled.
+ */
+@Slf4j
+@Component
+public class QueryShapeMetrics {
+
+    public record SlowQuery(Instant at, String shape, String path, long durationMs, int rows, long matches,
+                            Map<String, String> parameters, String sort, long offset, int pageSize, List<String> sql) {
+    }
+
+    private final MeterRegistry registry;
+    private final Duration slowThreshold;
+    private final int slowLogSize;
+    private final Deque<SlowQuery> slowLog = new ArrayDeque<>();
+
+    public QueryShapeMetrics(MeterRegistry registry,
+                             @Value("${app.query-metrics.slow-threshold:500ms}") Duration slowThreshold,
+                             @Value("${app.query-metrics.slow-log-size:100}") int slowLogSize) {
+        this.registry = registry;
+        this.slowThreshold = slowThreshold;
+        this.slowLogSize = slowLogSize;
+    }
+
+    /** Runs the listing query and records it under shape and path. */
+    public <T> Page<T> record(QueryShape shape, String path, Pageable pageable, Supplier<Page<T>> query) {
+        return recordIfAnswered(shape, path, pageable, () -> Optional.of(query.get())).orElseThrow();
+    }
+
+    /** As {@link #record}, for a path that may decline the query (empty); a declined query is not recorded. */
+    public <T> Optional<Page<T>> recordIfAnswered(QueryShape shape, String path, Pageable pageable,
+                                                  Supplier<Optional<Page<T>>> query) {
+        List<String> statements = new ArrayList<>();
+        TransactionQueryEvent event = new TransactionQueryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Optional<Page<T>> answer;
+        try {
+            answer = SqlCapture.capturing(statements, query);
+        } catch (RuntimeException e) {
+            timer(shape, path, "error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.record(shape, path, pageable, null);
+            throw e;
+        }
+        if (answer.isEmpty()) {
+            return answer;
+        }
+        Page<T> page = answer.get();
+        long elapsed = System.nanoTime() - start;
+        event.record(shape, path, pageable, page);
+        timer(shape, path, "success").record(elapsed, TimeUnit.NANOSECONDS);
+        summary("transactions.query.rows", shape).record(page.getNumberOfElements());
+        summary("transactions.query.matches", shape).record(page.getTotalElements());
+        if (elapsed >= slowThreshold.toNanos()) {
+            List<String> sql;
+            synchronized (statements) {
+                sql = List.copyOf(statements);
+            }
+            slow(new SlowQuery(Instant.now(), shape.name(), path, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    page.getNumberOfElements(), page.getTotalElements(), shape.parameters(), pageable.getSort().toString(),
+                    pageable.isPaged() ? pageable.getOffset() : 0, pageable.isPaged() ? pageable.getPageSize() : -1, sql));
+        }
+        return answer;
+    }
+
+    /** Most recent slow queries, newest first. */
+    public List<SlowQuery> slowQueries() {
+        synchronized (slowLog) {
+            return List.copyOf(slowLog);
+        }
+    }
+
+    private void slow(SlowQuery query) {
+        registry.counter("transactions.query.slow", "shape", query.shape(), "path", query.path()).increment();
+        log.warn("Slow transaction query: {} ms, shape {}, path {}, offset {}, sql {}",
+                query.durationMs(), query.shape(), query.path(), query.offset(), query.sql());
+        synchronized (slowLog) {
+            slowLog.addFirst(query);
+            while (slowLog.size() > slowLogSize) slowLog.removeLast();
+        }
+    }
+
+    private Timer timer(QueryShape shape, String path, String outcome) {
+        return Timer.builder("transactions.query")
+                .description("Transaction listing latency by filter shape")
+                .tags("shape", shape.name(), "path", path, "outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+    }
+
+    private DistributionSummary summary(String name, QueryShape shape) {
+        return DistributionSummary.builder(name)
+                .baseUnit("rows")
+                .tag("shape", shape.name())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
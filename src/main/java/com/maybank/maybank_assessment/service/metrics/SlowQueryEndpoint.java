@@ -0,0 +1,22 @@
+package com.maybank.maybank_assessment.service.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// GET /actuator/slowqueries: recent listings over app.query-metrics.slow-threshold, newest first
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final QueryShapeMetrics queryMetrics;
+
+    @ReadOperation
+    public List<QueryShapeMetrics.SlowQuery> slowQueries() {
+        return queryMetrics.slowQueries();
+    }
+}
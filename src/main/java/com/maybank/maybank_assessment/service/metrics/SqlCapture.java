@@ -0,0 +1,54 @@
+package com.maybank.maybank_assessment.service.metrics;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Collects the SQL a query issues, for slow-query capture. Statements are recorded by the Hibernate
+ * {@link SqlCaptureInspector} and by the JDBC repositories, and only while a capture is open on the
+ * current thread; otherwise {@link #record(String)} does nothing.
+ */
+public final class SqlCapture {
+
+    // Per query; an unpaged listing over several shards should not grow the slow log without bound
+    static final int MAX_STATEMENTS = 20;
+
+    private static final ThreadLocal<List<String>> CURRENT = new ThreadLocal<>();
+
+    private SqlCapture() {
+    }
+
+    /** Runs work with statements (from this thread or {@link #propagate propagated} tasks) added to sink. */
+    static <T> T capturing(List<String> sink, Supplier<T> work) {
+        List<String> previous = CURRENT.get();
+        CURRENT.set(sink);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static void record(String sql) {
+        List<String> sink = CURRENT.get();
+        if (sink != null) {
+            synchronized (sink) {
+                if (sink.size() < MAX_STATEMENTS) sink.add(sql);
+            }
+        }
+    }
+
+    /** Usable as a TaskDecorator: the task records into the capture that was open when it was submitted. */
+    public static Runnable propagate(Runnable task) {
+        List<String> sink = CURRENT.get();
+        if (sink == null) return task;
+        return () -> capturing(sink, () -> {
+            task.run();
+            return null;
+        });
+    }
+}
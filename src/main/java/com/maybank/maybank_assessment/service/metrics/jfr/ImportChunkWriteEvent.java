@@ -0,0 +1,38 @@
+package com.maybank.maybank_assessment.service.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// The import writer's call for one chunk (or one item while a failed chunk is rescanned).
+@Name("maybank.ImportChunkWrite")
+@Label("Import Chunk Write")
+@Category({"Maybank", "Import"})
+@Description("Rows written by the import writer in one call")
+@StackTrace(false)
+public class ImportChunkWriteEvent extends jdk.jfr.Event {
+
+    @Label("Input File")
+    String inputFile;
+
+    @Label("Step Execution Id")
+    long stepExecutionId;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Failed")
+    boolean failed;
+
+    public void record(String inputFile, long stepExecutionId, int rows, boolean failed) {
+        if (shouldCommit()) {
+            this.inputFile = inputFile;
+            this.stepExecutionId = stepExecutionId;
+            this.rows = rows;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.maybank.maybank_assessment.service.metrics.jfr;
+
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One input line mapped to a Transaction; parsed=false when its fields did not convert (the line is then skipped).
+@Name("maybank.ImportParse")
+@Label("Import Line Parse")
+@Category({"Maybank", "Import"})
+@Description("Mapping of one input line to a transaction")
+@StackTrace(false)
+public class ImportParseEvent extends jdk.jfr.Event {
+
+    @Label("Parsed")
+    boolean parsed;
+
+    @Label("Account Number")
+    long accountNumber;
+
+    @Label("Customer Id")
+    long customerId;
+
+    /** Commits the event when recording is on; {@code txn} is null when mapping failed. */
+    public void record(Transaction txn) {
+        if (shouldCommit()) {
+            parsed = txn != null;
+            if (txn != null) {
+                accountNumber = txn.getAccountNumber();
+                customerId = txn.getCustomerId();
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.maybank.maybank_assessment.service.metrics.jfr;
+
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// What the import processor decided for one row, and how long validation plus dedup took (incl. the DB check).
+@Name("maybank.ImportProcess")
+@Label("Import Row Process")
+@Category({"Maybank", "Import"})
+@Description("Validation and deduplication outcome of one imported row")
+@StackTrace(false)
+public class ImportProcessEvent extends jdk.jfr.Event {
+
+    public static final String ACCEPTED = "accepted";
+    public static final String REJECTED = "rejected";
+    public static final String DUPLICATE_IN_FILE = "duplicate-in-file";
+    public static final String ALREADY_IMPORTED = "already-imported";
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Reject Reason")
+    String rejectReason;
+
+    @Label("Account Number")
+    long accountNumber;
+
+    @Label("Customer Id")
+    long customerId;
+
+    @Label("Shard")
+    int shard;
+
+    public void record(Transaction item, String outcome, String rejectReason, int shard) {
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.rejectReason = rejectReason;
+            this.accountNumber = item.getAccountNumber();
+            this.customerId = item.getCustomerId();
+            this.shard = shard;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.maybank.maybank_assessment.service.metrics.jfr;
+
+import com.maybank.maybank_assessment.service.metrics.QueryShape;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+// One GET /transactions listing: same shape and path as the transactions.query metrics, without parameter values.
+@Name("maybank.TransactionQuery")
+@Label("Transaction Query")
+@Category({"Maybank", "Transactions"})
+@Description("A transaction listing with its filter shape, execution path and result size")
+public class TransactionQueryEvent extends jdk.jfr.Event {
+
+    @Label("Shape")
+    String shape;
+
+    @Label("Path")
+    String path;
+
+    @Label("Sort")
+    String sort;
+
+    @Label("Offset")
+    long offset;
+
+    @Label("Page Size")
+    int pageSize;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Matches")
+    long matches;
+
+    @Label("Failed")
+    boolean failed;
+
+    /** Commits the event when recording is on; {@code page} is null when the query failed. */
+    public void record(QueryShape shape, String path, Pageable pageable, Page<?> page) {
+        if (shouldCommit()) {
+            this.shape = shape.name();
+            this.path = path;
+            this.sort = pageable.getSort().toString();
+            this.offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            this.pageSize = pageable.isPaged() ? pageable.getPageSize() : -1;
+            this.failed = page == null;
+            if (page != null) {
+                this.rows = page.getNumberOfElements();
+                this.matches = page.getTotalElements();
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.maybank.maybank_assessment.service.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// One PUT /transactions/{id}. The outcome is what the service saw; the surrounding transaction commits afterwards.
+@Name("maybank.TransactionUpdate")
+@Label("Transaction Update")
+@Category({"Maybank", "Transactions"})
+@Description("A transaction description update and whether it succeeded or hit a version conflict")
+public class TransactionUpdateEvent extends jdk.jfr.Event {
+
+    public static final String UPDATED = "updated";
+    public static final String CONFLICT = "conflict";
+    public static final String NOT_FOUND = "not-found";
+    public static final String ERROR = "error";
+
+    @Label("Transaction Id")
+    long transactionId;
+
+    @Label("Shard")
+    int shard;
+
+    @Label("Outcome")
+    String outcome;
+
+    public void record(long transactionId, int shard, String outcome) {
+        if (shouldCommit()) {
+            this.transactionId = transactionId;
+            this.shard = shard;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
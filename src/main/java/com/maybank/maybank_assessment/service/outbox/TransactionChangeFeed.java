@@ -0,0 +1,221 @@
+package com.maybank.maybank_assessment.service.outbox;
+
+import com.maybank.maybank_assessment.exception.ChangeFeedExpiredException;
+import com.maybank.maybank_assessment.model.dto.TransactionChangeDto;
+import com.maybank.maybank_assessment.model.dto.TransactionChangePage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves the outbox to consumers as an SSE stream or as long-polls, each resuming from a token.
+ *
+ * A single "change-feed" thread reads the outbox for every open subscriber. It runs every
+ * app.changes.poll-interval, which picks up changes committed on other nodes, and right after any local
+ * commit that recorded a change. Servlet threads are not held while consumers wait. The same thread prunes
+ * outbox rows older than app.changes.retention.
+ *
+ * A consumer whose token fell behind the pruned rows is told so instead of silently resuming past them: a
+ * long-poll fails with {@link ChangeFeedExpiredException} (410), a stream gets a "reset" event whose id is the
+ * latest token and then continues from there. Either way the consumer re-reads GET /transactions first.
+ */
+@Slf4j
+@Component
+public class TransactionChangeFeed implements DisposableBean {
+
+    private final TransactionOutbox outbox;
+    private final int batchSize;
+    private final Duration streamTimeout;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+
+    private final Set<Stream> streams = ConcurrentHashMap.newKeySet();
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+
+    public TransactionChangeFeed(TransactionOutbox outbox,
+                                 @Value("${app.changes.poll-interval:1s}") Duration pollInterval,
+                                 @Value("${app.changes.batch-size:100}") int batchSize,
+                                 @Value("${app.changes.stream-timeout:30m}") Duration streamTimeout,
+                                 @Value("${app.changes.retention:7d}") Duration retention) {
+        this.outbox = outbox;
+        this.batchSize = batchSize;
+        this.streamTimeout = streamTimeout;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::dispatch, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(() -> prune(retention), 1, 60, TimeUnit.MINUTES);
+    }
+
+    /** Server-Sent Events from {@code after} on; each event's id is its token (sent back as Last-Event-ID). */
+    public SseEmitter stream(long after) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Stream stream = new Stream(emitter, after);
+        if (outbox.expired(after)) {
+            stream.reset();
+        }
+        streams.add(stream);
+        emitter.onCompletion(() -> streams.remove(stream));
+        // Completing on timeout ends the response cleanly; the client reconnects with Last-Event-ID
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> streams.remove(stream));
+        requestDispatch();
+        return emitter;
+    }
+
+    /** Completes as soon as there are changes after {@code after}, or with an empty page once {@code wait} passes. */
+    public DeferredResult<TransactionChangePage> poll(long after, int limit, Duration wait) {
+        if (outbox.expired(after)) {
+            throw new ChangeFeedExpiredException(after, outbox.latestToken());
+        }
+        TransactionChangePage empty = TransactionChangePage.of(List.of(), after);
+        DeferredResult<TransactionChangePage> result = new DeferredResult<>(wait.toMillis(), empty);
+        Waiter waiter = new Waiter(after, Math.min(limit, batchSize), result);
+        if (!waiter.tryComplete()) {
+            if (wait.isZero()) {
+                result.setResult(empty);
+            } else {
+                waiters.add(waiter);
+                result.onCompletion(() -> waiters.remove(waiter));
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener
+    public void onChangeCommitted(TransactionOutbox.ChangeRecorded event) {
+        requestDispatch();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        streams.forEach(stream -> stream.emitter.complete());
+    }
+
+    // A chunk commit records many changes; one queued dispatch covers all of them
+    private void requestDispatch() {
+        if (dispatchQueued.compareAndSet(false, true)) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    void dispatch() {
+        dispatchQueued.set(false);
+        try {
+            streams.forEach(Stream::drain);
+            waiters.removeIf(Waiter::tryComplete);
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the periodic task
+            log.warn("Change feed dispatch failed", e);
+        }
+    }
+
+    private void prune(Duration retention) {
+        try {
+            int pruned = outbox.prune(retention);
+            if (pruned > 0) {
+                log.info("Pruned {} change feed entries older than {}", pruned, retention);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Change feed pruning failed", e);
+        }
+    }
+
+    // Only a jump past the next token can mean pruned rows; checking then keeps expired() off the common path
+    private static boolean skipsAhead(long after, List<TransactionChangeDto> changes) {
+        return !changes.isEmpty() && changes.get(0).getToken() != after + 1;
+    }
+
+    int subscriberCount() {
+        return streams.size() + waiters.size();
+    }
+
+    private final class Stream {
+        private final SseEmitter emitter;
+        private long cursor;
+
+        Stream(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        void drain() {
+            try {
+                List<TransactionChangeDto> changes;
+                do {
+                    changes = outbox.readAfter(cursor, batchSize);
+                    if (skipsAhead(cursor, changes) && outbox.expired(cursor)) {
+                        reset();
+                        return;
+                    }
+                    for (TransactionChangeDto change : changes) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(change.getToken()))
+                                .name(change.getType())
+                                .data(change, MediaType.APPLICATION_JSON));
+                        cursor = change.getToken();
+                    }
+                } while (changes.size() == batchSize);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; it resumes from its Last-Event-ID
+                streams.remove(this);
+            }
+        }
+
+        // Tells the client to re-read its snapshot; a reconnect with this event's id resumes after the reset
+        void reset() {
+            long latest = outbox.latestToken();
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(latest))
+                        .name("reset")
+                        .data(Map.of("expiredAfter", cursor, "resumeAfter", latest), MediaType.APPLICATION_JSON));
+                cursor = latest;
+            } catch (IOException | IllegalStateException e) {
+                streams.remove(this);
+            }
+        }
+    }
+
+    private final class Waiter {
+        private final long after;
+        private final int limit;
+        private final DeferredResult<TransactionChangePage> result;
+
+        Waiter(long after, int limit, DeferredResult<TransactionChangePage> result) {
+            this.after = after;
+            this.limit = limit;
+            this.result = result;
+        }
+
+        boolean tryComplete() {
+            if (result.isSetOrExpired()) {
+                return true;
+            }
+            List<TransactionChangeDto> changes = outbox.readAfter(after, limit);
+            if (skipsAhead(after, changes) && outbox.expired(after)) {
+                return result.setErrorResult(new ChangeFeedExpiredException(after, outbox.latestToken()));
+            }
+            return !changes.isEmpty() && result.setResult(TransactionChangePage.of(changes, after));
+        }
+    }
+}
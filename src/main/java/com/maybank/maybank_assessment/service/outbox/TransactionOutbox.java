@@ -0,0 +1,189 @@
+package com.maybank.maybank_assessment.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.maybank_assessment.model.dto.TransactionChangeDto;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.model.id.TransactionIds;
+import com.maybank.maybank_assessment.repository.TransactionChangeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Transactional outbox for transaction changes.
+ *
+ * {@link #record} and {@link #recordAll} must run inside the transaction that makes the change, so the outbox
+ * row commits (or rolls back) with it. {@link #readAfter} returns committed changes in token order. Tokens come from an
+ * identity column, and a transaction holding a lower token can commit after one holding a higher token. A
+ * hole in the sequence is therefore treated as "not committed yet" and reading stops there, until this node
+ * has seen the hole for app.changes.gap-grace (then it was a rollback and is skipped). The hole is timed from
+ * when it was first seen, not from when the row after it was recorded: a chunk can take longer than the
+ * grace to commit, and its rows must not count as settled the moment they become visible.
+ *
+ * Rows older than app.changes.retention are pruned; {@link #expired} tells a consumer that its token fell
+ * behind them.
+ */
+@Component
+public class TransactionOutbox {
+
+    // Holes are remembered for this many grace periods after they were first seen
+    private static final int GAP_MEMORY = 12;
+
+    static final String INSERT = "INSERT INTO transaction_outbox (transaction_id, version, change_type, payload, occurred_at)"
+            + " VALUES (?, ?, ?, ?, ?)";
+
+    private final TransactionChangeRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher events;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration gapGrace;
+    private final Duration retention;
+    // First missing token of each open hole -> when a reader first ran into it
+    private final Map<Long, Instant> gapsFirstSeen = new ConcurrentHashMap<>();
+    private Clock clock = Clock.systemUTC();
+
+    public TransactionOutbox(TransactionChangeRepository repository,
+                             ObjectMapper objectMapper,
+                             ApplicationEventPublisher events,
+                             JdbcTemplate jdbcTemplate,
+                             @Value("${app.changes.gap-grace:5s}") Duration gapGrace,
+                             @Value("${app.changes.retention:7d}") Duration retention) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.events = events;
+        this.jdbcTemplate = jdbcTemplate;
+        this.gapGrace = gapGrace;
+        this.retention = retention;
+    }
+
+    /**
+     * Published once per recorded change, inside the transaction that makes it; listeners that care about
+     * commits use @TransactionalEventListener. The token is null for changes written by {@link #recordAll}.
+     */
+    public record ChangeRecorded(Long token, TransactionChange.Type type, TransactionDto snapshot) {
+    }
+
+    public TransactionChange record(TransactionChange.Type type, TransactionDto snapshot) {
+        TransactionChange change = repository.save(TransactionChange.builder()
+                .transactionId(snapshot.getId())
+                .version(snapshot.getVersion())
+                .changeType(type)
+                .payload(toJson(snapshot))
+                .occurredAt(Instant.now())
+                .build());
+        events.publishEvent(new ChangeRecorded(change.getId(), type, snapshot));
+        return change;
+    }
+
+    /**
+     * Records one change per snapshot as a single JDBC batch. The generated tokens are not read back, which is
+     * what lets the driver send the batch in one round trip; the published events carry no token.
+     */
+    public void recordAll(TransactionChange.Type type, List<TransactionDto> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        OffsetDateTime occurredAt = clock.instant().atOffset(ZoneOffset.UTC);
+        List<Object[]> rows = new ArrayList<>(snapshots.size());
+        for (TransactionDto snapshot : snapshots) {
+            rows.add(new Object[]{snapshot.getId(), snapshot.getVersion(), type.name(), toJson(snapshot), occurredAt});
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+        for (TransactionDto snapshot : snapshots) {
+            events.publishEvent(new ChangeRecorded(null, type, snapshot));
+        }
+    }
+
+    public List<TransactionChangeDto> readAfter(long token, int limit) {
+        List<TransactionChange> rows = repository.findByIdGreaterThanOrderByIdAsc(token, Limit.of(limit));
+        Instant now = clock.instant();
+        Instant settled = now.minus(gapGrace);
+        List<TransactionChangeDto> changes = new ArrayList<>(rows.size());
+        long expected = token + 1;
+        for (TransactionChange row : rows) {
+            if (row.getId() != expected && gapsFirstSeen.computeIfAbsent(expected, missing -> now).isAfter(settled)) {
+                break; // an earlier token may still commit
+            }
+            changes.add(toDto(row));
+            expected = row.getId() + 1;
+        }
+        // Holes every reader has long passed; forgetting one early only makes a slow reader wait the grace again
+        Instant forgotten = now.minus(gapGrace.multipliedBy(GAP_MEMORY));
+        gapsFirstSeen.values().removeIf(firstSeen -> firstSeen.isBefore(forgotten));
+        return changes;
+    }
+
+    /** Token of the newest recorded change (0 when there is none); reading after it returns only later changes. */
+    public long latestToken() {
+        return repository.findTopByOrderByIdDesc().map(TransactionChange::getId).orElse(0L);
+    }
+
+    /**
+     * Token of the newest change recorded before {@code instant} (0 when there is none). A reader that snapshots
+     * the transactions and then follows the outbox starts from here rather than from {@link #latestToken()}: a
+     * transaction holding a lower token than the latest may still be open, and commit after the snapshot.
+     */
+    public long tokenBefore(Instant instant) {
+        return repository.findTopByOccurredAtBeforeOrderByIdDesc(instant).map(TransactionChange::getId).orElse(0L);
+    }
+
+    /**
+     * True when changes right after {@code token} may have been pruned: nothing at or below the next token is
+     * retained any more. Token 0 means "whatever is retained" and never expires. A rolled-back token right at
+     * the retention edge also reads as expired, which only costs that consumer a re-read.
+     */
+    public boolean expired(long token) {
+        return token > 0 && repository.findTopByOrderByIdAsc()
+                .map(oldest -> oldest.getId() > token + 1)
+                .orElse(false);
+    }
+
+    /**
+     * True when transaction {@code transactionId} was created within the retention but has no outbox entry, i.e.
+     * the row committed while the transaction meant to record it rolled back (rows on other shards commit on
+     * their own). Older rows may just have had their entries pruned, so they never count.
+     */
+    public boolean unrecorded(long transactionId) {
+        return transactionId >= TransactionIds.firstIdAt(clock.instant().minus(retention))
+                && !repository.existsByTransactionId(transactionId);
+    }
+
+    public int prune(Duration retention) {
+        return repository.deleteOlderThan(clock.instant().minus(retention));
+    }
+
+    private TransactionChangeDto toDto(TransactionChange row) {
+        try {
+            return TransactionChangeDto.builder()
+                    .token(row.getId())
+                    .type(row.getChangeType().name())
+                    .occurredAt(row.getOccurredAt())
+                    .transaction(objectMapper.readValue(row.getPayload(), TransactionDto.class))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox payload for token " + row.getId(), e);
+        }
+    }
+
+    private String toJson(TransactionDto snapshot) {
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize transaction " + snapshot.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.maybank.maybank_assessment.service.shard;
+
+import com.maybank.maybank_assessment.config.sharding.ShardRouter;
+import com.maybank.maybank_assessment.exception.BadRequestException;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.repository.ShardedTransactionRepository;
+import com.maybank.maybank_assessment.repository.TransactionArchiveUnionRepository;
+import com.maybank.maybank_assessment.service.metrics.SqlCapture;
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
+
+/**
+ * Listing across all shards for queries not scoped to one customer.
+ *
+ * Every shard is asked in parallel for its first offset + size rows in the requested order (plus its count).
+ * The candidates are merged with the same order, and the requested page is cut from the merge. The global
+ * page is always among those candidates. The cost grows with the page offset, so deep pages stay expensive.
+ */
+@Component
+public class TransactionScatterGather {
+
+    private final ShardRouter shardRouter;
+    private final ShardedTransactionRepository shardedRepository;
+    private final TransactionArchiveUnionRepository archiveUnionRepository;
+    private final Executor executor;
+
+    public TransactionScatterGather(ShardRouter shardRouter,
+                                    ShardedTransactionRepository shardedRepository,
+                                    TransactionArchiveUnionRepository archiveUnionRepository) {
+        this.shardRouter = shardRouter;
+        this.shardedRepository = shardedRepository;
+        this.archiveUnionRepository = archiveUnionRepository;
+        SimpleAsyncTaskExecutor shardQueries = new SimpleAsyncTaskExecutor("shard-query-");
+        // Threads mostly wait on JDBC; each shard's pool bounds the real concurrency
+        shardQueries.setVirtualThreads(true);
+        // Shard queries count towards the caller's slow-query capture
+        shardQueries.setTaskDecorator(SqlCapture::propagate);
+        this.executor = shardQueries;
+    }
+
+    /**
+     * @param includeArchive whether shard 0's archive tier is part of the range (only shard 0 archives)
+     * @throws BadRequestException when offset + size does not fit one LIMIT
+     */
+    public Page<TransactionDto> findPage(TransactionSqlFilters filters, boolean includeArchive, Pageable pageable) {
+        if (pageable.isPaged() && pageable.getOffset() + pageable.getPageSize() > Integer.MAX_VALUE) {
+            throw new BadRequestException("Page " + pageable.getPageNumber() + " of size " + pageable.getPageSize()
+                    + " is too deep for a listing across shards");
+        }
+        Pageable candidates = pageable.isPaged()
+                ? PageRequest.of(0, (int) (pageable.getOffset() + pageable.getPageSize()), pageable.getSort())
+                : pageable;
+        List<CompletableFuture<Page<TransactionDto>>> perShard = IntStream.range(0, shardRouter.shardCount())
+                .mapToObj(shard -> CompletableFuture.supplyAsync(() -> shard == 0 && includeArchive
+                        ? archiveUnionRepository.findPage(filters, candidates)
+                        : shardedRepository.findPage(shard, filters, candidates), executor))
+                .toList();
+        List<Page<TransactionDto>> pages;
+        try {
+            pages = perShard.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            throw (e.getCause() instanceof RuntimeException cause) ? cause : e;
+        }
+
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        List<TransactionDto> merged = pages.stream()
+                .flatMap(page -> page.getContent().stream())
+                .sorted(TransactionSqlFilters.comparator(pageable.getSort()))
+                .skip(pageable.isPaged() ? pageable.getOffset() : 0)
+                .limit(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE)
+                .toList();
+        return new PageImpl<>(merged, pageable, total);
+    }
+}
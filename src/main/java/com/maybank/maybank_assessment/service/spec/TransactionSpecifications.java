@@ -1,6 +1,7 @@
 package com.maybank.maybank_assessment.service.spec;
 
 import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.money.Money;
 import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
@@ -26,8 +27,8 @@ public final class TransactionSpecifications {
     private static final String F_CUSTOMER_ID   = "customerId";
     private static final String F_ACCOUNT_NO    = "accountNumber";
     private static final String F_DESCRIPTION   = "description";
-    private static final String F_TRX_TIMESTAMP = "trxTimestamp";
-    private static final String F_TRX_AMOUNT    = "trxAmount";
+    private static final String F_TRX_TIMESTAMP = "trxnTimestamp";
+    private static final String F_TRX_AMOUNT    = "trxnAmount";
 
     private TransactionSpecifications() { }
 
@@ -67,16 +68,18 @@ public final class TransactionSpecifications {
         };
     }
 
-    /** trxAmount >= min. Null-safe. */
+    /** trxAmount >= min. Null-safe. The bound is compared in minor units, like the mapped attribute. */
     public static Specification<Transaction> amountGte(java.math.BigDecimal min) {
+        final Long minMinor = (min == null) ? null : Money.fromBigDecimal(min);
         return (root, query, cb) ->
-                (min == null) ? null : cb.greaterThanOrEqualTo(root.get(F_TRX_AMOUNT), min);
+                (minMinor == null) ? null : cb.greaterThanOrEqualTo(root.get(F_TRX_AMOUNT), minMinor);
     }
 
-    /** trxAmount <= max. Null-safe. */
+    /** trxAmount <= max. Null-safe. The bound is compared in minor units, like the mapped attribute. */
     public static Specification<Transaction> amountLte(java.math.BigDecimal max) {
+        final Long maxMinor = (max == null) ? null : Money.fromBigDecimal(max);
         return (root, query, cb) ->
-                (max == null) ? null : cb.lessThanOrEqualTo(root.get(F_TRX_AMOUNT), max);
+                (maxMinor == null) ? null : cb.lessThanOrEqualTo(root.get(F_TRX_AMOUNT), maxMinor);
     }
 
     /**
@@ -119,7 +122,8 @@ public final class TransactionSpecifications {
 
     // ---------- helpers ----------
 
-    private static String normalize(String s) {
+    // Shared with TransactionSqlFilters (and QueryShape) so every access path treats descriptions the same way
+    public static String normalize(String s) {
         if (s == null) return null;
         String trimmed = s.trim();
         return trimmed.isEmpty() ? null : trimmed.toLowerCase();
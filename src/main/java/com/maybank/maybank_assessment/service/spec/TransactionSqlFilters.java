@@ -0,0 +1,149 @@
+package com.maybank.maybank_assessment.service.spec;
+
+import com.maybank.maybank_assessment.exception.BadRequestException;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+
+/**
+ * Plain-SQL counterpart of {@link TransactionSpecifications#withFilters(Long, Long, String)} for
+ * non-JPA access paths (R2DBC, JDBC). Same semantics: null/blank filters are ignored and the
+ * description match is a case-insensitive "contains".
+ *
+ * Usage (typical):
+ *   TransactionSqlFilters filters = TransactionSqlFilters.of(customerId, accountNumber, description);
+ *   String sql = "SELECT ... FROM transactions" + filters.whereClause() + filters.orderBy(sort);
+ *   filters.bindings().forEach(spec::bind);   // named parameters, e.g. :customerId
+ */
+public final class TransactionSqlFilters {
+
+    public static final String TABLE = "transactions";
+    public static final String ARCHIVE_TABLE = "transactions_archive";
+    public static final String COLUMNS =
+            "id, account_number, trxn_amount, description, trxn_timestamp, customer_id, version";
+
+    // Entity property -> column; also the whitelist of sortable properties
+    private static final Map<String, String> COLUMN_BY_PROPERTY = Map.of(
+            "id", "id",
+            "accountNumber", "account_number",
+            "trxnAmount", "trxn_amount",
+            "description", "description",
+            "trxnTimestamp", "trxn_timestamp",
+            "customerId", "customer_id",
+            "version", "version");
+
+    private final String whereClause;
+    private final Map<String, Object> bindings;
+
+    private TransactionSqlFilters(String whereClause, Map<String, Object> bindings) {
+        this.whereClause = whereClause;
+        this.bindings = bindings;
+    }
+
+    public static TransactionSqlFilters of(Long customerId, Long accountNumber, String description) {
+        return of(customerId, accountNumber, description, null, null);
+    }
+
+    /** As above, plus {@code trxn_timestamp} between [from, to] (inclusive); either bound may be null. */
+    public static TransactionSqlFilters of(Long customerId, Long accountNumber, String description,
+                                           LocalDateTime from, LocalDateTime to) {
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        if (customerId != null) {
+            where.add("customer_id = :customerId");
+            bindings.put("customerId", customerId);
+        }
+        if (accountNumber != null) {
+            where.add("account_number = :accountNumber");
+            bindings.put("accountNumber", accountNumber);
+        }
+        String needle = TransactionSpecifications.normalize(description);
+        if (needle != null) {
+            where.add("LOWER(description) LIKE :description");
+            bindings.put("description", "%" + needle + "%");
+        }
+        if (from != null) {
+            where.add("trxn_timestamp >= :from");
+            bindings.put("from", from);
+        }
+        if (to != null) {
+            where.add("trxn_timestamp <= :to");
+            bindings.put("to", to);
+        }
+        return new TransactionSqlFilters(where.toString(), bindings);
+    }
+
+    /** {@code " WHERE ..."} or an empty string when no filter is active. */
+    public String whereClause() {
+        return whereClause;
+    }
+
+    /** Named parameter values referenced by {@link #whereClause()}. */
+    public Map<String, Object> bindings() {
+        return bindings;
+    }
+
+    /**
+     * {@code " ORDER BY ..."} for the given sort, always ending with {@code id} so paging is stable.
+     *
+     * @throws BadRequestException for properties that are not columns of the transactions table
+     */
+    public static String orderBy(Sort sort) {
+        StringJoiner order = new StringJoiner(", ", " ORDER BY ", "");
+        boolean hasId = false;
+        for (Sort.Order o : sort) {
+            String column = COLUMN_BY_PROPERTY.get(o.getProperty());
+            if (column == null) {
+                throw new BadRequestException("Unsupported sort property: " + o.getProperty());
+            }
+            hasId |= column.equals("id");
+            order.add(column + (o.isAscending() ? " ASC" : " DESC"));
+        }
+        if (!hasId) order.add("id ASC");
+        return order.toString();
+    }
+
+    /**
+     * In-memory equivalent of {@link #orderBy(Sort)}, for merging rows that several databases each returned
+     * in that order. Nulls sort first ascending and last descending, and descriptions compare
+     * case-insensitively, matching MySQL's defaults.
+     *
+     * @throws BadRequestException for properties that are not columns of the transactions table
+     */
+    public static Comparator<TransactionDto> comparator(Sort sort) {
+        Comparator<TransactionDto> result = null;
+        boolean hasId = false;
+        for (Sort.Order o : sort) {
+            Comparator<TransactionDto> next = propertyComparator(o.getProperty());
+            hasId |= o.getProperty().equals("id");
+            next = o.isAscending() ? next : next.reversed();
+            result = (result == null) ? next : result.thenComparing(next);
+        }
+        if (!hasId) {
+            Comparator<TransactionDto> byId = propertyComparator("id");
+            result = (result == null) ? byId : result.thenComparing(byId);
+        }
+        return result;
+    }
+
+    private static Comparator<TransactionDto> propertyComparator(String property) {
+        return switch (property) {
+            case "id" -> Comparator.comparing(TransactionDto::getId, nullsFirst(naturalOrder()));
+            case "accountNumber" -> Comparator.comparing(TransactionDto::getAccountNumber, nullsFirst(naturalOrder()));
+            case "trxnAmount" -> Comparator.comparing(TransactionDto::getTrxnAmount, nullsFirst(naturalOrder()));
+            case "description" -> Comparator.comparing(TransactionDto::getDescription, nullsFirst(String.CASE_INSENSITIVE_ORDER));
+            case "trxnTimestamp" -> Comparator.comparing(TransactionDto::getTrxnTimestamp, nullsFirst(naturalOrder()));
+            case "customerId" -> Comparator.comparing(TransactionDto::getCustomerId, nullsFirst(naturalOrder()));
+            case "version" -> Comparator.comparing(TransactionDto::getVersion, nullsFirst(naturalOrder()));
+            default -> throw new BadRequestException("Unsupported sort property: " + property);
+        };
+    }
+}
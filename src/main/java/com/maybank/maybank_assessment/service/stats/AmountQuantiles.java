@@ -0,0 +1,133 @@
+package com.maybank.maybank_assessment.service.stats;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch over amounts in minor units, with relative-error guarantees (the DDSketch
+ * scheme): each non-zero amount is counted in a logarithmic bucket (gamma^(i-1), gamma^i] of its
+ * magnitude, where gamma = (1 + a) / (1 - a) and a is {@link #RELATIVE_ACCURACY}.
+ *
+ * Usage (typical):
+ *   AmountQuantiles amounts = new AmountQuantiles();
+ *   amounts.add(12345);                    // 123.45
+ *   amounts.merge(other);                  // bucket-wise sum
+ *   long median = amounts.quantile(0.5);   // within 1% of the true median's amount
+ *
+ * Notes:
+ *  - Any quantile comes back within a relative error of {@link #RELATIVE_ACCURACY} of the amount at that
+ *    rank, however skewed the data, plus at most half a minor unit of rounding.
+ *  - A long magnitude needs at most ~2,200 buckets per sign, so the size is bounded without collapsing.
+ *  - Not thread-safe.
+ */
+public final class AmountQuantiles {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final TreeMap<Integer, Long> positive = new TreeMap<>();
+    private final TreeMap<Integer, Long> negative = new TreeMap<>();
+    private long zeros;
+    private long count;
+
+    public void add(long minor) {
+        if (minor > 0) {
+            positive.merge(bucket(minor), 1L, Long::sum);
+        } else if (minor < 0) {
+            // Long.MIN_VALUE has no positive counterpart; one minor unit off is far inside the error bound
+            negative.merge(bucket(minor == Long.MIN_VALUE ? Long.MAX_VALUE : -minor), 1L, Long::sum);
+        } else {
+            zeros++;
+        }
+        count++;
+    }
+
+    public AmountQuantiles merge(AmountQuantiles other) {
+        other.positive.forEach((bucket, n) -> positive.merge(bucket, n, Long::sum));
+        other.negative.forEach((bucket, n) -> negative.merge(bucket, n, Long::sum));
+        zeros += other.zeros;
+        count += other.count;
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * The amount at rank {@code q * (count - 1)}, in minor units.
+     *
+     * @throws IllegalArgumentException if q is outside [0, 1]
+     * @throws IllegalStateException    if nothing was added
+     */
+    public long quantile(double q) {
+        if (!(q >= 0 && q <= 1)) throw new IllegalArgumentException("Quantile must be within [0, 1]: " + q);
+        if (count == 0) throw new IllegalStateException("No amounts recorded");
+        long rank = (long) (q * (count - 1));
+        long seen = 0;
+        // Ascending by amount: most negative first, then zero, then positives
+        for (Map.Entry<Integer, Long> entry : negative.descendingMap().entrySet()) {
+            seen += entry.getValue();
+            if (seen > rank) return -representative(entry.getKey());
+        }
+        seen += zeros;
+        if (seen > rank) return 0;
+        for (Map.Entry<Integer, Long> entry : positive.entrySet()) {
+            seen += entry.getValue();
+            if (seen > rank) return representative(entry.getKey());
+        }
+        throw new IllegalStateException("Bucket counts do not add up to " + count);
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        SketchIo.writeVarLong(out, zeros);
+        writeBuckets(out, positive);
+        writeBuckets(out, negative);
+    }
+
+    static AmountQuantiles readFrom(DataInput in) throws IOException {
+        AmountQuantiles sketch = new AmountQuantiles();
+        sketch.zeros = SketchIo.readVarLong(in);
+        sketch.count = sketch.zeros + readBuckets(in, sketch.positive) + readBuckets(in, sketch.negative);
+        return sketch;
+    }
+
+    static int bucket(long magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / LOG_GAMMA);
+    }
+
+    // Midpoint (in relative terms) of the bucket, so neither end is off by more than the accuracy
+    static long representative(int bucket) {
+        return Math.max(1, Math.round(2 * Math.pow(GAMMA, bucket) / (GAMMA + 1)));
+    }
+
+    private static void writeBuckets(DataOutput out, TreeMap<Integer, Long> buckets) throws IOException {
+        SketchIo.writeVarLong(out, buckets.size());
+        int previous = 0;
+        for (Map.Entry<Integer, Long> entry : buckets.entrySet()) {
+            // Buckets ascend from 0, so deltas stay small
+            SketchIo.writeVarLong(out, entry.getKey() - previous);
+            SketchIo.writeVarLong(out, entry.getValue());
+            previous = entry.getKey();
+        }
+    }
+
+    private static long readBuckets(DataInput in, TreeMap<Integer, Long> buckets) throws IOException {
+        long size = SketchIo.readVarLong(in);
+        long total = 0;
+        int bucket = 0;
+        for (long i = 0; i < size; i++) {
+            bucket += (int) SketchIo.readVarLong(in);
+            long n = SketchIo.readVarLong(in);
+            buckets.put(bucket, n);
+            total += n;
+        }
+        return total;
+    }
+}
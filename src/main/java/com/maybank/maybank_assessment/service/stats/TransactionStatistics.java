@@ -0,0 +1,219 @@
+package com.maybank.maybank_assessment.service.stats;
+
+import com.maybank.maybank_assessment.exception.BadRequestException;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.dto.TransactionStatisticsDto;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.model.entity.TransactionSketch;
+import com.maybank.maybank_assessment.model.money.Money;
+import com.maybank.maybank_assessment.repository.TransactionSketchRepository;
+import com.maybank.maybank_assessment.service.outbox.TransactionOutbox;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-account, per-customer and per-day {@link TransactionSummary} sketches, kept up to date by the import.
+ *
+ * Every IMPORTED change recorded in the outbox (whichever writer inserted the row, on whichever shard) is
+ * folded into summaries held for the recording transaction, and those are appended to transaction_sketches
+ * just before it commits, one row per touched key. A rolled-back chunk therefore leaves no trace, and
+ * concurrent chunks never contend for a row. UPDATED changes are ignored: an update only changes the
+ * description, which no sketch covers.
+ *
+ * Reads merge every row of the requested keys. Once a key has app.statistics.compact-after rows, the read
+ * also replaces them with their merge; deleting exactly the rows it read is what keeps two concurrent
+ * compactions from both writing the merge.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.statistics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionStatistics {
+
+    private final TransactionSketchRepository repository;
+    private final TransactionTemplate compactions;
+    private final int compactAfter;
+    private final int maxDays;
+
+    public TransactionStatistics(TransactionSketchRepository repository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.statistics.compact-after:16}") int compactAfter,
+                                 @Value("${app.statistics.max-days:366}") int maxDays) {
+        this.repository = repository;
+        this.compactions = new TransactionTemplate(transactionManager);
+        this.compactAfter = Math.max(2, compactAfter);
+        this.maxDays = maxDays;
+    }
+
+    private record Key(TransactionSketch.Scope scope, String sketchKey) {
+    }
+
+    @EventListener
+    public void onChangeRecorded(TransactionOutbox.ChangeRecorded event) {
+        if (event.type() != TransactionChange.Type.IMPORTED) {
+            return;
+        }
+        TransactionDto txn = event.snapshot();
+        long amount = Money.fromBigDecimal(txn.getTrxnAmount());
+        Map<Key, TransactionSummary> pending = pending();
+        add(pending, new Key(TransactionSketch.Scope.ACCOUNT, String.valueOf(txn.getAccountNumber())), txn, amount);
+        add(pending, new Key(TransactionSketch.Scope.CUSTOMER, String.valueOf(txn.getCustomerId())), txn, amount);
+        add(pending, new Key(TransactionSketch.Scope.DAY, txn.getTrxnTimestamp().toLocalDate().toString()), txn, amount);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(pending);
+        }
+    }
+
+    public TransactionStatisticsDto forAccount(long accountNumber, double[] quantiles) {
+        String key = String.valueOf(accountNumber);
+        return toDto(TransactionSketch.Scope.ACCOUNT, key, read(TransactionSketch.Scope.ACCOUNT, List.of(key)), quantiles);
+    }
+
+    public TransactionStatisticsDto forCustomer(long customerId, double[] quantiles) {
+        String key = String.valueOf(customerId);
+        return toDto(TransactionSketch.Scope.CUSTOMER, key, read(TransactionSketch.Scope.CUSTOMER, List.of(key)), quantiles);
+    }
+
+    /** Statistics over the days from {@code from} to {@code to}, both inclusive. */
+    public TransactionStatisticsDto forDays(LocalDate from, LocalDate to, double[] quantiles) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxDays) {
+            throw new BadRequestException("At most " + maxDays + " days per request, got " + days);
+        }
+        List<String> keys = from.datesUntil(to.plusDays(1)).map(LocalDate::toString).toList();
+        String label = from.equals(to) ? from.toString() : from + ".." + to;
+        return toDto(TransactionSketch.Scope.DAY, label, read(TransactionSketch.Scope.DAY, keys), quantiles);
+    }
+
+    TransactionSummary read(TransactionSketch.Scope scope, List<String> keys) {
+        Map<String, List<TransactionSketch>> byKey = new HashMap<>();
+        for (TransactionSketch row : repository.findByScopeAndSketchKeyIn(scope, keys)) {
+            byKey.computeIfAbsent(row.getSketchKey(), k -> new ArrayList<>()).add(row);
+        }
+        TransactionSummary total = new TransactionSummary();
+        byKey.forEach((key, rows) -> {
+            TransactionSummary merged = new TransactionSummary();
+            rows.forEach(row -> merged.merge(TransactionSummary.fromBytes(row.getPayload())));
+            if (rows.size() >= compactAfter) {
+                compact(scope, key, rows, merged);
+            }
+            total.merge(merged);
+        });
+        return total;
+    }
+
+    private void compact(TransactionSketch.Scope scope, String key, List<TransactionSketch> rows, TransactionSummary merged) {
+        List<Long> ids = rows.stream().map(TransactionSketch::getId).toList();
+        try {
+            compactions.executeWithoutResult(status -> {
+                if (repository.deleteByIds(ids) != ids.size()) {
+                    // Another read folded some of them first; its merged row already counts them
+                    status.setRollbackOnly();
+                    return;
+                }
+                repository.save(sketch(new Key(scope, key), merged));
+            });
+        } catch (RuntimeException e) {
+            // Only an optimisation: the rows stay as they were and the next read tries again
+            log.warn("Could not compact {} sketches of {} {}", ids.size(), scope, key, e);
+        }
+    }
+
+    // Summaries for the current transaction, written by its beforeCommit; without one, written right away
+    private Map<Key, TransactionSummary> pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashMap<>();
+        }
+        @SuppressWarnings("unchecked")
+        Map<Key, TransactionSummary> pending = (Map<Key, TransactionSummary>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Key, TransactionSummary> created = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionStatistics.this);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private static void add(Map<Key, TransactionSummary> pending, Key key, TransactionDto txn, long amount) {
+        pending.computeIfAbsent(key, k -> new TransactionSummary())
+                .add(txn.getAccountNumber(), txn.getCustomerId(), amount);
+    }
+
+    private void write(Map<Key, TransactionSummary> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<TransactionSketch> rows = new ArrayList<>(pending.size());
+        pending.forEach((key, summary) -> rows.add(sketch(key, summary)));
+        repository.saveAll(rows);
+        pending.clear();
+    }
+
+    private static TransactionSketch sketch(Key key, TransactionSummary summary) {
+        return TransactionSketch.builder()
+                .scope(key.scope())
+                .sketchKey(key.sketchKey())
+                .payload(summary.toBytes())
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private static TransactionStatisticsDto toDto(TransactionSketch.Scope scope, String key, TransactionSummary summary,
+                                                  double[] quantiles) {
+        if (summary.count() == 0) {
+            throw new EntityNotFoundException("No transactions for " + scope.name().toLowerCase() + " " + key);
+        }
+        Map<String, BigDecimal> amountQuantiles = new LinkedHashMap<>();
+        for (double q : quantiles) {
+            amountQuantiles.put(label(q), Money.toBigDecimal(summary.amountQuantile(q)));
+        }
+        return TransactionStatisticsDto.builder()
+                .scope(scope.name())
+                .key(key)
+                .count(summary.count())
+                .distinctCustomers(summary.distinctCustomers())
+                .distinctAccounts(summary.distinctAccounts())
+                .minAmount(Money.toBigDecimal(summary.minAmount()))
+                .maxAmount(Money.toBigDecimal(summary.maxAmount()))
+                .amountQuantiles(amountQuantiles)
+                .distinctRelativeError(HyperLogLog.RELATIVE_STANDARD_ERROR)
+                .quantileRelativeError(AmountQuantiles.RELATIVE_ACCURACY)
+                .build();
+    }
+
+    // 0.5 -> p50, 0.999 -> p99.9
+    static String label(double q) {
+        return "p" + BigDecimal.valueOf(q).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+}
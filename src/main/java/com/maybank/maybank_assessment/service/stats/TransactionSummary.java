@@ -0,0 +1,117 @@
+package com.maybank.maybank_assessment.service.stats;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Mergeable statistics over a set of transactions: exact count and amount range, approximate distinct
+ * customers and accounts ({@link HyperLogLog}) and approximate amount quantiles ({@link AmountQuantiles}).
+ *
+ * Summaries of disjoint sets of transactions merge into the summary of their union, so one can be kept per
+ * chunk, account, customer or day and combined when read. {@link #toBytes()} is the persisted form.
+ */
+public final class TransactionSummary {
+
+    private static final byte FORMAT = 1;
+
+    private long count;
+    private long minAmount = Long.MAX_VALUE;
+    private long maxAmount = Long.MIN_VALUE;
+    private final HyperLogLog customers;
+    private final HyperLogLog accounts;
+    private final AmountQuantiles amounts;
+
+    public TransactionSummary() {
+        this(new HyperLogLog(), new HyperLogLog(), new AmountQuantiles());
+    }
+
+    private TransactionSummary(HyperLogLog customers, HyperLogLog accounts, AmountQuantiles amounts) {
+        this.customers = customers;
+        this.accounts = accounts;
+        this.amounts = amounts;
+    }
+
+    public void add(long accountNumber, long customerId, long amountMinor) {
+        count++;
+        minAmount = Math.min(minAmount, amountMinor);
+        maxAmount = Math.max(maxAmount, amountMinor);
+        customers.add(customerId);
+        accounts.add(accountNumber);
+        amounts.add(amountMinor);
+    }
+
+    public TransactionSummary merge(TransactionSummary other) {
+        count += other.count;
+        minAmount = Math.min(minAmount, other.minAmount);
+        maxAmount = Math.max(maxAmount, other.maxAmount);
+        customers.merge(other.customers);
+        accounts.merge(other.accounts);
+        amounts.merge(other.amounts);
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long minAmount() {
+        return minAmount;
+    }
+
+    public long maxAmount() {
+        return maxAmount;
+    }
+
+    public long distinctCustomers() {
+        return customers.estimate();
+    }
+
+    public long distinctAccounts() {
+        return accounts.estimate();
+    }
+
+    /** Approximate amount at quantile q, in minor units; kept within the exact min/max. */
+    public long amountQuantile(double q) {
+        return Math.max(minAmount, Math.min(maxAmount, amounts.quantile(q)));
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            SketchIo.writeVarLong(out, count);
+            out.writeLong(minAmount);
+            out.writeLong(maxAmount);
+            customers.writeTo(out);
+            accounts.writeTo(out);
+            amounts.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static TransactionSummary fromBytes(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte format = in.readByte();
+            if (format != FORMAT) {
+                throw new IllegalStateException("Unsupported transaction summary format " + format);
+            }
+            long count = SketchIo.readVarLong(in);
+            long min = in.readLong();
+            long max = in.readLong();
+            TransactionSummary summary = new TransactionSummary(
+                    HyperLogLog.readFrom(in), HyperLogLog.readFrom(in), AmountQuantiles.readFrom(in));
+            summary.count = count;
+            summary.minAmount = min;
+            summary.maxAmount = max;
+            return summary;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable transaction summary", e);
+        }
+    }
+}
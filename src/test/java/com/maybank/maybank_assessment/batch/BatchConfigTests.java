@@ -1,12 +1,24 @@
 package com.maybank.maybank_assessment.batch;
 
+import com.maybank.maybank_assessment.batch.validation.TransactionRejectWriter;
+import com.maybank.maybank_assessment.batch.validation.TransactionValidator;
+import com.maybank.maybank_assessment.config.sharding.ShardRouter;
 import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.repository.ShardedTransactionRepository;
 import com.maybank.maybank_assessment.repository.TransactionRepository;
+import com.maybank.maybank_assessment.service.archive.TransactionArchive;
+import com.maybank.maybank_assessment.service.outbox.TransactionOutbox;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
-import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -14,28 +26,38 @@ import static org.mockito.Mockito.*;
 class BatchConfigTests {
 
     private TransactionRepository transactionRepository;
+    private TransactionRejectWriter rejects;
+    private TransactionArchive archive;
+    private ShardRouter shardRouter;
+    private ShardedTransactionRepository shardedRepository;
+    private TransactionOutbox outbox;
     private BatchConfig batchConfig;
 
     @BeforeEach
     void setUp() {
         transactionRepository = mock(TransactionRepository.class);
+        rejects = mock(TransactionRejectWriter.class);
+        archive = mock(TransactionArchive.class);
+        shardRouter = mock(ShardRouter.class);
+        shardedRepository = mock(ShardedTransactionRepository.class);
+        outbox = mock(TransactionOutbox.class);
         batchConfig = new BatchConfig(null, transactionRepository);
     }
 
     @Test
     void testTransactionProcessor_deduplicationAndValidation() throws Exception {
-        var processor = batchConfig.transactionProcessor();
+        var processor = batchConfig.transactionProcessor(false, new TransactionValidator(), rejects, archive, shardRouter, shardedRepository, outbox, false);
 
         Transaction tx1 = Transaction.builder()
                 .accountNumber(1L)
-                .trxnAmount(BigDecimal.valueOf(100))
+                .trxnAmount(10000L)
                 .description("desc")
                 .trxnTimestamp(LocalDateTime.now())
                 .customerId(2L)
                 .build();
 
         when(transactionRepository.existsByAccountNumberAndTrxnAmountAndDescriptionAndTrxnTimestampAndCustomerId(
-                anyLong(), any(), anyString(), any(), anyLong())).thenReturn(false);
+                anyLong(), anyLong(), anyString(), any(), anyLong())).thenReturn(false);
 
         // First time: should process
         Transaction result1 = processor.process(tx1);
@@ -46,35 +68,167 @@ class BatchConfigTests {
         Transaction result2 = processor.process(tx1);
         assertNull(result2);
 
-        // New transaction, but negative amount: should throw
+        // New transaction, but negative amount: rejected to the side output without throwing
         Transaction tx2 = Transaction.builder()
                 .accountNumber(1L)
-                .trxnAmount(BigDecimal.valueOf(-10))
+                .trxnAmount(-1000L)
                 .description("desc")
                 .trxnTimestamp(LocalDateTime.now())
                 .customerId(2L)
                 .build();
 
-        assertThrows(IllegalArgumentException.class, () -> processor.process(tx2));
+        assertNull(processor.process(tx2));
+        verify(rejects).reject(tx2, TransactionValidator.NEGATIVE_AMOUNT);
+    }
+
+    @Test
+    void testTransactionProcessor_recordsOutcomeEvents(@TempDir Path dir) throws Exception {
+        var processor = batchConfig.transactionProcessor(false, new TransactionValidator(), rejects, archive, shardRouter, shardedRepository, outbox, false);
+        Transaction valid = Transaction.builder().accountNumber(1L).trxnAmount(100L).description("desc")
+                .trxnTimestamp(LocalDateTime.now()).customerId(2L).build();
+        Transaction invalid = Transaction.builder().accountNumber(1L).trxnAmount(-1L).description("desc")
+                .trxnTimestamp(LocalDateTime.now()).customerId(2L).build();
+
+        Path file = dir.resolve("process.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("maybank.ImportProcess").withThreshold(Duration.ZERO);
+            recording.start();
+            processor.process(valid);
+            processor.process(valid);
+            processor.process(invalid);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<String> outcomes = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("maybank.ImportProcess"))
+                .map(event -> event.getString("outcome"))
+                .toList();
+        assertEquals(List.of("accepted", "duplicate-in-file", "rejected"), outcomes);
+    }
+
+    @Test
+    void testTransactionProcessor_rejectsBeforeAnyDbWork() throws Exception {
+        var processor = batchConfig.transactionProcessor(false, new TransactionValidator(), rejects, archive, shardRouter, shardedRepository, outbox, false);
+
+        Transaction invalid = Transaction.builder()
+                .accountNumber(1L)
+                .trxnAmount(-1L)
+                .description("desc")
+                .trxnTimestamp(LocalDateTime.now())
+                .customerId(2L)
+                .build();
+
+        assertNull(processor.process(invalid));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void testFieldSetMapper_parsesAmountIntoMinorUnits() throws Exception {
+        var fieldSet = new org.springframework.batch.item.file.transform.DefaultFieldSet(
+                new String[]{"8872838283", "1123.50", "ATM WITHDRWAL", "2019-09-11", "11:11:11", "222"},
+                new String[]{"ACCOUNT_NUMBER", "TRX_AMOUNT", "DESCRIPTION", "TRX_DATE", "TRX_TIME", "CUSTOMER_ID"});
+
+        Transaction txn = new BatchConfig.TransactionFieldSetMapper().mapFieldSet(fieldSet);
+
+        assertEquals(112350L, txn.getTrxnAmount());
+        assertEquals(8872838283L, txn.getAccountNumber());
+        assertEquals(LocalDateTime.of(2019, 9, 11, 11, 11, 11), txn.getTrxnTimestamp());
     }
 
     @Test
     void testTransactionProcessor_dbDuplicate() throws Exception {
-        var processor = batchConfig.transactionProcessor();
+        var processor = batchConfig.transactionProcessor(false, new TransactionValidator(), rejects, archive, shardRouter, shardedRepository, outbox, false);
 
         Transaction tx = Transaction.builder()
                 .accountNumber(1L)
-                .trxnAmount(BigDecimal.valueOf(100))
+                .trxnAmount(10000L)
                 .description("desc")
                 .trxnTimestamp(LocalDateTime.now())
                 .customerId(2L)
                 .build();
 
         when(transactionRepository.existsByAccountNumberAndTrxnAmountAndDescriptionAndTrxnTimestampAndCustomerId(
-                anyLong(), any(), anyString(), any(), anyLong())).thenReturn(true);
+                anyLong(), anyLong(), anyString(), any(), anyLong())).thenReturn(true);
 
         // Should skip if already in DB
         Transaction result = processor.process(tx);
         assertNull(result);
     }
+
+    @Test
+    void testTransactionProcessor_archivedDuplicate() throws Exception {
+        var processor = batchConfig.transactionProcessor(false, new TransactionValidator(), rejects, archive, shardRouter, shardedRepository, outbox, false);
+
+        Transaction tx = Transaction.builder()
+                .accountNumber(1L)
+                .trxnAmount(10000L)
+                .description("desc")
+                .trxnTimestamp(LocalDateTime.of(2019, 9, 11, 11, 11, 11))
+                .customerId(2L)
+                .build();
+
+        when(transactionRepository.existsByAccountNumberAndTrxnAmountAndDescriptionAndTrxnTimestampAndCustomerId(
+                anyLong(), anyLong(), anyString(), any(), anyLong())).thenReturn(false);
+        when(archive.contains(tx)).thenReturn(true);
+
+        // Already moved to the archive: must not be re-imported into the hot table
+        assertNull(processor.process(tx));
+    }
+
+    @Test
+    void testTransactionProcessor_checksCustomerShard() throws Exception {
+        var processor = batchConfig.transactionProcessor(false, new TransactionValidator(), rejects, archive, shardRouter, shardedRepository, outbox, false);
+
+        Transaction tx = Transaction.builder()
+                .accountNumber(1L)
+                .trxnAmount(10000L)
+                .description("desc")
+                .trxnTimestamp(LocalDateTime.now())
+                .customerId(3L)
+                .build();
+        when(shardRouter.shardOf(3L)).thenReturn(1);
+        when(shardedRepository.findId(1, tx)).thenReturn(Optional.of(42L));
+
+        assertNull(processor.process(tx));
+        verifyNoInteractions(transactionRepository, archive);
+    }
+
+    @Test
+    void testTransactionProcessor_shardRowWithoutOutboxEntryGoesOnWithItsId() throws Exception {
+        var processor = batchConfig.transactionProcessor(false, new TransactionValidator(), rejects, archive, shardRouter, shardedRepository, outbox, false);
+
+        Transaction tx = Transaction.builder()
+                .accountNumber(1L)
+                .trxnAmount(10000L)
+                .description("desc")
+                .trxnTimestamp(LocalDateTime.now())
+                .customerId(3L)
+                .build();
+        when(shardRouter.shardOf(3L)).thenReturn(1);
+        when(shardedRepository.findId(1, tx)).thenReturn(Optional.of(42L));
+        // Its shard committed, the chunk that should have recorded it rolled back
+        when(outbox.unrecorded(42L)).thenReturn(true);
+
+        Transaction result = processor.process(tx);
+
+        assertSame(tx, result);
+        assertEquals(42L, result.getId());
+    }
+
+    @Test
+    void testTransactionProcessor_bulkLoadLeavesDedupToWriter() throws Exception {
+        var processor = batchConfig.transactionProcessor(false, new TransactionValidator(), rejects, archive, shardRouter, shardedRepository, outbox, true);
+
+        Transaction tx = Transaction.builder()
+                .accountNumber(1L)
+                .trxnAmount(10000L)
+                .description("desc")
+                .trxnTimestamp(LocalDateTime.now())
+                .customerId(2L)
+                .build();
+
+        assertSame(tx, processor.process(tx));
+        verifyNoInteractions(transactionRepository, archive);
+    }
 }
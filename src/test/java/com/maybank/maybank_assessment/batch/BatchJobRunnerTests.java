@@ -1,48 +1,154 @@
 package com.maybank.maybank_assessment.batch;
 
+import com.maybank.maybank_assessment.batch.lock.ImportLockService;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class BatchJobRunnerTests {
 
-    @Test
-    void testRunBatchJob_invokesJobLauncher() throws Exception {
-        JobLauncher jobLauncher = mock(JobLauncher.class);
-        Job job = mock(Job.class);
+    private final JobLauncher jobLauncher = mock(JobLauncher.class);
+    private final Job job = mock(Job.class);
+    private final JobExplorer jobExplorer = mock(JobExplorer.class);
+    private final JobOperator jobOperator = mock(JobOperator.class);
+    private final ImportLockService importLock = mock(ImportLockService.class);
+    private final ImportLockService.Lease lease = new ImportLockService.Lease("import:data.txt", "token");
 
-        BatchJobRunner runner = new BatchJobRunner(jobLauncher, job);
+    private final BatchJobRunner runner = new BatchJobRunner(jobLauncher, job, jobExplorer, jobOperator, importLock);
 
-        var commandLineRunner = runner.runBatchJob();
+    @Test
+    void testLaunchImport_invokesJobLauncher() throws Exception {
+        when(importLock.tryLock(anyString(), any())).thenReturn(Optional.of(lease));
+        when(jobLauncher.run(any(), any())).thenReturn(execution(BatchStatus.COMPLETED));
 
         // Run the batch job
-        commandLineRunner.run();
+        runner.launchImport();
 
         // Verify jobLauncher.run was called with correct job and parameters
         ArgumentCaptor<JobParameters> paramsCaptor = ArgumentCaptor.forClass(JobParameters.class);
         verify(jobLauncher, times(1)).run(eq(job), paramsCaptor.capture());
 
-        // The parameters should contain a "time" key
+        // The parameters should contain a "time" key and the input file
         assertTrue(paramsCaptor.getValue().getParameters().containsKey("time"));
+        assertTrue(paramsCaptor.getValue().getParameters().containsKey("input.file"));
+        verify(importLock).unlock(lease);
     }
 
     @Test
-    void testRunBatchJob_handlesException() throws Exception {
-        JobLauncher jobLauncher = mock(JobLauncher.class);
-        Job job = mock(Job.class);
+    void testLaunchImport_locksAndPassesRealPathOfFile(@TempDir Path dir) throws Exception {
+        Path file = Files.write(dir.resolve("data.txt"), List.of("HEADER"));
+        Path link = Files.createSymbolicLink(dir.resolve("latest.txt"), file);
+        ReflectionTestUtils.setField(runner, "inputFile", link.toString());
+        when(importLock.tryLock(anyString(), any())).thenReturn(Optional.of(lease));
+        when(jobLauncher.run(any(), any())).thenReturn(execution(BatchStatus.COMPLETED));
+
+        runner.launchImport();
+
+        String real = file.toRealPath().toString();
+        ArgumentCaptor<JobParameters> params = ArgumentCaptor.forClass(JobParameters.class);
+        verify(jobLauncher).run(eq(job), params.capture());
+        assertEquals(real, params.getValue().getString("input.file"));
+        verify(importLock).tryLock(eq(ImportLockService.importLockName(real)), any());
+        verify(importLock).unlock(lease);
+    }
+
+    @Test
+    void testLaunchImport_lockHeldElsewhere_skipsLaunch() throws Exception {
+        when(importLock.tryLock(anyString(), any())).thenReturn(Optional.empty());
+
+        runner.launchImport();
 
+        verify(jobLauncher, never()).run(any(), any());
+        verify(importLock, never()).unlock(any());
+    }
+
+    @Test
+    void testLaunchImport_holdsLockUntilAsyncExecutionEnds() throws Exception {
+        ReflectionTestUtils.setField(runner, "pollInterval", Duration.ofMillis(1));
+        when(importLock.tryLock(anyString(), any())).thenReturn(Optional.of(lease));
+        when(importLock.renew(eq(lease), any())).thenReturn(true);
+        when(jobLauncher.run(any(), any())).thenReturn(execution(BatchStatus.STARTED));
+        when(jobExplorer.getJobExecution(1L))
+                .thenReturn(execution(BatchStatus.STARTED), execution(BatchStatus.COMPLETED));
+
+        runner.launchImport();
+
+        // One lease renewal per poll
+        verify(importLock, times(1)).tryLock(anyString(), any());
+        verify(importLock, times(2)).renew(eq(lease), any());
+        verify(importLock).unlock(lease);
+        verifyNoInteractions(jobOperator);
+    }
+
+    @Test
+    void testLaunchImport_lostLease_stopsExecution() throws Exception {
+        ReflectionTestUtils.setField(runner, "pollInterval", Duration.ofMillis(1));
+        when(importLock.tryLock(anyString(), any())).thenReturn(Optional.of(lease));
+        when(importLock.renew(eq(lease), any())).thenReturn(true, false);
+        when(jobLauncher.run(any(), any())).thenReturn(execution(BatchStatus.STARTED));
+        when(jobExplorer.getJobExecution(1L)).thenReturn(execution(BatchStatus.STARTED));
+
+        runner.launchImport();
+
+        verify(importLock, times(2)).renew(eq(lease), any());
+        verify(jobOperator).stop(1L);
+        verify(jobExplorer, times(1)).getJobExecution(1L);
+    }
+
+    @Test
+    void testLaunchImport_handlesException() throws Exception {
+        when(importLock.tryLock(anyString(), any())).thenReturn(Optional.of(lease));
         doThrow(new RuntimeException("fail")).when(jobLauncher).run(any(), any());
 
-        BatchJobRunner runner = new BatchJobRunner(jobLauncher, job);
+        // Should not throw, just log error and release the lock
+        runner.launchImport();
+
+        verify(importLock).unlock(lease);
+    }
+
+    @Test
+    void testConfigureTasks_cronTakesPrecedenceOverFixedDelay() {
+        ReflectionTestUtils.setField(runner, "cron", "0 0 * * * *");
+        ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+
+        runner.configureTasks(registrar);
+
+        assertEquals(1, registrar.getCronTaskList().size());
+        assertTrue(registrar.getFixedDelayTaskList().isEmpty());
+    }
 
-        var commandLineRunner = runner.runBatchJob();
+    @Test
+    void testConfigureTasks_defaultsToFixedDelay() {
+        ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+
+        runner.configureTasks(registrar);
+
+        assertEquals(1, registrar.getFixedDelayTaskList().size());
+        assertEquals(Duration.ofMinutes(15), registrar.getFixedDelayTaskList().get(0).getIntervalDuration());
+    }
 
-        // Should not throw, just log error
-        commandLineRunner.run();
+    private static JobExecution execution(BatchStatus status) {
+        JobExecution execution = new JobExecution(1L);
+        execution.setStatus(status);
+        return execution;
     }
 }
@@ -0,0 +1,166 @@
+package com.maybank.maybank_assessment.batch;
+
+import com.maybank.maybank_assessment.batch.chunk.AdaptiveChunkSizePolicy;
+import com.maybank.maybank_assessment.batch.listener.ImportBackpressureListener;
+import com.maybank.maybank_assessment.batch.listener.ImportChunkWriteEventListener;
+import com.maybank.maybank_assessment.batch.listener.ImportFingerprintListener;
+import com.maybank.maybank_assessment.batch.listener.TransactionCacheWriteListener;
+import com.maybank.maybank_assessment.batch.listener.TransactionSkipListener;
+import com.maybank.maybank_assessment.batch.validation.TransactionRejectWriter;
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+// Runs the manager step against its workers over the local transport, on an embedded job repository
+@SpringJUnitConfig(PartitionedImportConfigTests.LocalPartitioning.class)
+@TestPropertySource(properties = {"app.import.partition.enabled=true", "app.import.partition.grid-size=3"})
+class PartitionedImportConfigTests {
+
+    @TempDir
+    Path dir;
+
+    @Autowired
+    JobLauncher jobLauncher;
+
+    @Autowired
+    Job partitionedImportJob;
+
+    @Autowired
+    JobExplorer jobExplorer;
+
+    @Autowired
+    List<Transaction> written;
+
+    @Test
+    void testManagerAndWorkers_importEveryLineOnce() throws Exception {
+        List<String> lines = new ArrayList<>(List.of("ACCOUNT_NUMBER|TRX_AMOUNT|DESCRIPTION|TRX_DATE|TRX_TIME|CUSTOMER_ID"));
+        IntStream.range(0, 10).forEach(i -> lines.add("8872838283|" + (100 + i) + ".00|ROW " + i + "|2019-09-12|11:11:11|222"));
+        Path file = Files.write(dir.resolve("data.txt"), lines);
+
+        JobExecution execution = jobLauncher.run(partitionedImportJob, new JobParametersBuilder()
+                .addString(ImportFingerprintListener.INPUT_FILE_PARAM, file.toString())
+                .toJobParameters());
+
+        assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+        // Workers report back through the job repository, so read the steps from there
+        List<StepExecution> workers = jobExplorer.getJobExecution(execution.getId()).getStepExecutions().stream()
+                .filter(step -> step.getStepName().startsWith("importWorkerStep"))
+                .toList();
+        assertEquals(3, workers.size());
+        assertEquals(List.of(4L, 4L, 2L), workers.stream()
+                .sorted((a, b) -> a.getStepName().compareTo(b.getStepName()))
+                .map(StepExecution::getWriteCount).toList());
+        assertEquals(IntStream.range(0, 10).mapToObj(i -> "ROW " + i).sorted().toList(),
+                written.stream().map(Transaction::getDescription).sorted().toList());
+    }
+
+    @Configuration
+    @EnableBatchProcessing
+    @Import(PartitionedImportConfig.class)
+    static class LocalPartitioning {
+
+        @Bean
+        public DataSource dataSource() {
+            return new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .generateUniqueName(true)
+                    .addScript("/org/springframework/batch/core/schema-h2.sql")
+                    .build();
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new JdbcTransactionManager(dataSource);
+        }
+
+        @Bean
+        public Job partitionedImportJob(JobRepository jobRepository, @Qualifier("importManagerStep") Step managerStep) {
+            return new JobBuilder("importTransactionJob", jobRepository).start(managerStep).build();
+        }
+
+        @Bean
+        public List<Transaction> written() {
+            return Collections.synchronizedList(new ArrayList<>());
+        }
+
+        @Bean
+        public ItemProcessor<Transaction, Transaction> processor() {
+            return item -> item;
+        }
+
+        @Bean
+        public ItemWriter<Transaction> writer(List<Transaction> written) {
+            return chunk -> written.addAll(chunk.getItems());
+        }
+
+        @Bean
+        @SuppressWarnings("unchecked")
+        public AdaptiveChunkSizePolicy chunkSizePolicy() {
+            return new AdaptiveChunkSizePolicy(4, 1, 100, Duration.ofMillis(500), DataSize.ofMegabytes(1), 512,
+                    mock(ObjectProvider.class));
+        }
+
+        @Bean
+        public TransactionSkipListener skipListener() {
+            return new TransactionSkipListener();
+        }
+
+        @Bean
+        public ImportChunkWriteEventListener writeEventListener() {
+            return new ImportChunkWriteEventListener();
+        }
+
+        @Bean
+        public TransactionCacheWriteListener cacheWriteListener() {
+            return mock(TransactionCacheWriteListener.class);
+        }
+
+        @Bean
+        public ImportBackpressureListener backpressureListener() {
+            return mock(ImportBackpressureListener.class);
+        }
+
+        @Bean
+        public TransactionRejectWriter rejectWriter() {
+            return mock(TransactionRejectWriter.class);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.maybank.maybank_assessment.batch.archive;
+
+import com.maybank.maybank_assessment.batch.lock.ImportLockService;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.ChunkListener;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ArchiveConfigTests {
+
+    private final ImportLockService lock = mock(ImportLockService.class);
+    private final ImportLockService.Lease lease = new ImportLockService.Lease(ArchiveJobRunner.LOCK_NAME, "token");
+
+    @Test
+    void testArchiveLeaseListener_renewsBeforeEachBatchAndFailsOnceLost() {
+        when(lock.renew(eq(lease), any())).thenReturn(true, false);
+        ChunkListener listener = new ArchiveConfig().archiveLeaseListener(lock, "token", Duration.ofHours(1));
+
+        listener.beforeChunk(null);
+        assertThrows(IllegalStateException.class, () -> listener.beforeChunk(null));
+
+        verify(lock, times(2)).renew(lease, Duration.ofHours(1));
+    }
+
+    @Test
+    void testArchiveLeaseListener_runWithoutLease_notGuarded() {
+        new ArchiveConfig().archiveLeaseListener(lock, null, Duration.ofHours(1)).beforeChunk(null);
+
+        verifyNoInteractions(lock);
+    }
+}
@@ -0,0 +1,55 @@
+package com.maybank.maybank_assessment.batch.archive;
+
+import com.maybank.maybank_assessment.batch.lock.ImportLockService;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ArchiveJobRunnerTests {
+
+    private final Job job = mock(Job.class);
+    private final ImportLockService lock = mock(ImportLockService.class);
+    private final JobLauncher launcher = mock(JobLauncher.class);
+    private final ImportLockService.Lease lease = new ImportLockService.Lease(ArchiveJobRunner.LOCK_NAME, "token");
+
+    private final ArchiveJobRunner runner = spy(new ArchiveJobRunner(mock(JobRepository.class), job, lock));
+
+    @Test
+    void testLaunchArchive_runsWithCutoffInThePastAndPassesTheLease() throws Exception {
+        doReturn(launcher).when(runner).jobLauncher();
+        when(lock.tryLock(eq(ArchiveJobRunner.LOCK_NAME), any())).thenReturn(Optional.of(lease));
+        when(launcher.run(any(), any())).thenReturn(new JobExecution(1L));
+
+        runner.launchArchive();
+
+        ArgumentCaptor<JobParameters> params = ArgumentCaptor.forClass(JobParameters.class);
+        verify(launcher).run(eq(job), params.capture());
+        LocalDateTime cutoff = params.getValue().getLocalDateTime(ArchiveConfig.CUTOFF_PARAM);
+        assertTrue(cutoff.isBefore(LocalDateTime.now().minusDays(364)));
+        assertEquals("token", params.getValue().getString(ArchiveConfig.LEASE_PARAM));
+        assertFalse(params.getValue().getParameters().get(ArchiveConfig.LEASE_PARAM).isIdentifying());
+        verify(lock).unlock(lease);
+    }
+
+    @Test
+    void testLaunchArchive_lockHeldElsewhere_skips() throws Exception {
+        doReturn(launcher).when(runner).jobLauncher();
+        when(lock.tryLock(anyString(), any())).thenReturn(Optional.empty());
+
+        runner.launchArchive();
+
+        verifyNoInteractions(launcher);
+        verify(lock, never()).unlock(any());
+    }
+}
@@ -0,0 +1,78 @@
+package com.maybank.maybank_assessment.batch.archive;
+
+import com.maybank.maybank_assessment.service.cache.TransactionNearCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ArchiveTransactionsTaskletTests {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final TransactionNearCache nearCache = mock(TransactionNearCache.class);
+    private final StepContribution contribution = new StepContribution(new StepExecution("archiveTransactionsStep", null));
+
+    @Test
+    void testFullBatch_movesRowsAndContinues() throws Exception {
+        var tasklet = new ArchiveTransactionsTasklet(jdbcTemplate, nearCache, CUTOFF, 2);
+        when(jdbcTemplate.queryForList(eq(ArchiveTransactionsTasklet.SELECT_IDS), anyMap(), eq(Long.class)))
+                .thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.update(eq(ArchiveTransactionsTasklet.COPY), anyMap())).thenReturn(2);
+        when(jdbcTemplate.update(eq(ArchiveTransactionsTasklet.DELETE), anyMap())).thenReturn(2);
+
+        assertEquals(RepeatStatus.CONTINUABLE, tasklet.execute(contribution, null));
+
+        verify(jdbcTemplate).queryForList(ArchiveTransactionsTasklet.SELECT_IDS,
+                Map.of("cutoff", CUTOFF, "batchSize", 2), Long.class);
+        verify(jdbcTemplate).update(ArchiveTransactionsTasklet.COPY, Map.of("ids", List.of(1L, 2L)));
+        verify(nearCache).evict(1L, null);
+        verify(nearCache).evict(2L, null);
+        assertEquals(2, contribution.getWriteCount());
+    }
+
+    @Test
+    void testPartialBatch_finishes() throws Exception {
+        var tasklet = new ArchiveTransactionsTasklet(jdbcTemplate, nearCache, CUTOFF, 10);
+        when(jdbcTemplate.queryForList(anyString(), anyMap(), eq(Long.class))).thenReturn(List.of(5L));
+        when(jdbcTemplate.update(anyString(), anyMap())).thenReturn(1);
+
+        assertEquals(RepeatStatus.FINISHED, tasklet.execute(contribution, null));
+    }
+
+    @Test
+    void testNothingOld_finishesWithoutWrites() throws Exception {
+        var tasklet = new ArchiveTransactionsTasklet(jdbcTemplate, nearCache, CUTOFF, 10);
+        when(jdbcTemplate.queryForList(anyString(), anyMap(), eq(Long.class))).thenReturn(List.of());
+
+        assertEquals(RepeatStatus.FINISHED, tasklet.execute(contribution, null));
+        verify(jdbcTemplate, never()).update(anyString(), anyMap());
+    }
+
+    @Test
+    void testCopyDeleteMismatch_failsTheBatch() {
+        var tasklet = new ArchiveTransactionsTasklet(jdbcTemplate, nearCache, CUTOFF, 10);
+        when(jdbcTemplate.queryForList(anyString(), anyMap(), eq(Long.class))).thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.update(eq(ArchiveTransactionsTasklet.COPY), anyMap())).thenReturn(2);
+        when(jdbcTemplate.update(eq(ArchiveTransactionsTasklet.DELETE), anyMap())).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> tasklet.execute(contribution, null));
+        verifyNoInteractions(nearCache);
+    }
+
+    @Test
+    void testMissingCutoff_rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ArchiveTransactionsTasklet(jdbcTemplate, nearCache, null, 10));
+    }
+}
@@ -0,0 +1,145 @@
+package com.maybank.maybank_assessment.batch.bulk;
+
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.service.outbox.TransactionOutbox;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BulkLoadItemWriterTests {
+
+    private final StagingLoader loader = mock(StagingLoader.class);
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final TransactionOutbox outbox = mock(TransactionOutbox.class);
+    private final BulkLoadItemWriter writer = new BulkLoadItemWriter(loader, jdbcTemplate, outbox);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWrite_stagesThenInsertsSetBased() {
+        when(jdbcTemplate.getJdbcTemplate()).thenReturn(mock(JdbcTemplate.class));
+        when(jdbcTemplate.update(eq(BulkLoadItemWriter.INSERT_NEW), anyMap())).thenReturn(2);
+
+        writer.write(Chunk.of(txn("A"), txn("B")));
+
+        ArgumentCaptor<Long> batchId = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<List<StagingLoader.Row>> rows = ArgumentCaptor.forClass(List.class);
+        verify(loader).load(any(), batchId.capture(), rows.capture());
+        assertEquals(rows.getValue().get(0).id(), batchId.getValue());
+        assertTrue(rows.getValue().get(1).id() > rows.getValue().get(0).id());
+
+        var order = inOrder(loader, jdbcTemplate);
+        order.verify(loader).load(any(), anyLong(), anyList());
+        order.verify(jdbcTemplate).update(BulkLoadItemWriter.INSERT_NEW, Map.of("batchId", batchId.getValue()));
+        order.verify(jdbcTemplate).update(BulkLoadItemWriter.CLEAR, Map.of("batchId", batchId.getValue()));
+        // Every row went in; no need to ask which
+        verify(jdbcTemplate, never()).queryForList(anyString(), anyMap(), eq(Long.class));
+        verify(outbox, times(2)).record(eq(TransactionChange.Type.IMPORTED), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWrite_recordsOnlyRowsThatWereNew() {
+        when(jdbcTemplate.getJdbcTemplate()).thenReturn(mock(JdbcTemplate.class));
+        ArgumentCaptor<List<StagingLoader.Row>> rows = ArgumentCaptor.forClass(List.class);
+        doNothing().when(loader).load(any(), anyLong(), rows.capture());
+        when(jdbcTemplate.update(eq(BulkLoadItemWriter.INSERT_NEW), anyMap())).thenReturn(1);
+        when(jdbcTemplate.queryForList(eq(BulkLoadItemWriter.IMPORTED_IDS), anyMap(), eq(Long.class)))
+                .thenAnswer(inv -> List.of(rows.getValue().get(1).id()));
+
+        writer.write(Chunk.of(txn("already there"), txn("new")));
+
+        ArgumentCaptor<TransactionDto> recorded = ArgumentCaptor.forClass(TransactionDto.class);
+        verify(outbox).record(eq(TransactionChange.Type.IMPORTED), recorded.capture());
+        assertEquals("new", recorded.getValue().getDescription());
+        assertEquals(rows.getValue().get(1).id(), recorded.getValue().getId());
+        assertEquals(0, recorded.getValue().getVersion());
+    }
+
+    @Test
+    void testWrite_emptyChunkDoesNothing() {
+        writer.write(new Chunk<>());
+
+        verifyNoInteractions(loader, jdbcTemplate, outbox);
+    }
+
+    @Test
+    void testLoaderFor_picksByDatabaseProduct() {
+        assertInstanceOf(PostgresCopyLoader.class, BulkLoadConfig.loaderFor("PostgreSQL"));
+        assertInstanceOf(MySqlLoadDataLoader.class, BulkLoadConfig.loaderFor("MySQL"));
+        assertInstanceOf(JdbcBatchStagingLoader.class, BulkLoadConfig.loaderFor("H2"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWrite_embeddedDb_leavesOutRowsInTransactionsAndArchive() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:bulk-load;DB_CLOSE_DELAY=-1");
+        // The entities' schema, as Hibernate creates it in the application
+        EntityManagerFactory emf = entityManagerFactory(h2);
+        try {
+            NamedParameterJdbcTemplate jdbc = new NamedParameterJdbcTemplate(h2);
+            StagingLoader h2Loader = new BulkLoadConfig().stagingLoader(jdbc);
+            assertInstanceOf(JdbcBatchStagingLoader.class, h2Loader);
+            jdbc.getJdbcTemplate().update("INSERT INTO transactions (id, account_number, trxn_amount, description,"
+                    + " trxn_timestamp, customer_id, version, is_processed) VALUES (1, 1, 1.00, 'hot', ?, 2, 0, TRUE)",
+                    txn("hot").getTrxnTimestamp());
+            jdbc.getJdbcTemplate().update("INSERT INTO transactions_archive (id, account_number, trxn_amount, description,"
+                    + " trxn_timestamp, customer_id, version, is_processed) VALUES (2, 1, 1.00, 'archived', ?, 2, 0, TRUE)",
+                    txn("archived").getTrxnTimestamp());
+            BulkLoadItemWriter h2Writer = new BulkLoadItemWriter(h2Loader, jdbc, outbox);
+
+            new TransactionTemplate(new DataSourceTransactionManager(h2)).executeWithoutResult(status ->
+                    h2Writer.write(Chunk.of(txn("hot"), txn("archived"), txn("new"))));
+
+            assertEquals(List.of("hot", "new"), jdbc.getJdbcTemplate().queryForList(
+                    "SELECT description FROM transactions ORDER BY description", String.class));
+            assertEquals(new BigDecimal("1.00"), jdbc.getJdbcTemplate().queryForObject(
+                    "SELECT trxn_amount FROM transactions WHERE description = 'new'", BigDecimal.class));
+            assertEquals(0, jdbc.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM " + StagingLoader.TABLE, Integer.class));
+            ArgumentCaptor<TransactionDto> recorded = ArgumentCaptor.forClass(TransactionDto.class);
+            verify(outbox).record(eq(TransactionChange.Type.IMPORTED), recorded.capture());
+            assertEquals("new", recorded.getValue().getDescription());
+            assertEquals(jdbc.getJdbcTemplate().queryForObject(
+                    "SELECT id FROM transactions WHERE description = 'new'", Long.class), recorded.getValue().getId());
+        } finally {
+            emf.close();
+        }
+    }
+
+    private static EntityManagerFactory entityManagerFactory(JdbcDataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.maybank.maybank_assessment.model.entity");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    private static Transaction txn(String description) {
+        return Transaction.builder().accountNumber(1L).trxnAmount(100L).description(description)
+                .trxnTimestamp(LocalDateTime.of(2019, 9, 12, 11, 11, 11)).customerId(2L).build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.maybank.maybank_assessment.batch.bulk;
+
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StagingRowsTests {
+
+    @Test
+    void testEncode_tabSeparatedLinePerRow() {
+        Transaction txn = Transaction.builder()
+                .accountNumber(8872838283L)
+                .trxnAmount(12300L)
+                .description("FUND TRANSFER")
+                .trxnTimestamp(LocalDateTime.of(2019, 9, 12, 11, 11, 11))
+                .customerId(222L)
+                .build();
+
+        String encoded = StagingRows.encode(7L, List.of(new StagingLoader.Row(42L, txn)));
+
+        assertEquals("7\t42\t8872838283\t123.00\tFUND TRANSFER\t2019-09-12 11:11:11.000000\t222\n", encoded);
+    }
+
+    @Test
+    void testEscape_specialCharactersAndNull() {
+        assertEquals("a\\tb\\nc\\rd\\\\e", StagingRows.escape("a\tb\nc\rd\\e"));
+        assertEquals("\\N", StagingRows.escape(null));
+    }
+}
@@ -0,0 +1,151 @@
+package com.maybank.maybank_assessment.batch.chunk;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AdaptiveChunkSizePolicyTests {
+
+    private static final long TARGET_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void testIsComplete_afterTargetItemsOrEndOfInput() {
+        AdaptiveChunkSizePolicy policy = policy(3, 1, 100, DataSize.ofMegabytes(16));
+        RepeatContext context = policy.start(null);
+
+        policy.update(context);
+        policy.update(context);
+        assertFalse(policy.isComplete(context, RepeatStatus.CONTINUABLE));
+        assertTrue(policy.isComplete(context, RepeatStatus.FINISHED));
+        policy.update(context);
+        assertTrue(policy.isComplete(context));
+    }
+
+    @Test
+    void testAdjust_growsWhenChunksAreFast() {
+        AdaptiveChunkSizePolicy policy = policy(100, 10, 5000, DataSize.ofMegabytes(16));
+
+        // 100 items in a tenth of the target: ideal is 1000, but one step at most doubles
+        policy.adjust(100, TARGET_NANOS / 10);
+        assertEquals(200, policy.size());
+    }
+
+    @Test
+    void testAdjust_convergesTowardTarget() {
+        AdaptiveChunkSizePolicy policy = policy(100, 10, 5000, DataSize.ofMegabytes(16));
+
+        // 1 ms per item: 500 items hit the target
+        for (int i = 0; i < 20; i++) {
+            int size = policy.size();
+            policy.adjust(size, TimeUnit.MILLISECONDS.toNanos(size));
+        }
+        assertTrue(Math.abs(policy.size() - 500) <= 5, "size " + policy.size());
+    }
+
+    @Test
+    void testAdjust_shrinksWhenSlowAndStaysWithinLimits() {
+        AdaptiveChunkSizePolicy policy = policy(100, 40, 5000, DataSize.ofMegabytes(16));
+
+        // Four times over target: ideal is 25, so halfway there
+        policy.adjust(100, TARGET_NANOS * 4);
+        assertEquals(63, policy.size());
+        policy.adjust(63, TARGET_NANOS * 4);
+        assertEquals(40, policy.size());
+    }
+
+    @Test
+    void testMemoryBudgetCapsSize() {
+        // 64KB / 512 bytes per row = 128 rows
+        AdaptiveChunkSizePolicy policy = policy(100, 10, 5000, DataSize.ofKilobytes(64));
+
+        policy.adjust(100, 1);
+        assertEquals(128, policy.size());
+    }
+
+    @Test
+    void testAfterChunkError_halves() {
+        AdaptiveChunkSizePolicy policy = policy(100, 10, 5000, DataSize.ofMegabytes(16));
+
+        policy.afterChunkError(null);
+        assertEquals(50, policy.size());
+    }
+
+    @Test
+    void testAfterChunk_usesTheChunkStartedOnThisThread() {
+        AdaptiveChunkSizePolicy policy = policy(100, 10, 5000, DataSize.ofMegabytes(16));
+        RepeatContext context = policy.start(null);
+        for (int i = 0; i < 100; i++) policy.update(context);
+
+        // Committed almost instantly: grows
+        policy.afterChunk(null);
+        assertEquals(200, policy.size());
+        // No chunk open on this thread any more: ignored
+        policy.afterChunk(null);
+        assertEquals(200, policy.size());
+    }
+
+    @Test
+    void testAfterChunk_ignoresChunkCutShortByEndOfInput() {
+        AdaptiveChunkSizePolicy policy = policy(100, 10, 5000, DataSize.ofMegabytes(16));
+        RepeatContext context = policy.start(null);
+        policy.update(context);
+
+        policy.afterChunk(null);
+        assertEquals(100, policy.size());
+    }
+
+    @Test
+    void testChunkSizeJobParameter_fixesSizeWithoutTuning() {
+        AdaptiveChunkSizePolicy policy = policy(100, 10, 5000, DataSize.ofMegabytes(16));
+        JobExecution job = new JobExecution(1L, new JobParametersBuilder()
+                .addLong(AdaptiveChunkSizePolicy.CHUNK_SIZE_PARAM, 3L).toJobParameters());
+        StepSynchronizationManager.register(new StepExecution("importStep", job));
+        try {
+            RepeatContext context = policy.start(null);
+            for (int i = 0; i < 3; i++) policy.update(context);
+            assertTrue(policy.isComplete(context));
+
+            policy.afterChunk(null);
+            policy.start(null);
+            policy.afterChunkError(null);
+            assertEquals(100, policy.size());
+        } finally {
+            StepSynchronizationManager.close();
+        }
+    }
+
+    @Test
+    void testPublishesGauge() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        doAnswer(inv -> {
+            inv.<java.util.function.Consumer<MeterRegistry>>getArgument(0).accept(registry);
+            return null;
+        }).when(provider).ifAvailable(any());
+
+        new AdaptiveChunkSizePolicy(100, 10, 5000, Duration.ofMillis(500), DataSize.ofMegabytes(16), 512, provider);
+
+        assertEquals(100, registry.get("import.chunk.size").gauge().value());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AdaptiveChunkSizePolicy policy(int initial, int min, int max, DataSize budget) {
+        return new AdaptiveChunkSizePolicy(initial, min, max, Duration.ofNanos(TARGET_NANOS), budget, 512,
+                mock(ObjectProvider.class));
+    }
+}
@@ -0,0 +1,363 @@
+package com.maybank.maybank_assessment.batch.control;
+
+import com.maybank.maybank_assessment.batch.BatchConfig;
+import com.maybank.maybank_assessment.batch.bulk.StagingLoader;
+import com.maybank.maybank_assessment.batch.chunk.AdaptiveChunkSizePolicy;
+import com.maybank.maybank_assessment.batch.fingerprint.FileFingerprint;
+import com.maybank.maybank_assessment.batch.listener.ImportFingerprintListener;
+import com.maybank.maybank_assessment.batch.lock.ImportLockService;
+import com.maybank.maybank_assessment.batch.validation.TransactionRejectWriter;
+import com.maybank.maybank_assessment.exception.BadRequestException;
+import com.maybank.maybank_assessment.exception.ImportConflictException;
+import com.maybank.maybank_assessment.model.dto.ImportJobRequest;
+import com.maybank.maybank_assessment.model.dto.ImportJobStatusDto;
+import com.maybank.maybank_assessment.model.dto.ImportLaunchDto;
+import com.maybank.maybank_assessment.model.entity.ImportLock;
+import com.maybank.maybank_assessment.repository.ImportLockRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobExecutionNotRunningException;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImportJobControlTests {
+
+    @TempDir
+    Path dir;
+
+    private final JobLauncher jobLauncher = mock(JobLauncher.class);
+    private final Job job = mock(Job.class);
+    private final JobExplorer jobExplorer = mock(JobExplorer.class);
+    private final JobOperator jobOperator = mock(JobOperator.class);
+    private final ImportLockService importLock = mock(ImportLockService.class);
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<StagingLoader> stagingLoader = mock(ObjectProvider.class);
+
+    private ImportJobControl control;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(job.getName()).thenReturn("importTransactionsJob");
+        when(importLock.tryLock(anyString(), any())).thenAnswer(inv -> Optional.of(lease(inv.getArgument(0))));
+        when(importLock.renew(any(), any())).thenReturn(true);
+        AdaptiveChunkSizePolicy chunkSizePolicy = new AdaptiveChunkSizePolicy(100, 10, 5000, Duration.ofMillis(500),
+                DataSize.ofMegabytes(16), 512, mock(ObjectProvider.class));
+        control = new ImportJobControl(jobLauncher, job, jobExplorer, jobOperator, importLock, stagingLoader,
+                chunkSizePolicy, dir, 16, Duration.ofMinutes(10), Duration.ofMillis(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        control.destroy();
+    }
+
+    @Test
+    void testLaunch_fileRunsWithOptionsAndReleasesLockWhenDone() throws Exception {
+        Path file = Files.write(dir.resolve("data.txt"), List.of("HEADER"));
+        when(jobLauncher.run(eq(job), any())).thenAnswer(inv -> execution(5L, inv.getArgument(1), BatchStatus.STARTED));
+        when(jobExplorer.getJobExecution(5L)).thenAnswer(inv -> execution(5L, new JobParametersBuilder()
+                .addString(ImportFingerprintListener.INPUT_FILE_PARAM, file.toString()).toJobParameters(), BatchStatus.COMPLETED));
+
+        ImportLaunchDto launched = control.launch(ImportJobRequest.builder()
+                .path("data.txt").concurrency(2).chunkSize(500).writer("jpa").build());
+
+        assertEquals(5L, launched.getStarted().getExecutionId());
+        assertEquals(List.of(), launched.getQueued());
+        ArgumentCaptor<JobParameters> params = ArgumentCaptor.forClass(JobParameters.class);
+        verify(jobLauncher).run(eq(job), params.capture());
+        assertEquals(file.toString(), params.getValue().getString(ImportFingerprintListener.INPUT_FILE_PARAM));
+        assertEquals(2L, params.getValue().getLong(BatchConfig.CONCURRENCY_PARAM));
+        assertEquals(500L, params.getValue().getLong(AdaptiveChunkSizePolicy.CHUNK_SIZE_PARAM));
+        assertEquals("jpa", params.getValue().getString(BatchConfig.WRITER_PARAM));
+        verify(importLock, timeout(2000)).unlock(lease("import:" + file));
+    }
+
+    @Test
+    void testLaunch_directoryImportsFilesOneAfterAnotherInNameOrder() throws Exception {
+        Path first = Files.write(dir.resolve("a.txt"), List.of("HEADER"));
+        Path second = Files.write(dir.resolve("b.txt"), List.of("HEADER"));
+        Files.write(dir.resolve("a.txt" + TransactionRejectWriter.REJECTS_SUFFIX), List.of("x"));
+        Files.write(dir.resolve(".hidden"), List.of("x"));
+        when(jobLauncher.run(eq(job), any())).thenAnswer(inv -> execution(7L, inv.getArgument(1), BatchStatus.STARTED));
+        when(jobExplorer.getJobExecution(7L)).thenReturn(execution(7L, new JobParameters(), BatchStatus.COMPLETED));
+
+        ImportLaunchDto launched = control.launch(ImportJobRequest.builder().path(".").build());
+
+        assertEquals(first.toString(), launched.getStarted().getFile());
+        assertEquals(List.of(second.toString()), launched.getQueued());
+        ArgumentCaptor<JobParameters> params = ArgumentCaptor.forClass(JobParameters.class);
+        verify(jobLauncher, timeout(2000).times(2)).run(eq(job), params.capture());
+        assertEquals(List.of(first.toString(), second.toString()), params.getAllValues().stream()
+                .map(p -> p.getString(ImportFingerprintListener.INPUT_FILE_PARAM)).toList());
+        InOrder order = inOrder(importLock);
+        order.verify(importLock).unlock(lease("import:" + first));
+        order.verify(importLock, atLeastOnce()).tryLock(eq("import:" + second), any());
+    }
+
+    @Test
+    void testLaunch_fileAlreadyBeingImported_conflicts() throws Exception {
+        Files.write(dir.resolve("data.txt"), List.of("HEADER"));
+        when(importLock.tryLock(anyString(), any())).thenReturn(Optional.empty());
+
+        assertThrows(ImportConflictException.class,
+                () -> control.launch(ImportJobRequest.builder().path("data.txt").build()));
+        verify(jobLauncher, never()).run(any(), any());
+    }
+
+    @Test
+    void testLaunch_sameFileTwiceOnOneNode_secondConflictsUntilTheFirstEnds() throws Exception {
+        Path file = Files.write(dir.resolve("data.txt"), List.of("HEADER"));
+        ImportLockRepository locks = inMemoryLocks();
+        ImportJobControl node = new ImportJobControl(jobLauncher, job, jobExplorer, jobOperator,
+                new ImportLockService(locks), stagingLoader, mock(AdaptiveChunkSizePolicy.class), dir, 16,
+                Duration.ofMinutes(10), Duration.ofMillis(1));
+        AtomicReference<BatchStatus> status = new AtomicReference<>(BatchStatus.STARTED);
+        when(jobLauncher.run(eq(job), any())).thenAnswer(inv -> execution(5L, inv.getArgument(1), BatchStatus.STARTED));
+        when(jobExplorer.getJobExecution(5L)).thenAnswer(inv -> execution(5L, new JobParameters(), status.get()));
+        try {
+            node.launch(ImportJobRequest.builder().path("data.txt").build());
+            assertThrows(ImportConflictException.class, () -> node.launch(ImportJobRequest.builder().path("data.txt").build()));
+            verify(locks, timeout(2000).atLeastOnce()).renew(eq("import:" + file), anyString(), any());
+            assertThrows(ImportConflictException.class, () -> node.launch(ImportJobRequest.builder().path("data.txt").build()));
+            verify(jobLauncher, times(1)).run(any(), any());
+
+            status.set(BatchStatus.COMPLETED);
+            verify(locks, timeout(2000)).release(eq("import:" + file), anyString(), any());
+            node.launch(ImportJobRequest.builder().path("data.txt").build());
+            verify(jobLauncher, times(2)).run(any(), any());
+        } finally {
+            node.destroy();
+        }
+    }
+
+    @Test
+    void testLaunch_lostLease_stopsExecutionAndSupervision() throws Exception {
+        Files.write(dir.resolve("data.txt"), List.of("HEADER"));
+        when(importLock.renew(any(), any())).thenReturn(false);
+        when(jobLauncher.run(eq(job), any())).thenAnswer(inv -> execution(5L, inv.getArgument(1), BatchStatus.STARTED));
+        when(jobExplorer.getJobExecution(5L)).thenAnswer(inv -> execution(5L, new JobParameters(), BatchStatus.STARTED));
+
+        control.launch(ImportJobRequest.builder().path("data.txt").build());
+
+        verify(jobOperator, timeout(2000)).stop(5L);
+        verify(importLock, timeout(2000)).unlock(any());
+        verify(importLock, times(1)).renew(any(), any());
+        verify(jobExplorer, never()).getJobExecution(5L);
+    }
+
+    @Test
+    void testLaunch_rejectsBadPathsAndOptions() throws Exception {
+        Files.write(dir.resolve("data.txt"), List.of("HEADER"));
+
+        assertThrows(BadRequestException.class, () -> control.launch(ImportJobRequest.builder().path("../outside.txt").build()));
+        assertThrows(EntityNotFoundException.class, () -> control.launch(ImportJobRequest.builder().path("missing.txt").build()));
+        assertThrows(BadRequestException.class,
+                () -> control.launch(ImportJobRequest.builder().path("data.txt").concurrency(17).build()));
+        assertThrows(BadRequestException.class,
+                () -> control.launch(ImportJobRequest.builder().path("data.txt").chunkSize(5001).build()));
+        // No StagingLoader bean: bulk load is not configured
+        assertThrows(BadRequestException.class,
+                () -> control.launch(ImportJobRequest.builder().path("data.txt").writer("bulk").build()));
+        verify(jobLauncher, never()).run(any(), any());
+    }
+
+    @Test
+    void testLaunch_symlinkOutOfBaseDir_rejected(@TempDir Path outside) throws Exception {
+        Path secret = Files.write(outside.resolve("application.yml"), List.of("password: x"));
+        Files.createSymbolicLink(dir.resolve("config.txt"), secret);
+        Files.createSymbolicLink(dir.resolve("config"), outside);
+
+        assertThrows(BadRequestException.class, () -> control.launch(ImportJobRequest.builder().path("config.txt").build()));
+        assertThrows(BadRequestException.class, () -> control.launch(ImportJobRequest.builder().path("config").build()));
+        verify(jobLauncher, never()).run(any(), any());
+    }
+
+    @Test
+    void testLaunch_sameFileNamedDifferently_sameParameterAndLockAsSchedule() throws Exception {
+        Path file = Files.write(dir.resolve("data.txt"), List.of("HEADER"));
+        Files.createDirectory(dir.resolve("sub"));
+        Files.createSymbolicLink(dir.resolve("latest.txt"), file);
+        when(jobLauncher.run(eq(job), any())).thenAnswer(inv -> execution(5L, inv.getArgument(1), BatchStatus.COMPLETED));
+        String real = ImportFingerprintListener.canonicalInputFile(dir.resolve("latest.txt").toString());
+
+        control.launch(ImportJobRequest.builder().path("sub/../data.txt").build());
+        control.launch(ImportJobRequest.builder().path("latest.txt").build());
+
+        ArgumentCaptor<JobParameters> params = ArgumentCaptor.forClass(JobParameters.class);
+        verify(jobLauncher, times(2)).run(eq(job), params.capture());
+        assertEquals(List.of(real, real), params.getAllValues().stream()
+                .map(p -> p.getString(ImportFingerprintListener.INPUT_FILE_PARAM)).toList());
+        verify(importLock, times(2)).tryLock(eq(ImportLockService.importLockName(real)), any());
+    }
+
+    @Test
+    void testLaunch_missingBaseDir_notFound() {
+        ImportJobControl unconfigured = new ImportJobControl(jobLauncher, job, jobExplorer, jobOperator, importLock,
+                stagingLoader, mock(AdaptiveChunkSizePolicy.class), dir.resolve("inbox"), 16, Duration.ofMinutes(10),
+                Duration.ofMillis(1));
+        try {
+            assertThrows(EntityNotFoundException.class,
+                    () -> unconfigured.launch(ImportJobRequest.builder().path("data.txt").build()));
+        } finally {
+            unconfigured.destroy();
+        }
+    }
+
+    @Test
+    void testStatus_reportsProgressRateAndCounts() {
+        JobExecution execution = execution(9L, new JobParameters(), BatchStatus.STARTED);
+        execution.setStartTime(LocalDateTime.now().minusSeconds(10));
+        execution.getExecutionContext().put(ImportFingerprintListener.FINGERPRINT_KEY,
+                new FileFingerprint("digest", 101, 1000, new long[] { 1L }));
+        execution.getExecutionContext().putLong(ImportFingerprintListener.SKIP_LINES_KEY, 1);
+        StepExecution step = execution.createStepExecution("importStep");
+        step.setReadCount(40);
+        step.setReadSkipCount(2);
+        step.setWriteCount(30);
+        step.setFilterCount(8);
+        step.getExecutionContext().putLong(TransactionRejectWriter.REJECTED_KEY, 3);
+        // A partition manager's totals would count the workers twice
+        execution.createStepExecution("importManagerStep").setReadCount(1000);
+
+        ImportJobStatusDto status = control.status(execution);
+
+        assertEquals(100L, status.getLinesToRead());
+        assertEquals(42, status.getLinesRead());
+        assertEquals(5, status.getDuplicates());
+        assertEquals(3, status.getRejected());
+        assertEquals(42.0, status.getProgressPercent());
+        assertEquals(4.2, status.getRowsPerSecond(), 0.2);
+        assertTrue(status.getEtaSeconds() >= 13 && status.getEtaSeconds() <= 15, "eta " + status.getEtaSeconds());
+    }
+
+    @Test
+    void testStop_notRunning_conflicts() throws Exception {
+        when(jobExplorer.getJobExecution(9L)).thenReturn(execution(9L, new JobParameters(), BatchStatus.COMPLETED));
+        when(jobOperator.stop(9L)).thenThrow(new JobExecutionNotRunningException("not running"));
+
+        assertThrows(ImportConflictException.class, () -> control.stop(9L));
+        assertThrows(EntityNotFoundException.class, () -> control.stop(10L));
+    }
+
+    @Test
+    void testRestart_rerunsStoppedExecutionWithItsParameters() throws Exception {
+        JobParameters params = new JobParametersBuilder()
+                .addLong("time", 1L)
+                .addString(ImportFingerprintListener.INPUT_FILE_PARAM, "data.txt")
+                .addLong(BatchConfig.CONCURRENCY_PARAM, 1L)
+                .toJobParameters();
+        JobExecution stopped = execution(9L, params, BatchStatus.STOPPED);
+        when(jobExplorer.getJobExecution(9L)).thenReturn(stopped);
+        when(jobExplorer.getLastJobExecution(stopped.getJobInstance())).thenReturn(stopped);
+        when(jobLauncher.run(job, params)).thenReturn(execution(11L, params, BatchStatus.STARTED));
+        when(jobExplorer.getJobExecution(11L)).thenReturn(execution(11L, params, BatchStatus.COMPLETED));
+
+        ImportJobStatusDto restarted = control.restart(9L);
+
+        assertEquals(11L, restarted.getExecutionId());
+        assertEquals(1L, restarted.getConcurrency());
+        verify(importLock, timeout(2000)).unlock(lease("import:data.txt"));
+    }
+
+    @Test
+    void testRestart_onlyTheLatestStoppedOrFailedExecution() {
+        JobExecution completed = execution(9L, new JobParameters(), BatchStatus.COMPLETED);
+        JobExecution failed = execution(10L, new JobParameters(), BatchStatus.FAILED);
+        when(jobExplorer.getJobExecution(9L)).thenReturn(completed);
+        when(jobExplorer.getJobExecution(10L)).thenReturn(failed);
+        when(jobExplorer.getLastJobExecution(failed.getJobInstance())).thenReturn(execution(12L, new JobParameters(), BatchStatus.STARTED));
+
+        assertThrows(ImportConflictException.class, () -> control.restart(9L));
+        assertThrows(ImportConflictException.class, () -> control.restart(10L));
+        verifyNoInteractions(jobLauncher);
+    }
+
+    // import_lock rows in a map, updated under the same conditions as the repository's queries
+    private static ImportLockRepository inMemoryLocks() {
+        Map<String, ImportLock> rows = new HashMap<>();
+        ImportLockRepository locks = mock(ImportLockRepository.class);
+        when(locks.existsById(anyString())).thenAnswer(inv -> {
+            synchronized (rows) {
+                return rows.containsKey(inv.<String>getArgument(0));
+            }
+        });
+        when(locks.insert(anyString(), anyString(), any())).thenAnswer(inv -> {
+            synchronized (rows) {
+                ImportLock row = new ImportLock(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2));
+                if (rows.putIfAbsent(row.getName(), row) != null) {
+                    throw new DataIntegrityViolationException("duplicate " + row.getName());
+                }
+                return 1;
+            }
+        });
+        when(locks.tryAcquire(anyString(), anyString(), any(), any())).thenAnswer(inv -> {
+            synchronized (rows) {
+                ImportLock row = rows.get(inv.<String>getArgument(0));
+                if (row == null || row.getLockedUntil().isAfter(inv.<Instant>getArgument(2))) {
+                    return 0;
+                }
+                row.setLockedBy(inv.getArgument(1));
+                row.setLockedUntil(inv.getArgument(3));
+                return 1;
+            }
+        });
+        when(locks.renew(anyString(), anyString(), any())).thenAnswer(inv -> extend(rows, inv.getArgument(0),
+                inv.getArgument(1), inv.getArgument(2)));
+        when(locks.release(anyString(), anyString(), any())).thenAnswer(inv -> extend(rows, inv.getArgument(0),
+                inv.getArgument(1), inv.getArgument(2)));
+        return locks;
+    }
+
+    private static int extend(Map<String, ImportLock> rows, String name, String owner, Instant until) {
+        synchronized (rows) {
+            ImportLock row = rows.get(name);
+            if (row == null || !row.getLockedBy().equals(owner)) {
+                return 0;
+            }
+            row.setLockedUntil(until);
+            return 1;
+        }
+    }
+
+    private static ImportLockService.Lease lease(String name) {
+        return new ImportLockService.Lease(name, "token");
+    }
+
+    private static JobExecution execution(long id, JobParameters params, BatchStatus status) {
+        JobExecution execution = new JobExecution(new JobInstance(id, "importTransactionsJob"), id, params);
+        execution.setStatus(status);
+        return execution;
+    }
+}
@@ -0,0 +1,83 @@
+package com.maybank.maybank_assessment.batch.fingerprint;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportFingerprintsTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testScan_withoutPrevious() throws Exception {
+        Path file = write("a.txt", lines(0, 7));
+
+        ImportFingerprints.Scan scan = ImportFingerprints.scan(file, 3, null);
+
+        assertEquals(7, scan.fingerprint().lineCount());
+        assertEquals(3, scan.fingerprint().chain().length); // 3 + 3 + 1 lines
+        assertEquals(0, scan.committedLines());
+        assertFalse(scan.upToDate());
+    }
+
+    @Test
+    void testScan_identicalFileIsUpToDate() throws Exception {
+        FileFingerprint previous = ImportFingerprints.scan(write("a.txt", lines(0, 7)), 3, null).fingerprint();
+
+        ImportFingerprints.Scan scan = ImportFingerprints.scan(write("b.txt", lines(0, 7)), 3, previous);
+
+        assertEquals(7, scan.committedLines());
+        assertTrue(scan.upToDate());
+        assertEquals(previous.digest(), scan.fingerprint().digest());
+    }
+
+    @Test
+    void testScan_appendedFileSkipsPreviousContent() throws Exception {
+        FileFingerprint previous = ImportFingerprints.scan(write("a.txt", lines(0, 7)), 3, null).fingerprint();
+
+        ImportFingerprints.Scan scan = ImportFingerprints.scan(write("b.txt", lines(0, 12)), 3, previous);
+
+        assertEquals(7, scan.committedLines());
+        assertEquals(12, scan.fingerprint().lineCount());
+        assertFalse(scan.upToDate());
+    }
+
+    @Test
+    void testScan_modifiedBlockStopsMatch() throws Exception {
+        FileFingerprint previous = ImportFingerprints.scan(write("a.txt", lines(0, 9)), 3, null).fingerprint();
+        List<String> changed = lines(0, 9);
+        changed.set(4, "changed");
+
+        ImportFingerprints.Scan scan = ImportFingerprints.scan(write("b.txt", changed), 3, previous);
+
+        assertEquals(3, scan.committedLines());
+    }
+
+    @Test
+    void testScan_differentBlockSizeStillMatches() throws Exception {
+        FileFingerprint previous = ImportFingerprints.scan(write("a.txt", lines(0, 10)), 4, null).fingerprint();
+
+        ImportFingerprints.Scan scan = ImportFingerprints.scan(write("b.txt", lines(0, 15)), 5, previous);
+
+        assertEquals(10, scan.committedLines());
+    }
+
+    private Path write(String name, List<String> lines) throws Exception {
+        return Files.write(dir.resolve(name), lines);
+    }
+
+    private static List<String> lines(int from, int to) {
+        List<String> lines = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            lines.add("line-" + i);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,36 @@
+package com.maybank.maybank_assessment.batch.listener;
+
+import com.maybank.maybank_assessment.config.web.limit.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class ImportBackpressureListenerTests {
+
+    private final AdaptiveConcurrencyLimiter limiter = mock(AdaptiveConcurrencyLimiter.class);
+
+    @Test
+    void beforeChunk_pausesWhileSloAtRisk() {
+        when(limiter.sloAtRisk()).thenReturn(true);
+        ImportBackpressureListener listener = new ImportBackpressureListener(limiter, Duration.ofMillis(50));
+
+        long start = System.nanoTime();
+        listener.beforeChunk(null);
+
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    void beforeChunk_doesNotPauseWhenApiIsHealthy() {
+        when(limiter.sloAtRisk()).thenReturn(false);
+        ImportBackpressureListener listener = new ImportBackpressureListener(limiter, Duration.ofSeconds(10));
+
+        long start = System.nanoTime();
+        listener.beforeChunk(null);
+
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+    }
+}
@@ -0,0 +1,57 @@
+package com.maybank.maybank_assessment.batch.listener;
+
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.Chunk;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportChunkWriteEventListenerTests {
+
+    @TempDir
+    Path dir;
+
+    private final ImportChunkWriteEventListener listener = new ImportChunkWriteEventListener();
+
+    @Test
+    void testWrite_recordsRowsAndFailurePerCall() throws Exception {
+        Chunk<Transaction> chunk = new Chunk<>(List.of(new Transaction(), new Transaction()));
+        Path file = dir.resolve("write.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("maybank.ImportChunkWrite").withThreshold(Duration.ZERO);
+            recording.start();
+            listener.beforeWrite(chunk);
+            listener.afterWrite(chunk);
+            listener.beforeWrite(chunk);
+            listener.onWriteError(new IllegalStateException("boom"), chunk);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("maybank.ImportChunkWrite"))
+                .toList();
+        assertEquals(2, events.size());
+        assertEquals(2, events.get(0).getInt("rows"));
+        assertFalse(events.get(0).getBoolean("failed"));
+        assertTrue(events.get(1).getBoolean("failed"));
+    }
+
+    @Test
+    void testWrite_withoutRecording_keepsNoState() {
+        Chunk<Transaction> chunk = new Chunk<>(List.of(new Transaction()));
+
+        listener.beforeWrite(chunk);
+        listener.afterWrite(chunk);
+        // Nothing was opened, so an error callback on its own is a no-op
+        assertDoesNotThrow(() -> listener.onWriteError(new IllegalStateException("boom"), chunk));
+    }
+}
@@ -0,0 +1,113 @@
+package com.maybank.maybank_assessment.batch.listener;
+
+import com.maybank.maybank_assessment.batch.fingerprint.ImportFingerprints;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ImportFingerprintListenerTests {
+
+    @TempDir
+    Path dir;
+
+    private JobExplorer jobExplorer;
+    private JobRepository jobRepository;
+    private ImportFingerprintListener listener;
+    private Path file;
+    private JobParameters params;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jobExplorer = mock(JobExplorer.class);
+        jobRepository = mock(JobRepository.class);
+        listener = new ImportFingerprintListener(jobExplorer, jobRepository);
+        file = Files.write(dir.resolve("data.txt"), List.of("HEADER", "row1", "row2"));
+        params = new JobParametersBuilder().addString("input.file", file.toString()).toJobParameters();
+    }
+
+    @Test
+    void testBeforeJob_firstRunSkipsHeaderOnly() {
+        JobExecution current = execution(2L, params);
+        when(jobExplorer.getJobInstances(anyString(), anyInt(), anyInt())).thenReturn(List.of());
+
+        listener.beforeJob(current);
+
+        assertEquals(1L, current.getExecutionContext().getLong(ImportFingerprintListener.SKIP_LINES_KEY));
+        assertEquals(false, current.getExecutionContext().get(ImportFingerprintListener.APPEND_ONLY_KEY));
+        assertEquals(false, current.getExecutionContext().get(ImportFingerprintListener.UP_TO_DATE_KEY));
+        assertNotNull(current.getExecutionContext().get(ImportFingerprintListener.FINGERPRINT_KEY));
+        verify(jobRepository).updateExecutionContext(current);
+    }
+
+    @Test
+    void testBeforeJob_appendedFileResumesAfterCompletedRun() throws Exception {
+        JobExecution previous = execution(1L, params);
+        previous.setStatus(BatchStatus.COMPLETED);
+        previous.getExecutionContext().put(ImportFingerprintListener.FINGERPRINT_KEY,
+                ImportFingerprints.scan(file, 1000, null).fingerprint());
+        when(jobExplorer.getJobInstances(anyString(), anyInt(), anyInt())).thenReturn(List.of(previous.getJobInstance()));
+        when(jobExplorer.getJobExecutions(previous.getJobInstance())).thenReturn(List.of(previous));
+
+        Files.write(file, List.of("HEADER", "row1", "row2", "row3"));
+        JobExecution current = execution(2L, params);
+        listener.beforeJob(current);
+
+        assertEquals(3L, current.getExecutionContext().getLong(ImportFingerprintListener.SKIP_LINES_KEY));
+        assertEquals(true, current.getExecutionContext().get(ImportFingerprintListener.APPEND_ONLY_KEY));
+        assertEquals(false, current.getExecutionContext().get(ImportFingerprintListener.UP_TO_DATE_KEY));
+    }
+
+    @Test
+    void testBeforeJob_ignoresFailedRuns() {
+        JobExecution previous = execution(1L, params);
+        previous.setStatus(BatchStatus.FAILED);
+        previous.getExecutionContext().put(ImportFingerprintListener.FINGERPRINT_KEY,
+                ImportFingerprints.scan(file, 1000, null).fingerprint());
+        when(jobExplorer.getJobInstances(anyString(), anyInt(), anyInt())).thenReturn(List.of(previous.getJobInstance()));
+        when(jobExplorer.getJobExecutions(previous.getJobInstance())).thenReturn(List.of(previous));
+
+        JobExecution current = execution(2L, params);
+        listener.beforeJob(current);
+
+        assertEquals(1L, current.getExecutionContext().getLong(ImportFingerprintListener.SKIP_LINES_KEY));
+        assertEquals(false, current.getExecutionContext().get(ImportFingerprintListener.UP_TO_DATE_KEY));
+    }
+
+    @Test
+    void testBeforeJob_restartKeepsExistenceChecks() throws Exception {
+        JobExecution previous = execution(1L, params);
+        previous.setStatus(BatchStatus.COMPLETED);
+        previous.getExecutionContext().put(ImportFingerprintListener.FINGERPRINT_KEY,
+                ImportFingerprints.scan(file, 1000, null).fingerprint());
+        when(jobExplorer.getJobInstances(anyString(), anyInt(), anyInt())).thenReturn(List.of(previous.getJobInstance()));
+        when(jobExplorer.getJobExecutions(previous.getJobInstance())).thenReturn(List.of(previous));
+
+        Files.write(file, List.of("HEADER", "row1", "row2", "row3"));
+        // A stopped execution of a later instance, restarted: its context comes along
+        JobExecution restarted = execution(2L, params);
+        restarted.getExecutionContext().put(ImportFingerprintListener.FINGERPRINT_KEY,
+                ImportFingerprints.scan(file, 1000, null).fingerprint());
+        listener.beforeJob(restarted);
+
+        assertEquals(3L, restarted.getExecutionContext().getLong(ImportFingerprintListener.SKIP_LINES_KEY));
+        assertEquals(false, restarted.getExecutionContext().get(ImportFingerprintListener.APPEND_ONLY_KEY));
+    }
+
+    private static JobExecution execution(long id, JobParameters params) {
+        return new JobExecution(new JobInstance(id, "importTransactionsJob"), id, params);
+    }
+}
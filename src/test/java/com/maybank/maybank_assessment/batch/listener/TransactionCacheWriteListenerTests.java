@@ -0,0 +1,25 @@
+package com.maybank.maybank_assessment.batch.listener;
+
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.service.cache.TransactionNearCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+
+import static org.mockito.Mockito.*;
+
+class TransactionCacheWriteListenerTests {
+
+    private final TransactionNearCache nearCache = mock(TransactionNearCache.class);
+    private final TransactionCacheWriteListener listener = new TransactionCacheWriteListener(nearCache);
+
+    @Test
+    void afterWrite_evictsExistingRowsOnly() {
+        Transaction existing = Transaction.builder().id(7L).version(2).build();
+        Transaction fresh = new Transaction();
+
+        listener.afterWrite(new Chunk<>(existing, fresh));
+
+        verify(nearCache).evict(7L, 2);
+        verifyNoMoreInteractions(nearCache);
+    }
+}
@@ -0,0 +1,87 @@
+package com.maybank.maybank_assessment.batch.lock;
+
+import com.maybank.maybank_assessment.repository.ImportLockRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportLockServiceTests {
+
+    @Mock
+    private ImportLockRepository importLockRepository;
+
+    @InjectMocks
+    private ImportLockService importLockService;
+
+    @Test
+    void tryLock_expiredLease_isTakenWithANewToken() {
+        when(importLockRepository.tryAcquire(eq("import:a"), any(), any(), any())).thenReturn(1);
+
+        ImportLockService.Lease first = importLockService.tryLock("import:a", Duration.ofMinutes(10)).orElseThrow();
+        ImportLockService.Lease second = importLockService.tryLock("import:a", Duration.ofMinutes(10)).orElseThrow();
+
+        ArgumentCaptor<String> owners = ArgumentCaptor.forClass(String.class);
+        verify(importLockRepository, times(2)).tryAcquire(eq("import:a"), owners.capture(), any(), any());
+        assertEquals(List.of(first.token(), second.token()), owners.getAllValues());
+        assertTrue(first.token().startsWith(ImportLockService.OWNER + "/"));
+        assertNotEquals(first.token(), second.token());
+        verify(importLockRepository, never()).insert(any(), any(), any());
+    }
+
+    @Test
+    void tryLock_held_fails() {
+        when(importLockRepository.tryAcquire(any(), any(), any(), any())).thenReturn(0);
+        when(importLockRepository.existsById("import:a")).thenReturn(true);
+
+        assertEquals(Optional.empty(), importLockService.tryLock("import:a", Duration.ofMinutes(10)));
+        verify(importLockRepository, never()).insert(any(), any(), any());
+    }
+
+    @Test
+    void tryLock_firstUse_insertsRow() {
+        when(importLockRepository.tryAcquire(any(), any(), any(), any())).thenReturn(0);
+        when(importLockRepository.existsById("import:a")).thenReturn(false);
+
+        ImportLockService.Lease lease = importLockService.tryLock("import:a", Duration.ofMinutes(10)).orElseThrow();
+        verify(importLockRepository).insert(eq("import:a"), eq(lease.token()), any());
+    }
+
+    @Test
+    void tryLock_lostInsertRace_fails() {
+        when(importLockRepository.tryAcquire(any(), any(), any(), any())).thenReturn(0);
+        when(importLockRepository.existsById("import:a")).thenReturn(false);
+        when(importLockRepository.insert(any(), any(), any())).thenThrow(new DataIntegrityViolationException("dup"));
+
+        assertEquals(Optional.empty(), importLockService.tryLock("import:a", Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void renew_failsOnceTheLockPassedToAnotherToken() {
+        ImportLockService.Lease lease = new ImportLockService.Lease("import:a", "token");
+        when(importLockRepository.renew(eq("import:a"), eq("token"), any())).thenReturn(1, 0);
+
+        assertTrue(importLockService.renew(lease, Duration.ofMinutes(10)));
+        assertFalse(importLockService.renew(lease, Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void unlock_releasesOnlyItsOwnLease() {
+        importLockService.unlock(new ImportLockService.Lease("import:a", "token"));
+
+        verify(importLockRepository).release(eq("import:a"), eq("token"), any());
+    }
+}
@@ -0,0 +1,112 @@
+package com.maybank.maybank_assessment.batch.metadata;
+
+import com.maybank.maybank_assessment.batch.lock.ImportLockService;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class JobMetadataPrunerTests {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final JobExplorer jobExplorer = mock(JobExplorer.class);
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final ImportLockService lock = mock(ImportLockService.class);
+    private final ImportLockService.Lease lease = new ImportLockService.Lease(JobMetadataPruner.LOCK_NAME, "token");
+
+    private final JobMetadataPruner pruner = new JobMetadataPruner(jobExplorer, jobRepository, lock);
+
+    @Test
+    void testPrune_deletesExpiredInstancesBeyondKeepLast() {
+        ReflectionTestUtils.setField(pruner, "keepLast", 1);
+        JobInstance old = instance(2L, execution(CUTOFF.minusDays(1), null));
+        JobInstance recent = instance(1L, execution(CUTOFF.plusDays(1), null));
+        when(jobExplorer.getJobInstances("importTransactionJob", 1, 100)).thenReturn(List.of(recent, old));
+        when(jobExplorer.getJobInstances("importTransactionJob", 2, 100)).thenReturn(List.of());
+
+        assertEquals(1, pruner.prune("importTransactionJob", CUTOFF));
+
+        verify(jobRepository).deleteJobInstance(old);
+        verify(jobRepository, never()).deleteJobInstance(recent);
+    }
+
+    @Test
+    void testPrune_keepsInstanceWhileAnyExecutionIsRecent() {
+        // A stale STARTED execution counts by its last update; the restart that followed is recent
+        JobExecution crashed = execution(null, CUTOFF.minusDays(3));
+        JobExecution restarted = execution(null, CUTOFF.plusMinutes(5));
+        JobInstance instance = instance(1L, crashed, restarted);
+        when(jobExplorer.getJobInstances("importTransactionJob", 20, 100)).thenReturn(List.of(instance));
+
+        assertEquals(0, pruner.prune("importTransactionJob", CUTOFF));
+
+        verify(jobRepository, never()).deleteJobInstance(any());
+    }
+
+    @Test
+    void testPrune_pagesPastKeptInstancesOnly() {
+        ReflectionTestUtils.setField(pruner, "keepLast", 0);
+        // First page: 99 expired, 1 recent. Deleting the expired ones shifts the rest forward by 99
+        List<JobInstance> firstPage = LongStream.range(0, 100)
+                .mapToObj(id -> instance(id, execution(id == 0 ? CUTOFF.plusDays(1) : CUTOFF.minusDays(1), null)))
+                .toList();
+        JobInstance last = instance(100L, execution(CUTOFF.minusDays(1), null));
+        when(jobExplorer.getJobInstances("importTransactionJob", 0, 100)).thenReturn(firstPage);
+        when(jobExplorer.getJobInstances("importTransactionJob", 1, 100)).thenReturn(List.of(last));
+
+        assertEquals(100, pruner.prune("importTransactionJob", CUTOFF));
+
+        verify(jobRepository).deleteJobInstance(last);
+        verify(jobRepository, never()).deleteJobInstance(firstPage.get(0));
+    }
+
+    @Test
+    void testPrune_lockHeldElsewhere_skips() {
+        when(lock.tryLock(eq(JobMetadataPruner.LOCK_NAME), any())).thenReturn(Optional.empty());
+
+        assertEquals(0, pruner.prune());
+
+        verifyNoInteractions(jobExplorer, jobRepository);
+        verify(lock, never()).unlock(any());
+    }
+
+    @Test
+    void testPrune_walksEveryJobAndReleasesLock() {
+        when(lock.tryLock(eq(JobMetadataPruner.LOCK_NAME), any())).thenReturn(Optional.of(lease));
+        when(jobExplorer.getJobNames()).thenReturn(List.of("importTransactionJob", "archiveTransactionsJob"));
+        when(jobExplorer.getJobInstances(anyString(), anyInt(), anyInt())).thenReturn(List.of());
+
+        pruner.prune();
+
+        verify(jobExplorer).getJobInstances("importTransactionJob", 20, 100);
+        verify(jobExplorer).getJobInstances("archiveTransactionsJob", 20, 100);
+        verify(lock).unlock(lease);
+    }
+
+    private JobInstance instance(long id, JobExecution... executions) {
+        JobInstance instance = new JobInstance(id, "importTransactionJob");
+        when(jobExplorer.getJobExecutions(instance)).thenReturn(List.of(executions));
+        return instance;
+    }
+
+    private static JobExecution execution(LocalDateTime endTime, LocalDateTime lastUpdated) {
+        JobExecution execution = new JobExecution(1L);
+        execution.setStatus(endTime != null ? BatchStatus.COMPLETED : BatchStatus.STARTED);
+        execution.setEndTime(endTime);
+        execution.setLastUpdated(lastUpdated);
+        return execution;
+    }
+}
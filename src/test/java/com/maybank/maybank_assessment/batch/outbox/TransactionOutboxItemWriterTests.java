@@ -0,0 +1,162 @@
+package com.maybank.maybank_assessment.batch.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.repository.TransactionChangeRepository;
+import com.maybank.maybank_assessment.service.outbox.TransactionOutbox;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TransactionOutboxItemWriterTests {
+
+    private final TransactionOutbox outbox = mock(TransactionOutbox.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final TransactionOutboxItemWriter writer = new TransactionOutboxItemWriter(outbox);
+
+    // "<statement kind> <first words of SQL>" -> number of calls, recorded by the counting DataSource below
+    private final Map<String, Integer> executions = new ConcurrentHashMap<>();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDoWrite_recordsManagedCopiesAfterFlush() {
+        Transaction item = Transaction.builder().accountNumber(1L).trxnAmount(100L).description("d")
+                .trxnTimestamp(LocalDateTime.of(2019, 9, 11, 11, 11, 11)).customerId(2L).build();
+        Transaction managed = Transaction.builder().id(99L).version(0).accountNumber(1L).trxnAmount(100L).description("d")
+                .trxnTimestamp(item.getTrxnTimestamp()).customerId(2L).build();
+        when(entityManager.merge(item)).thenReturn(managed);
+
+        writer.doWrite(entityManager, Chunk.of(item));
+
+        ArgumentCaptor<List<TransactionDto>> recorded = ArgumentCaptor.forClass(List.class);
+        var inOrder = inOrder(entityManager, outbox);
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(outbox).recordAll(eq(TransactionChange.Type.IMPORTED), recorded.capture());
+        assertEquals(99L, recorded.getValue().get(0).getId());
+        assertEquals(0, recorded.getValue().get(0).getVersion());
+    }
+
+    @Test
+    void testDoWrite_managedItemNotMergedAgain() {
+        Transaction item = Transaction.builder().id(5L).version(3).build();
+        when(entityManager.contains(item)).thenReturn(true);
+
+        writer.doWrite(entityManager, Chunk.of(item));
+
+        verify(entityManager, never()).merge(any());
+        verify(outbox).recordAll(eq(TransactionChange.Type.IMPORTED), any());
+    }
+
+    @Test
+    void testWrite_embeddedDb_chunkAndOutboxGoOutAsBatches() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:outbox-writer;DB_CLOSE_DELAY=-1");
+        DataSource dataSource = counting(DataSource.class, h2, null);
+        EntityManagerFactory emf = entityManagerFactory(dataSource);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(emf);
+        transactionManager.setDataSource(dataSource);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        TransactionOutbox realOutbox = new TransactionOutbox(mock(TransactionChangeRepository.class), objectMapper,
+                mock(ApplicationEventPublisher.class), new JdbcTemplate(dataSource), Duration.ofSeconds(5), Duration.ofDays(7));
+        TransactionOutboxItemWriter jpaWriter = new TransactionOutboxItemWriter(realOutbox);
+        jpaWriter.setEntityManagerFactory(emf);
+        Chunk<Transaction> chunk = new Chunk<>(IntStream.range(0, 120).mapToObj(i -> Transaction.builder()
+                .accountNumber(8872838283L).trxnAmount(100L + i).description("row " + i)
+                .trxnTimestamp(LocalDateTime.of(2019, 9, 11, 11, 11, 11)).customerId(222L).build()).toList());
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try {
+                    jpaWriter.write(chunk);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            // batch_size 50: 120 rows are three batches, the outbox entries one more; nothing goes row by row
+            assertEquals(3, executions.getOrDefault("executeBatch insert into transactions", 0));
+            assertEquals(1, executions.getOrDefault("executeBatch insert into transaction_outbox", 0));
+            assertEquals(0, executions.keySet().stream().filter(key -> key.startsWith("executeUpdate insert")).count());
+            JdbcTemplate jdbc = new JdbcTemplate(h2);
+            assertEquals(120, jdbc.queryForObject("SELECT COUNT(*) FROM transaction_outbox o JOIN transactions t"
+                    + " ON t.id = o.transaction_id AND t.version = o.version", Integer.class));
+        } finally {
+            emf.close();
+        }
+    }
+
+    private static EntityManagerFactory entityManagerFactory(DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.maybank.maybank_assessment.model.entity");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.jdbc.batch_size", "50",
+                "hibernate.order_inserts", "true",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    // Wraps the DataSource, its connections and their prepared statements, counting executions per SQL
+    @SuppressWarnings("unchecked")
+    private <T> T counting(Class<T> type, T target, String sql) {
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            switch (method.getName()) {
+                case "getConnection" -> {
+                    return counting(Connection.class, (Connection) result, null);
+                }
+                case "prepareStatement" -> {
+                    String prepared = ((String) args[0]).toLowerCase().replaceAll("\\s+", " ");
+                    return counting(PreparedStatement.class, (PreparedStatement) result, prepared);
+                }
+                case "executeBatch", "executeUpdate" -> {
+                    String words = String.join(" ", List.of(sql.split(" ")).subList(0, Math.min(3, sql.split(" ").length)));
+                    executions.merge(method.getName() + " " + words, 1, Integer::sum);
+                }
+                default -> {
+                }
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package com.maybank.maybank_assessment.batch.partition;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LineRangePartitionerTests {
+
+    @Test
+    void partition_coversEveryDataLineExactlyOnce() {
+        // 1 header + 10 data lines over 4 partitions -> 3, 3, 3, 1
+        Map<String, ExecutionContext> partitions = new LineRangePartitioner(11, 1).partition(4);
+
+        assertEquals(4, partitions.size());
+        long expectedStart = 1;
+        long covered = 0;
+        for (ExecutionContext ctx : partitions.values()) {
+            assertEquals(expectedStart, ctx.getLong(LineRangePartitioner.START_LINE_KEY));
+            int count = ctx.getInt(LineRangePartitioner.ITEM_COUNT_KEY);
+            expectedStart += count;
+            covered += count;
+        }
+        assertEquals(10, covered);
+    }
+
+    @Test
+    void partition_startsAfterAlreadyImportedPrefix() {
+        Map<String, ExecutionContext> partitions = new LineRangePartitioner(100, 91).partition(4);
+
+        ExecutionContext first = partitions.get("partition0");
+        assertEquals(91, first.getLong(LineRangePartitioner.START_LINE_KEY));
+        assertEquals(3, first.getInt(LineRangePartitioner.ITEM_COUNT_KEY));
+        assertEquals(3, partitions.size()); // 9 lines: 3, 3, 3
+    }
+
+    @Test
+    void partition_fewerLinesThanGrid_usesOnePartitionPerLine() {
+        Map<String, ExecutionContext> partitions = new LineRangePartitioner(3, 1).partition(8);
+
+        assertEquals(2, partitions.size());
+        partitions.values().forEach(ctx -> assertEquals(1, ctx.getInt(LineRangePartitioner.ITEM_COUNT_KEY)));
+    }
+
+    @Test
+    void partition_nothingToRead_returnsSingleEmptyPartition() {
+        Map<String, ExecutionContext> partitions = new LineRangePartitioner(5, 5).partition(4);
+
+        assertEquals(1, partitions.size());
+        assertEquals(0, partitions.get("partition0").getInt(LineRangePartitioner.ITEM_COUNT_KEY));
+    }
+}
@@ -0,0 +1,126 @@
+package com.maybank.maybank_assessment.batch.shard;
+
+import com.maybank.maybank_assessment.config.sharding.EmbeddedShards;
+import com.maybank.maybank_assessment.config.sharding.ShardRouter;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.repository.ShardedTransactionRepository;
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
+import com.maybank.maybank_assessment.service.outbox.TransactionOutbox;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ShardRoutingItemWriterTests {
+
+    @SuppressWarnings("unchecked")
+    private final ItemWriter<Transaction> primaryWriter = mock(ItemWriter.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private final ShardedTransactionRepository shardedRepository = mock(ShardedTransactionRepository.class);
+    private final TransactionOutbox outbox = mock(TransactionOutbox.class);
+    private final ShardRoutingItemWriter writer =
+            new ShardRoutingItemWriter(primaryWriter, shardRouter, shardedRepository, outbox);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWrite_splitsChunkByShard() throws Exception {
+        Transaction local = txn(2L);
+        Transaction remoteA = txn(3L);
+        Transaction remoteB = txn(5L);
+        when(shardRouter.shardOf(2L)).thenReturn(0);
+        when(shardRouter.shardOf(3L)).thenReturn(1);
+        when(shardRouter.shardOf(5L)).thenReturn(1);
+        when(shardRouter.inTransaction(eq(1), any())).thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+        when(shardedRepository.insertAll(1, List.of(remoteA, remoteB))).thenReturn(List.of(1_000L, 1_001L));
+
+        writer.write(Chunk.of(local, remoteA, remoteB));
+
+        ArgumentCaptor<Chunk<Transaction>> primary = ArgumentCaptor.forClass(Chunk.class);
+        verify(primaryWriter).write(primary.capture());
+        assertEquals(List.of(local), primary.getValue().getItems());
+
+        ArgumentCaptor<List<TransactionDto>> recorded = ArgumentCaptor.forClass(List.class);
+        verify(outbox).recordAll(eq(TransactionChange.Type.IMPORTED), recorded.capture());
+        assertEquals(List.of(1_000L, 1_001L), recorded.getValue().stream().map(TransactionDto::getId).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWrite_rowAlreadyOnShard_onlyRecordsItsOutboxEntry() throws Exception {
+        Transaction leftOver = txn(3L);
+        leftOver.setId(900L);
+        Transaction fresh = txn(5L);
+        when(shardRouter.shardOf(anyLong())).thenReturn(1);
+        when(shardRouter.inTransaction(eq(1), any())).thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+        when(shardedRepository.insertAll(1, List.of(fresh))).thenReturn(List.of(1_000L));
+
+        writer.write(Chunk.of(leftOver, fresh));
+
+        verify(shardedRepository).insertAll(1, List.of(fresh));
+        ArgumentCaptor<List<TransactionDto>> recorded = ArgumentCaptor.forClass(List.class);
+        verify(outbox).recordAll(eq(TransactionChange.Type.IMPORTED), recorded.capture());
+        assertEquals(List.of(900L, 1_000L), recorded.getValue().stream().map(TransactionDto::getId).toList());
+    }
+
+    @Test
+    void testWrite_onlyLeftOverRows_insertNothing() throws Exception {
+        Transaction leftOver = txn(3L);
+        leftOver.setId(900L);
+        when(shardRouter.shardOf(anyLong())).thenReturn(1);
+
+        writer.write(Chunk.of(leftOver));
+
+        verify(shardRouter, never()).inTransaction(anyInt(), any());
+        verify(outbox).recordAll(eq(TransactionChange.Type.IMPORTED), argThat(written -> written.size() == 1));
+    }
+
+    @Test
+    void testWrite_noLocalRows_skipsPrimaryWriter() throws Exception {
+        when(shardRouter.shardOf(anyLong())).thenReturn(1);
+        when(shardRouter.inTransaction(eq(1), any())).thenReturn(List.of(7L));
+
+        writer.write(Chunk.of(txn(3L)));
+
+        verifyNoInteractions(primaryWriter);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWrite_embeddedShards_retryAfterRollbackRecordsWithoutInsertingAgain() throws Exception {
+        try (EmbeddedShards shards = new EmbeddedShards(2)) {
+            ShardedTransactionRepository repository = new ShardedTransactionRepository(shards.router());
+            ShardRoutingItemWriter realWriter = new ShardRoutingItemWriter(primaryWriter, shards.router(), repository, outbox);
+            Transaction item = txn(3L);
+            item.setTrxnTimestamp(LocalDateTime.of(2019, 9, 12, 11, 11, 11));
+            // First attempt: the shard commits, then the outbox write (and with it the chunk) fails
+            doThrow(new IllegalStateException("chunk rolled back")).doNothing().when(outbox).recordAll(any(), any());
+            assertThrows(IllegalStateException.class, () -> realWriter.write(Chunk.of(item)));
+            long id = repository.findId(1, item).orElseThrow();
+
+            // Retry: the processor found the row without an outbox entry and passed it on with its id
+            item.setId(id);
+            realWriter.write(Chunk.of(item));
+
+            assertEquals(1, repository.count(1, TransactionSqlFilters.of(null, null, null)));
+            ArgumentCaptor<List<TransactionDto>> recorded = ArgumentCaptor.forClass(List.class);
+            verify(outbox, times(2)).recordAll(eq(TransactionChange.Type.IMPORTED), recorded.capture());
+            assertEquals(List.of(id), recorded.getValue().stream().map(TransactionDto::getId).toList());
+            verifyNoInteractions(primaryWriter);
+        }
+    }
+
+    private static Transaction txn(long customerId) {
+        return Transaction.builder().accountNumber(1L).trxnAmount(100L).description("d").customerId(customerId).build();
+    }
+}
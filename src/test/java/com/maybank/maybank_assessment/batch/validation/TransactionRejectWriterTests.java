@@ -0,0 +1,78 @@
+package com.maybank.maybank_assessment.batch.validation;
+
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionRejectWriterTests {
+
+    @TempDir
+    Path dir;
+
+    private TransactionRejectWriter writer;
+    private ChunkContext chunk;
+
+    @BeforeEach
+    void setUp() {
+        writer = new TransactionRejectWriter(dir);
+        JobExecution job = new JobExecution(1L, new JobParametersBuilder()
+                .addString("input.file", "data/in.txt").toJobParameters());
+        chunk = new ChunkContext(new StepContext(new StepExecution("importStep", job)));
+    }
+
+    private static Transaction negative() {
+        return Transaction.builder()
+                .accountNumber(8872838283L)
+                .trxnAmount(-12350L)
+                .description("FUND TRANSFER")
+                .trxnTimestamp(LocalDateTime.of(2019, 9, 12, 11, 11, 11))
+                .customerId(222L)
+                .build();
+    }
+
+    @Test
+    void afterChunk_writesRejectsInInputLayoutWithReason() throws Exception {
+        writer.beforeChunk(chunk);
+        writer.reject(negative(), TransactionValidator.NEGATIVE_AMOUNT);
+        writer.afterChunk(chunk);
+
+        List<String> lines = Files.readAllLines(dir.resolve("in.txt.rejects"));
+        assertEquals(List.of("8872838283|-123.50|FUND TRANSFER|2019-09-12|11:11:11|222|NEGATIVE_AMOUNT"), lines);
+    }
+
+    @Test
+    void afterChunk_countsRejectsInStepContext() {
+        for (int chunks = 0; chunks < 2; chunks++) {
+            writer.beforeChunk(chunk);
+            writer.reject(negative(), TransactionValidator.NEGATIVE_AMOUNT);
+            writer.reject(negative(), TransactionValidator.NEGATIVE_AMOUNT);
+            writer.afterChunk(chunk);
+        }
+
+        assertEquals(4L, chunk.getStepContext().getStepExecution().getExecutionContext()
+                .getLong(TransactionRejectWriter.REJECTED_KEY));
+    }
+
+    @Test
+    void afterChunkError_dropsBufferedRejects() {
+        writer.beforeChunk(chunk);
+        writer.reject(negative(), TransactionValidator.NEGATIVE_AMOUNT);
+        writer.afterChunkError(chunk);
+        writer.afterChunk(chunk);
+
+        assertFalse(Files.exists(dir.resolve("in.txt.rejects")));
+    }
+}
@@ -0,0 +1,39 @@
+package com.maybank.maybank_assessment.batch.validation;
+
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionValidatorTests {
+
+    private final TransactionValidator validator = new TransactionValidator();
+
+    private static Transaction.TransactionBuilder valid() {
+        return Transaction.builder()
+                .accountNumber(1L)
+                .trxnAmount(100L)
+                .description("desc")
+                .trxnTimestamp(LocalDateTime.of(2019, 9, 12, 11, 11, 11))
+                .customerId(2L);
+    }
+
+    @Test
+    void validRow_hasNoRejectReason() {
+        assertNull(validator.rejectReason(valid().build()));
+        assertNull(validator.rejectReason(valid().trxnAmount(0L).build()));
+    }
+
+    @Test
+    void negativeAmount_isRejected() {
+        assertEquals(TransactionValidator.NEGATIVE_AMOUNT, validator.rejectReason(valid().trxnAmount(-1L).build()));
+    }
+
+    @Test
+    void missingRequiredField_isRejected() {
+        assertEquals(TransactionValidator.MISSING_FIELD, validator.rejectReason(valid().accountNumber(null).build()));
+        assertEquals(TransactionValidator.MISSING_FIELD, validator.rejectReason(valid().trxnTimestamp(null).build()));
+    }
+}
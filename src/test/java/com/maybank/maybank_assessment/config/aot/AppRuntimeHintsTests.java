@@ -0,0 +1,45 @@
+package com.maybank.maybank_assessment.config.aot;
+
+import com.maybank.maybank_assessment.batch.fingerprint.FileFingerprint;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.money.MoneyAttributeConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AppRuntimeHintsTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new AppRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registersDtoBindings() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(TransactionDto.class.getMethod("getTrxnAmount")).test(hints));
+    }
+
+    @Test
+    void registersEntitiesAndConverter() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Transaction.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(MoneyAttributeConverter.class).test(hints));
+    }
+
+    @Test
+    void registersPageMixinThatExists() throws Exception {
+        Class.forName(AppRuntimeHints.COMPACT_PAGE_MIXIN);
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(AppRuntimeHints.COMPACT_PAGE_MIXIN)).test(hints));
+    }
+
+    @Test
+    void registersFingerprintSerialization() {
+        assertTrue(RuntimeHintsPredicates.serialization().onType(FileFingerprint.class).test(hints));
+    }
+}
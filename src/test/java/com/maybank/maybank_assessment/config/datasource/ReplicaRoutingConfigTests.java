@@ -0,0 +1,38 @@
+package com.maybank.maybank_assessment.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingConfigTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(ReplicaRoutingConfig.class)
+            .withBean(ReadYourWritesTracker.class, () -> new ReadYourWritesTracker(Duration.ofSeconds(2)))
+            .withPropertyValues(
+                    "app.datasource.routing.enabled=true",
+                    "spring.datasource.url=jdbc:h2:mem:routing",
+                    "spring.datasource.hikari.maximum-pool-size=7",
+                    "spring.datasource.hikari.pool-name=primary-pool");
+
+    @Test
+    void testPrimaryPool_keepsBootHikariSettings() {
+        contextRunner.run(context -> {
+            HikariDataSource primary = context.getBean("primaryDataSource", HikariDataSource.class);
+            assertEquals(7, primary.getMaximumPoolSize());
+            assertEquals("primary-pool", primary.getPoolName());
+            assertEquals("jdbc:h2:mem:routing", primary.getJdbcUrl());
+            // Injection by type still gets the routing proxy
+            assertInstanceOf(LazyConnectionDataSourceProxy.class, context.getBean(DataSource.class));
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package com.maybank.maybank_assessment.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTests {
+
+    private DataSource primary;
+    private DataSource replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ReadYourWritesTracker readYourWrites;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.isValid(anyInt())).thenReturn(true);
+        readYourWrites = new ReadYourWritesTracker(Duration.ofSeconds(30));
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), readYourWrites,
+                Duration.ofSeconds(5), Duration.ofMinutes(1), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testReadWriteTransactionUsesPrimary() throws Exception {
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReplica() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void testReadYourWritesPinsReadsToPrimary() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        readYourWrites.recordWrite();
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void testReplicaFailureFallsBackToPrimary() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(replicaConnection, routing.getConnection()); // first call runs the health check
+        when(replica.getConnection()).thenThrow(new SQLException("down"));
+
+        assertSame(primaryConnection, routing.getConnection());
+        // Marked down until the next health check, so the replica is not tried again
+        assertSame(primaryConnection, routing.getConnection());
+        verify(replica, times(3)).getConnection();
+    }
+
+    @Test
+    void testUnhealthyReplicaIsSkipped() throws Exception {
+        when(replicaConnection.isValid(anyInt())).thenReturn(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void testReadYourWritesDisabledWithZeroWindow() {
+        ReadYourWritesTracker disabled = new ReadYourWritesTracker(Duration.ZERO);
+        disabled.recordWrite();
+        assertFalse(disabled.pinnedToPrimary());
+    }
+
+    @Test
+    void testWrittenSinceTracksWritesEvenWithZeroWindow() {
+        ReadYourWritesTracker disabled = new ReadYourWritesTracker(Duration.ZERO);
+        long before = System.nanoTime();
+        assertFalse(disabled.writtenSince(before));
+        disabled.recordWrite();
+        assertTrue(disabled.writtenSince(before));
+    }
+}
@@ -0,0 +1,60 @@
+package com.maybank.maybank_assessment.config.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// In-memory H2 databases (MySQL mode) wired up by ShardingConfig, so tests run the real shard DDL and SQL.
+// Shard 0 gets the same transactions table as the others (in the application Hibernate creates it).
+public final class EmbeddedShards implements AutoCloseable {
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final ShardRouter router;
+
+    public EmbeddedShards(int count) {
+        HikariDataSource primary = h2();
+        dataSources.add(primary);
+        ShardingConfig.createTable(new JdbcTemplate(primary));
+        ShardingProperties sharding = new ShardingProperties();
+        sharding.setEnabled(true);
+        for (int shard = 1; shard < count; shard++) {
+            ShardingProperties.Shard properties = new ShardingProperties.Shard();
+            properties.setUrl(url());
+            properties.setUsername("sa");
+            properties.setDriverClassName("org.h2.Driver");
+            sharding.getShards().add(properties);
+        }
+        this.router = new ShardingConfig().shardRouter(primary, new DataSourceProperties(), sharding);
+        for (int shard = 1; shard < count; shard++) {
+            dataSources.add((HikariDataSource) dataSource(shard));
+        }
+    }
+
+    public ShardRouter router() {
+        return router;
+    }
+
+    public DataSource dataSource(int shard) {
+        return router.jdbc(shard).getJdbcTemplate().getDataSource();
+    }
+
+    @Override
+    public void close() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+
+    private static HikariDataSource h2() {
+        return DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url()).username("sa").driverClassName("org.h2.Driver").build();
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:shard-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+    }
+}
@@ -0,0 +1,61 @@
+package com.maybank.maybank_assessment.config.sharding;
+
+import com.maybank.maybank_assessment.model.id.TransactionIds;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ShardRouterTests {
+
+    private final ShardRouter single = new ShardRouter(List.of(mock(DataSource.class)));
+    private final ShardRouter three = new ShardRouter(
+            List.of(mock(DataSource.class), mock(DataSource.class), mock(DataSource.class)));
+
+    @Test
+    void testSingleShard_everythingOnShardZero() {
+        assertFalse(single.isSharded());
+        assertEquals(0, single.shardOf(222L));
+        assertEquals(0, single.shardOfId(TransactionIds.current().next(2)));
+    }
+
+    @Test
+    void testShardOf_stableAndCoversAllShards() {
+        assertTrue(three.isSharded());
+        assertEquals(three.shardOf(222L), three.shardOf(222L));
+        assertEquals(List.of(0, 1, 2), List.of(three.shardOf(3L), three.shardOf(4L), three.shardOf(5L)));
+        assertTrue(three.shardOf(-7L) >= 0);
+    }
+
+    @Test
+    void testShardOfId_readsShardFromId() {
+        assertEquals(0, three.shardOfId(42L));
+        assertEquals(1, three.shardOfId(TransactionIds.current().next(1)));
+        assertEquals(2, three.shardOfId(TransactionIds.current().next(2)));
+        // Names a shard that is not configured
+        assertEquals(0, three.shardOfId(TransactionIds.current().next(7)));
+    }
+
+    @Test
+    void testShardOfId_legacyIdentityIdsStayOnShardZero() {
+        // 262144 = 1 << 18 would decode to shard 1
+        assertEquals(0, three.shardOfId(262_144L));
+        assertEquals(0, three.shardOfId(2L << 18 | 5));
+        assertEquals(0, three.shardOfId(TransactionIds.FIRST_GENERATED_ID - 1));
+    }
+
+    @Test
+    void testInTransaction_refusesShardZero() {
+        assertThrows(IllegalArgumentException.class, () -> three.inTransaction(0, () -> 1));
+    }
+
+    @Test
+    void testRequiresShards() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardRouter(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new ShardRouter(Collections.nCopies(17, mock(DataSource.class))));
+    }
+}
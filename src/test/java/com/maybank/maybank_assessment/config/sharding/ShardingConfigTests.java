@@ -0,0 +1,29 @@
+package com.maybank.maybank_assessment.config.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardingConfigTests {
+
+    @Test
+    void testCreateTableStatements_mySqlIndexesInline() {
+        List<String> statements = ShardingConfig.createTableStatements("MySQL");
+
+        assertEquals(1, statements.size());
+        assertTrue(statements.get(0).contains("DATETIME(6)"));
+        assertTrue(statements.get(0).contains("INDEX idx_transactions_customer_id (customer_id)"));
+    }
+
+    @Test
+    void testCreateTableStatements_postgresUsesTimestampAndSeparateIndex() {
+        List<String> statements = ShardingConfig.createTableStatements("PostgreSQL");
+
+        assertEquals(2, statements.size());
+        assertTrue(statements.get(0).contains("trxn_timestamp TIMESTAMP(6)"));
+        assertFalse(statements.get(0).contains("INDEX"));
+        assertEquals("CREATE INDEX IF NOT EXISTS idx_transactions_customer_id ON transactions (customer_id)", statements.get(1));
+    }
+}
@@ -0,0 +1,98 @@
+package com.maybank.maybank_assessment.config.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BinaryEncodingConfigTests {
+
+    private BinaryEncodingConfig config;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // No Boot context here: fall back to a plain builder like the config does
+        ObjectProvider<Jackson2ObjectMapperBuilder> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenAnswer(inv -> ((Supplier<?>) inv.getArgument(0)).get());
+        config = new BinaryEncodingConfig(provider);
+    }
+
+    @Test
+    void testBinaryConvertersComeAfterJsonAndSharedBodiesFirst() {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new MappingJackson2HttpMessageConverter());
+        converters.add(new MappingJackson2CborHttpMessageConverter());
+
+        config.extendMessageConverters(converters);
+
+        assertEquals(4, converters.size());
+        assertInstanceOf(SharedBodyHttpMessageConverter.class, converters.get(0));
+        assertInstanceOf(MappingJackson2HttpMessageConverter.class, converters.get(1));
+        assertInstanceOf(MappingJackson2CborHttpMessageConverter.class, converters.get(2));
+        assertInstanceOf(MappingJackson2SmileHttpMessageConverter.class, converters.get(3));
+    }
+
+    @Test
+    void testCborPageIsCompactAndOrdered() throws Exception {
+        ObjectMapper cbor = config.binaryMapper(new CBORFactory());
+        TransactionDto dto = TransactionDto.builder()
+                .id(1L)
+                .accountNumber(123456L)
+                .trxnAmount(new BigDecimal("100.00"))
+                .description("Test Desc")
+                .trxnTimestamp(LocalDateTime.of(2019, 9, 12, 11, 11, 11))
+                .customerId(10L)
+                .version(1)
+                .build();
+
+        byte[] bytes = cbor.writeValueAsBytes(new PageImpl<>(List.of(dto), PageRequest.of(0, 20), 1));
+        JsonNode page = cbor.readTree(bytes);
+
+        assertFalse(page.has("pageable"));
+        assertFalse(page.has("sort"));
+        assertEquals(1, page.get("totalElements").asInt());
+        JsonNode row = page.get("content").get(0);
+        assertTrue(row.get("trxnTimestamp").isArray());
+        Iterator<String> fields = row.fieldNames();
+        for (String expected : List.of("id", "accountNumber", "trxnAmount", "description", "trxnTimestamp", "customerId", "version")) {
+            assertEquals(expected, fields.next());
+        }
+        assertTrue(bytes.length < new ObjectMapper().findAndRegisterModules()
+                .writeValueAsBytes(new PageImpl<>(List.of(dto), PageRequest.of(0, 20), 1)).length);
+    }
+
+    @Test
+    void testSmileRoundTrip() throws Exception {
+        ObjectMapper smile = config.binaryMapper(new SmileFactory());
+        TransactionDto dto = TransactionDto.builder().id(7L).trxnAmount(new BigDecimal("1.50"))
+                .trxnTimestamp(LocalDateTime.of(2020, 1, 1, 0, 0)).build();
+
+        TransactionDto read = smile.readValue(smile.writeValueAsBytes(dto), TransactionDto.class);
+
+        assertEquals(dto, read);
+    }
+}
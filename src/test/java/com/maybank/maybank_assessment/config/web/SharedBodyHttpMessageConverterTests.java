@@ -0,0 +1,71 @@
+package com.maybank.maybank_assessment.config.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.maybank.maybank_assessment.service.coalesce.SharedBody;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SharedBodyHttpMessageConverterTests {
+
+    private final MappingJackson2HttpMessageConverter json = spy(new MappingJackson2HttpMessageConverter());
+    private final MappingJackson2CborHttpMessageConverter cbor = spy(new MappingJackson2CborHttpMessageConverter());
+    private final SharedBodyHttpMessageConverter converter = converter(json, cbor);
+
+    @Test
+    void testWrite_encodesOncePerMediaTypeAndReusesTheBytes() throws Exception {
+        SharedBody<Map<String, Object>> body = new SharedBody<>(Map.of("id", 1));
+
+        MockHttpOutputMessage first = write(body, MediaType.APPLICATION_JSON);
+        MockHttpOutputMessage second = write(body, MediaType.APPLICATION_JSON);
+        MockHttpOutputMessage binary = write(body, MediaType.APPLICATION_CBOR);
+
+        verify(json, times(1)).write(any(), eq(MediaType.APPLICATION_JSON), any());
+        verify(cbor, times(1)).write(any(), eq(MediaType.APPLICATION_CBOR), any());
+        assertEquals("{\"id\":1}", first.getBodyAsString());
+        assertArrayEquals(first.getBodyAsBytes(), second.getBodyAsBytes());
+        assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(second.getHeaders().getContentType()));
+        assertEquals(second.getBodyAsBytes().length, second.getHeaders().getContentLength());
+        assertEquals(MediaType.APPLICATION_CBOR, binary.getHeaders().getContentType());
+        assertEquals(1, new ObjectMapper(new CBORFactory()).readTree(binary.getBodyAsBytes()).get("id").asInt());
+    }
+
+    @Test
+    void testNegotiation_followsTheDelegatesInOrder() {
+        assertTrue(converter.canWrite(SharedBody.class, null));
+        assertTrue(converter.canWrite(SharedBody.class, MediaType.APPLICATION_CBOR));
+        assertFalse(converter.canWrite(SharedBody.class, MediaType.TEXT_HTML));
+        assertFalse(converter.canWrite(Map.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(SharedBody.class, MediaType.APPLICATION_JSON));
+        List<MediaType> supported = converter.getSupportedMediaTypes();
+        assertTrue(supported.indexOf(MediaType.APPLICATION_JSON) < supported.indexOf(MediaType.APPLICATION_CBOR));
+    }
+
+    private MockHttpOutputMessage write(SharedBody<?> body, MediaType type) throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(body, type, message);
+        return message;
+    }
+
+    private static SharedBodyHttpMessageConverter converter(HttpMessageConverter<?>... delegates) {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(delegates));
+        SharedBodyHttpMessageConverter converter = new SharedBodyHttpMessageConverter(converters);
+        converters.add(0, converter);
+        return converter;
+    }
+}
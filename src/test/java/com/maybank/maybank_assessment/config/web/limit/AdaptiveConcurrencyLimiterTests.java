@@ -0,0 +1,138 @@
+package com.maybank.maybank_assessment.config.web.limit;
+
+import com.maybank.maybank_assessment.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    private static AdaptiveConcurrencyLimiter limiter(int queueSize, Duration queueTimeout) {
+        return new AdaptiveConcurrencyLimiter(new GradientLimit(4, 4, 4), queueSize, queueTimeout, Duration.ofMillis(50),
+                Duration.ofMinutes(1));
+    }
+
+    @Test
+    void acquire_overLimitWithoutQueue_rejectsWith429Kind() {
+        AdaptiveConcurrencyLimiter limiter = limiter(0, Duration.ofMillis(10));
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+
+        ConcurrencyLimitExceededException ex = assertThrows(ConcurrencyLimitExceededException.class, limiter::acquire);
+        assertFalse(ex.isQueued());
+    }
+
+    @Test
+    void acquire_queuedWithoutFreeSlot_timesOutWith503Kind() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, Duration.ofMillis(20));
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+
+        ConcurrencyLimitExceededException ex = assertThrows(ConcurrencyLimitExceededException.class, limiter::acquire);
+        assertTrue(ex.isQueued());
+    }
+
+    @Test
+    void acquire_queued_getsSlotWhenOneIsReleased() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, Duration.ofSeconds(5));
+        long first = limiter.acquire();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire();
+        }
+
+        CompletableFuture<Long> queued = CompletableFuture.supplyAsync(limiter::acquire);
+        Thread.sleep(50);
+        assertFalse(queued.isDone());
+        limiter.release(first, true);
+
+        assertNotNull(queued.get(2, TimeUnit.SECONDS));
+        assertEquals(4, limiter.getInflight());
+    }
+
+    @Test
+    void sloAtRisk_followsObservedLatency() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(0, Duration.ofMillis(10));
+        assertFalse(limiter.sloAtRisk());
+
+        long start = limiter.acquire();
+        Thread.sleep(80);
+        limiter.release(start, true);
+
+        assertTrue(limiter.sloAtRisk());
+    }
+
+    @Test
+    void sloAtRisk_clearsOnceLatencyIsOutsideWindow() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new GradientLimit(4, 4, 4), 0,
+                Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(200));
+        long start = limiter.acquire();
+        Thread.sleep(80);
+        limiter.release(start, true);
+        assertTrue(limiter.sloAtRisk());
+
+        Thread.sleep(250);
+
+        assertFalse(limiter.sloAtRisk());
+    }
+
+    @Test
+    void release_raisingLimit_wakesEveryWaiter() throws Exception {
+        // Stand-in for a gradient step that lifts the limit from 2 to 5 on the next sample
+        GradientLimit rising = new GradientLimit(2, 2, 5) {
+            private volatile int value = 2;
+
+            @Override
+            public int getLimit() {
+                return value;
+            }
+
+            @Override
+            public void onSample(long rttNanos, int inflight) {
+                value = 5;
+            }
+        };
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(rising, 3, Duration.ofSeconds(5),
+                Duration.ofMillis(50), Duration.ofMinutes(1));
+        long first = limiter.acquire();
+        limiter.acquire();
+        try (ExecutorService threads = Executors.newFixedThreadPool(3)) {
+            List<CompletableFuture<Long>> queued = IntStream.range(0, 3)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(limiter::acquire, threads))
+                    .toList();
+            Thread.sleep(100);
+            assertTrue(queued.stream().noneMatch(CompletableFuture::isDone));
+
+            limiter.release(first, true);
+
+            // One slot was freed and three more opened; a single notify would leave two waiting until the timeout
+            CompletableFuture.allOf(queued.toArray(CompletableFuture[]::new)).get(1, TimeUnit.SECONDS);
+        }
+        assertEquals(4, limiter.getInflight());
+    }
+
+    @Test
+    void bindTo_registersLimitAndRejections() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = limiter(0, Duration.ofMillis(10));
+        limiter.bindTo(registry);
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+        assertThrows(ConcurrencyLimitExceededException.class, limiter::acquire);
+
+        assertEquals(4.0, registry.get("api.concurrency.limit").gauge().value());
+        assertEquals(4.0, registry.get("api.concurrency.inflight").gauge().value());
+        assertEquals(1.0, registry.get("api.concurrency.rejected").tag("reason", "queue-full").counter().count());
+    }
+}
@@ -0,0 +1,67 @@
+package com.maybank.maybank_assessment.config.web.limit;
+
+import com.maybank.maybank_assessment.exception.ConcurrencyLimitExceededException;
+import com.maybank.maybank_assessment.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ConcurrencyLimitInterceptorTests {
+
+    private final AdaptiveConcurrencyLimiter limiter = mock(AdaptiveConcurrencyLimiter.class);
+    private MockMvc mockMvc;
+
+    @RestController
+    static class StubController {
+        @GetMapping("/transactions")
+        String list() {
+            return "ok";
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new StubController())
+                .addInterceptors(new ConcurrencyLimitInterceptor(limiter))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void admittedRequest_releasesSlotAsSuccess() throws Exception {
+        when(limiter.acquire()).thenReturn(42L);
+
+        mockMvc.perform(get("/transactions")).andExpect(status().isOk());
+
+        verify(limiter).release(42L, true);
+    }
+
+    @Test
+    void queueFull_returns429WithRetryAfter() throws Exception {
+        when(limiter.acquire()).thenThrow(new ConcurrencyLimitExceededException(false));
+
+        mockMvc.perform(get("/transactions"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(429));
+        verify(limiter, never()).release(anyLong(), eq(true));
+    }
+
+    @Test
+    void queueTimeout_returns503() throws Exception {
+        when(limiter.acquire()).thenThrow(new ConcurrencyLimitExceededException(true));
+
+        mockMvc.perform(get("/transactions"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("Service Unavailable"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.maybank.maybank_assessment.config.web.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientLimitTests {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void steadyLatencyAtFullUse_growsLimit() {
+        GradientLimit limit = new GradientLimit(20, 4, 200);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MS, limit.getLimit());
+        }
+        assertTrue(limit.getLimit() > 20);
+    }
+
+    @Test
+    void latencySpike_shrinksLimitButNotBelowMin() {
+        GradientLimit limit = new GradientLimit(100, 4, 200);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MS, limit.getLimit());
+        }
+        int before = limit.getLimit();
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(500 * MS, limit.getLimit());
+        }
+        assertTrue(limit.getLimit() < before);
+        assertTrue(limit.getLimit() >= 4);
+    }
+
+    @Test
+    void underUsedLimit_doesNotGrow() {
+        GradientLimit limit = new GradientLimit(20, 4, 200);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MS, 1);
+        }
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void shortRtt_reportedOnlyWhileSamplesAreRecent() {
+        long[] now = {0};
+        GradientLimit limit = new GradientLimit(20, 4, 200, () -> now[0]);
+        assertEquals(0, limit.shortRttNanos(1000 * MS));
+
+        limit.onSample(300 * MS, 1);
+        now[0] = 999 * MS;
+        assertEquals(300 * MS, limit.shortRttNanos(1000 * MS));
+
+        // No traffic since: the last burst's latency no longer counts
+        now[0] = 1001 * MS;
+        assertEquals(0, limit.shortRttNanos(1000 * MS));
+    }
+
+    @Test
+    void initialLimit_isClampedToBounds() {
+        assertEquals(200, new GradientLimit(1000, 4, 200).getLimit());
+        assertEquals(4, new GradientLimit(1, 4, 200).getLimit());
+    }
+}
@@ -0,0 +1,118 @@
+package com.maybank.maybank_assessment.controller;
+
+import com.maybank.maybank_assessment.batch.control.ImportJobControl;
+import com.maybank.maybank_assessment.exception.GlobalExceptionHandler;
+import com.maybank.maybank_assessment.exception.ImportConflictException;
+import com.maybank.maybank_assessment.model.dto.ImportJobRequest;
+import com.maybank.maybank_assessment.model.dto.ImportJobStatusDto;
+import com.maybank.maybank_assessment.model.dto.ImportLaunchDto;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ImportJobControllerTests {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ImportJobControl importJobControl;
+
+    @InjectMocks
+    private ImportJobController importJobController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(importJobController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void testLaunch_acceptedWithLocation() throws Exception {
+        when(importJobControl.launch(ImportJobRequest.builder().path("incoming").concurrency(2).writer("jpa").build()))
+                .thenReturn(ImportLaunchDto.builder()
+                        .started(ImportJobStatusDto.builder().executionId(5L).file("incoming/a.txt").status("STARTED").build())
+                        .queued(List.of("incoming/b.txt"))
+                        .build());
+
+        mockMvc.perform(post("/imports")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"path\":\"incoming\",\"concurrency\":2,\"writer\":\"jpa\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/imports/5"))
+                .andExpect(jsonPath("$.started.executionId").value(5))
+                .andExpect(jsonPath("$.queued[0]").value("incoming/b.txt"));
+    }
+
+    @Test
+    void testLaunch_invalidOptions_badRequest() throws Exception {
+        mockMvc.perform(post("/imports")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"path\":\"data.txt\",\"concurrency\":0,\"writer\":\"csv\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(importJobControl, never()).launch(any());
+    }
+
+    @Test
+    void testLaunch_alreadyRunning_conflict() throws Exception {
+        when(importJobControl.launch(any())).thenThrow(new ImportConflictException("Import of data.txt is already running"));
+
+        mockMvc.perform(post("/imports")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"path\":\"data.txt\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testStatus_andNotFound() throws Exception {
+        when(importJobControl.get(5L)).thenReturn(ImportJobStatusDto.builder()
+                .executionId(5L).status("STARTED").linesRead(42).progressPercent(42.0).etaSeconds(14L).build());
+        when(importJobControl.get(6L)).thenThrow(new EntityNotFoundException("Import execution not found with id 6"));
+
+        mockMvc.perform(get("/imports/5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linesRead").value(42))
+                .andExpect(jsonPath("$.etaSeconds").value(14));
+        mockMvc.perform(get("/imports/6"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testRecent_boundsLimit() throws Exception {
+        when(importJobControl.recent(100)).thenReturn(List.of());
+
+        mockMvc.perform(get("/imports").param("limit", "1000"))
+                .andExpect(status().isOk());
+
+        verify(importJobControl).recent(100);
+    }
+
+    @Test
+    void testStopAndRestart_accepted() throws Exception {
+        when(importJobControl.stop(5L)).thenReturn(ImportJobStatusDto.builder().executionId(5L).status("STOPPING").build());
+        when(importJobControl.restart(5L)).thenReturn(ImportJobStatusDto.builder().executionId(8L).status("STARTED").build());
+
+        mockMvc.perform(post("/imports/5/stop"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("STOPPING"));
+        mockMvc.perform(post("/imports/5/restart"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/imports/8"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.maybank.maybank_assessment.controller;
+
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.service.ReactiveTransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.SortHandlerMethodArgumentResolver;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ReactiveTransactionControllerTests {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ReactiveTransactionService reactiveTransactionService;
+
+    private ReactiveTransactionController reactiveTransactionController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        reactiveTransactionController = new ReactiveTransactionController(reactiveTransactionService, Duration.ofMinutes(10));
+        mockMvc = MockMvcBuilders.standaloneSetup(reactiveTransactionController)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver(), new SortHandlerMethodArgumentResolver())
+                .build();
+    }
+
+    @Test
+    void testListTransactions() throws Exception {
+        TransactionDto dto = TransactionDto.builder().id(1L).accountNumber(123456L).description("Test Desc").build();
+        when(reactiveTransactionService.getTransactions(any(), any(), any(), any()))
+                .thenReturn(Mono.just(new PageImpl<>(List.of(dto), PageRequest.of(0, 20), 1)));
+
+        MvcResult result = mockMvc.perform(get("/reactive/transactions").param("customerId", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1L))
+                .andExpect(jsonPath("$.content[0].description").value("Test Desc"));
+    }
+
+    @Test
+    void testExportTransactions_streamsNdjson() throws Exception {
+        when(reactiveTransactionService.exportTransactions(any(), any(), any(), any()))
+                .thenReturn(Flux.just(TransactionDto.builder().id(1L).build(), TransactionDto.builder().id(2L).build()));
+
+        MvcResult result = mockMvc.perform(get("/reactive/transactions/export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("\"id\":2")));
+    }
+
+    @Test
+    void testExportTransactions_failsOnceExportTimeoutPasses() {
+        when(reactiveTransactionService.exportTransactions(any(), any(), any(), any()))
+                .thenReturn(Flux.concat(Flux.just(TransactionDto.builder().id(1L).build()), Flux.never()));
+        ReactiveTransactionController bounded = new ReactiveTransactionController(reactiveTransactionService, Duration.ofMillis(50));
+
+        Flux<TransactionDto> export = bounded.exportTransactions(null, null, null, Sort.by("id"));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> export.collectList().block(Duration.ofSeconds(5)));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+    }
+}
@@ -0,0 +1,86 @@
+package com.maybank.maybank_assessment.controller;
+
+import com.maybank.maybank_assessment.model.dto.TransactionChangeDto;
+import com.maybank.maybank_assessment.model.dto.TransactionChangePage;
+import com.maybank.maybank_assessment.service.outbox.TransactionChangeFeed;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class TransactionChangeControllerTests {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TransactionChangeFeed changeFeed;
+
+    @InjectMocks
+    private TransactionChangeController changeController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(changeController).build();
+    }
+
+    @Test
+    void testPollChanges() throws Exception {
+        DeferredResult<TransactionChangePage> deferred = new DeferredResult<>();
+        deferred.setResult(TransactionChangePage.of(
+                List.of(TransactionChangeDto.builder().token(12L).type("UPDATED").build()), 11L));
+        when(changeFeed.poll(11L, 50, Duration.ofSeconds(10))).thenReturn(deferred);
+
+        MvcResult started = mockMvc.perform(get("/transactions/changes")
+                        .param("after", "11")
+                        .param("limit", "50")
+                        .param("waitSeconds", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].token").value(12L))
+                .andExpect(jsonPath("$.changes[0].type").value("UPDATED"))
+                .andExpect(jsonPath("$.nextToken").value(12L));
+    }
+
+    @Test
+    void testPollChanges_waitCapped() throws Exception {
+        when(changeFeed.poll(anyLong(), anyInt(), any())).thenReturn(new DeferredResult<>());
+
+        mockMvc.perform(get("/transactions/changes").param("waitSeconds", "600"));
+
+        verify(changeFeed).poll(0L, 100, Duration.ofSeconds(60));
+    }
+
+    @Test
+    void testStreamChanges_lastEventIdWins() throws Exception {
+        when(changeFeed.stream(anyLong())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/transactions/changes/stream")
+                        .param("after", "3")
+                        .header("Last-Event-ID", "40")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(changeFeed).stream(40L);
+    }
+}
@@ -1,14 +1,19 @@
 package com.maybank.maybank_assessment.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.maybank.maybank_assessment.model.dto.TransactionDto;
 import com.maybank.maybank_assessment.model.dto.UpdateTransactionRequest;
+import com.maybank.maybank_assessment.config.datasource.ReadYourWritesTracker;
 import com.maybank.maybank_assessment.service.TransactionService;
+import com.maybank.maybank_assessment.service.coalesce.RequestCoalescer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Page;
@@ -18,10 +23,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +41,11 @@ class TransactionControllerTests {
     @Mock
     private TransactionService transactionService;
 
+    @SuppressWarnings("unchecked")
+    @Spy
+    private RequestCoalescer coalescer = new RequestCoalescer(new ReadYourWritesTracker(Duration.ofSeconds(2)), true,
+            mock(ObjectProvider.class));
+
     @InjectMocks
     private TransactionController transactionController;
 
@@ -59,7 +72,7 @@ class TransactionControllerTests {
                 .build();
         Page<TransactionDto> page = new PageImpl<>(List.of(dto), PageRequest.of(0, 20), 1);
 
-        when(transactionService.getTransactions(any(), any(), any(), any()))
+        when(transactionService.getTransactions(any(), any(), any(), any(), any(), any()))
                 .thenReturn(page);
 
         mockMvc.perform(get("/transactions")
@@ -73,6 +86,56 @@ class TransactionControllerTests {
                 .andExpect(jsonPath("$.content[0].description").value("Test Desc"));
     }
 
+    @Test
+    void testListTransactions_timeRange() throws Exception {
+        when(transactionService.getTransactions(any(), any(), any(), any(), any(), any()))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+
+        mockMvc.perform(get("/transactions")
+                        .param("from", "2019-09-01T00:00:00")
+                        .param("to", "2019-09-30T23:59:59")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(transactionService).getTransactions(isNull(), isNull(), isNull(),
+                eq(LocalDateTime.of(2019, 9, 1, 0, 0)), eq(LocalDateTime.of(2019, 9, 30, 23, 59, 59)), any());
+        verify(coalescer).execute(any(), any());
+    }
+
+    @Test
+    void testGetTransaction() throws Exception {
+        TransactionDto dto = TransactionDto.builder().id(1L).description("Test Desc").version(3).build();
+        when(transactionService.getTransaction(1L)).thenReturn(dto);
+
+        mockMvc.perform(get("/transactions/{id}", 1L).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Test Desc"))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    void testListTransactions_cbor() throws Exception {
+        TransactionDto dto = TransactionDto.builder()
+                .id(1L)
+                .accountNumber(123456L)
+                .trxnAmount(new BigDecimal("100.00"))
+                .description("Test Desc")
+                .trxnTimestamp(LocalDateTime.now())
+                .customerId(10L)
+                .version(1)
+                .build();
+        when(transactionService.getTransactions(any(), any(), any(), any(), any(), any()))
+                .thenReturn(new PageImpl<>(List.of(dto), PageRequest.of(0, 20), 1));
+
+        byte[] body = mockMvc.perform(get("/transactions").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        var page = new ObjectMapper(new CBORFactory()).readTree(body);
+        org.junit.jupiter.api.Assertions.assertEquals(1L, page.get("content").get(0).get("id").asLong());
+    }
+
     @Test
     void testUpdateTransaction() throws Exception {
         Long id = 1L;
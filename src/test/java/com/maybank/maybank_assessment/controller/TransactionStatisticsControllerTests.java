@@ -0,0 +1,108 @@
+package com.maybank.maybank_assessment.controller;
+
+import com.maybank.maybank_assessment.exception.BadRequestException;
+import com.maybank.maybank_assessment.exception.GlobalExceptionHandler;
+import com.maybank.maybank_assessment.model.dto.TransactionStatisticsDto;
+import com.maybank.maybank_assessment.service.stats.TransactionStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class TransactionStatisticsControllerTests {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TransactionStatistics statistics;
+
+    @InjectMocks
+    private TransactionStatisticsController statisticsController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(statisticsController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void testAccountStatistics_defaultQuantiles() throws Exception {
+        when(statistics.forAccount(eq(8872838283L), aryEq(new double[] { 0.5, 0.9, 0.99 })))
+                .thenReturn(TransactionStatisticsDto.builder()
+                        .scope("ACCOUNT").key("8872838283").count(3).distinctCustomers(2)
+                        .amountQuantiles(Map.of("p50", new BigDecimal("123.00")))
+                        .build());
+
+        mockMvc.perform(get("/transactions/statistics/accounts/8872838283"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(3))
+                .andExpect(jsonPath("$.distinctCustomers").value(2))
+                .andExpect(jsonPath("$.amountQuantiles.p50").value(123.00));
+    }
+
+    @Test
+    void testCustomerStatistics_customQuantiles() throws Exception {
+        when(statistics.forCustomer(eq(222L), any())).thenReturn(TransactionStatisticsDto.builder().build());
+
+        mockMvc.perform(get("/transactions/statistics/customers/222").param("q", "0.25,0.999"))
+                .andExpect(status().isOk());
+
+        verify(statistics).forCustomer(eq(222L), aryEq(new double[] { 0.25, 0.999 }));
+    }
+
+    @Test
+    void testDayStatistics_toDefaultsToFrom() throws Exception {
+        when(statistics.forDays(any(), any(), any())).thenReturn(TransactionStatisticsDto.builder().build());
+
+        mockMvc.perform(get("/transactions/statistics/days").param("from", "2019-09-12"))
+                .andExpect(status().isOk());
+
+        verify(statistics).forDays(eq(LocalDate.of(2019, 9, 12)), eq(LocalDate.of(2019, 9, 12)), any());
+    }
+
+    @Test
+    void testDayStatistics_invalidRangeIsBadRequest() throws Exception {
+        when(statistics.forDays(any(), any(), any())).thenThrow(new BadRequestException("'to' must not be before 'from'"));
+
+        mockMvc.perform(get("/transactions/statistics/days").param("from", "2019-09-12").param("to", "2019-09-11"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("'to' must not be before 'from'"));
+    }
+
+    @Test
+    void testCustomerStatistics_badQuantilesAreBadRequest() throws Exception {
+        mockMvc.perform(get("/transactions/statistics/customers/222").param("q", "0.5,1.5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Quantile must be within [0, 1]: 1.5"));
+        mockMvc.perform(get("/transactions/statistics/customers/222").param("q", "0.5,p99"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Not a quantile: p99"));
+
+        verifyNoInteractions(statistics);
+    }
+
+    @Test
+    void testAccountStatistics_otherIllegalArgumentIsServerError() throws Exception {
+        when(statistics.forAccount(anyLong(), any())).thenThrow(new IllegalArgumentException("bug"));
+
+        mockMvc.perform(get("/transactions/statistics/accounts/8872838283"))
+                .andExpect(status().isInternalServerError());
+    }
+}
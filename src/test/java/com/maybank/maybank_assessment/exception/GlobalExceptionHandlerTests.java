@@ -31,6 +31,15 @@ class GlobalExceptionHandlerTests {
         assertTrue(error.getMessage().contains("field: must not be null"));
     }
 
+    @Test
+    void testHandleBadRequest() {
+        ApiError error = handler.handleBadRequest(new BadRequestException("'to' must not be before 'from'"));
+
+        assertEquals(400, error.getStatus());
+        assertEquals("Bad Request", error.getError());
+        assertEquals("'to' must not be before 'from'", error.getMessage());
+    }
+
     @Test
     void testHandleNotFound() {
         EntityNotFoundException ex = new EntityNotFoundException("Not found");
@@ -62,6 +71,23 @@ class GlobalExceptionHandlerTests {
         assertTrue(error.getMessage().contains("Integrity error"));
     }
 
+    @Test
+    void testHandleConflict_ImportConflictException() {
+        ApiError error = handler.handleConflict(new ImportConflictException("Import of data.txt is already running"));
+
+        assertEquals(409, error.getStatus());
+        assertTrue(error.getMessage().contains("already running"));
+    }
+
+    @Test
+    void testHandleChangeFeedExpired() {
+        ApiError error = handler.handleChangeFeedExpired(new ChangeFeedExpiredException(5L, 900L));
+
+        assertEquals(410, error.getStatus());
+        assertEquals("Gone", error.getError());
+        assertTrue(error.getMessage().contains("after=900"));
+    }
+
     @Test
     void testHandleGeneralError() {
         Exception ex = new Exception("Some error");
@@ -71,4 +97,16 @@ class GlobalExceptionHandlerTests {
         assertEquals("Internal Server Error", error.getError());
         assertEquals("An unexpected error occurred.", error.getMessage());
     }
+
+    @Test
+    void testHandleConcurrencyLimit() {
+        var shed = handler.handleConcurrencyLimit(new ConcurrencyLimitExceededException(false));
+        var timedOut = handler.handleConcurrencyLimit(new ConcurrencyLimitExceededException(true));
+
+        assertEquals(429, shed.getStatusCode().value());
+        assertEquals(429, shed.getBody().getStatus());
+        assertEquals("1", shed.getHeaders().getFirst("Retry-After"));
+        assertEquals(503, timedOut.getStatusCode().value());
+        assertEquals("Service Unavailable", timedOut.getBody().getError());
+    }
 }
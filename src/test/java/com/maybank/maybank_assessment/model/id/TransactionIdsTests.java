@@ -0,0 +1,96 @@
+package com.maybank.maybank_assessment.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionIdsTests {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T12:00:00Z");
+
+    @Test
+    void testNext_encodesTimeShardAndNode() {
+        TransactionIds ids = new TransactionIds(5, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        long id = ids.next(3);
+
+        assertTrue(id > 0);
+        assertEquals(NOW, TransactionIds.createdAt(id));
+        assertEquals(3, TransactionIds.shardOf(id));
+        assertEquals(5, TransactionIds.nodeOf(id));
+        assertTrue(id >= TransactionIds.firstIdAt(NOW));
+        assertTrue(id < TransactionIds.firstIdAt(NOW.plusMillis(1)));
+    }
+
+    @Test
+    void testNext_strictlyIncreasingWithinAMillisecond() {
+        TransactionIds ids = new TransactionIds(1, Clock.fixed(NOW, ZoneOffset.UTC));
+        Set<Long> seen = new HashSet<>();
+        long previous = -1;
+
+        // More than one millisecond's worth of counter values: the overflow borrows the next millisecond
+        for (int i = 0; i < 5000; i++) {
+            long id = ids.next(0);
+            assertTrue(id > previous);
+            assertTrue(seen.add(id));
+            previous = id;
+        }
+        assertEquals(NOW.plusMillis(1), TransactionIds.createdAt(previous));
+    }
+
+    @Test
+    void testNext_clockSteppingBackKeepsIncreasing() {
+        MutableClock clock = new MutableClock(NOW);
+        TransactionIds ids = new TransactionIds(1, clock);
+
+        long before = ids.next(0);
+        clock.instant = NOW.minusSeconds(10);
+        long after = ids.next(0);
+
+        assertTrue(after > before);
+        assertEquals(NOW, TransactionIds.createdAt(after));
+    }
+
+    @Test
+    void testNext_laterMillisecondSortsAfterAnyShardOrNode() {
+        TransactionIds high = new TransactionIds(63, Clock.fixed(NOW, ZoneOffset.UTC));
+        TransactionIds low = new TransactionIds(0, Clock.fixed(NOW.plusMillis(1), ZoneOffset.UTC));
+
+        assertTrue(low.next(0) > high.next(15));
+    }
+
+    @Test
+    void testRejectsOutOfRangeNodeAndShard() {
+        assertThrows(IllegalArgumentException.class, () -> new TransactionIds(64, Clock.systemUTC()));
+        assertThrows(IllegalArgumentException.class, () -> TransactionIds.current().next(16));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public java.time.ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
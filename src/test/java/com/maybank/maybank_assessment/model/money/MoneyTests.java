@@ -0,0 +1,55 @@
+package com.maybank.maybank_assessment.model.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTests {
+
+    @Test
+    void testParse_plainDecimals() {
+        assertEquals(12300L, Money.parse("123.00"));
+        assertEquals(112300L, Money.parse("1123"));
+        assertEquals(1050L, Money.parse("10.5"));
+        assertEquals(-1000L, Money.parse("-10"));
+        assertEquals(7L, Money.parse(" 0.07 "));
+        assertEquals(150L, Money.parse("1.500"));
+    }
+
+    @Test
+    void testParse_rejectsInvalidInput() {
+        assertThrows(NumberFormatException.class, () -> Money.parse("12.345"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("1,000.00"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("abc"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("-"));
+        assertThrows(NumberFormatException.class, () -> Money.parse(""));
+        assertThrows(NumberFormatException.class, () -> Money.parse(null));
+        assertThrows(NumberFormatException.class, () -> Money.parse("99999999999999999999"));
+    }
+
+    @Test
+    void testAdd_detectsOverflow() {
+        assertEquals(300L, Money.add(100L, 200L));
+        assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1L));
+    }
+
+    @Test
+    void testBigDecimalConversions() {
+        assertEquals(new BigDecimal("123.45"), Money.toBigDecimal(12345L));
+        assertEquals(12345L, Money.fromBigDecimal(new BigDecimal("123.45")));
+        assertEquals(12300L, Money.fromBigDecimal(new BigDecimal("123")));
+        assertThrows(IllegalArgumentException.class, () -> Money.fromBigDecimal(new BigDecimal("1.001")));
+        assertThrows(IllegalArgumentException.class, () -> Money.fromBigDecimal(new BigDecimal("1e30")));
+    }
+
+    @Test
+    void testAttributeConverter_roundTrip() {
+        MoneyAttributeConverter converter = new MoneyAttributeConverter();
+        assertEquals(new BigDecimal("1.23"), converter.convertToDatabaseColumn(123L));
+        assertEquals(123L, converter.convertToEntityAttribute(new BigDecimal("1.23")));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
@@ -0,0 +1,77 @@
+package com.maybank.maybank_assessment.repository;
+
+import com.maybank.maybank_assessment.config.sharding.EmbeddedShards;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.id.TransactionIds;
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the shard SQL against embedded databases created with the shard DDL
+class ShardedTransactionRepositoryTests {
+
+    private final EmbeddedShards shards = new EmbeddedShards(2);
+    private final ShardedTransactionRepository repository = new ShardedTransactionRepository(shards.router());
+
+    @AfterEach
+    void tearDown() {
+        shards.close();
+    }
+
+    @Test
+    void testInsertAll_assignsShardIdsAndFindIdMatchesAllFields() {
+        Transaction first = txn(3L, 12_050L, "Coffee");
+        Transaction second = txn(3L, 500L, "Bus");
+
+        List<Long> ids = shards.router().inTransaction(1, () -> repository.insertAll(1, List.of(first, second)));
+
+        assertEquals(2, ids.size());
+        assertTrue(ids.stream().allMatch(id -> TransactionIds.shardOf(id) == 1));
+        assertEquals(Optional.of(ids.get(0)), repository.findId(1, first));
+        assertEquals(Optional.empty(), repository.findId(1, txn(3L, 12_051L, "Coffee")));
+        assertEquals(Optional.empty(), repository.findId(0, first));
+        TransactionDto stored = repository.findById(1, ids.get(0)).orElseThrow();
+        assertEquals(new BigDecimal("120.50"), stored.getTrxnAmount());
+        assertEquals(0, stored.getVersion());
+    }
+
+    @Test
+    void testFindPage_ordersAndLimitsInSql() {
+        List<Transaction> rows = List.of(txn(3L, 100L, "a"), txn(3L, 900L, "b"), txn(3L, 500L, "c"), txn(4L, 700L, "d"));
+        shards.router().inTransaction(1, () -> repository.insertAll(1, rows));
+
+        Page<TransactionDto> page = repository.findPage(1, TransactionSqlFilters.of(3L, null, null),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "trxnAmount")));
+
+        assertEquals(List.of("b", "c"), page.getContent().stream().map(TransactionDto::getDescription).toList());
+        assertEquals(3, page.getTotalElements());
+        assertEquals(4, repository.count(1, TransactionSqlFilters.of(null, null, null)));
+    }
+
+    @Test
+    void testUpdateDescriptionIfVersion_onlyAtExpectedVersion() {
+        long id = shards.router().inTransaction(1, () -> repository.insertAll(1, List.of(txn(3L, 100L, "old")))).get(0);
+
+        assertEquals(0, repository.updateDescriptionIfVersion(1, id, 1, "stale"));
+        assertEquals(1, repository.updateDescriptionIfVersion(1, id, 0, "new"));
+        TransactionDto updated = repository.findById(1, id).orElseThrow();
+        assertEquals("new", updated.getDescription());
+        assertEquals(1, updated.getVersion());
+    }
+
+    private static Transaction txn(long customerId, long amount, String description) {
+        return Transaction.builder().accountNumber(8872838283L).trxnAmount(amount).description(description)
+                .trxnTimestamp(LocalDateTime.of(2019, 9, 12, 11, 11, 11)).customerId(customerId).build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.maybank.maybank_assessment.service;
+
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.repository.TransactionReactiveRepository;
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+class ReactiveTransactionServiceTests {
+
+    @Mock
+    private TransactionReactiveRepository transactionReactiveRepository;
+
+    @InjectMocks
+    private ReactiveTransactionService reactiveTransactionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetTransactions() {
+        TransactionDto dto = TransactionDto.builder().id(1L).description("Test Desc").build();
+        when(transactionReactiveRepository.findPage(any(TransactionSqlFilters.class), any(Sort.class), eq(20L), eq(10)))
+                .thenReturn(Flux.just(dto));
+        when(transactionReactiveRepository.count(any(TransactionSqlFilters.class))).thenReturn(Mono.just(21L));
+
+        Page<TransactionDto> page = reactiveTransactionService
+                .getTransactions(10L, null, "test", PageRequest.of(2, 10))
+                .block();
+
+        assertNotNull(page);
+        assertEquals(21, page.getTotalElements());
+        assertEquals("Test Desc", page.getContent().get(0).getDescription());
+    }
+
+    @Test
+    void testExportTransactions() {
+        when(transactionReactiveRepository.streamAll(any(TransactionSqlFilters.class), any(Sort.class)))
+                .thenReturn(Flux.just(TransactionDto.builder().id(1L).build(), TransactionDto.builder().id(2L).build()));
+
+        List<TransactionDto> rows = reactiveTransactionService
+                .exportTransactions(null, 123L, null, Sort.by("id"))
+                .collectList()
+                .block();
+
+        assertEquals(2, rows.size());
+    }
+}
@@ -1,15 +1,32 @@
 package com.maybank.maybank_assessment.service;
 
+import com.maybank.maybank_assessment.config.datasource.ReadYourWritesTracker;
+import com.maybank.maybank_assessment.config.sharding.ShardRouter;
 import com.maybank.maybank_assessment.model.dto.TransactionDto;
 import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.repository.ShardedTransactionRepository;
+import com.maybank.maybank_assessment.repository.TransactionArchiveUnionRepository;
 import com.maybank.maybank_assessment.repository.TransactionRepository;
+import com.maybank.maybank_assessment.service.archive.TransactionArchive;
+import com.maybank.maybank_assessment.service.cache.TransactionNearCache;
+import com.maybank.maybank_assessment.service.hot.HotTransactionWindow;
+import com.maybank.maybank_assessment.service.metrics.QueryShapeMetrics;
+import com.maybank.maybank_assessment.service.outbox.TransactionOutbox;
+import com.maybank.maybank_assessment.service.shard.TransactionScatterGather;
 import jakarta.persistence.EntityNotFoundException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import io.micrometer.core.instrument.search.MeterNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.*;
 import org.springframework.data.domain.*;
 
-import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +40,38 @@ class TransactionServiceTests {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private ReadYourWritesTracker readYourWrites;
+
+    @Mock
+    private TransactionNearCache nearCache;
+
+    @Mock
+    private TransactionArchive archive;
+
+    @Mock
+    private TransactionArchiveUnionRepository archiveUnionRepository;
+
+    @Mock
+    private TransactionOutbox outbox;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Mock
+    private ShardedTransactionRepository shardedRepository;
+
+    @Mock
+    private TransactionScatterGather scatterGather;
+
+    @Mock
+    private HotTransactionWindow hotWindow;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private QueryShapeMetrics queryMetrics = new QueryShapeMetrics(meterRegistry, Duration.ofSeconds(5), 10);
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -36,7 +85,7 @@ class TransactionServiceTests {
         Transaction txn = Transaction.builder()
                 .id(1L)
                 .accountNumber(123456L)
-                .trxnAmount(new BigDecimal("100.00"))
+                .trxnAmount(10000L)
                 .description("Test Desc")
                 .trxnTimestamp(LocalDateTime.now())
                 .customerId(10L)
@@ -45,9 +94,143 @@ class TransactionServiceTests {
         Page<Transaction> page = new PageImpl<>(List.of(txn));
         when(transactionRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class), any(Pageable.class))).thenReturn(page);
 
-        Page<TransactionDto> result = transactionService.getTransactions(10L, 123456L, "Test Desc", PageRequest.of(0, 20));
+        Page<TransactionDto> result = transactionService.getTransactions(10L, 123456L, "Test Desc", null, null, PageRequest.of(0, 20));
         assertEquals(1, result.getTotalElements());
+        assertEquals(1, meterRegistry.get("transactions.query")
+                .tags("shape", "customerId+accountNumber+description", "path", "jpa").timer().count());
         assertEquals("Test Desc", result.getContent().get(0).getDescription());
+        verifyNoInteractions(archiveUnionRepository);
+    }
+
+    @Test
+    void testGetTransactions_sharded_customerOnOtherShard() {
+        when(shardRouter.isSharded()).thenReturn(true);
+        when(shardRouter.shardOf(10L)).thenReturn(2);
+        when(shardedRepository.findPage(eq(2), any(), any())).thenReturn(new PageImpl<>(List.of(TransactionDto.builder().id(5L).build())));
+
+        Page<TransactionDto> result = transactionService.getTransactions(10L, null, null, null, null, PageRequest.of(0, 20));
+
+        assertEquals(5L, result.getContent().get(0).getId());
+        verifyNoInteractions(transactionRepository, scatterGather);
+        assertEquals(1, meterRegistry.get("transactions.query").tags("shape", "customerId", "path", "shard").timer().count());
+    }
+
+    @Test
+    void testGetTransactions_sharded_unscopedScattersToAllShards() {
+        when(shardRouter.isSharded()).thenReturn(true);
+        when(scatterGather.findPage(any(), eq(false), any())).thenReturn(new PageImpl<>(List.of()));
+
+        transactionService.getTransactions(null, null, "fund", null, null, PageRequest.of(0, 20));
+
+        verify(scatterGather).findPage(any(), eq(false), any());
+        verifyNoInteractions(transactionRepository, shardedRepository);
+    }
+
+    @Test
+    void testGetTransaction_idOnOtherShard() {
+        when(nearCache.get(2_000_000_000_000_007L)).thenReturn(Optional.empty());
+        when(shardRouter.shardOfId(2_000_000_000_000_007L)).thenReturn(2);
+        when(shardedRepository.findById(2, 2_000_000_000_000_007L))
+                .thenReturn(Optional.of(TransactionDto.builder().id(2_000_000_000_000_007L).version(0).build()));
+
+        assertEquals(0, transactionService.getTransaction(2_000_000_000_000_007L).getVersion());
+        verify(transactionRepository, never()).findById(any());
+    }
+
+    @Test
+    void testUpdateTransaction_onOtherShard_staleVersionConflicts() {
+        long id = 1_000_000_000_000_003L;
+        when(nearCache.get(id)).thenReturn(Optional.empty());
+        when(shardRouter.shardOfId(id)).thenReturn(1);
+        when(shardedRepository.findById(1, id)).thenReturn(Optional.of(TransactionDto.builder().id(id).version(4).build()));
+        when(shardedRepository.updateDescriptionIfVersion(1, id, 4, "New")).thenReturn(0);
+
+        assertThrows(org.springframework.orm.ObjectOptimisticLockingFailureException.class,
+                () -> transactionService.updateTransaction(id, "New"));
+        verify(outbox, never()).record(any(), any());
+    }
+
+    @Test
+    void testUpdateTransaction_recordsConflictEvent(@TempDir Path dir) throws Exception {
+        long id = 1_000_000_000_000_003L;
+        when(nearCache.get(id)).thenReturn(Optional.empty());
+        when(shardRouter.shardOfId(id)).thenReturn(1);
+        when(shardedRepository.findById(1, id)).thenReturn(Optional.of(TransactionDto.builder().id(id).version(4).build()));
+        when(shardedRepository.updateDescriptionIfVersion(1, id, 4, "New")).thenReturn(0);
+
+        Path file = dir.resolve("update.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("maybank.TransactionUpdate").withThreshold(Duration.ZERO);
+            recording.start();
+            assertThrows(org.springframework.orm.ObjectOptimisticLockingFailureException.class,
+                    () -> transactionService.updateTransaction(id, "New"));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        var events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("maybank.TransactionUpdate"))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals("conflict", events.get(0).getString("outcome"));
+        assertEquals(id, events.get(0).getLong("transactionId"));
+        assertEquals(1, events.get(0).getInt("shard"));
+    }
+
+    @Test
+    void testUpdateTransaction_onOtherShard() {
+        long id = 1_000_000_000_000_003L;
+        when(nearCache.get(id)).thenReturn(Optional.empty());
+        when(shardRouter.shardOfId(id)).thenReturn(1);
+        when(shardedRepository.findById(1, id)).thenReturn(Optional.of(TransactionDto.builder().id(id).version(4).build()));
+        when(shardedRepository.updateDescriptionIfVersion(1, id, 4, "New")).thenReturn(1);
+
+        TransactionDto updated = transactionService.updateTransaction(id, "New");
+
+        assertEquals(5, updated.getVersion());
+        assertEquals("New", updated.getDescription());
+        verify(outbox).record(TransactionChange.Type.UPDATED, updated);
+    }
+
+    @Test
+    void testGetTransactions_rangeReachingIntoArchive_usesUnion() {
+        LocalDateTime from = LocalDateTime.of(2019, 1, 1, 0, 0);
+        TransactionDto archived = TransactionDto.builder().id(7L).description("Old").build();
+        when(archive.needed(from)).thenReturn(true);
+        when(archiveUnionRepository.findPage(any(), any())).thenReturn(new PageImpl<>(List.of(archived)));
+
+        Page<TransactionDto> result = transactionService.getTransactions(10L, null, null, from, null, PageRequest.of(0, 20));
+
+        assertEquals("Old", result.getContent().get(0).getDescription());
+        verify(transactionRepository, never()).findAll(any(org.springframework.data.jpa.domain.Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void testGetTransactions_rangeInsideHotWindow_skipsDatabase() {
+        LocalDateTime from = LocalDateTime.now().minusHours(1);
+        TransactionDto recent = TransactionDto.builder().id(8L).description("Recent").build();
+        when(shardRouter.isSharded()).thenReturn(true);
+        when(hotWindow.findPage(isNull(), isNull(), isNull(), eq(from), isNull(), any()))
+                .thenReturn(Optional.of(new PageImpl<>(List.of(recent))));
+
+        Page<TransactionDto> result = transactionService.getTransactions(null, null, null, from, null, PageRequest.of(0, 20));
+
+        assertEquals("Recent", result.getContent().get(0).getDescription());
+        verifyNoInteractions(scatterGather, archiveUnionRepository, transactionRepository);
+    }
+
+    @Test
+    void testGetTransactions_hotWindowDeclines_usesDatabase() {
+        LocalDateTime from = LocalDateTime.now().minusHours(1);
+        when(shardRouter.isSharded()).thenReturn(true);
+        when(hotWindow.findPage(any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(scatterGather.findPage(any(), eq(false), any())).thenReturn(new PageImpl<>(List.of()));
+
+        transactionService.getTransactions(null, null, null, from, null, PageRequest.of(0, 20));
+
+        verify(scatterGather).findPage(any(), eq(false), any());
+        assertThrows(MeterNotFoundException.class,
+                () -> meterRegistry.get("transactions.query").tag("path", "hot-window").timer());
     }
 
     @Test
@@ -55,17 +238,19 @@ class TransactionServiceTests {
         Transaction txn = Transaction.builder()
                 .id(1L)
                 .accountNumber(123456L)
-                .trxnAmount(new BigDecimal("100.00"))
+                .trxnAmount(10000L)
                 .description("Old Desc")
                 .trxnTimestamp(LocalDateTime.now())
                 .customerId(10L)
                 .version(1)
                 .build();
         when(transactionRepository.findById(1L)).thenReturn(Optional.of(txn));
-        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
 
         TransactionDto result = transactionService.updateTransaction(1L, "New Desc");
         assertEquals("New Desc", result.getDescription());
+        verify(readYourWrites).recordWrite();
+        verify(outbox).record(TransactionChange.Type.UPDATED, result);
     }
 
     @Test
@@ -73,4 +258,61 @@ class TransactionServiceTests {
         when(transactionRepository.findById(2L)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> transactionService.updateTransaction(2L, "Desc"));
     }
+
+    @Test
+    void testUpdateTransaction_CachedVersion_SkipsSelect() {
+        when(nearCache.get(1L)).thenReturn(Optional.of(dto(1L, 3)));
+        when(transactionRepository.updateDescriptionIfVersion(1L, 3, "New Desc")).thenReturn(1);
+
+        TransactionDto result = transactionService.updateTransaction(1L, "New Desc");
+
+        assertEquals("New Desc", result.getDescription());
+        assertEquals(4, result.getVersion());
+        verify(transactionRepository, never()).findById(any());
+        verify(nearCache).written(result);
+    }
+
+    @Test
+    void testUpdateTransaction_StaleCachedVersion_FallsBackToLoad() {
+        Transaction txn = Transaction.builder().id(1L).description("Old Desc").version(5).build();
+        when(nearCache.get(1L)).thenReturn(Optional.of(dto(1L, 3)));
+        when(transactionRepository.updateDescriptionIfVersion(1L, 3, "New Desc")).thenReturn(0);
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(txn));
+        when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TransactionDto result = transactionService.updateTransaction(1L, "New Desc");
+
+        assertEquals("New Desc", result.getDescription());
+        assertEquals(5, result.getVersion());
+        verify(nearCache).written(result);
+    }
+
+    @Test
+    void testGetTransaction_CacheHit_DoesNotQueryDb() {
+        when(nearCache.get(1L)).thenReturn(Optional.of(dto(1L, 2)));
+
+        assertEquals(2, transactionService.getTransaction(1L).getVersion());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void testGetTransaction_CacheMiss_LoadsAndCaches() {
+        Transaction txn = Transaction.builder().id(1L).description("Desc").version(2).build();
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(txn));
+
+        TransactionDto result = transactionService.getTransaction(1L);
+
+        assertEquals("Desc", result.getDescription());
+        verify(nearCache).put(result);
+    }
+
+    @Test
+    void testGetTransaction_NotFound() {
+        when(transactionRepository.findById(2L)).thenReturn(Optional.empty());
+        assertThrows(EntityNotFoundException.class, () -> transactionService.getTransaction(2L));
+    }
+
+    private static TransactionDto dto(Long id, Integer version) {
+        return TransactionDto.builder().id(id).description("Old Desc").version(version).build();
+    }
 }
@@ -0,0 +1,73 @@
+package com.maybank.maybank_assessment.service.archive;
+
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.repository.ArchivedTransactionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionArchiveTests {
+
+    private static final LocalDateTime HORIZON = LocalDateTime.of(2019, 12, 31, 23, 59, 59);
+
+    private final ArchivedTransactionRepository repository = mock(ArchivedTransactionRepository.class);
+    private final TransactionArchive archive = new TransactionArchive(repository, Duration.ofMinutes(1));
+
+    @Test
+    void testNeeded_emptyArchive() {
+        when(repository.findMaxTrxnTimestamp()).thenReturn(null);
+
+        assertFalse(archive.needed(null));
+        assertFalse(archive.needed(LocalDateTime.of(2000, 1, 1, 0, 0)));
+    }
+
+    @Test
+    void testNeeded_comparesRangeStartWithHorizon() {
+        when(repository.findMaxTrxnTimestamp()).thenReturn(HORIZON);
+
+        assertTrue(archive.needed(null));
+        assertTrue(archive.needed(HORIZON));
+        assertTrue(archive.needed(HORIZON.minusDays(1)));
+        assertFalse(archive.needed(HORIZON.plusSeconds(1)));
+    }
+
+    @Test
+    void testHorizon_cachedUntilRefresh() {
+        when(repository.findMaxTrxnTimestamp()).thenReturn(null, HORIZON);
+
+        assertFalse(archive.needed(null));
+        assertFalse(archive.needed(null));
+        verify(repository, times(1)).findMaxTrxnTimestamp();
+
+        archive.refresh();
+        assertTrue(archive.needed(null));
+        verify(repository, times(2)).findMaxTrxnTimestamp();
+    }
+
+    @Test
+    void testContains_skipsLookupForRowsNewerThanHorizon() {
+        when(repository.findMaxTrxnTimestamp()).thenReturn(HORIZON);
+        Transaction recent = Transaction.builder().accountNumber(1L).trxnAmount(100L).description("d")
+                .trxnTimestamp(HORIZON.plusDays(1)).customerId(2L).build();
+
+        assertFalse(archive.contains(recent));
+        verify(repository, never()).existsByAccountNumberAndTrxnAmountAndDescriptionAndTrxnTimestampAndCustomerId(
+                anyLong(), anyLong(), anyString(), any(), anyLong());
+    }
+
+    @Test
+    void testContains_looksUpArchivedRange() {
+        when(repository.findMaxTrxnTimestamp()).thenReturn(HORIZON);
+        Transaction old = Transaction.builder().accountNumber(1L).trxnAmount(100L).description("d")
+                .trxnTimestamp(HORIZON.minusDays(1)).customerId(2L).build();
+        when(repository.existsByAccountNumberAndTrxnAmountAndDescriptionAndTrxnTimestampAndCustomerId(
+                1L, 100L, "d", HORIZON.minusDays(1), 2L)).thenReturn(true);
+
+        assertTrue(archive.contains(old));
+    }
+}
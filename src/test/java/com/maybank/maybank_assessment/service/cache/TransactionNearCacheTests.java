@@ -0,0 +1,108 @@
+package com.maybank.maybank_assessment.service.cache;
+
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TransactionNearCacheTests {
+
+    private final TransactionInvalidationPublisher publisher = mock(TransactionInvalidationPublisher.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TransactionNearCache nearCache = new TransactionNearCache(100, Duration.ofMinutes(5),
+            provider(publisher), provider(registry));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void put_olderVersionNeverReplacesNewer() {
+        nearCache.put(dto(1L, 3, "newer"));
+        nearCache.put(dto(1L, 2, "older"));
+
+        assertEquals("newer", nearCache.get(1L).orElseThrow().getDescription());
+    }
+
+    @Test
+    void get_returnsCopy() {
+        nearCache.put(dto(1L, 1, "cached"));
+        nearCache.get(1L).orElseThrow().setDescription("mutated");
+
+        assertEquals("cached", nearCache.get(1L).orElseThrow().getDescription());
+    }
+
+    @Test
+    void written_appliesAfterCommitAndPublishes() {
+        nearCache.put(dto(1L, 1, "old"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        nearCache.written(dto(1L, 2, "new"));
+        assertEquals("old", nearCache.get(1L).orElseThrow().getDescription());
+        verifyNoInteractions(publisher);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals("new", nearCache.get(1L).orElseThrow().getDescription());
+        verify(publisher).publish(1L, 2);
+    }
+
+    @Test
+    void evict_outsideTransaction_dropsEntryImmediately() {
+        nearCache.put(dto(1L, 1, "cached"));
+
+        nearCache.evict(1L, 2);
+
+        assertTrue(nearCache.get(1L).isEmpty());
+        verify(publisher).publish(1L, 2);
+    }
+
+    @Test
+    void onRemoteChange_keepsEntryAlreadyAtThatVersion() {
+        nearCache.put(dto(1L, 4, "current"));
+        nearCache.put(dto(2L, 1, "stale"));
+
+        nearCache.onRemoteChange(1L, 4);
+        nearCache.onRemoteChange(2L, 2);
+
+        assertTrue(nearCache.get(1L).isPresent());
+        assertTrue(nearCache.get(2L).isEmpty());
+        verify(publisher, never()).publish(anyLong(), any());
+    }
+
+    @Test
+    void registersCacheMetrics() {
+        nearCache.put(dto(1L, 1, "cached"));
+        nearCache.get(1L);
+        nearCache.get(2L);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "transactions").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "transactions").tag("result", "miss").functionCounter().count());
+    }
+
+    private static TransactionDto dto(Long id, Integer version, String description) {
+        return TransactionDto.builder().id(id).version(version).description(description).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> provider(T instance) {
+        ObjectProvider<T> provider = mock(ObjectProvider.class);
+        doAnswer(inv -> {
+            ((Consumer<T>) inv.getArgument(0)).accept(instance);
+            return null;
+        }).when(provider).ifAvailable(any());
+        return provider;
+    }
+}
@@ -0,0 +1,148 @@
+package com.maybank.maybank_assessment.service.coalesce;
+
+import com.maybank.maybank_assessment.config.datasource.ReadYourWritesTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class RequestCoalescerTests {
+
+    private final ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(Duration.ofSeconds(2));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(readYourWrites, true, provider(registry));
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testExecute_identicalConcurrentCallsShareOneExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        Object shared = new Object();
+        Future<Object> leader = executor.submit(() -> coalescer.execute("customerId=222", () -> {
+            executions.incrementAndGet();
+            await(release);
+            return shared;
+        }));
+        awaitUntil(() -> coalescer.leaders() == 1);
+
+        List<Future<Object>> followers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            followers.add(executor.submit(() -> coalescer.execute("customerId=222", Object::new)));
+        }
+        awaitUntil(() -> coalescer.followers() == 10);
+        release.countDown();
+
+        assertSame(shared, leader.get(5, TimeUnit.SECONDS));
+        for (Future<Object> follower : followers) {
+            assertSame(shared, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(10, registry.get("transactions.query.coalesced").tag("role", "follower").functionCounter().count());
+        assertEquals(1, registry.get("transactions.query.coalesced").tag("role", "leader").functionCounter().count());
+        assertEquals(0, registry.get("transactions.query.in-flight").gauge().value());
+    }
+
+    @Test
+    void testExecute_followersGetTheLeadersException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database down");
+        Future<Object> leader = executor.submit(() -> coalescer.execute("key", () -> {
+            await(release);
+            throw failure;
+        }));
+        awaitUntil(() -> coalescer.leaders() == 1);
+        Future<Object> follower = executor.submit(() -> coalescer.execute("key", Object::new));
+        awaitUntil(() -> coalescer.followers() == 1);
+        release.countDown();
+
+        var leaderError = assertThrows(java.util.concurrent.ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        var followerError = assertThrows(java.util.concurrent.ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertSame(failure, leaderError.getCause());
+        assertSame(failure, followerError.getCause());
+    }
+
+    @Test
+    void testExecute_doesNotJoinCallStartedBeforeLocalWrite() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> stale = executor.submit(() -> coalescer.execute("key", () -> {
+            await(release);
+            return "before write";
+        }));
+        awaitUntil(() -> coalescer.leaders() == 1);
+        readYourWrites.recordWrite();
+
+        assertEquals("after write", coalescer.execute("key", () -> "after write"));
+        release.countDown();
+        assertEquals("before write", stale.get(5, TimeUnit.SECONDS));
+        assertEquals(0, coalescer.followers());
+    }
+
+    @Test
+    void testExecute_sequentialAndDistinctCallsEachRun() {
+        AtomicInteger executions = new AtomicInteger();
+
+        coalescer.execute("a", executions::incrementAndGet);
+        coalescer.execute("a", executions::incrementAndGet);
+        coalescer.execute("b", executions::incrementAndGet);
+
+        assertEquals(3, executions.get());
+        assertEquals(0, coalescer.followers());
+    }
+
+    @Test
+    void testExecute_disabledAlwaysRuns() {
+        @SuppressWarnings("unchecked")
+        RequestCoalescer disabled = new RequestCoalescer(readYourWrites, false, mock(ObjectProvider.class));
+
+        assertEquals("ran", disabled.execute("key", () -> "ran"));
+        assertEquals(0, disabled.leaders());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached");
+            Thread.sleep(1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<MeterRegistry> provider(MeterRegistry registry) {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        doAnswer(inv -> {
+            ((Consumer<MeterRegistry>) inv.getArgument(0)).accept(registry);
+            return null;
+        }).when(provider).ifAvailable(any());
+        return provider;
+    }
+}
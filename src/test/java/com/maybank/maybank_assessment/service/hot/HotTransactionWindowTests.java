@@ -0,0 +1,235 @@
+package com.maybank.maybank_assessment.service.hot;
+
+import com.maybank.maybank_assessment.config.sharding.ShardRouter;
+import com.maybank.maybank_assessment.model.dto.TransactionChangeDto;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.repository.ShardedTransactionRepository;
+import com.maybank.maybank_assessment.service.outbox.TransactionOutbox;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.maybank.maybank_assessment.service.hot.TransactionColumnsTests.txn;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HotTransactionWindowTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private final ShardedTransactionRepository shardedRepository = mock(ShardedTransactionRepository.class);
+    private final TransactionOutbox outbox = mock(TransactionOutbox.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private HotTransactionWindow window = window(true, 100);
+
+    @AfterEach
+    void tearDown() {
+        window.destroy();
+    }
+
+    @Test
+    void testReload_loadsEveryShardAndServesCoveredRanges() {
+        when(shardRouter.shardCount()).thenReturn(2);
+        rows(0, txn(1L, 222L, 100L, "10.00", "Fund Transfer", NOW.minusHours(3)));
+        rows(1, txn(2L, 333L, 200L, "20.00", "Fund Transfer", NOW.minusHours(2)),
+                txn(3L, 333L, 200L, "30.00", "ATM", NOW.minusHours(1)));
+
+        window.reload();
+
+        assertEquals(3.0, registry.get("transactions.hot-window.rows").gauge().value());
+        assertTrue(covers(NOW.minusDays(1), Sort.by("trxnAmount")));
+        assertFalse(covers(NOW.minusDays(8), Sort.unsorted()));
+        assertFalse(covers(null, Sort.unsorted()));
+        assertFalse(covers(NOW.minusDays(1), Sort.by("processed")));
+
+        Page<TransactionDto> page = window.findPage(null, null, "transfer", NOW.minusDays(1), null,
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "trxnAmount"))).orElseThrow();
+        assertEquals(2, page.getTotalElements());
+        assertEquals(2L, page.getContent().get(0).getId());
+    }
+
+    @Test
+    void testTail_appliesOutboxChangesFromTheTokenRecordedAReplayBeforeTheLoad() {
+        when(shardRouter.shardCount()).thenReturn(1);
+        when(outbox.tokenBefore(any())).thenReturn(10L);
+        rows(0, txn(1L, 222L, 100L, "10.00", "Old", NOW.minusHours(1)));
+        TransactionDto updated = txn(1L, 222L, 100L, "10.00", "New", NOW.minusHours(1));
+        updated.setVersion(1);
+        when(outbox.readAfter(eq(10L), anyInt())).thenReturn(List.of(
+                change(11L, "IMPORTED", txn(1L, 222L, 100L, "10.00", "Old", NOW.minusHours(1))),
+                change(12L, "IMPORTED", txn(2L, 222L, 100L, "20.00", "Later", NOW)),
+                change(13L, "UPDATED", updated)));
+
+        Instant loadedAt = Instant.now();
+        window.reload();
+        window.tail();
+
+        // Started a replay (1m) before the load, so a lower token still open meanwhile is not skipped
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(outbox).tokenBefore(since.capture());
+        assertTrue(Duration.between(since.getValue(), loadedAt).compareTo(Duration.ofSeconds(59)) >= 0, "since " + since.getValue());
+        verify(outbox, never()).latestToken();
+        Page<TransactionDto> page = window.findPage(222L, null, null, NOW.minusDays(1), null, PageRequest.of(0, 10)).orElseThrow();
+        assertEquals(List.of("New", "Later"), page.getContent().stream().map(TransactionDto::getDescription).toList());
+        verify(outbox, never()).readAfter(eq(13L), anyInt());
+    }
+
+    @Test
+    void testOnChangeCommitted_ignoresRowsOlderThanTheWindow() {
+        when(shardRouter.shardCount()).thenReturn(1);
+        window.reload();
+
+        window.onChangeCommitted(new TransactionOutbox.ChangeRecorded(1L, TransactionChange.Type.IMPORTED,
+                txn(1L, 222L, 100L, "10.00", "Recent", NOW)));
+        window.onChangeCommitted(new TransactionOutbox.ChangeRecorded(2L, TransactionChange.Type.IMPORTED,
+                txn(2L, 222L, 100L, "10.00", "Ancient", NOW.minusDays(30))));
+
+        assertEquals(1, window.size());
+    }
+
+    @Test
+    void testReload_overCapacity_fallsBackToDatabase() {
+        window = window(true, 1);
+        when(shardRouter.shardCount()).thenReturn(1);
+        rows(0, txn(1L, 222L, 100L, "10.00", "a", NOW), txn(2L, 222L, 100L, "10.00", "b", NOW));
+
+        window.reload();
+
+        assertFalse(covers(NOW.minusDays(1), Sort.unsorted()));
+        assertEquals(0.0, registry.get("transactions.hot-window.rows").gauge().value());
+    }
+
+    @Test
+    void testRefresh_overCapacity_countsBeforeLoadingAgain() {
+        window = window(true, 1);
+        when(shardRouter.shardCount()).thenReturn(2);
+        rows(0, txn(1L, 222L, 100L, "10.00", "a", NOW), txn(2L, 222L, 100L, "10.00", "b", NOW));
+        window.reload();
+        clearInvocations(shardedRepository);
+        when(shardedRepository.count(eq(0), any())).thenReturn(2L);
+
+        window.refresh();
+
+        // Shard 0 alone is over; neither the other shard's count nor a load is needed
+        verify(shardedRepository).count(eq(0), any());
+        verify(shardedRepository, never()).count(eq(1), any());
+        verify(shardedRepository, never()).forEachSince(anyInt(), any(), any());
+
+        when(shardedRepository.count(eq(0), any())).thenReturn(1L);
+        when(shardedRepository.count(eq(1), any())).thenReturn(0L);
+        rows(0, txn(1L, 222L, 100L, "10.00", "a", NOW));
+
+        window.refresh();
+
+        assertEquals(1, window.size());
+    }
+
+    @Test
+    void testFindPage_windowDroppedAfterOverflow_declines() {
+        window = window(true, 1);
+        when(shardRouter.shardCount()).thenReturn(1);
+        rows(0, txn(1L, 222L, 100L, "10.00", "a", NOW));
+        window.reload();
+        assertTrue(covers(NOW.minusDays(1), Sort.unsorted()));
+
+        window.onChangeCommitted(new TransactionOutbox.ChangeRecorded(2L, TransactionChange.Type.IMPORTED,
+                txn(2L, 222L, 100L, "10.00", "b", NOW)));
+
+        // Caller falls back to the database instead of getting an error
+        assertTrue(window.findPage(null, null, null, NOW.minusDays(1), null, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void testRefresh_afterOverflowFromChanges_countsBeforeLoadingAgain() {
+        window = window(true, 1);
+        when(shardRouter.shardCount()).thenReturn(1);
+        rows(0, txn(1L, 222L, 100L, "10.00", "a", NOW));
+        window.reload();
+        window.onChangeCommitted(new TransactionOutbox.ChangeRecorded(2L, TransactionChange.Type.IMPORTED,
+                txn(2L, 222L, 100L, "10.00", "b", NOW)));
+        clearInvocations(shardedRepository);
+        when(shardedRepository.count(eq(0), any())).thenReturn(2L);
+
+        window.refresh();
+
+        verify(shardedRepository).count(eq(0), any());
+        verify(shardedRepository, never()).forEachSince(anyInt(), any(), any());
+        assertFalse(covers(NOW.minusDays(1), Sort.unsorted()));
+    }
+
+    @Test
+    void testRefresh_dropsRowsThatAgedOut() {
+        window = window(true, 100, Duration.ofHours(1));
+        when(shardRouter.shardCount()).thenReturn(1);
+        // The mock ignores the load's lower bound, so the window starts out holding a row older than itself
+        rows(0, txn(1L, 222L, 100L, "10.00", "a", NOW.minusHours(2)), txn(2L, 222L, 100L, "10.00", "b", NOW));
+        window.reload();
+        assertEquals(2, window.size());
+
+        window.refresh();
+
+        assertEquals(1, window.size());
+        assertTrue(covers(LocalDateTime.now().minusMinutes(59), Sort.unsorted()));
+    }
+
+    @Test
+    void testDisabled_neverCovers() {
+        window = window(false, 100);
+
+        window.start();
+        window.onChangeCommitted(new TransactionOutbox.ChangeRecorded(1L, TransactionChange.Type.IMPORTED,
+                txn(1L, 222L, 100L, "10.00", "Recent", NOW)));
+
+        assertFalse(covers(NOW.minusDays(1), Sort.unsorted()));
+        verifyNoInteractions(shardedRepository, outbox);
+    }
+
+    private boolean covers(LocalDateTime from, Sort sort) {
+        return window.findPage(null, null, null, from, null, PageRequest.of(0, 1, sort)).isPresent();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rows(int shard, TransactionDto... txns) {
+        doAnswer(inv -> {
+            Consumer<TransactionDto> action = inv.getArgument(2);
+            for (TransactionDto txn : txns) action.accept(txn);
+            return null;
+        }).when(shardedRepository).forEachSince(eq(shard), any(), any(Consumer.class));
+    }
+
+    private HotTransactionWindow window(boolean enabled, int capacity) {
+        return window(enabled, capacity, Duration.ofDays(7));
+    }
+
+    @SuppressWarnings("unchecked")
+    private HotTransactionWindow window(boolean enabled, int capacity, Duration span) {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        doAnswer(inv -> {
+            ((Consumer<MeterRegistry>) inv.getArgument(0)).accept(registry);
+            return null;
+        }).when(provider).ifAvailable(any());
+        registry.clear();
+        return new HotTransactionWindow(shardRouter, shardedRepository, outbox, enabled, span, capacity,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofSeconds(1), 100, provider);
+    }
+
+    private static TransactionChangeDto change(long token, String type, TransactionDto txn) {
+        return TransactionChangeDto.builder().token(token).type(type).transaction(txn).build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.maybank.maybank_assessment.service.hot;
+
+import com.maybank.maybank_assessment.exception.BadRequestException;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionColumnsTests {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2019, 9, 12, 11, 11, 11);
+
+    private final TransactionColumns columns = new TransactionColumns(2);
+
+    @Test
+    void testInsert_roundTripsEveryColumnAndSkipsKnownIds() {
+        TransactionDto txn = txn(1L, 222L, 8872838283L, "123.45", "FUND TRANSFER", T0.withNano(123_456_000));
+
+        assertTrue(columns.insert(txn));
+        assertFalse(columns.insert(txn(1L, 333L, 1L, "1.00", "other", T0)));
+
+        assertEquals(1, columns.size());
+        assertEquals(txn, columns.row(0));
+    }
+
+    @Test
+    void testSelect_usesIndexesAndAppliesEveryFilter() {
+        columns.insert(txn(1L, 222L, 100L, "10.00", "Fund Transfer", T0));
+        columns.insert(txn(2L, 222L, 200L, "20.00", "ATM WITHDRAWAL", T0.plusDays(1)));
+        columns.insert(txn(3L, 333L, 100L, "30.00", "fund transfer", T0.plusDays(2)));
+        columns.insert(txn(4L, 222L, 100L, "40.00", "Bill Payment", T0.plusDays(3)));
+
+        assertEquals(3, columns.select(222L, null, null, null, null).length);
+        assertEquals(3, columns.select(null, 100L, null, null, null).length);
+        assertEquals(2, columns.select(222L, 100L, null, null, null).length);
+        assertEquals(2, columns.select(null, null, "  TRANSFER ", null, null).length);
+        // Inclusive on both ends
+        assertArrayEquals(new int[] { 1, 2 }, columns.select(null, null, null, T0.plusDays(1), T0.plusDays(2)));
+        assertEquals(0, columns.select(999L, null, null, null, null).length);
+    }
+
+    @Test
+    void testSort_ordersByPropertiesThenId() {
+        columns.insert(txn(3L, 222L, 100L, "10.00", "b", T0));
+        columns.insert(txn(1L, 222L, 100L, "30.00", "B", T0));
+        columns.insert(txn(2L, 222L, 100L, "20.00", "a", T0.plusDays(1)));
+        int[] rows = columns.select(null, null, null, null, null);
+
+        columns.sort(rows, Sort.by(Sort.Order.desc("trxnTimestamp"), Sort.Order.asc("description")));
+        assertEquals("[2, 1, 3]", ids(rows));
+
+        columns.sort(rows, Sort.by("trxnAmount"));
+        assertEquals("[3, 2, 1]", ids(rows));
+
+        columns.sort(rows, Sort.unsorted());
+        assertEquals("[1, 2, 3]", ids(rows));
+    }
+
+    @Test
+    void testSort_rejectsUnknownProperty() {
+        assertThrows(BadRequestException.class, () -> columns.sort(new int[0], Sort.by("processed")));
+    }
+
+    @Test
+    void testUpdate_onlyMovesVersionsForward() {
+        columns.insert(txn(1L, 222L, 100L, "10.00", "Old", T0));
+
+        assertTrue(columns.update(1L, 1, "New"));
+        assertFalse(columns.update(1L, 1, "Replayed"));
+        assertFalse(columns.update(9L, 5, "Unknown"));
+
+        assertEquals("New", columns.row(0).getDescription());
+        assertEquals(1, columns.row(0).getVersion());
+    }
+
+    @Test
+    void testRetainFrom_dropsOlderRowsAndRebuildsIndexes() {
+        columns.insert(txn(1L, 222L, 100L, "10.00", "old", T0));
+        columns.insert(txn(2L, 222L, 100L, "20.00", "new", T0.plusDays(1)));
+
+        TransactionColumns retained = columns.retainFrom(T0.plusDays(1));
+
+        assertEquals(1, retained.size());
+        assertEquals(2L, retained.row(retained.select(222L, null, null, null, null)[0]).getId());
+        assertTrue(retained.insert(txn(1L, 222L, 100L, "10.00", "old", T0)));
+    }
+
+    private String ids(int[] rows) {
+        return Arrays.toString(Arrays.stream(rows).mapToLong(row -> columns.row(row).getId()).toArray());
+    }
+
+    static TransactionDto txn(long id, long customerId, long accountNumber, String amount, String description,
+                              LocalDateTime timestamp) {
+        return TransactionDto.builder()
+                .id(id)
+                .accountNumber(accountNumber)
+                .trxnAmount(new BigDecimal(amount))
+                .description(description)
+                .trxnTimestamp(timestamp)
+                .customerId(customerId)
+                .version(0)
+                .build();
+    }
+}
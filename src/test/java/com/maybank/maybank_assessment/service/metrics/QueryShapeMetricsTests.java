@@ -0,0 +1,92 @@
+package com.maybank.maybank_assessment.service.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryShapeMetricsTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final QueryShape shape = QueryShape.of(222L, null, "fund", null, null);
+
+    @Test
+    void testRecord_timesAndCountsRowsPerShape() {
+        QueryShapeMetrics metrics = new QueryShapeMetrics(registry, Duration.ofSeconds(5), 10);
+
+        metrics.record(shape, "jpa", PageRequest.of(0, 2), () -> page(2, 7));
+
+        assertEquals(1, registry.get("transactions.query")
+                .tags("shape", "customerId+description", "path", "jpa", "outcome", "success").timer().count());
+        assertEquals(2, registry.get("transactions.query.rows").tag("shape", "customerId+description").summary().totalAmount());
+        assertEquals(7, registry.get("transactions.query.matches").tag("shape", "customerId+description").summary().totalAmount());
+        assertTrue(metrics.slowQueries().isEmpty());
+    }
+
+    @Test
+    void testRecord_slowQueryKeepsSqlAndParameterShape() {
+        QueryShapeMetrics metrics = new QueryShapeMetrics(registry, Duration.ZERO, 10);
+
+        metrics.record(shape, "jpa", PageRequest.of(3, 20, Sort.by("trxnAmount")), () -> {
+            SqlCapture.record("select ... from transactions where customer_id=?");
+            return page(0, 0);
+        });
+
+        QueryShapeMetrics.SlowQuery slow = metrics.slowQueries().get(0);
+        assertEquals(List.of("select ... from transactions where customer_id=?"), slow.sql());
+        assertEquals(shape.parameters(), slow.parameters());
+        assertEquals(60, slow.offset());
+        assertEquals("trxnAmount: ASC", slow.sort());
+        assertEquals(1, registry.get("transactions.query.slow").tag("shape", "customerId+description").counter().count());
+    }
+
+    @Test
+    void testRecord_capturesStatementsFromPropagatedTasks() {
+        QueryShapeMetrics metrics = new QueryShapeMetrics(registry, Duration.ZERO, 10);
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+        executor.setTaskDecorator(SqlCapture::propagate);
+
+        metrics.record(shape, "scatter", PageRequest.of(0, 20), () -> {
+            CompletableFuture.runAsync(() -> SqlCapture.record("shard 1 sql"), executor).join();
+            return page(0, 0);
+        });
+
+        assertEquals(List.of("shard 1 sql"), metrics.slowQueries().get(0).sql());
+    }
+
+    @Test
+    void testRecord_failureRecordedAsErrorAndRethrown() {
+        QueryShapeMetrics metrics = new QueryShapeMetrics(registry, Duration.ZERO, 10);
+
+        assertThrows(IllegalStateException.class, () -> metrics.record(shape, "jpa", PageRequest.of(0, 20), () -> {
+            throw new IllegalStateException("db down");
+        }));
+
+        assertEquals(1, registry.get("transactions.query").tag("outcome", "error").timer().count());
+        assertTrue(metrics.slowQueries().isEmpty());
+    }
+
+    @Test
+    void testSlowQueries_boundedNewestFirst() {
+        QueryShapeMetrics metrics = new QueryShapeMetrics(registry, Duration.ZERO, 2);
+
+        for (String path : List.of("jpa", "shard", "scatter")) {
+            metrics.record(shape, path, PageRequest.of(0, 20), () -> page(0, 0));
+        }
+
+        assertEquals(List.of("scatter", "shard"), metrics.slowQueries().stream().map(QueryShapeMetrics.SlowQuery::path).toList());
+    }
+
+    private static Page<String> page(int rows, long total) {
+        return new PageImpl<>(java.util.Collections.nCopies(rows, "row"), PageRequest.of(0, Math.max(rows, 1)), total);
+    }
+}
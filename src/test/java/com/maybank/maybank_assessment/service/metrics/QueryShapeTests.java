@@ -0,0 +1,26 @@
+package com.maybank.maybank_assessment.service.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryShapeTests {
+
+    @Test
+    void testOf_namesActivePredicatesInFixedOrder() {
+        assertEquals("none", QueryShape.of(null, null, "  ", null, null).name());
+        assertEquals("customerId+description", QueryShape.of(222L, null, "Fund", null, null).name());
+        assertEquals("accountNumber+timestamp", QueryShape.of(null, 1L, null, null, LocalDateTime.now()).name());
+    }
+
+    @Test
+    void testOf_parametersDescribeTypesNotValues() {
+        QueryShape shape = QueryShape.of(222L, null, " Fund ", LocalDateTime.now(), null);
+
+        assertEquals(Map.of("customerId", "Long", "description", "String contains (4 chars)", "from", "LocalDateTime"),
+                shape.parameters());
+    }
+}
@@ -0,0 +1,135 @@
+package com.maybank.maybank_assessment.service.outbox;
+
+import com.maybank.maybank_assessment.exception.ChangeFeedExpiredException;
+import com.maybank.maybank_assessment.model.dto.TransactionChangeDto;
+import com.maybank.maybank_assessment.model.dto.TransactionChangePage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionChangeFeedTests {
+
+    private final TransactionOutbox outbox = mock(TransactionOutbox.class);
+    // Long poll interval so only explicit dispatch() calls read the outbox
+    private final TransactionChangeFeed feed =
+            new TransactionChangeFeed(outbox, Duration.ofHours(1), 100, Duration.ofMinutes(1), Duration.ofDays(7));
+
+    @AfterEach
+    void tearDown() {
+        feed.destroy();
+    }
+
+    @Test
+    void testPoll_returnsImmediatelyWhenChangesExist() {
+        when(outbox.readAfter(5L, 10)).thenReturn(List.of(change(6L), change(7L)));
+
+        DeferredResult<TransactionChangePage> result = feed.poll(5L, 10, Duration.ofSeconds(30));
+
+        TransactionChangePage page = (TransactionChangePage) result.getResult();
+        assertEquals(2, page.changes().size());
+        assertEquals(7L, page.nextToken());
+        assertEquals(0, feed.subscriberCount());
+    }
+
+    @Test
+    void testPoll_parksUntilDispatchFindsChanges() {
+        when(outbox.readAfter(5L, 10)).thenReturn(List.of(), List.of(change(6L)));
+
+        DeferredResult<TransactionChangePage> result = feed.poll(5L, 10, Duration.ofSeconds(30));
+        assertFalse(result.hasResult());
+        assertEquals(1, feed.subscriberCount());
+
+        feed.dispatch();
+
+        assertEquals(6L, ((TransactionChangePage) result.getResult()).nextToken());
+        assertEquals(0, feed.subscriberCount());
+    }
+
+    @Test
+    void testPoll_zeroWaitReturnsEmptyPageWithSameToken() {
+        when(outbox.readAfter(anyLong(), anyInt())).thenReturn(List.of());
+
+        DeferredResult<TransactionChangePage> result = feed.poll(5L, 10, Duration.ZERO);
+
+        TransactionChangePage page = (TransactionChangePage) result.getResult();
+        assertTrue(page.changes().isEmpty());
+        assertEquals(5L, page.nextToken());
+    }
+
+    @Test
+    void testPoll_limitCappedAtBatchSize() {
+        when(outbox.readAfter(anyLong(), anyInt())).thenReturn(List.of(change(1L)));
+
+        feed.poll(0L, 10_000, Duration.ZERO);
+
+        verify(outbox).readAfter(0L, 100);
+    }
+
+    @Test
+    void testDispatch_survivesOutboxFailure() {
+        when(outbox.readAfter(anyLong(), anyInt())).thenReturn(List.of());
+        feed.poll(0L, 10, Duration.ofSeconds(30));
+        when(outbox.readAfter(anyLong(), anyInt())).thenThrow(new IllegalStateException("db down"));
+
+        assertDoesNotThrow(feed::dispatch);
+    }
+
+    @Test
+    void testPoll_prunedTokenFailsWithLatestToken() {
+        when(outbox.expired(5L)).thenReturn(true);
+        when(outbox.latestToken()).thenReturn(900L);
+
+        ChangeFeedExpiredException ex =
+                assertThrows(ChangeFeedExpiredException.class, () -> feed.poll(5L, 10, Duration.ofSeconds(30)));
+
+        assertEquals(900L, ex.getLatestToken());
+        verify(outbox, never()).readAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    void testPoll_parkedWaiterFailsWhenPrunedUnderIt() {
+        when(outbox.readAfter(5L, 10)).thenReturn(List.of(), List.of(change(40L)));
+        DeferredResult<TransactionChangePage> result = feed.poll(5L, 10, Duration.ofSeconds(30));
+        when(outbox.expired(5L)).thenReturn(true);
+        when(outbox.latestToken()).thenReturn(40L);
+
+        feed.dispatch();
+
+        assertInstanceOf(ChangeFeedExpiredException.class, result.getResult());
+        assertEquals(0, feed.subscriberCount());
+    }
+
+    @Test
+    void testPoll_skippedRolledBackTokenIsNotExpiry() {
+        when(outbox.readAfter(5L, 10)).thenReturn(List.of(change(7L)));
+
+        DeferredResult<TransactionChangePage> result = feed.poll(5L, 10, Duration.ofSeconds(30));
+
+        assertEquals(7L, ((TransactionChangePage) result.getResult()).nextToken());
+        verify(outbox, times(2)).expired(5L);
+    }
+
+    @Test
+    void testStream_prunedTokenResetsToLatest() {
+        when(outbox.expired(5L)).thenReturn(true);
+        when(outbox.latestToken()).thenReturn(900L);
+        when(outbox.readAfter(anyLong(), anyInt())).thenReturn(List.of());
+
+        feed.stream(5L);
+        feed.dispatch();
+
+        verify(outbox, atLeastOnce()).readAfter(900L, 100);
+        verify(outbox, never()).readAfter(eq(5L), anyInt());
+    }
+
+    private static TransactionChangeDto change(long token) {
+        return TransactionChangeDto.builder().token(token).type("IMPORTED").build();
+    }
+}
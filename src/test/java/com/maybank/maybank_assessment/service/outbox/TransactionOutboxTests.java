@@ -0,0 +1,212 @@
+package com.maybank.maybank_assessment.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.maybank.maybank_assessment.model.dto.TransactionChangeDto;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.model.id.TransactionIds;
+import com.maybank.maybank_assessment.repository.TransactionChangeRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionOutboxTests {
+
+    private final TransactionChangeRepository repository = mock(TransactionChangeRepository.class);
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final TransactionOutbox outbox = new TransactionOutbox(repository, objectMapper, events, jdbcTemplate, Duration.ofSeconds(5), Duration.ofDays(7));
+
+    @Test
+    void testRecord_savesSnapshotAndPublishes() {
+        when(repository.save(any())).thenAnswer(inv -> {
+            TransactionChange change = inv.getArgument(0);
+            change.setId(42L);
+            return change;
+        });
+
+        outbox.record(TransactionChange.Type.UPDATED, dto(7L, "New"));
+
+        ArgumentCaptor<TransactionChange> saved = ArgumentCaptor.forClass(TransactionChange.class);
+        verify(repository).save(saved.capture());
+        assertEquals(7L, saved.getValue().getTransactionId());
+        assertEquals(2, saved.getValue().getVersion());
+        assertEquals(TransactionChange.Type.UPDATED, saved.getValue().getChangeType());
+        assertTrue(saved.getValue().getPayload().contains("\"description\":\"New\""));
+        verify(events).publishEvent(new TransactionOutbox.ChangeRecorded(42L, TransactionChange.Type.UPDATED, dto(7L, "New")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecordAll_oneBatchAndEventsWithoutTokens() {
+        outbox.recordAll(TransactionChange.Type.IMPORTED, List.of(dto(7L, "A"), dto(8L, "B")));
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(TransactionOutbox.INSERT), rows.capture());
+        assertEquals(2, rows.getValue().size());
+        assertEquals(8L, rows.getValue().get(1)[0]);
+        assertEquals("IMPORTED", rows.getValue().get(1)[2]);
+        assertTrue(((String) rows.getValue().get(1)[3]).contains("\"description\":\"B\""));
+        verify(events).publishEvent(new TransactionOutbox.ChangeRecorded(null, TransactionChange.Type.IMPORTED, dto(8L, "B")));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testRecordAll_emptyWritesNothing() {
+        outbox.recordAll(TransactionChange.Type.IMPORTED, List.of());
+
+        verifyNoInteractions(jdbcTemplate, events);
+    }
+
+    @Test
+    void testReadAfter_mapsRowsInTokenOrder() throws Exception {
+        when(repository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(50)))
+                .thenReturn(List.of(row(11L, Instant.now()), row(12L, Instant.now())));
+
+        List<TransactionChangeDto> changes = outbox.readAfter(10L, 50);
+
+        assertEquals(List.of(11L, 12L), changes.stream().map(TransactionChangeDto::getToken).toList());
+        assertEquals("Desc", changes.get(0).getTransaction().getDescription());
+        assertEquals("IMPORTED", changes.get(0).getType());
+    }
+
+    @Test
+    void testReadAfter_stopsAtRecentGap() throws Exception {
+        // Token 12 may belong to a transaction that has not committed yet
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(10L), any()))
+                .thenReturn(List.of(row(11L, Instant.now()), row(13L, Instant.now())));
+
+        assertEquals(1, outbox.readAfter(10L, 50).size());
+    }
+
+    @Test
+    void testReadAfter_skipsGapOnceSeenForGrace() throws Exception {
+        // Token 12 is long gone (rolled back); the grace runs from when a reader first meets the hole
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        ReflectionTestUtils.setField(outbox, "clock", Clock.fixed(start, ZoneOffset.UTC));
+        Instant old = start.minusSeconds(60);
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(10L), any()))
+                .thenReturn(List.of(row(11L, old), row(13L, old)));
+
+        assertEquals(1, outbox.readAfter(10L, 50).size());
+
+        ReflectionTestUtils.setField(outbox, "clock", Clock.fixed(start.plusSeconds(6), ZoneOffset.UTC));
+        assertEquals(2, outbox.readAfter(10L, 50).size());
+    }
+
+    @Test
+    void testReadAfter_waitsForEarlierTokenCommittingLate() throws Exception {
+        // Token 12 was handed out first but its transaction commits after 13, whose occurredAt is already old
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        ReflectionTestUtils.setField(outbox, "clock", Clock.fixed(start, ZoneOffset.UTC));
+        Instant old = start.minusSeconds(60);
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(10L), any()))
+                .thenReturn(List.of(row(11L, old), row(13L, old)))
+                .thenReturn(List.of(row(11L, old), row(12L, old), row(13L, old)));
+
+        assertEquals(List.of(11L), outbox.readAfter(10L, 50).stream().map(TransactionChangeDto::getToken).toList());
+        assertEquals(List.of(11L, 12L, 13L),
+                outbox.readAfter(10L, 50).stream().map(TransactionChangeDto::getToken).toList());
+    }
+
+    @Test
+    void testExpired_onlyWhenNextTokenWasPruned() throws Exception {
+        when(repository.findTopByOrderByIdAsc()).thenReturn(Optional.of(row(50L, Instant.now())));
+
+        assertFalse(outbox.expired(0L));
+        assertFalse(outbox.expired(49L));
+        assertFalse(outbox.expired(60L));
+        assertTrue(outbox.expired(48L));
+    }
+
+    @Test
+    void testExpired_emptyOutboxNeverExpires() {
+        when(repository.findTopByOrderByIdAsc()).thenReturn(Optional.empty());
+
+        assertFalse(outbox.expired(48L));
+    }
+
+    @Test
+    void testUnrecorded_recentRowWithoutEntry() {
+        Instant now = Instant.parse("2026-03-01T00:00:00Z");
+        ReflectionTestUtils.setField(outbox, "clock", Clock.fixed(now, ZoneOffset.UTC));
+        long recent = TransactionIds.firstIdAt(now.minus(Duration.ofDays(1)));
+        long recorded = recent + 1;
+        when(repository.existsByTransactionId(recent)).thenReturn(false);
+        when(repository.existsByTransactionId(recorded)).thenReturn(true);
+
+        assertTrue(outbox.unrecorded(recent));
+        assertFalse(outbox.unrecorded(recorded));
+    }
+
+    @Test
+    void testUnrecorded_rowOlderThanRetentionIsNotChecked() {
+        Instant now = Instant.parse("2026-03-01T00:00:00Z");
+        ReflectionTestUtils.setField(outbox, "clock", Clock.fixed(now, ZoneOffset.UTC));
+
+        // Its entry may simply have been pruned
+        assertFalse(outbox.unrecorded(TransactionIds.firstIdAt(now.minus(Duration.ofDays(8)))));
+        verify(repository, never()).existsByTransactionId(anyLong());
+    }
+
+    @Test
+    void testLatestToken_zeroWhenEmpty() throws Exception {
+        when(repository.findTopByOrderByIdDesc()).thenReturn(Optional.empty(), Optional.of(row(42L, Instant.now())));
+
+        assertEquals(0L, outbox.latestToken());
+        assertEquals(42L, outbox.latestToken());
+    }
+
+    @Test
+    void testTokenBefore_newestRecordedBeforeOrZero() throws Exception {
+        Instant at = Instant.parse("2026-03-01T00:00:00Z");
+        when(repository.findTopByOccurredAtBeforeOrderByIdDesc(at))
+                .thenReturn(Optional.empty(), Optional.of(row(41L, at.minusSeconds(1))));
+
+        assertEquals(0L, outbox.tokenBefore(at));
+        assertEquals(41L, outbox.tokenBefore(at));
+    }
+
+    private TransactionChange row(long id, Instant occurredAt) throws Exception {
+        return TransactionChange.builder()
+                .id(id)
+                .transactionId(id * 100)
+                .version(0)
+                .changeType(TransactionChange.Type.IMPORTED)
+                .payload(objectMapper.writeValueAsString(dto(id * 100, "Desc")))
+                .occurredAt(occurredAt)
+                .build();
+    }
+
+    private static TransactionDto dto(long id, String description) {
+        return TransactionDto.builder()
+                .id(id)
+                .accountNumber(8872838283L)
+                .trxnAmount(new BigDecimal("123.00"))
+                .description(description)
+                .trxnTimestamp(LocalDateTime.of(2019, 9, 12, 11, 11, 11))
+                .customerId(222L)
+                .version(2)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.maybank.maybank_assessment.service.shard;
+
+import com.maybank.maybank_assessment.config.sharding.EmbeddedShards;
+import com.maybank.maybank_assessment.config.sharding.ShardRouter;
+import com.maybank.maybank_assessment.exception.BadRequestException;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.entity.Transaction;
+import com.maybank.maybank_assessment.repository.ShardedTransactionRepository;
+import com.maybank.maybank_assessment.repository.TransactionArchiveUnionRepository;
+import com.maybank.maybank_assessment.service.spec.TransactionSqlFilters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionScatterGatherTests {
+
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private final ShardedTransactionRepository shardedRepository = mock(ShardedTransactionRepository.class);
+    private final TransactionArchiveUnionRepository archiveUnionRepository = mock(TransactionArchiveUnionRepository.class);
+    private final TransactionScatterGather scatterGather =
+            new TransactionScatterGather(shardRouter, shardedRepository, archiveUnionRepository);
+    private final TransactionSqlFilters filters = TransactionSqlFilters.of(null, null, null);
+
+    @BeforeEach
+    void setUp() {
+        when(shardRouter.shardCount()).thenReturn(2);
+    }
+
+    @Test
+    void testFindPage_mergesShardsInRequestedOrder() {
+        // Each shard answers its own first offset + size rows, already sorted by amount descending
+        when(shardedRepository.findPage(eq(0), any(), any())).thenReturn(page(4, row(1L, 90), row(3L, 50), row(5L, 10)));
+        when(shardedRepository.findPage(eq(1), any(), any())).thenReturn(page(3, row(2L, 70), row(4L, 60), row(6L, 5)));
+
+        Page<TransactionDto> result = scatterGather.findPage(filters, false,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "trxnAmount")));
+
+        assertEquals(List.of(4L, 3L), result.getContent().stream().map(TransactionDto::getId).toList());
+        assertEquals(7, result.getTotalElements());
+        assertEquals(4, result.getTotalPages());
+    }
+
+    @Test
+    void testFindPage_asksEachShardForOffsetPlusSize() {
+        when(shardedRepository.findPage(anyInt(), any(), any())).thenReturn(page(0));
+
+        scatterGather.findPage(filters, false, PageRequest.of(3, 10, Sort.by("id")));
+
+        Pageable expected = PageRequest.of(0, 40, Sort.by("id"));
+        verify(shardedRepository).findPage(0, filters, expected);
+        verify(shardedRepository).findPage(1, filters, expected);
+    }
+
+    @Test
+    void testFindPage_pageBeyondOneLimit_badRequest() {
+        assertThrows(BadRequestException.class,
+                () -> scatterGather.findPage(filters, false, PageRequest.of(Integer.MAX_VALUE / 2, 2000)));
+        verifyNoInteractions(shardedRepository);
+    }
+
+    @Test
+    void testFindPage_archiveOnlyOnShardZero() {
+        when(archiveUnionRepository.findPage(any(), any())).thenReturn(page(1, row(1L, 10)));
+        when(shardedRepository.findPage(eq(1), any(), any())).thenReturn(page(0));
+
+        Page<TransactionDto> result = scatterGather.findPage(filters, true, PageRequest.of(0, 20));
+
+        assertEquals(1, result.getTotalElements());
+        verify(shardedRepository, never()).findPage(eq(0), any(), any());
+    }
+
+    @Test
+    void testFindPage_shardFailurePropagates() {
+        when(shardedRepository.findPage(eq(0), any(), any())).thenReturn(page(0));
+        when(shardedRepository.findPage(eq(1), any(), any())).thenThrow(new IllegalStateException("shard down"));
+
+        assertThrows(IllegalStateException.class, () -> scatterGather.findPage(filters, false, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void testFindPage_embeddedShards_mergesRealShardQueries() {
+        try (EmbeddedShards shards = new EmbeddedShards(3)) {
+            ShardedTransactionRepository repository = new ShardedTransactionRepository(shards.router());
+            // Amounts interleave across the shards; shard 0 is written directly, as JPA would
+            new JdbcTemplate(shards.dataSource(0)).update(
+                    "INSERT INTO transactions (id, account_number, trxn_amount, description, trxn_timestamp, customer_id, version)"
+                            + " VALUES (1, 1, 5.00, 'a', '2019-09-12 11:11:11', 9, 0)");
+            shards.router().inTransaction(1, () -> repository.insertAll(1, List.of(txn(900L, "b"), txn(300L, "c"))));
+            shards.router().inTransaction(2, () -> repository.insertAll(2, List.of(txn(600L, "d"), txn(200L, "e"), txn(100L, "f"))));
+            TransactionScatterGather realScatterGather = new TransactionScatterGather(shards.router(), repository, archiveUnionRepository);
+
+            Page<TransactionDto> result = realScatterGather.findPage(filters, false,
+                    PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "trxnAmount")));
+
+            assertEquals(List.of("a", "c"), result.getContent().stream().map(TransactionDto::getDescription).toList());
+            assertEquals(6, result.getTotalElements());
+        }
+    }
+
+    private static Transaction txn(long amount, String description) {
+        return Transaction.builder().accountNumber(1L).trxnAmount(amount).description(description)
+                .trxnTimestamp(LocalDateTime.of(2019, 9, 12, 11, 11, 11)).customerId(9L).build();
+    }
+
+    private static TransactionDto row(long id, int amount) {
+        return TransactionDto.builder().id(id).trxnAmount(java.math.BigDecimal.valueOf(amount)).build();
+    }
+
+    private static Page<TransactionDto> page(long total, TransactionDto... rows) {
+        return new PageImpl<>(List.of(rows), PageRequest.of(0, Math.max(1, rows.length)), total);
+    }
+}
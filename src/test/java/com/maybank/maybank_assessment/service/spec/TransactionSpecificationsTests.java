@@ -67,7 +67,7 @@ class TransactionSpecificationsTests {
         CriteriaBuilder cb = mock(CriteriaBuilder.class);
 
         Path<LocalDateTime> path = mock(Path.class);
-        when(root.get("trxTimestamp")).thenReturn(path);
+        when(root.get("trxnTimestamp")).thenReturn(path);
         Predicate predicate = mock(Predicate.class);
         LocalDateTime from = LocalDateTime.now().minusDays(1);
         LocalDateTime to = LocalDateTime.now();
@@ -83,11 +83,11 @@ class TransactionSpecificationsTests {
         CriteriaQuery<?> query = mock(CriteriaQuery.class);
         CriteriaBuilder cb = mock(CriteriaBuilder.class);
 
-        Path<BigDecimal> path = mock(Path.class);
-        when(root.get("trxAmount")).thenReturn(path);
+        Path<Long> path = mock(Path.class);
+        when(root.get("trxnAmount")).thenReturn(path);
         Predicate predicate = mock(Predicate.class);
         BigDecimal min = new BigDecimal("10.00");
-        when(cb.greaterThanOrEqualTo(path, min)).thenReturn(predicate);
+        when(cb.greaterThanOrEqualTo(path, 1000L)).thenReturn(predicate);
 
         Specification<Transaction> spec = TransactionSpecifications.amountGte(min);
         assertEquals(predicate, spec.toPredicate(root, query, cb));
@@ -99,11 +99,11 @@ class TransactionSpecificationsTests {
         CriteriaQuery<?> query = mock(CriteriaQuery.class);
         CriteriaBuilder cb = mock(CriteriaBuilder.class);
 
-        Path<BigDecimal> path = mock(Path.class);
-        when(root.get("trxAmount")).thenReturn(path);
+        Path<Long> path = mock(Path.class);
+        when(root.get("trxnAmount")).thenReturn(path);
         Predicate predicate = mock(Predicate.class);
         BigDecimal max = new BigDecimal("100.00");
-        when(cb.lessThanOrEqualTo(path, max)).thenReturn(predicate);
+        when(cb.lessThanOrEqualTo(path, 10000L)).thenReturn(predicate);
 
         Specification<Transaction> spec = TransactionSpecifications.amountLte(max);
         assertEquals(predicate, spec.toPredicate(root, query, cb));
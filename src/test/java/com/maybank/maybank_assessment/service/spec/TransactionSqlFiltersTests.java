@@ -0,0 +1,71 @@
+package com.maybank.maybank_assessment.service.spec;
+
+import com.maybank.maybank_assessment.exception.BadRequestException;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionSqlFiltersTests {
+
+    @Test
+    void testNoFilters() {
+        TransactionSqlFilters filters = TransactionSqlFilters.of(null, null, "  ");
+        assertEquals("", filters.whereClause());
+        assertTrue(filters.bindings().isEmpty());
+    }
+
+    @Test
+    void testAllFilters() {
+        TransactionSqlFilters filters = TransactionSqlFilters.of(10L, 123L, " Fund ");
+        assertEquals(" WHERE customer_id = :customerId AND account_number = :accountNumber"
+                + " AND LOWER(description) LIKE :description", filters.whereClause());
+        assertEquals(Map.of("customerId", 10L, "accountNumber", 123L, "description", "%fund%"), filters.bindings());
+    }
+
+    @Test
+    void testTimeRange() {
+        LocalDateTime from = LocalDateTime.of(2019, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2019, 12, 31, 23, 59);
+        TransactionSqlFilters filters = TransactionSqlFilters.of(10L, null, null, from, to);
+        assertEquals(" WHERE customer_id = :customerId AND trxn_timestamp >= :from AND trxn_timestamp <= :to",
+                filters.whereClause());
+        assertEquals(Map.of("customerId", 10L, "from", from, "to", to), filters.bindings());
+
+        assertEquals(" WHERE trxn_timestamp <= :to", TransactionSqlFilters.of(null, null, null, null, to).whereClause());
+    }
+
+    @Test
+    void testOrderBy() {
+        assertEquals(" ORDER BY id ASC", TransactionSqlFilters.orderBy(Sort.unsorted()));
+        assertEquals(" ORDER BY trxn_timestamp DESC, id ASC",
+                TransactionSqlFilters.orderBy(Sort.by(Sort.Direction.DESC, "trxnTimestamp")));
+        assertEquals(" ORDER BY id DESC", TransactionSqlFilters.orderBy(Sort.by(Sort.Direction.DESC, "id")));
+        assertThrows(BadRequestException.class, () -> TransactionSqlFilters.orderBy(Sort.by("1; DROP TABLE")));
+    }
+
+    @Test
+    void testComparator_matchesOrderBy() {
+        TransactionDto a = TransactionDto.builder().id(1L).description("beta").trxnAmount(new BigDecimal("5.00")).build();
+        TransactionDto b = TransactionDto.builder().id(2L).description("Alpha").trxnAmount(new BigDecimal("5.00")).build();
+        TransactionDto c = TransactionDto.builder().id(3L).description(null).trxnAmount(new BigDecimal("9.00")).build();
+
+        assertEquals(List.of(c, b, a), sorted(Sort.by("description"), a, b, c));
+        assertEquals(List.of(a, b, c), sorted(Sort.by(Sort.Direction.DESC, "description"), c, b, a));
+        // Ties fall back to id ascending, like the SQL
+        assertEquals(List.of(c, a, b), sorted(Sort.by(Sort.Direction.DESC, "trxnAmount"), b, a, c));
+        assertEquals(List.of(a, b, c), sorted(Sort.unsorted(), c, a, b));
+        assertThrows(BadRequestException.class, () -> TransactionSqlFilters.comparator(Sort.by("nope")));
+    }
+
+    private static List<TransactionDto> sorted(Sort sort, TransactionDto... rows) {
+        return Stream.of(rows).sorted(TransactionSqlFilters.comparator(sort)).toList();
+    }
+}
@@ -0,0 +1,87 @@
+package com.maybank.maybank_assessment.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmountQuantilesTests {
+
+    @Test
+    void testQuantile_withinRelativeAccuracyOnSkewedAmounts() {
+        Random random = new Random(42);
+        long[] amounts = new long[50_000];
+        AmountQuantiles sketch = new AmountQuantiles();
+        for (int i = 0; i < amounts.length; i++) {
+            // Log-normal: mostly small payments, a long tail of large ones
+            amounts[i] = Math.max(1, Math.round(Math.exp(8 + 2 * random.nextGaussian())));
+            sketch.add(amounts[i]);
+        }
+        Arrays.sort(amounts);
+
+        for (double q : new double[] { 0, 0.25, 0.5, 0.9, 0.99, 0.999, 1 }) {
+            long exact = amounts[(int) (q * (amounts.length - 1))];
+            assertEquals(exact, sketch.quantile(q), exact * AmountQuantiles.RELATIVE_ACCURACY + 0.5, "q=" + q);
+        }
+    }
+
+    @Test
+    void testQuantile_ordersNegativesZerosAndPositives() {
+        AmountQuantiles sketch = new AmountQuantiles();
+        for (long amount : new long[] { -50_000, -100, 0, 0, 100, 12_345 }) {
+            sketch.add(amount);
+        }
+
+        assertEquals(-50_000, sketch.quantile(0), 500);
+        assertEquals(-100, sketch.quantile(0.2), 1);
+        assertEquals(0, sketch.quantile(0.4));
+        assertEquals(12_345, sketch.quantile(1), 124);
+    }
+
+    @Test
+    void testMerge_addsCounts() {
+        AmountQuantiles left = new AmountQuantiles();
+        AmountQuantiles right = new AmountQuantiles();
+        for (int i = 0; i < 10; i++) left.add(100);
+        for (int i = 0; i < 30; i++) right.add(10_000);
+
+        left.merge(right);
+
+        assertEquals(40, left.count());
+        assertEquals(100, left.quantile(0.2), 1);
+        assertEquals(10_000, left.quantile(0.5), 100);
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        AmountQuantiles sketch = new AmountQuantiles();
+        for (long amount : new long[] { -7, 0, 1, 99, 12_345, Long.MAX_VALUE, Long.MIN_VALUE }) {
+            sketch.add(amount);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sketch.writeTo(new DataOutputStream(bytes));
+
+        AmountQuantiles read = AmountQuantiles.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(sketch.count(), read.count());
+        for (double q : new double[] { 0, 0.3, 0.5, 0.7, 1 }) {
+            assertEquals(sketch.quantile(q), read.quantile(q));
+        }
+    }
+
+    @Test
+    void testQuantile_rejectsOutOfRangeAndEmpty() {
+        AmountQuantiles sketch = new AmountQuantiles();
+        assertThrows(IllegalStateException.class, () -> sketch.quantile(0.5));
+        sketch.add(1);
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantile(Double.NaN));
+    }
+}
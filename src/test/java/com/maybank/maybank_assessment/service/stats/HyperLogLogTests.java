@@ -0,0 +1,78 @@
+package com.maybank.maybank_assessment.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTests {
+
+    @Test
+    void testEstimate_smallCardinalityIsNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 1; id <= 50; id++) {
+            sketch.add(id);
+            sketch.add(id); // duplicates do not count
+        }
+        assertEquals(50, sketch.estimate(), 1);
+    }
+
+    @Test
+    void testEstimate_largeCardinalityWithinThreeStandardErrors() {
+        HyperLogLog sketch = new HyperLogLog();
+        int distinct = 200_000;
+        for (long id = 0; id < distinct; id++) {
+            sketch.add(8872838283L + id);
+        }
+        assertEquals(distinct, sketch.estimate(), distinct * 3 * HyperLogLog.RELATIVE_STANDARD_ERROR);
+    }
+
+    @Test
+    void testMerge_estimatesTheUnion() {
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        for (long id = 0; id < 30_000; id++) left.add(id);
+        for (long id = 20_000; id < 50_000; id++) right.add(id);
+
+        long union = left.merge(right).estimate();
+
+        assertEquals(50_000, union, 50_000 * 3 * HyperLogLog.RELATIVE_STANDARD_ERROR);
+    }
+
+    @Test
+    void testRoundTrip_sparseStaysSmall() throws IOException {
+        HyperLogLog sketch = new HyperLogLog();
+        sketch.add(222L);
+
+        byte[] bytes = write(sketch);
+
+        assertTrue(bytes.length < 16, "one value should not cost the dense 4 KB");
+        assertEquals(1, read(bytes).estimate());
+    }
+
+    @Test
+    void testRoundTrip_dense() throws IOException {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 0; id < 100_000; id++) sketch.add(id);
+
+        byte[] bytes = write(sketch);
+
+        assertEquals(1 + (1 << HyperLogLog.PRECISION), bytes.length);
+        assertEquals(sketch.estimate(), read(bytes).estimate());
+    }
+
+    private static byte[] write(HyperLogLog sketch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sketch.writeTo(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static HyperLogLog read(byte[] bytes) throws IOException {
+        return HyperLogLog.readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
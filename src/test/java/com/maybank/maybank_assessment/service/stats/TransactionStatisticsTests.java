@@ -0,0 +1,207 @@
+package com.maybank.maybank_assessment.service.stats;
+
+import com.maybank.maybank_assessment.exception.BadRequestException;
+import com.maybank.maybank_assessment.model.dto.TransactionDto;
+import com.maybank.maybank_assessment.model.dto.TransactionStatisticsDto;
+import com.maybank.maybank_assessment.model.entity.TransactionChange;
+import com.maybank.maybank_assessment.model.entity.TransactionSketch;
+import com.maybank.maybank_assessment.repository.TransactionSketchRepository;
+import com.maybank.maybank_assessment.service.outbox.TransactionOutbox;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionStatisticsTests {
+
+    private static final double[] MEDIAN = { 0.5 };
+
+    private final TransactionSketchRepository repository = mock(TransactionSketchRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TransactionStatistics statistics = new TransactionStatistics(repository, transactionManager, 3, 31);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(statistics);
+    }
+
+    @Test
+    void testOnChangeRecorded_withoutTransactionWritesOneRowPerScope() {
+        statistics.onChangeRecorded(imported(1L, 8872838283L, 222L, "123.00"));
+
+        List<TransactionSketch> rows = savedRows();
+        assertEquals(3, rows.size());
+        assertTrue(rows.stream().anyMatch(row -> row.getScope() == TransactionSketch.Scope.ACCOUNT
+                && row.getSketchKey().equals("8872838283")));
+        assertTrue(rows.stream().anyMatch(row -> row.getScope() == TransactionSketch.Scope.CUSTOMER
+                && row.getSketchKey().equals("222")));
+        assertTrue(rows.stream().anyMatch(row -> row.getScope() == TransactionSketch.Scope.DAY
+                && row.getSketchKey().equals("2019-09-12")));
+    }
+
+    @Test
+    void testOnChangeRecorded_inTransactionWritesMergedRowsBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        statistics.onChangeRecorded(imported(1L, 8872838283L, 222L, "10.00"));
+        statistics.onChangeRecorded(imported(2L, 8872838283L, 333L, "30.00"));
+        verify(repository, never()).saveAll(any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        List<TransactionSketch> rows = savedRows();
+        // One account, two customers, one day
+        assertEquals(4, rows.size());
+        TransactionSummary account = rows.stream()
+                .filter(row -> row.getScope() == TransactionSketch.Scope.ACCOUNT)
+                .map(row -> TransactionSummary.fromBytes(row.getPayload()))
+                .findFirst().orElseThrow();
+        assertEquals(2, account.count());
+        assertEquals(2, account.distinctCustomers());
+        assertNull(TransactionSynchronizationManager.getResource(statistics));
+    }
+
+    @Test
+    void testOnChangeRecorded_rolledBackTransactionWritesNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+        statistics.onChangeRecorded(imported(1L, 8872838283L, 222L, "10.00"));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(repository, never()).saveAll(any());
+        assertNull(TransactionSynchronizationManager.getResource(statistics));
+    }
+
+    @Test
+    void testOnChangeRecorded_ignoresUpdates() {
+        statistics.onChangeRecorded(new TransactionOutbox.ChangeRecorded(1L, TransactionChange.Type.UPDATED,
+                dto(8872838283L, 222L, "10.00")));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testForAccount_mergesRows() {
+        when(repository.findByScopeAndSketchKeyIn(TransactionSketch.Scope.ACCOUNT, List.of("8872838283")))
+                .thenReturn(List.of(row(1L, "8872838283", 222L, 1_000), row(2L, "8872838283", 333L, 3_000)));
+
+        TransactionStatisticsDto stats = statistics.forAccount(8872838283L, new double[] { 0, 1 });
+
+        assertEquals("ACCOUNT", stats.getScope());
+        assertEquals(2, stats.getCount());
+        assertEquals(2, stats.getDistinctCustomers());
+        assertEquals(new BigDecimal("10.00"), stats.getMinAmount());
+        assertEquals(new BigDecimal("30.00"), stats.getAmountQuantiles().get("p100"));
+        assertEquals(HyperLogLog.RELATIVE_STANDARD_ERROR, stats.getDistinctRelativeError());
+        verify(repository, never()).deleteByIds(any());
+    }
+
+    @Test
+    void testRead_compactsKeysWithManyRows() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(org.springframework.transaction.TransactionStatus.class));
+        when(repository.findByScopeAndSketchKeyIn(eq(TransactionSketch.Scope.CUSTOMER), any()))
+                .thenReturn(List.of(row(1L, "222", 222L, 100), row(2L, "222", 222L, 200), row(3L, "222", 222L, 300)));
+        when(repository.deleteByIds(List.of(1L, 2L, 3L))).thenReturn(3);
+
+        assertEquals(3, statistics.forCustomer(222L, MEDIAN).getCount());
+
+        ArgumentCaptor<TransactionSketch> merged = ArgumentCaptor.forClass(TransactionSketch.class);
+        verify(repository).save(merged.capture());
+        assertEquals(3, TransactionSummary.fromBytes(merged.getValue().getPayload()).count());
+    }
+
+    @Test
+    void testRead_skipsCompactionWhenAnotherReaderGotThereFirst() {
+        org.springframework.transaction.TransactionStatus status = mock(org.springframework.transaction.TransactionStatus.class);
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        when(repository.findByScopeAndSketchKeyIn(eq(TransactionSketch.Scope.CUSTOMER), any()))
+                .thenReturn(List.of(row(1L, "222", 222L, 100), row(2L, "222", 222L, 200), row(3L, "222", 222L, 300)));
+        when(repository.deleteByIds(any())).thenReturn(1);
+
+        assertEquals(3, statistics.forCustomer(222L, MEDIAN).getCount());
+
+        verify(status).setRollbackOnly();
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testForDays_mergesEveryDayInRange() {
+        when(repository.findByScopeAndSketchKeyIn(TransactionSketch.Scope.DAY,
+                List.of("2019-09-11", "2019-09-12", "2019-09-13")))
+                .thenReturn(List.of(row(1L, "2019-09-11", 222L, 100), row(2L, "2019-09-13", 333L, 100)));
+
+        TransactionStatisticsDto stats = statistics.forDays(LocalDate.of(2019, 9, 11), LocalDate.of(2019, 9, 13), MEDIAN);
+
+        assertEquals("2019-09-11..2019-09-13", stats.getKey());
+        assertEquals(2, stats.getCount());
+        assertEquals(2, stats.getDistinctCustomers());
+    }
+
+    @Test
+    void testForDays_rejectsInvertedAndOverlongRanges() {
+        assertThrows(BadRequestException.class,
+                () -> statistics.forDays(LocalDate.of(2019, 9, 12), LocalDate.of(2019, 9, 11), MEDIAN));
+        assertThrows(BadRequestException.class,
+                () -> statistics.forDays(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 12, 31), MEDIAN));
+    }
+
+    @Test
+    void testForCustomer_withoutSketchesIsNotFound() {
+        when(repository.findByScopeAndSketchKeyIn(any(), any())).thenReturn(List.of());
+
+        assertThrows(EntityNotFoundException.class, () -> statistics.forCustomer(999L, MEDIAN));
+    }
+
+    @Test
+    void testLabel() {
+        assertEquals("p50", TransactionStatistics.label(0.5));
+        assertEquals("p99.9", TransactionStatistics.label(0.999));
+        assertEquals("p0", TransactionStatistics.label(0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TransactionSketch> savedRows() {
+        ArgumentCaptor<Iterable<TransactionSketch>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(repository).saveAll(saved.capture());
+        List<TransactionSketch> rows = new ArrayList<>();
+        saved.getValue().forEach(rows::add);
+        return rows;
+    }
+
+    private static TransactionSketch row(long id, String key, long customerId, long amountMinor) {
+        TransactionSummary summary = new TransactionSummary();
+        summary.add(8872838283L, customerId, amountMinor);
+        return TransactionSketch.builder().id(id).sketchKey(key).payload(summary.toBytes()).build();
+    }
+
+    private static TransactionOutbox.ChangeRecorded imported(long token, long accountNumber, long customerId, String amount) {
+        return new TransactionOutbox.ChangeRecorded(token, TransactionChange.Type.IMPORTED, dto(accountNumber, customerId, amount));
+    }
+
+    private static TransactionDto dto(long accountNumber, long customerId, String amount) {
+        return TransactionDto.builder()
+                .accountNumber(accountNumber)
+                .customerId(customerId)
+                .trxnAmount(new BigDecimal(amount))
+                .trxnTimestamp(LocalDateTime.of(2019, 9, 12, 11, 11, 11))
+                .build();
+    }
+}
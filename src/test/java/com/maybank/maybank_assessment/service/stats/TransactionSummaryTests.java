@@ -0,0 +1,56 @@
+package com.maybank.maybank_assessment.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionSummaryTests {
+
+    @Test
+    void testAddAndMerge() {
+        TransactionSummary first = new TransactionSummary();
+        first.add(8872838283L, 222L, 12_300);
+        first.add(8872838283L, 333L, -5_000);
+        TransactionSummary second = new TransactionSummary();
+        second.add(8872838299L, 222L, 99_999);
+
+        first.merge(second);
+
+        assertEquals(3, first.count());
+        assertEquals(-5_000, first.minAmount());
+        assertEquals(99_999, first.maxAmount());
+        assertEquals(2, first.distinctCustomers());
+        assertEquals(2, first.distinctAccounts());
+    }
+
+    @Test
+    void testAmountQuantile_staysWithinExactRange() {
+        TransactionSummary summary = new TransactionSummary();
+        summary.add(1L, 1L, 12_345);
+
+        // The bucket's representative is up to 1% off; a single amount is known exactly
+        assertEquals(12_345, summary.amountQuantile(0.5));
+    }
+
+    @Test
+    void testBytesRoundTrip() {
+        TransactionSummary summary = new TransactionSummary();
+        for (int i = 0; i < 1_000; i++) {
+            summary.add(8872838283L + i % 7, 200L + i % 13, 100L * i);
+        }
+
+        TransactionSummary read = TransactionSummary.fromBytes(summary.toBytes());
+
+        assertEquals(summary.count(), read.count());
+        assertEquals(summary.minAmount(), read.minAmount());
+        assertEquals(summary.maxAmount(), read.maxAmount());
+        assertEquals(13, read.distinctCustomers());
+        assertEquals(7, read.distinctAccounts());
+        assertEquals(summary.amountQuantile(0.9), read.amountQuantile(0.9));
+    }
+
+    @Test
+    void testFromBytes_rejectsUnknownFormat() {
+        assertThrows(IllegalStateException.class, () -> TransactionSummary.fromBytes(new byte[] { 9 }));
+    }
+}